@@ -0,0 +1,69 @@
+package upeu.edu.pe.academic.application.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import upeu.edu.pe.academic.application.dto.ProfesorResponseDTO;
+import upeu.edu.pe.academic.domain.entities.Persona;
+import upeu.edu.pe.academic.domain.entities.Profesor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark de un mapeo MapStruct representativo (listados de profesores)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfesorMapperBenchmark {
+
+    @Param({"20", "500"})
+    int size;
+
+    private ProfesorMapper mapper;
+    private List<Profesor> profesores;
+
+    @Setup
+    public void setup() {
+        mapper = new ProfesorMapperImpl();
+        profesores = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Persona persona = new Persona();
+            persona.setId(i);
+            persona.setNombres("Nombre " + i);
+            persona.setApellidoPaterno("Paterno " + i);
+            persona.setApellidoMaterno("Materno " + i);
+            persona.setTipoDocumento("DNI");
+            persona.setNumeroDocumento(String.format("%08d", i));
+            persona.setEmail("docente" + i + "@upeu.edu.pe");
+
+            Profesor profesor = new Profesor();
+            profesor.setId(i);
+            profesor.setPersona(persona);
+            profesor.setGradoAcademico("MAGISTER");
+            profesor.setEspecialidad("Ingeniería De Sistemas");
+            profesor.setCategoriaDocente("ASOCIADO");
+            profesor.setCondicionDocente("ORDINARIO");
+            profesor.setDedicacion("TIEMPO_COMPLETO");
+            profesores.add(profesor);
+        }
+    }
+
+    @Benchmark
+    public List<ProfesorResponseDTO> toResponseDTOList() {
+        return mapper.toResponseDTOList(profesores);
+    }
+}
@@ -0,0 +1,217 @@
+package upeu.edu.pe.academic.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulación de carga del inicio de matrícula: miles de estudiantes matriculándose a la vez
+ * en pocas secciones populares. Verifica que ninguna sección se sobrevenda.
+ * <p>
+ * Requiere una instancia levantada ({@code ./gradlew quarkusDev}) con datos cargados:
+ * <pre>
+ * ./gradlew matriculaRush -Prush.secciones=10,11 -Prush.estudiantes=1-2000 \
+ *     -Prush.email=admin@upeu.edu.pe -Prush.password=...
+ * </pre>
+ * Propiedades: rush.baseUrl, rush.token (o rush.email + rush.password), rush.secciones,
+ * rush.estudiantes (rango inicio-fin), rush.concurrencia.
+ */
+public class MatriculaRushSimulation {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final String baseUrl;
+    private final String token;
+
+    MatriculaRushSimulation(String baseUrl, String token) {
+        this.baseUrl = baseUrl;
+        this.token = token;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("rush.baseUrl", "http://localhost:8080");
+        List<Long> secciones = Arrays.stream(requerida("rush.secciones").split(","))
+                .map(String::trim)
+                .map(Long::valueOf)
+                .toList();
+        String[] rango = System.getProperty("rush.estudiantes", "1-1000").split("-");
+        long primerEstudiante = Long.parseLong(rango[0].trim());
+        long ultimoEstudiante = Long.parseLong(rango[1].trim());
+        int concurrencia = Integer.getInteger("rush.concurrencia", 500);
+
+        String token = System.getProperty("rush.token");
+        if (token == null || token.isBlank()) {
+            token = login(baseUrl, requerida("rush.email"), requerida("rush.password"));
+        }
+
+        MatriculaRushSimulation simulation = new MatriculaRushSimulation(baseUrl, token);
+        boolean sobreventa = simulation.run(secciones, primerEstudiante, ultimoEstudiante, concurrencia);
+        System.exit(sobreventa ? 1 : 0);
+    }
+
+    boolean run(List<Long> secciones, long primerEstudiante, long ultimoEstudiante, int concurrencia)
+            throws Exception {
+        Map<Long, Integer> vacantesAntes = new LinkedHashMap<>();
+        for (Long seccionId : secciones) {
+            vacantesAntes.put(seccionId, vacantes(seccionId));
+        }
+
+        int total = (int) (ultimoEstudiante - primerEstudiante + 1);
+        long[] latencias = new long[total];
+        Map<Integer, LongAdder> porEstado = new ConcurrentHashMap<>();
+        Map<Long, LongAdder> creadasPorSeccion = new ConcurrentHashMap<>();
+        AtomicInteger indice = new AtomicInteger();
+        Semaphore enVuelo = new Semaphore(concurrencia);
+        CountDownLatch salida = new CountDownLatch(1);
+        CountDownLatch fin = new CountDownLatch(total);
+
+        System.out.printf("Simulando %d matrículas sobre secciones %s (concurrencia %d)%n",
+                total, secciones, concurrencia);
+
+        long inicio;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long estudianteId = primerEstudiante; estudianteId <= ultimoEstudiante; estudianteId++) {
+                long estudiante = estudianteId;
+                // Los estudiantes se reparten entre las secciones populares
+                long seccionId = secciones.get((int) (estudiante % secciones.size()));
+                executor.submit(() -> {
+                    try {
+                        salida.await();
+                        enVuelo.acquire();
+                        long t0 = System.nanoTime();
+                        int status;
+                        try {
+                            status = matricular(estudiante, seccionId);
+                        } finally {
+                            enVuelo.release();
+                        }
+                        latencias[indice.getAndIncrement()] = System.nanoTime() - t0;
+                        porEstado.computeIfAbsent(status, s -> new LongAdder()).increment();
+                        if (status == 200 || status == 201) {
+                            creadasPorSeccion.computeIfAbsent(seccionId, s -> new LongAdder()).increment();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        porEstado.computeIfAbsent(-1, s -> new LongAdder()).increment();
+                    } finally {
+                        fin.countDown();
+                    }
+                    return null;
+                });
+            }
+            inicio = System.nanoTime();
+            salida.countDown();
+            fin.await();
+        }
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        System.out.printf("Duración: %d ms (%.1f req/s)%n", duracionMs, total * 1000.0 / Math.max(1, duracionMs));
+        System.out.println("Respuestas por estado HTTP (-1 = error de red):");
+        new TreeMap<>(porEstado).forEach((status, n) -> System.out.printf("  %d: %d%n", status, n.sum()));
+
+        long[] medidas = Arrays.copyOf(latencias, indice.get());
+        Arrays.sort(medidas);
+        System.out.printf("Latencia p50=%.1f ms p95=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                percentil(medidas, 0.50), percentil(medidas, 0.95), percentil(medidas, 0.99),
+                percentil(medidas, 1.0));
+
+        boolean sobreventa = false;
+        for (Map.Entry<Long, Integer> entry : vacantesAntes.entrySet()) {
+            Long seccionId = entry.getKey();
+            int antes = entry.getValue();
+            int despues = vacantes(seccionId);
+            long creadas = creadasPorSeccion.getOrDefault(seccionId, new LongAdder()).sum();
+            boolean inconsistente = despues < 0 || creadas > antes || antes - despues != creadas;
+            sobreventa |= inconsistente;
+            System.out.printf("Sección %d: vacantes %d -> %d, matrículas creadas %d%s%n",
+                    seccionId, antes, despues, creadas, inconsistente ? "  << SOBREVENTA/INCONSISTENCIA" : "");
+        }
+        return sobreventa;
+    }
+
+    private int matricular(long estudianteId, long seccionId) throws Exception {
+        ObjectNode body = MAPPER.createObjectNode()
+                .put("estudianteId", estudianteId)
+                .put("seccionId", seccionId)
+                .put("fechaMatricula", LocalDate.now().toString())
+                .put("tipoMatricula", "REGULAR")
+                .put("estadoMatricula", "MATRICULADO");
+
+        HttpRequest request = autenticado("/api/matriculas")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int vacantes(Long seccionId) throws Exception {
+        HttpRequest request = autenticado("/api/v1/cursos-ofertados/" + seccionId).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudo leer la sección " + seccionId + ": HTTP " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body()).path("data").path("vacantesDisponibles").asInt();
+    }
+
+    private HttpRequest.Builder autenticado(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static String login(String baseUrl, String email, String password) throws Exception {
+        ObjectNode body = MAPPER.createObjectNode()
+                .put("username", email)
+                .put("password", password);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        JsonNode accessToken = MAPPER.readTree(response.body()).path("data").path("accessToken");
+        if (response.statusCode() != 200 || accessToken.isMissingNode()) {
+            throw new IllegalStateException("Login fallido: HTTP " + response.statusCode());
+        }
+        return accessToken.asText();
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int i = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(i, ordenadas.length - 1))] / 1_000_000.0;
+    }
+
+    private static String requerida(String propiedad) {
+        String valor = System.getProperty(propiedad);
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Falta la propiedad -D" + propiedad);
+        }
+        return valor;
+    }
+}
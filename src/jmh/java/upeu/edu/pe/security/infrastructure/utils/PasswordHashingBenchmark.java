@@ -0,0 +1,88 @@
+package upeu.edu.pe.security.infrastructure.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de verificar una contraseña según las iteraciones de PBKDF2.
+ * <p>
+ * Además de ejecutarse con {@code ./gradlew jmh -PjmhIncludes=PasswordHashingBenchmark}, el
+ * {@link #main} calibra el coste en el hardware actual: mide cada candidato y recomienda el
+ * mayor número de iteraciones cuya verificación no supera la latencia objetivo
+ * ({@code ./gradlew calibratePasswordHash -Phash.targetMs=250}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    static final int DEFAULT_ITERATIONS = 310_000;
+
+    private static final String RAW_PASSWORD = "Upeu2024#Segura";
+
+    @Param({"100000", "210000", "310000", "600000"})
+    int iterations;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setup() {
+        passwordEncoder = PasswordEncoder.pbkdf2(iterations);
+        encodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    public static void main(String[] args) throws Exception {
+        double targetMs = Double.parseDouble(System.getProperty("hash.targetMs", "250"));
+        String[] candidatos = System.getProperty("hash.candidates",
+                "50000,100000,150000,210000,310000,450000,600000,800000,1000000").split(",");
+
+        Options options = new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getName() + ".matches")
+                .param("iterations", candidatos)
+                .build();
+        Collection<RunResult> resultados = new Runner(options).run();
+
+        int recomendado = 0;
+        System.out.printf("%nObjetivo: %.0f ms por verificación%n", targetMs);
+        for (RunResult resultado : resultados) {
+            int iteraciones = Integer.parseInt(resultado.getParams().getParam("iterations"));
+            double ms = resultado.getPrimaryResult().getScore();
+            boolean dentro = ms <= targetMs;
+            System.out.printf("  %,10d iteraciones: %8.1f ms%s%n", iteraciones, ms, dentro ? "" : "  (excede)");
+            if (dentro) {
+                recomendado = Math.max(recomendado, iteraciones);
+            }
+        }
+
+        if (recomendado == 0) {
+            System.out.println("Ningún candidato cumple el objetivo; use candidatos menores (-Phash.candidates=...)");
+        } else {
+            System.out.printf("%nRecomendado (application.yml):%n  security.password.pbkdf2.iterations: %d%n", recomendado);
+        }
+    }
+}
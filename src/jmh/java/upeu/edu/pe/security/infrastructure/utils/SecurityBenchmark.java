@@ -0,0 +1,199 @@
+package upeu.edu.pe.security.infrastructure.utils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CaffeineCache;
+import io.smallrye.mutiny.Uni;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import upeu.edu.pe.academic.domain.entities.Persona;
+import upeu.edu.pe.security.domain.entities.AuthUsuario;
+import upeu.edu.pe.security.domain.entities.Rol;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Microbenchmarks de generación/validación de JWT y verificación de contraseñas
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private static final String RAW_PASSWORD = "Upeu2024#Segura";
+
+    private JwtTokenGenerator generator;
+    private JwtTokenValidator validator;
+    private JwtTokenValidator uncachedValidator;
+    private PasswordEncoder passwordEncoder;
+
+    private AuthUsuario authUsuario;
+    private String accessToken;
+    private String encodedPassword;
+
+    @Setup
+    public void setup() {
+        generator = new JwtTokenGenerator();
+        generator.jwtDuration = 3600L;
+        generator.refreshDuration = 604800L;
+
+        // Misma API pública de quarkus-cache que inyecta CDI, respaldada por Caffeine
+        validator = new JwtTokenValidator();
+        validator.claimsCache = new BenchmarkCache(Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .build());
+
+        // Caché que nunca conserva entradas: cada validación hace HMAC + JSON
+        uncachedValidator = new JwtTokenValidator();
+        uncachedValidator.claimsCache = new BenchmarkCache(null);
+
+        passwordEncoder = PasswordEncoder.pbkdf2(PasswordHashingBenchmark.DEFAULT_ITERATIONS);
+
+        Persona persona = new Persona();
+        persona.setId(1L);
+        persona.setNombres("Juan Carlos");
+        persona.setApellidoPaterno("Quispe");
+        persona.setEmail("juan.quispe@upeu.edu.pe");
+
+        Rol rol = new Rol();
+        rol.setId(1L);
+        rol.setNombre("DOCENTE");
+
+        authUsuario = new AuthUsuario();
+        authUsuario.setId(1L);
+        authUsuario.setPersona(persona);
+        authUsuario.setRol(rol);
+
+        accessToken = generator.generateAccessToken(authUsuario);
+        encodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+
+        if (!uncachedValidator.validateToken(accessToken) || !validator.validateToken(accessToken)) {
+            throw new IllegalStateException("El token de prueba no es válido");
+        }
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return generator.generateAccessToken(authUsuario);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return validator.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedValidator.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean passwordMatches() {
+        return passwordEncoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    /**
+     * {@link CaffeineCache} sobre una caché Caffeine propia, sin el contenedor CDI ni las clases
+     * internas de quarkus-cache. Con {@code cache == null} no guarda nada (sin aciertos posibles).
+     * Solo implementa lo que usa JwtTokenValidator.
+     */
+    private static final class BenchmarkCache implements CaffeineCache {
+
+        private final com.github.benmanes.caffeine.cache.Cache<Object, CompletableFuture<Object>> cache;
+
+        private BenchmarkCache(com.github.benmanes.caffeine.cache.Cache<Object, CompletableFuture<Object>> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <V> CompletableFuture<V> getIfPresent(Object key) {
+            return cache != null ? (CompletableFuture<V>) cache.getIfPresent(key) : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <V> void put(Object key, CompletableFuture<V> valueFuture) {
+            if (cache != null) {
+                cache.put(key, (CompletableFuture<Object>) valueFuture);
+            }
+        }
+
+        @Override
+        public <T extends Cache> T as(Class<T> type) {
+            return type.cast(this);
+        }
+
+        @Override
+        public String getName() {
+            return "jwt-claims-cache";
+        }
+
+        @Override
+        public Object getDefaultKey() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <K, V> Uni<V> get(K key, Function<K, V> valueLoader) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <K, V> Uni<V> getAsync(K key, Function<K, Uni<V>> valueLoader) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Void> invalidate(Object key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Void> invalidateAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Void> invalidateIf(Predicate<Object> predicate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<Object> keySet() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setExpireAfterWrite(Duration duration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setExpireAfterAccess(Duration duration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setMaximumSize(long maximumSize) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package upeu.edu.pe.shared.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import upeu.edu.pe.academic.domain.entities.Persona;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks de normalización de texto (@Normalize y TextNormalizer)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizationBenchmark {
+
+    private static final String TEXT = "   juan   carlos\t quispe   mamani  ";
+
+    private TextNormalizer textNormalizer;
+    private Persona persona;
+
+    @Setup
+    public void setup() {
+        textNormalizer = new TextNormalizer();
+        persona = new Persona();
+    }
+
+    @Benchmark
+    public Persona processNormalizeAnnotations() {
+        // Se restauran los valores sin normalizar para medir siempre el mismo trabajo
+        persona.setNombres("  juan   carlos ");
+        persona.setApellidoPaterno(" quispe  ");
+        persona.setApellidoMaterno("mamani   ");
+        persona.setTipoDocumento(" dni ");
+        persona.setGenero("m");
+        persona.setEstadoCivil(" soltero");
+        persona.setDireccion("  Av.   Los  Olivos   123 ");
+        persona.setEmail("  Juan.Quispe@UPEU.edu.pe ");
+        NormalizeProcessor.processNormalizeAnnotations(persona);
+        return persona;
+    }
+
+    @Benchmark
+    public String textNormalize() {
+        return textNormalizer.normalize(TEXT);
+    }
+}
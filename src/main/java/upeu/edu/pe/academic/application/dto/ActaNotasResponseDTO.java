@@ -0,0 +1,51 @@
+package upeu.edu.pe.academic.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Acta de notas de una sección en forma de matriz: {@code estudiantes[i].notas[j]} es la nota
+ * efectiva del estudiante i en {@code criterios[j]} (null si aún no está calificada)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActaNotasResponseDTO {
+
+    private Long cursoOfertadoId;
+    private Integer escala;      // Escala de la nota final (vigesimal por defecto)
+    private Integer pesoTotal;   // Suma de pesos de los criterios (100 si están completos)
+    private List<Criterio> criterios;
+    private List<Fila> estudiantes;
+    private LocalDateTime generadoEn;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Criterio {
+        private Long id;
+        private String nombre;
+        private Integer peso;
+        private Integer notaMaxima;
+        private Boolean esRecuperable;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Fila {
+        private Long matriculaId;
+        private Long estudianteId;
+        private String estudianteCodigo;
+        private String estudianteNombre;
+        private List<BigDecimal> notas;
+        private BigDecimal notaFinal;
+        private Boolean aprobado;
+        private Boolean completo; // Todas las notas registradas y pesos al 100%
+    }
+}
@@ -0,0 +1,18 @@
+package upeu.edu.pe.academic.application.dto;
+
+import lombok.Data;
+
+@Data
+public class AsistenciaResumenResponseDTO {
+
+    private Long estudianteId;
+    private String estudianteCodigo;
+    private String estudianteNombre;
+
+    private Integer totalClases;
+    private Integer presentes;
+    private Integer ausentes;
+    private Integer tardanzas;
+    private Integer justificados;
+    private Double porcentajeAsistencia; // (presentes + tardanzas) / total
+}
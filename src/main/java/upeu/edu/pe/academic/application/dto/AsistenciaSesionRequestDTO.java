@@ -0,0 +1,47 @@
+package upeu.edu.pe.academic.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Asistencia de una sesión de clase completa (pasar lista)
+ */
+@Data
+public class AsistenciaSesionRequestDTO {
+
+    @NotNull(message = "El ID del horario es obligatorio")
+    private Long horarioId;
+
+    @NotNull(message = "La fecha de clase es obligatoria")
+    private LocalDate fechaClase;
+
+    @NotEmpty(message = "Debe registrar al menos un estudiante")
+    @Size(max = 300, message = "No se pueden registrar más de 300 estudiantes por sesión")
+    private List<@Valid @NotNull Registro> registros;
+
+    @Data
+    public static class Registro {
+
+        @NotNull(message = "El ID del estudiante es obligatorio")
+        private Long estudianteId;
+
+        @NotBlank(message = "El estado es obligatorio")
+        @Pattern(regexp = "PRESENTE|AUSENTE|TARDANZA|JUSTIFICADO",
+                 message = "El estado debe ser: PRESENTE, AUSENTE, TARDANZA o JUSTIFICADO")
+        private String estado;
+
+        @Min(value = 0, message = "Los minutos de tardanza no pueden ser negativos")
+        private Integer minutosTardanza; // Solo si estado = TARDANZA
+
+        private String observaciones;
+    }
+}
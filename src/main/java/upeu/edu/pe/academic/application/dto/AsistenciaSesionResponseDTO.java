@@ -0,0 +1,19 @@
+package upeu.edu.pe.academic.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsistenciaSesionResponseDTO {
+
+    private Long horarioId;
+    private LocalDate fechaClase;
+    private Integer registrados;  // Nuevos registros
+    private Integer actualizados; // Registros existentes modificados (reenvío con cambios)
+    private Integer sinCambios;   // Registros existentes idénticos (reenvío idempotente)
+}
@@ -0,0 +1,28 @@
+package upeu.edu.pe.academic.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CruceHorarioDTO {
+
+    // Curso propuesto
+    private Long cursoOfertadoId;
+    private Long horarioId;
+
+    // Curso con el que se cruza (matriculado o propuesto en el mismo lote)
+    private Long cursoOfertadoConflictoId;
+    private Long horarioConflictoId;
+
+    private Integer diaSemana;
+    private String nombreDia;
+    private LocalTime horaInicio;
+    private LocalTime horaFin;
+    private LocalTime horaInicioConflicto;
+    private LocalTime horaFinConflicto;
+}
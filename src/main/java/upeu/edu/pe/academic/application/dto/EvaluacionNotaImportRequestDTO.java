@@ -0,0 +1,33 @@
+package upeu.edu.pe.academic.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Importación masiva de notas. Las filas no llevan anotaciones de validación: cada fila se
+ * valida en el servicio y sus errores se informan sin descartar el resto del lote.
+ */
+@Data
+public class EvaluacionNotaImportRequestDTO {
+
+    @NotEmpty(message = "Debe incluir al menos una nota")
+    @Size(max = 5000, message = "No se pueden importar más de 5000 notas a la vez")
+    private List<Fila> notas;
+
+    private Boolean sobrescribir = false; // Reemplazar notas ya calificadas
+
+    @Data
+    @NoArgsConstructor
+    public static class Fila {
+        private Long matriculaId;
+        private Long criterioId;
+        private BigDecimal nota;
+        private BigDecimal notaRecuperacion;
+        private String observacion;
+    }
+}
@@ -0,0 +1,28 @@
+package upeu.edu.pe.academic.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluacionNotaImportResponseDTO {
+
+    private Integer totalFilas;
+    private Integer registradas;  // Notas nuevas
+    private Integer actualizadas; // Notas existentes (pendientes o sobrescritas)
+    private List<ErrorFila> errores;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErrorFila {
+        private Integer fila; // 1 = primera fila de datos
+        private Long matriculaId;
+        private Long criterioId;
+        private String mensaje;
+    }
+}
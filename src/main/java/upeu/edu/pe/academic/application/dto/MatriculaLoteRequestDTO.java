@@ -0,0 +1,23 @@
+package upeu.edu.pe.academic.application.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class MatriculaLoteRequestDTO {
+
+    @NotNull(message = "El estudiante es requerido")
+    private Long estudianteId;
+
+    @NotEmpty(message = "Debe indicar al menos una sección")
+    @Size(max = 12, message = "No se pueden matricular más de 12 secciones a la vez")
+    private List<@NotNull(message = "La sección es requerida") Long> seccionIds;
+
+    private LocalDate fechaMatricula; // Por defecto, la fecha actual
+
+    @Size(max = 50, message = "El tipo de matrícula no puede exceder 50 caracteres")
+    private String tipoMatricula; // REGULAR (por defecto), EXTRAORDINARIA
+}
@@ -0,0 +1,18 @@
+package upeu.edu.pe.academic.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatriculaLoteResponseDTO {
+
+    private Long estudianteId;
+    private Integer creditosMatriculados; // Créditos del lote
+    private Integer creditosCursando;     // Total del estudiante tras el lote
+    private List<MatriculaResponseDTO> matriculas;
+}
@@ -30,6 +30,7 @@ public interface CursoOfertadoMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "updatedBy", ignore = true)
     @Mapping(target = "active", ignore = true)
+    @Mapping(target = "version", ignore = true)
     CursoOfertado toEntity(CursoOfertadoRequestDTO dto);
 
     @Mapping(target = "universidadId", source = "universidad.id")
@@ -70,6 +71,7 @@ public interface CursoOfertadoMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "updatedBy", ignore = true)
     @Mapping(target = "active", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDTO(CursoOfertadoRequestDTO dto, @MappingTarget CursoOfertado entity);
 
     default String getProfesorNombre(CursoOfertado cursoOfertado) {
@@ -8,6 +8,8 @@ import upeu.edu.pe.academic.application.dto.ProfesorResponseDTO;
 import upeu.edu.pe.academic.domain.entities.Persona;
 import upeu.edu.pe.academic.domain.entities.Profesor;
 
+import java.util.List;
+
 /**
  * Mapper para convertir entre Profesor entity y DTOs
  * Ahora Profesor se conecta directamente a Persona, no a Empleado
@@ -54,6 +56,11 @@ public interface ProfesorMapper {
     @Mapping(target = "observaciones", constant = "")
     ProfesorResponseDTO toResponseDTO(Profesor profesor);
 
+    /**
+     * Convierte lista de entities a lista de ResponseDTOs
+     */
+    List<ProfesorResponseDTO> toResponseDTOList(List<Profesor> profesores);
+
     /**
      * Actualiza entity existente con datos del DTO
      */
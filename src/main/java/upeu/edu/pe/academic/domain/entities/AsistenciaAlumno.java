@@ -15,6 +15,8 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "asistencia_alumno", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"estudiante_id", "horario_id", "fecha_clase"})
+}, indexes = {
+    @Index(name = "idx_asistencia_horario_fecha", columnList = "horario_id, fecha_clase")
 })
 @Data
 @NoArgsConstructor
@@ -24,7 +26,8 @@ import java.time.LocalDate;
 public class AsistenciaAlumno extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asistencia_alumno_seq")
+    @SequenceGenerator(name = "asistencia_alumno_seq", sequenceName = "asistencia_alumno_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
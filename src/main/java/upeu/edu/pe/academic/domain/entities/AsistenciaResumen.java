@@ -0,0 +1,63 @@
+package upeu.edu.pe.academic.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contadores de asistencia por estudiante y curso ofertado (sección).
+ * <p>
+ * Se mantienen de forma incremental desde AsistenciaAlumnoService, en la misma transacción
+ * que los registros de asistencia, por lo que no deben modificarse directamente.
+ */
+@Entity
+@Table(name = "asistencia_resumen",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_asistencia_resumen", columnNames = {"curso_ofertado_id", "estudiante_id"})
+    },
+    indexes = {
+        @Index(name = "idx_asistencia_resumen_estudiante", columnList = "estudiante_id")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class AsistenciaResumen {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "curso_ofertado_id", nullable = false)
+    private Long cursoOfertadoId;
+
+    @Column(name = "estudiante_id", nullable = false)
+    private Long estudianteId;
+
+    @Column(name = "universidad_id", nullable = false)
+    private Long universidadId;
+
+    @Column(name = "total_clases", nullable = false)
+    private Integer totalClases = 0;
+
+    @Column(name = "presentes", nullable = false)
+    private Integer presentes = 0;
+
+    @Column(name = "ausentes", nullable = false)
+    private Integer ausentes = 0;
+
+    @Column(name = "tardanzas", nullable = false)
+    private Integer tardanzas = 0;
+
+    @Column(name = "justificados", nullable = false)
+    private Integer justificados = 0;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
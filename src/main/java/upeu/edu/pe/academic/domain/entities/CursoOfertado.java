@@ -15,14 +15,32 @@ import java.util.Set;
 @Entity
 @Table(name = "curso_ofertado", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"codigo_seccion", "periodo_academico_id"})
+}, indexes = {
+    @Index(name = "idx_curso_ofertado_periodo_universidad", columnList = "periodo_academico_id, universidad_id, estado"),
+    @Index(name = "idx_curso_ofertado_profesor", columnList = "profesor_id"),
+    @Index(name = "idx_curso_ofertado_plan_curso", columnList = "plan_curso_id")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = true)
 @EntityListeners(AuditListener.class)
+@NamedEntityGraph(name = CursoOfertado.GRAFO_LISTADO,
+    attributeNodes = {
+        @NamedAttributeNode("universidad"),
+        @NamedAttributeNode(value = "planCurso", subgraph = "planCurso"),
+        @NamedAttributeNode("periodoAcademico"),
+        @NamedAttributeNode(value = "profesor", subgraph = "profesor")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "planCurso", attributeNodes = {@NamedAttributeNode("curso"), @NamedAttributeNode("planAcademico")}),
+        @NamedSubgraph(name = "profesor", attributeNodes = @NamedAttributeNode("persona"))
+    })
 public class CursoOfertado extends AuditableEntity {
 
+    /** Relaciones que lee CursoOfertadoMapper.toResponseDTO */
+    public static final String GRAFO_LISTADO = "CursoOfertado.listado";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @EqualsAndHashCode.Include
@@ -73,6 +91,11 @@ public class CursoOfertado extends AuditableEntity {
     @Normalize(Normalize.NormalizeType.SPACES_ONLY)
     private String observaciones;
 
+    // Bloqueo optimista: evita que una edición administrativa pise las vacantes reservadas en paralelo
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
     @OneToMany(mappedBy = "cursoOfertado", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Matricula> matriculas = new HashSet<>();
 
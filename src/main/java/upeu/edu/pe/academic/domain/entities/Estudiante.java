@@ -15,6 +15,9 @@ import java.time.LocalDate;
 @Table(name = "estudiante", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"codigo_estudiante"}),
     @UniqueConstraint(columnNames = {"persona_id"})
+}, indexes = {
+    @Index(name = "idx_estudiante_universidad", columnList = "universidad_id"),
+    @Index(name = "idx_estudiante_programa_estado", columnList = "programa_id, estado_academico")
 })
 @Data
 @NoArgsConstructor
@@ -9,6 +9,7 @@ import upeu.edu.pe.shared.entities.AuditableEntity;
 import upeu.edu.pe.shared.listeners.AuditListener;
 import upeu.edu.pe.shared.annotations.Normalize;
 
+import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -106,6 +107,13 @@ public class EvaluacionCriterio extends AuditableEntity {
         validarPeso();
     }
 
+    /**
+     * Indica si la nota supera la nota máxima del criterio
+     */
+    public boolean excedeNotaMaxima(BigDecimal nota) {
+        return nota != null && notaMaxima != null && nota.compareTo(BigDecimal.valueOf(notaMaxima)) > 0;
+    }
+
     /**
      * Validación: El peso debe estar entre 0 y 100
      */
@@ -14,6 +14,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "evaluacion_nota", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"matricula_id", "criterio_id"})
+}, indexes = {
+    @Index(name = "idx_evaluacion_nota_criterio", columnList = "criterio_id")
 })
 @Data
 @NoArgsConstructor
@@ -23,7 +25,8 @@ import java.time.LocalDateTime;
 public class EvaluacionNota extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evaluacion_nota_seq")
+    @SequenceGenerator(name = "evaluacion_nota_seq", sequenceName = "evaluacion_nota_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
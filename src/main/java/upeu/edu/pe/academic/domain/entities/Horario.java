@@ -14,6 +14,9 @@ import java.time.LocalTime;
 @Entity
 @Table(name = "horario", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"curso_ofertado_id", "dia_semana", "hora_inicio"})
+}, indexes = {
+    @Index(name = "idx_horario_universidad_dia", columnList = "universidad_id, dia_semana, hora_inicio"),
+    @Index(name = "idx_horario_localizacion_dia", columnList = "localizacion_id, dia_semana, hora_inicio")
 })
 @Data
 @NoArgsConstructor
@@ -18,16 +18,39 @@ import java.util.Set;
 @Entity
 @Table(name = "matricula", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"estudiante_id", "curso_ofertado_id"})
+}, indexes = {
+    @Index(name = "idx_matricula_curso_ofertado_estado", columnList = "curso_ofertado_id, estado_matricula")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = true)
 @EntityListeners(AuditListener.class)
+@NamedEntityGraph(name = Matricula.GRAFO_LISTADO,
+    attributeNodes = {
+        @NamedAttributeNode(value = "estudiante", subgraph = "estudiante"),
+        @NamedAttributeNode(value = "cursoOfertado", subgraph = "cursoOfertado")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "estudiante", attributeNodes = @NamedAttributeNode("persona")),
+        @NamedSubgraph(name = "cursoOfertado", attributeNodes = {
+            @NamedAttributeNode(value = "planCurso", subgraph = "planCurso"),
+            @NamedAttributeNode("periodoAcademico"),
+            @NamedAttributeNode(value = "profesor", subgraph = "profesor")
+        }),
+        @NamedSubgraph(name = "planCurso", attributeNodes = @NamedAttributeNode("curso")),
+        @NamedSubgraph(name = "profesor", attributeNodes = @NamedAttributeNode("persona"))
+    })
 public class Matricula extends AuditableEntity {
 
+    /** Relaciones que lee MatriculaMapper.toResponseDTO */
+    public static final String GRAFO_LISTADO = "Matricula.listado";
+
+    // Secuencia con asignación por bloques: permite el batch de INSERT en matrícula por lote
+    // (con IDENTITY Hibernate desactiva el batching JDBC)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matricula_seq")
+    @SequenceGenerator(name = "matricula_seq", sequenceName = "matricula_id_seq", allocationSize = 20)
     @EqualsAndHashCode.Include
     private Long id;
     
@@ -15,6 +15,7 @@ import upeu.edu.pe.shared.annotations.Normalize;
  * Se asocia a CursoOfertado para determinar recursos y logística necesaria.
  */
 @Entity
+@Cacheable
 @Table(name = "modalidad", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"codigo"})
 })
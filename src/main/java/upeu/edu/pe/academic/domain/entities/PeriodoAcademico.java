@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
 @Table(name = "periodo_academico", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"codigo_periodo"})
 })
@@ -18,8 +18,12 @@ import upeu.edu.pe.shared.annotations.Normalize;
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = true)
 @EntityListeners(AuditListener.class)
+@NamedEntityGraph(name = Profesor.GRAFO_LISTADO, attributeNodes = @NamedAttributeNode("persona"))
 public class Profesor extends AuditableEntity {
 
+    /** Relaciones que lee ProfesorMapper.toResponseDTO */
+    public static final String GRAFO_LISTADO = "Profesor.listado";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
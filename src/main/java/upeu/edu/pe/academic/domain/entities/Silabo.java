@@ -21,6 +21,9 @@ import java.util.List;
 @Entity
 @Table(name = "silabo", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"curso_id", "anio_academico", "version"})
+}, indexes = {
+    @Index(name = "idx_silabo_universidad_estado", columnList = "universidad_id, estado"),
+    @Index(name = "idx_silabo_universidad_anio", columnList = "universidad_id, anio_academico")
 })
 @Data
 @NoArgsConstructor
@@ -10,6 +10,7 @@ import upeu.edu.pe.shared.listeners.AuditListener;
 import upeu.edu.pe.shared.annotations.Normalize;
 
 @Entity
+@Cacheable
 @Table(name = "tipo_autoridad", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"nombre"})
 })
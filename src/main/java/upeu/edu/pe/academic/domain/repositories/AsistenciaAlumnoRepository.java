@@ -3,10 +3,17 @@ package upeu.edu.pe.academic.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.AsistenciaAlumno;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.KeysetQuery;
+import upeu.edu.pe.shared.pagination.PageRequest;
+import upeu.edu.pe.shared.persistence.GroupedCountQuery;
+import upeu.edu.pe.shared.persistence.GroupedCounts;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class AsistenciaAlumnoRepository implements PanacheRepositoryBase<AsistenciaAlumno, Long> {
@@ -42,6 +49,15 @@ public class AsistenciaAlumnoRepository implements PanacheRepositoryBase<Asisten
         return find("horario.id = ?1 and fechaClase = ?2 and active = true", horarioId, fechaClase).list();
     }
 
+    /**
+     * Registros (activos o no) de un conjunto de estudiantes en una sesión (horario + fecha)
+     */
+    public List<AsistenciaAlumno> findBySesionAndEstudiantes(Long horarioId, LocalDate fechaClase,
+                                                             Collection<Long> estudianteIds) {
+        return find("horario.id = ?1 and fechaClase = ?2 and estudiante.id in ?3",
+                horarioId, fechaClase, estudianteIds).list();
+    }
+
     /**
      * Listar asistencias de un horario (todas las fechas)
      */
@@ -85,13 +101,6 @@ public class AsistenciaAlumnoRepository implements PanacheRepositoryBase<Asisten
                 .firstResultOptional();
     }
 
-    /**
-     * Contar asistencias de un estudiante por estado
-     */
-    public long countByEstudianteAndEstado(Long estudianteId, String estado) {
-        return count("estudiante.id = ?1 and estado = ?2 and active = true", estudianteId, estado);
-    }
-
     /**
      * Contar asistencias de un estudiante en un horario
      */
@@ -100,16 +109,14 @@ public class AsistenciaAlumnoRepository implements PanacheRepositoryBase<Asisten
     }
 
     /**
-     * Calcular porcentaje de asistencia de un estudiante en un horario
+     * Contar asistencias de un estudiante en un horario agrupadas por estado, en una sola consulta
      */
-    public double calcularPorcentajeAsistencia(Long estudianteId, Long horarioId) {
-        long totalClases = countByEstudianteAndHorario(estudianteId, horarioId);
-        if (totalClases == 0) return 0.0;
-        
-        long clasesAsistidas = count("estudiante.id = ?1 and horario.id = ?2 and (estado = 'PRESENTE' or estado = 'TARDANZA') and active = true", 
-                estudianteId, horarioId);
-        
-        return (clasesAsistidas * 100.0) / totalClases;
+    public GroupedCounts countByEstudianteAndHorarioPorEstado(Long estudianteId, Long horarioId) {
+        return GroupedCountQuery.from(getEntityManager(), "AsistenciaAlumno e", "e.estado")
+                .where("e.estudiante.id = :estudianteId and e.horario.id = :horarioId and e.active = true")
+                .param("estudianteId", estudianteId)
+                .param("horarioId", horarioId)
+                .fetch();
     }
 
     /**
@@ -133,4 +140,25 @@ public class AsistenciaAlumnoRepository implements PanacheRepositoryBase<Asisten
     public List<AsistenciaAlumno> findByUniversidad(Long universidadId) {
         return find("universidad.id = ?1 and active = true", universidadId).list();
     }
+
+    /**
+     * Asistencias activas paginadas por keyset (id), con estudiante, horario y universidad
+     */
+    public KeysetPage<AsistenciaAlumno> findActivas(PageRequest pageRequest) {
+        return activas().page(pageRequest);
+    }
+
+    /**
+     * Asistencias activas recorridas sin materializar el listado (streaming)
+     */
+    public Stream<AsistenciaAlumno> streamActivas() {
+        return activas().stream();
+    }
+
+    private KeysetQuery<AsistenciaAlumno> activas() {
+        return KeysetQuery.from(getEntityManager(), AsistenciaAlumno.class,
+                        "AsistenciaAlumno e JOIN FETCH e.estudiante JOIN FETCH e.horario JOIN FETCH e.universidad")
+                .where("e.active = true")
+                .id(AsistenciaAlumno::getId);
+    }
 }
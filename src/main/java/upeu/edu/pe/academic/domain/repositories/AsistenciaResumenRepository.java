@@ -0,0 +1,129 @@
+package upeu.edu.pe.academic.domain.repositories;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import upeu.edu.pe.academic.domain.entities.AsistenciaResumen;
+import upeu.edu.pe.shared.persistence.NativeUpdates;
+
+import java.util.Collection;
+import java.util.List;
+
+@ApplicationScoped
+public class AsistenciaResumenRepository implements PanacheRepositoryBase<AsistenciaResumen, Long> {
+
+    /**
+     * Suma (o resta) un registro de asistencia a los contadores del estudiante en la sección,
+     * creando la fila si no existe. El upsert es atómico frente a registros concurrentes.
+     */
+    private static final String UPSERT_DELTA =
+        "INSERT INTO asistencia_resumen (curso_ofertado_id, estudiante_id, universidad_id, total_clases, " +
+        "    presentes, ausentes, tardanzas, justificados, fecha_actualizacion) " +
+        "VALUES (:cursoOfertadoId, :estudianteId, :universidadId, :delta, " +
+        "    CASE WHEN :estado = 'PRESENTE' THEN :delta ELSE 0 END, " +
+        "    CASE WHEN :estado = 'AUSENTE' THEN :delta ELSE 0 END, " +
+        "    CASE WHEN :estado = 'TARDANZA' THEN :delta ELSE 0 END, " +
+        "    CASE WHEN :estado = 'JUSTIFICADO' THEN :delta ELSE 0 END, " +
+        "    LOCALTIMESTAMP) " +
+        "ON CONFLICT (curso_ofertado_id, estudiante_id) DO UPDATE SET " +
+        "    total_clases = asistencia_resumen.total_clases + EXCLUDED.total_clases, " +
+        "    presentes = asistencia_resumen.presentes + EXCLUDED.presentes, " +
+        "    ausentes = asistencia_resumen.ausentes + EXCLUDED.ausentes, " +
+        "    tardanzas = asistencia_resumen.tardanzas + EXCLUDED.tardanzas, " +
+        "    justificados = asistencia_resumen.justificados + EXCLUDED.justificados, " +
+        "    fecha_actualizacion = EXCLUDED.fecha_actualizacion";
+
+    /**
+     * Contadores calculados desde asistencia_alumno para una sección; las sentencias que lo
+     * usan añaden sus propios filtros antes de {@link #AGRUPAR_DESDE_ORIGEN}
+     */
+    private static final String CONTADORES_DESDE_ORIGEN =
+        "INSERT INTO asistencia_resumen (curso_ofertado_id, estudiante_id, universidad_id, total_clases, " +
+        "    presentes, ausentes, tardanzas, justificados, fecha_actualizacion) " +
+        "SELECT h.curso_ofertado_id, a.estudiante_id, MIN(a.universidad_id), COUNT(*), " +
+        "    COUNT(*) FILTER (WHERE a.estado = 'PRESENTE'), " +
+        "    COUNT(*) FILTER (WHERE a.estado = 'AUSENTE'), " +
+        "    COUNT(*) FILTER (WHERE a.estado = 'TARDANZA'), " +
+        "    COUNT(*) FILTER (WHERE a.estado = 'JUSTIFICADO'), " +
+        "    LOCALTIMESTAMP " +
+        "FROM asistencia_alumno a " +
+        "JOIN horario h ON h.id = a.horario_id " +
+        "WHERE h.curso_ofertado_id = :cursoOfertadoId AND a.active = true ";
+
+    private static final String AGRUPAR_DESDE_ORIGEN =
+        "GROUP BY h.curso_ofertado_id, a.estudiante_id";
+
+    /**
+     * Reconstruye los contadores de una sección desde asistencia_alumno
+     */
+    private static final String INSERT_DESDE_ORIGEN =
+        CONTADORES_DESDE_ORIGEN + AGRUPAR_DESDE_ORIGEN;
+
+    /**
+     * Recalcula desde el origen los contadores de varios estudiantes de la sección
+     */
+    private static final String UPSERT_ESTUDIANTES_DESDE_ORIGEN =
+        CONTADORES_DESDE_ORIGEN +
+        "AND a.estudiante_id IN (:estudianteIds) " +
+        AGRUPAR_DESDE_ORIGEN + " " +
+        "ON CONFLICT (curso_ofertado_id, estudiante_id) DO UPDATE SET " +
+        "    total_clases = EXCLUDED.total_clases, " +
+        "    presentes = EXCLUDED.presentes, " +
+        "    ausentes = EXCLUDED.ausentes, " +
+        "    tardanzas = EXCLUDED.tardanzas, " +
+        "    justificados = EXCLUDED.justificados, " +
+        "    fecha_actualizacion = EXCLUDED.fecha_actualizacion";
+
+    /**
+     * Aplica un registro de asistencia (delta = 1) o su retirada (delta = -1)
+     */
+    public void aplicarDelta(Long cursoOfertadoId, Long estudianteId, Long universidadId, String estado, int delta) {
+        NativeUpdates.sobre(getEntityManager(), UPSERT_DELTA, AsistenciaResumen.class)
+                .setParameter("cursoOfertadoId", cursoOfertadoId)
+                .setParameter("estudianteId", estudianteId)
+                .setParameter("universidadId", universidadId)
+                .setParameter("estado", estado)
+                .setParameter("delta", delta)
+                .executeUpdate();
+    }
+
+    /**
+     * Reemplaza los contadores de la sección por los calculados desde los registros de asistencia
+     *
+     * @return número de estudiantes con contadores
+     */
+    public int reconstruir(Long cursoOfertadoId) {
+        delete("cursoOfertadoId", cursoOfertadoId);
+        return NativeUpdates.sobre(getEntityManager(), INSERT_DESDE_ORIGEN, AsistenciaResumen.class)
+                .setParameter("cursoOfertadoId", cursoOfertadoId)
+                .executeUpdate();
+    }
+
+    /**
+     * Recalcula en una sola sentencia los contadores de los estudiantes indicados
+     * (tras registrar una sesión completa, en lugar de un delta por estudiante)
+     */
+    public void recalcularEstudiantes(Long cursoOfertadoId, Collection<Long> estudianteIds) {
+        NativeUpdates.sobre(getEntityManager(), UPSERT_ESTUDIANTES_DESDE_ORIGEN, AsistenciaResumen.class)
+                .setParameter("cursoOfertadoId", cursoOfertadoId)
+                .setParameter("estudianteIds", estudianteIds)
+                .executeUpdate();
+    }
+
+    /**
+     * Contadores de todos los estudiantes de una sección con su código y nombre, en una sola
+     * consulta: [estudianteId, codigoEstudiante, nombres, apellidoPaterno, apellidoMaterno,
+     * totalClases, presentes, ausentes, tardanzas, justificados]
+     */
+    public List<Object[]> findBySeccionConEstudiante(Long cursoOfertadoId) {
+        return getEntityManager()
+                .createQuery("SELECT r.estudianteId, e.codigoEstudiante, p.nombres, p.apellidoPaterno, " +
+                        "p.apellidoMaterno, r.totalClases, r.presentes, r.ausentes, r.tardanzas, r.justificados " +
+                        "FROM AsistenciaResumen r " +
+                        "JOIN Estudiante e ON e.id = r.estudianteId " +
+                        "JOIN e.persona p " +
+                        "WHERE r.cursoOfertadoId = :cursoOfertadoId AND r.totalClases > 0 " +
+                        "ORDER BY p.apellidoPaterno, p.apellidoMaterno, p.nombres", Object[].class)
+                .setParameter("cursoOfertadoId", cursoOfertadoId)
+                .getResultList();
+    }
+}
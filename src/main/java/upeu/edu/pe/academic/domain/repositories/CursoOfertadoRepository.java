@@ -1,9 +1,13 @@
 package upeu.edu.pe.academic.domain.repositories;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.CursoOfertado;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
+import upeu.edu.pe.shared.persistence.FetchGraphs;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,88 +18,88 @@ public class CursoOfertadoRepository implements PanacheRepository<CursoOfertado>
      * Busca cursos ofertados por universidad
      */
     public List<CursoOfertado> findByUniversidad(Long universidadId) {
-        return find("universidad.id = ?1 and active = true ORDER BY codigoSeccion", 
-                   universidadId).list();
+        return listado(find("universidad.id = ?1 and active = true ORDER BY codigoSeccion", 
+                   universidadId)).list();
     }
 
     /**
      * Busca cursos ofertados por período académico
      */
     public List<CursoOfertado> findByPeriodoAcademico(Long periodoId) {
-        return find("periodoAcademico.id = ?1 and active = true ORDER BY codigoSeccion", 
-                   periodoId).list();
+        return listado(find("periodoAcademico.id = ?1 and active = true ORDER BY codigoSeccion", 
+                   periodoId)).list();
     }
 
     /**
      * Busca cursos ofertados por plan académico (a través de PlanCurso)
      */
     public List<CursoOfertado> findByPlanAcademico(Long planId) {
-        return find("planCurso.planAcademico.id = ?1 and active = true ORDER BY codigoSeccion", 
-                   planId).list();
+        return listado(find("planCurso.planAcademico.id = ?1 and active = true ORDER BY codigoSeccion", 
+                   planId)).list();
     }
 
     /**
      * Busca cursos ofertados por PlanCurso específico
      */
     public List<CursoOfertado> findByPlanCurso(Long planCursoId) {
-        return find("planCurso.id = ?1 and active = true ORDER BY codigoSeccion", 
-                   planCursoId).list();
+        return listado(find("planCurso.id = ?1 and active = true ORDER BY codigoSeccion", 
+                   planCursoId)).list();
     }
 
     /**
      * Busca cursos ofertados por curso (a través de PlanCurso)
      */
     public List<CursoOfertado> findByCurso(Long cursoId) {
-        return find("planCurso.curso.id = ?1 and active = true ORDER BY periodoAcademico.fechaInicio DESC", 
-                   cursoId).list();
+        return listado(find("planCurso.curso.id = ?1 and active = true ORDER BY periodoAcademico.fechaInicio DESC", 
+                   cursoId)).list();
     }
 
     /**
      * Busca cursos ofertados por profesor
      */
     public List<CursoOfertado> findByProfesor(Long profesorId) {
-        return find("profesor.id = ?1 and active = true ORDER BY periodoAcademico.fechaInicio DESC", 
-                   profesorId).list();
+        return listado(find("profesor.id = ?1 and active = true ORDER BY periodoAcademico.fechaInicio DESC", 
+                   profesorId)).list();
     }
 
     /**
      * Busca un curso ofertado específico
      */
     public Optional<CursoOfertado> findByCodigoAndPeriodoAndUniversidad(String codigoSeccion, Long periodoId, Long universidadId) {
-        return find("UPPER(codigoSeccion) = UPPER(?1) and periodoAcademico.id = ?2 and universidad.id = ?3 and active = true", 
-                   codigoSeccion, periodoId, universidadId).firstResultOptional();
+        return find("codigoSeccion = ?1 and periodoAcademico.id = ?2 and universidad.id = ?3 and active = true", 
+                   CanonicalParams.upper(codigoSeccion), periodoId, universidadId).firstResultOptional();
     }
 
     /**
      * Busca cursos ofertados abiertos (disponibles para matrícula)
      */
     public List<CursoOfertado> findAbiertasByPeriodoAndUniversidad(Long periodoId, Long universidadId) {
-        return find("periodoAcademico.id = ?1 and universidad.id = ?2 and UPPER(estado) = 'ABIERTA' and vacantesDisponibles > 0 and active = true", 
-                   periodoId, universidadId).list();
+        return listado(find("periodoAcademico.id = ?1 and universidad.id = ?2 and estado = 'ABIERTA' and vacantesDisponibles > 0 and active = true", 
+                   periodoId, universidadId)).list();
     }
 
     /**
      * Busca cursos ofertados por modalidad
      */
     public List<CursoOfertado> findByModalidadAndPeriodo(String modalidad, Long periodoId) {
-        return find("UPPER(modalidad) = UPPER(?1) and periodoAcademico.id = ?2 and active = true", 
-                   modalidad, periodoId).list();
+        return listado(find("modalidad.codigo = ?1 and periodoAcademico.id = ?2 and active = true", 
+                   CanonicalParams.upper(modalidad), periodoId)).list();
     }
 
     /**
      * Busca cursos ofertados con vacantes disponibles
      */
     public List<CursoOfertado> findConVacantesByPeriodo(Long periodoId) {
-        return find("periodoAcademico.id = ?1 and vacantesDisponibles > 0 and active = true ORDER BY codigoSeccion", 
-                   periodoId).list();
+        return listado(find("periodoAcademico.id = ?1 and vacantesDisponibles > 0 and active = true ORDER BY codigoSeccion", 
+                   periodoId)).list();
     }
 
     /**
      * Verifica si existe un curso ofertado
      */
     public boolean existsByCodigoAndPeriodoAndPlanCurso(String codigoSeccion, Long periodoId, Long planCursoId) {
-        return count("UPPER(codigoSeccion) = UPPER(?1) and periodoAcademico.id = ?2 and planCurso.id = ?3", 
-                    codigoSeccion, periodoId, planCursoId) > 0;
+        return count("codigoSeccion = ?1 and periodoAcademico.id = ?2 and planCurso.id = ?3", 
+                    CanonicalParams.upper(codigoSeccion), periodoId, planCursoId) > 0;
     }
 
     /**
@@ -109,6 +113,76 @@ public class CursoOfertadoRepository implements PanacheRepository<CursoOfertado>
      * Busca cursos ofertados por localización (aula)
      */
     public List<CursoOfertado> findByLocalizacion(Long localizacionId) {
-        return find("localizacion.id = ?1 and active = true", localizacionId).list();
+        return listado(find("localizacion.id = ?1 and active = true", localizacionId)).list();
+    }
+
+    /**
+     * Reserva una vacante con un UPDATE condicional atómico (sin lectura previa).
+     * Devuelve false si la sección no existe, no está ABIERTA o no tiene vacantes.
+     */
+    public boolean reservarVacante(Long cursoOfertadoId) {
+        return update("vacantesDisponibles = vacantesDisponibles - 1, version = version + 1 " +
+                     "where id = ?1 and vacantesDisponibles > 0 and estado = 'ABIERTA' and active = true",
+                     cursoOfertadoId) == 1;
+    }
+
+    /**
+     * Libera una vacante con un UPDATE condicional atómico (sin superar la capacidad máxima)
+     */
+    public boolean liberarVacante(Long cursoOfertadoId) {
+        return update("vacantesDisponibles = vacantesDisponibles + 1, version = version + 1 " +
+                     "where id = ?1 and vacantesDisponibles < capacidadMaxima",
+                     cursoOfertadoId) == 1;
+    }
+
+    /**
+     * Obtiene las vacantes disponibles (confirmadas) de una sección abierta, o 0 si no admite matrícula
+     */
+    public int findVacantesDisponibles(Long cursoOfertadoId) {
+        return getEntityManager()
+            .createQuery("SELECT c.vacantesDisponibles FROM CursoOfertado c " +
+                        "WHERE c.id = :id and c.estado = 'ABIERTA' and c.active = true", Integer.class)
+            .setParameter("id", cursoOfertadoId)
+            .getResultStream()
+            .findFirst()
+            .orElse(0);
+    }
+
+    /**
+     * Obtiene [id, vacantesDisponibles] de varias secciones abiertas en una sola consulta
+     */
+    public List<Object[]> findVacantesDisponiblesByIds(Collection<Long> cursoOfertadoIds) {
+        return getEntityManager()
+            .createQuery("SELECT c.id, c.vacantesDisponibles FROM CursoOfertado c " +
+                        "WHERE c.id IN :ids and c.estado = 'ABIERTA' and c.active = true", Object[].class)
+            .setParameter("ids", cursoOfertadoIds)
+            .getResultList();
+    }
+
+    /**
+     * Obtiene varias secciones con su plan, curso, período, universidad y profesor en una sola consulta
+     * (validación de matrícula por lote)
+     */
+    public List<CursoOfertado> findByIdsParaMatricula(Collection<Long> cursoOfertadoIds) {
+        return getEntityManager()
+            .createQuery("SELECT c FROM CursoOfertado c " +
+                        "JOIN FETCH c.planCurso pc " +
+                        "JOIN FETCH pc.planAcademico " +
+                        "JOIN FETCH pc.curso " +
+                        "JOIN FETCH c.periodoAcademico " +
+                        "JOIN FETCH c.universidad " +
+                        "LEFT JOIN FETCH c.profesor p " +
+                        "LEFT JOIN FETCH p.persona " +
+                        "WHERE c.id IN :ids and c.active = true", CursoOfertado.class)
+            .setParameter("ids", cursoOfertadoIds)
+            .getResultList();
+    }
+
+    /**
+     * Aplica el plan de carga del listado ({@link CursoOfertado#GRAFO_LISTADO}) para que el mapper
+     * no dispare un SELECT por fila al leer las relaciones
+     */
+    private PanacheQuery<CursoOfertado> listado(PanacheQuery<CursoOfertado> query) {
+        return FetchGraphs.aplicar(query, getEntityManager(), CursoOfertado.GRAFO_LISTADO);
     }
 }
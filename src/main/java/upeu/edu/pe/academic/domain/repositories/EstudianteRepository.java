@@ -3,9 +3,13 @@ package upeu.edu.pe.academic.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.Estudiante;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.KeysetQuery;
+import upeu.edu.pe.shared.pagination.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class EstudianteRepository implements PanacheRepositoryBase<Estudiante, Long> {
@@ -93,4 +97,25 @@ public class EstudianteRepository implements PanacheRepositoryBase<Estudiante, L
     public long countByUniversidad(Long universidadId) {
         return count("universidad.id = ?1 and active = true", universidadId);
     }
+
+    /**
+     * Estudiantes activos paginados por keyset (id), con persona y programa
+     */
+    public KeysetPage<Estudiante> findActivos(PageRequest pageRequest) {
+        return activos().page(pageRequest);
+    }
+
+    /**
+     * Estudiantes activos recorridos sin materializar el listado (streaming)
+     */
+    public Stream<Estudiante> streamActivos() {
+        return activos().stream();
+    }
+
+    private KeysetQuery<Estudiante> activos() {
+        return KeysetQuery.from(getEntityManager(), Estudiante.class,
+                        "Estudiante e JOIN FETCH e.persona JOIN FETCH e.programaAcademico")
+                .where("e.active = true")
+                .id(Estudiante::getId);
+    }
 }
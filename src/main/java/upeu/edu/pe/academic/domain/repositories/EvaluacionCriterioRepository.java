@@ -3,7 +3,9 @@ package upeu.edu.pe.academic.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.EvaluacionCriterio;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,7 +23,7 @@ public class EvaluacionCriterioRepository implements PanacheRepository<Evaluacio
      * Busca criterios activos por sección
      */
     public List<EvaluacionCriterio> findActivosBySeccion(Long seccionId) {
-        return find("cursoOfertado.id = ?1 and UPPER(estado) = 'ACTIVO' and active = true ORDER BY orden, id", 
+        return find("cursoOfertado.id = ?1 and estado = 'ACTIVO' and active = true ORDER BY orden, id", 
                    seccionId).list();
     }
 
@@ -29,16 +31,16 @@ public class EvaluacionCriterioRepository implements PanacheRepository<Evaluacio
      * Busca un criterio específico por nombre y sección
      */
     public Optional<EvaluacionCriterio> findByNombreAndSeccion(String nombre, Long seccionId) {
-        return find("UPPER(nombre) = UPPER(?1) and cursoOfertado.id = ?2 and active = true", 
-                   nombre, seccionId).firstResultOptional();
+        return find("UPPER(nombre) = ?1 and cursoOfertado.id = ?2 and active = true", 
+                   CanonicalParams.upper(nombre), seccionId).firstResultOptional();
     }
 
     /**
      * Busca criterios por tipo de evaluación
      */
     public List<EvaluacionCriterio> findByTipoAndSeccion(String tipoEvaluacion, Long seccionId) {
-        return find("UPPER(tipoEvaluacion) = UPPER(?1) and cursoOfertado.id = ?2 and active = true ORDER BY orden", 
-                   tipoEvaluacion, seccionId).list();
+        return find("tipoEvaluacion = ?1 and cursoOfertado.id = ?2 and active = true ORDER BY orden", 
+                   CanonicalParams.upper(tipoEvaluacion), seccionId).list();
     }
 
     /**
@@ -73,6 +75,13 @@ public class EvaluacionCriterioRepository implements PanacheRepository<Evaluacio
         return count("cursoOfertado.id = ?1 and active = true", seccionId);
     }
 
+    /**
+     * Criterios activos con los IDs indicados (una sola consulta para validar un lote)
+     */
+    public List<EvaluacionCriterio> findActivosByIds(Collection<Long> ids) {
+        return find("id in ?1 and active = true", ids).list();
+    }
+
     /**
      * Busca el siguiente número de orden para una sección
      */
@@ -4,6 +4,7 @@ import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.EvaluacionNota;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,11 +32,42 @@ public class EvaluacionNotaRepository implements PanacheRepository<EvaluacionNot
         return find("matricula.id = ?1 and criterio.id = ?2", matriculaId, criterioId).firstResultOptional();
     }
 
+    /**
+     * Notas existentes (activas o no) de cualquier combinación de las matrículas y criterios
+     * indicados; el llamador filtra los pares exactos en memoria
+     */
+    public List<EvaluacionNota> findByMatriculasAndCriterios(Collection<Long> matriculaIds, Collection<Long> criterioIds) {
+        return find("matricula.id in ?1 and criterio.id in ?2", matriculaIds, criterioIds).list();
+    }
+
+    /**
+     * Datos del acta de una sección en una sola consulta: una fila por matrícula vigente y
+     * criterio activo, con la nota (si existe). Ordenada por estudiante y, dentro de cada
+     * estudiante, por criterio, de modo que todos comparten el mismo orden de columnas:
+     * [matriculaId, estudianteId, codigoEstudiante, nombres, apellidoPaterno, apellidoMaterno,
+     * criterioId, criterioNombre, peso, notaMaxima, esRecuperable, nota, notaRecuperacion]
+     */
+    public List<Object[]> findActaBySeccion(Long seccionId) {
+        return getEntityManager()
+            .createQuery("SELECT m.id, e.id, e.codigoEstudiante, p.nombres, p.apellidoPaterno, p.apellidoMaterno, " +
+                        "c.id, c.nombre, c.peso, c.notaMaxima, c.esRecuperable, n.nota, n.notaRecuperacion " +
+                        "FROM Matricula m JOIN m.estudiante e JOIN e.persona p " +
+                        "JOIN EvaluacionCriterio c ON c.cursoOfertado.id = m.cursoOfertado.id " +
+                        "    AND c.active = true AND (c.estado IS NULL OR c.estado <> 'ELIMINADO') " +
+                        "LEFT JOIN EvaluacionNota n ON n.matricula.id = m.id AND n.criterio.id = c.id AND n.active = true " +
+                        "WHERE m.cursoOfertado.id = :seccionId " +
+                        "AND m.estadoMatricula = 'MATRICULADO' AND m.active = true " +
+                        "ORDER BY p.apellidoPaterno, p.apellidoMaterno, p.nombres, m.id, c.orden NULLS LAST, c.id",
+                        Object[].class)
+            .setParameter("seccionId", seccionId)
+            .getResultList();
+    }
+
     /**
      * Busca notas pendientes de calificar por sección
      */
     public List<EvaluacionNota> findPendientesBySeccion(Long seccionId) {
-        return find("matricula.seccion.id = ?1 and UPPER(estado) = 'PENDIENTE' and active = true", 
+        return find("matricula.seccion.id = ?1 and estado = 'PENDIENTE' and active = true", 
                    seccionId).list();
     }
 
@@ -43,7 +75,7 @@ public class EvaluacionNotaRepository implements PanacheRepository<EvaluacionNot
      * Busca notas calificadas por sección
      */
     public List<EvaluacionNota> findCalificadasBySeccion(Long seccionId) {
-        return find("matricula.cursoOfertado.id = ?1 and UPPER(estado) = 'CALIFICADO' and active = true", 
+        return find("matricula.cursoOfertado.id = ?1 and estado = 'CALIFICADO' and active = true", 
                    seccionId).list();
     }
 
@@ -74,7 +106,7 @@ public class EvaluacionNotaRepository implements PanacheRepository<EvaluacionNot
      * Cuenta notas calificadas de una matrícula
      */
     public long countCalificadasByMatricula(Long matriculaId) {
-        return count("matricula.id = ?1 and UPPER(estado) = 'CALIFICADO'", matriculaId);
+        return count("matricula.id = ?1 and estado = 'CALIFICADO'", matriculaId);
     }
 
     /**
@@ -3,6 +3,7 @@ package upeu.edu.pe.academic.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.Horario;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
@@ -32,7 +33,7 @@ public class HorarioRepository implements PanacheRepository<Horario> {
     public List<Horario> findByEstudiante(Long estudianteId) {
         return find("cursoOfertado.id IN " +
                    "(SELECT m.cursoOfertado.id FROM Matricula m " +
-                   "WHERE m.estudiante.id = ?1 and UPPER(m.estado) IN ('MATRICULADO', 'REGULAR')) " +
+                   "WHERE m.estudiante.id = ?1 and m.estadoMatricula = 'MATRICULADO' and m.active = true) " +
                    "and active = true ORDER BY diaSemana, horaInicio", 
                    estudianteId).list();
     }
@@ -61,22 +62,6 @@ public class HorarioRepository implements PanacheRepository<Horario> {
                    localizacionId).list();
     }
 
-    /**
-     * Verifica si existe cruce de horarios para un estudiante
-     * al intentar matricularse en un nuevo curso
-     */
-    public List<Horario> findCrucesEstudiante(Long estudianteId, Integer diaSemana, 
-                                               LocalTime horaInicio, LocalTime horaFin) {
-        return find("cursoOfertado.id IN " +
-                   "(SELECT m.cursoOfertado.id FROM Matricula m " +
-                   "WHERE m.estudiante.id = ?1 and UPPER(m.estado) IN ('MATRICULADO', 'REGULAR')) " +
-                   "and diaSemana = ?2 " +
-                   "and ((horaInicio < ?4 and horaFin > ?3) or " +
-                   "     (horaInicio >= ?3 and horaInicio < ?4)) " +
-                   "and active = true", 
-                   estudianteId, diaSemana, horaInicio, horaFin).list();
-    }
-
     /**
      * Verifica si existe cruce de horarios para un profesor
      */
@@ -113,8 +98,8 @@ public class HorarioRepository implements PanacheRepository<Horario> {
      * Busca horarios por tipo de sesión
      */
     public List<Horario> findByTipoSesionAndUniversidad(String tipoSesion, Long universidadId) {
-        return find("UPPER(tipoSesion) = UPPER(?1) and universidad.id = ?2 and active = true ORDER BY diaSemana, horaInicio", 
-                   tipoSesion, universidadId).list();
+        return find("tipoSesion = ?1 and universidad.id = ?2 and active = true ORDER BY diaSemana, horaInicio", 
+                   CanonicalParams.upper(tipoSesion), universidadId).list();
     }
 
     /**
@@ -132,6 +117,22 @@ public class HorarioRepository implements PanacheRepository<Horario> {
                     cursoOfertadoId, diaSemana, horaInicio) > 0;
     }
 
+    /**
+     * Obtiene los bloques activos de una universidad como filas planas para el índice de cruces:
+     * [horarioId, cursoOfertadoId, periodoId, profesorId, localizacionId, diaSemana, horaInicio, horaFin]
+     */
+    public List<Object[]> findSlotsByUniversidad(Long universidadId) {
+        return getEntityManager()
+            .createQuery("SELECT h.id, co.id, co.periodoAcademico.id, p.id, l.id, h.diaSemana, h.horaInicio, h.horaFin " +
+                        "FROM Horario h " +
+                        "JOIN h.cursoOfertado co " +
+                        "LEFT JOIN co.profesor p " +
+                        "LEFT JOIN h.localizacion l " +
+                        "WHERE h.universidad.id = :universidadId and h.active = true and co.active = true", Object[].class)
+            .setParameter("universidadId", universidadId)
+            .getResultList();
+    }
+
     /**
      * Busca por ID con todas las relaciones cargadas
      */
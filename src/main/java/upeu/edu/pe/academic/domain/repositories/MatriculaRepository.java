@@ -1,9 +1,13 @@
 package upeu.edu.pe.academic.domain.repositories;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.Matricula;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
+import upeu.edu.pe.shared.persistence.FetchGraphs;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,32 +18,84 @@ public class MatriculaRepository implements PanacheRepositoryBase<Matricula, Lon
      * Listar matrículas por estudiante
      */
     public List<Matricula> findByEstudiante(Long estudianteId) {
-        return find("estudiante.id = ?1 and active = true ORDER BY fechaMatricula DESC", 
-                   estudianteId).list();
+        return listado(find("estudiante.id = ?1 and active = true ORDER BY fechaMatricula DESC", 
+                   estudianteId)).list();
     }
 
     /**
      * Listar matrículas por sección
      */
     public List<Matricula> findBySeccion(Long seccionId) {
-        return find("cursoOfertado.id = ?1 and active = true ORDER BY estudiante.persona.apellidoPaterno", 
-                   seccionId).list();
+        return listado(find("cursoOfertado.id = ?1 and active = true ORDER BY estudiante.persona.apellidoPaterno", 
+                   seccionId)).list();
     }
 
     /**
      * Listar matrículas por período académico
      */
     public List<Matricula> findByPeriodoAcademico(Long periodoId) {
-        return find("cursoOfertado.periodoAcademico.id = ?1 and active = true ORDER BY fechaMatricula DESC", 
-                   periodoId).list();
+        return listado(find("cursoOfertado.periodoAcademico.id = ?1 and active = true ORDER BY fechaMatricula DESC", 
+                   periodoId)).list();
     }
 
     /**
      * Listar matrículas de un estudiante en un período
      */
     public List<Matricula> findByEstudianteAndPeriodo(Long estudianteId, Long periodoId) {
-        return find("estudiante.id = ?1 and cursoOfertado.periodoAcademico.id = ?2 and active = true", 
-                   estudianteId, periodoId).list();
+        return listado(find("estudiante.id = ?1 and cursoOfertado.periodoAcademico.id = ?2 and active = true", 
+                   estudianteId, periodoId)).list();
+    }
+
+    /**
+     * Obtener IDs de cursos ofertados con matrícula vigente de un estudiante en un período
+     */
+    public List<Long> findCursoOfertadoIdsMatriculados(Long estudianteId, Long periodoId) {
+        return getEntityManager()
+            .createQuery("SELECT m.cursoOfertado.id FROM Matricula m " +
+                        "WHERE m.estudiante.id = :estudianteId " +
+                        "and m.cursoOfertado.periodoAcademico.id = :periodoId " +
+                        "and m.estadoMatricula = 'MATRICULADO' and m.active = true", Long.class)
+            .setParameter("estudianteId", estudianteId)
+            .setParameter("periodoId", periodoId)
+            .getResultList();
+    }
+
+    /**
+     * De un conjunto de secciones, obtener aquellas en las que el estudiante ya tiene matrícula
+     */
+    public List<Long> findSeccionIdsMatriculadas(Long estudianteId, Collection<Long> seccionIds) {
+        return getEntityManager()
+            .createQuery("SELECT m.cursoOfertado.id FROM Matricula m " +
+                        "WHERE m.estudiante.id = :estudianteId " +
+                        "and m.cursoOfertado.id IN :seccionIds and m.active = true", Long.class)
+            .setParameter("estudianteId", estudianteId)
+            .setParameter("seccionIds", seccionIds)
+            .getResultList();
+    }
+
+    /**
+     * De un conjunto de estudiantes, obtener aquellos con matrícula vigente en la sección
+     */
+    public List<Long> findEstudianteIdsMatriculados(Long seccionId, Collection<Long> estudianteIds) {
+        return getEntityManager()
+            .createQuery("SELECT m.estudiante.id FROM Matricula m " +
+                        "WHERE m.cursoOfertado.id = :seccionId " +
+                        "and m.estudiante.id IN :estudianteIds " +
+                        "and m.estadoMatricula = 'MATRICULADO' and m.active = true", Long.class)
+            .setParameter("seccionId", seccionId)
+            .setParameter("estudianteIds", estudianteIds)
+            .getResultList();
+    }
+
+    /**
+     * Sección de cada matrícula activa indicada: [matriculaId, cursoOfertadoId]
+     */
+    public List<Object[]> findSeccionIdsByMatriculas(Collection<Long> matriculaIds) {
+        return getEntityManager()
+            .createQuery("SELECT m.id, m.cursoOfertado.id FROM Matricula m " +
+                        "WHERE m.id IN :matriculaIds and m.active = true", Object[].class)
+            .setParameter("matriculaIds", matriculaIds)
+            .getResultList();
     }
 
     /**
@@ -62,32 +118,32 @@ public class MatriculaRepository implements PanacheRepositoryBase<Matricula, Lon
      * Listar matrículas por estado
      */
     public List<Matricula> findByEstadoMatricula(String estadoMatricula) {
-        return find("UPPER(estadoMatricula) = UPPER(?1) and active = true", 
-                   estadoMatricula).list();
+        return listado(find("estadoMatricula = ?1 and active = true", 
+                   CanonicalParams.upper(estadoMatricula))).list();
     }
 
     /**
      * Listar matrículas activas (estado = MATRICULADO)
      */
     public List<Matricula> findMatriculasActivas(Long periodoId) {
-        return find("seccion.periodoAcademico.id = ?1 and UPPER(estadoMatricula) = 'MATRICULADO' and active = true", 
-                   periodoId).list();
+        return listado(find("seccion.periodoAcademico.id = ?1 and estadoMatricula = 'MATRICULADO' and active = true", 
+                   periodoId)).list();
     }
 
     /**
      * Listar matrículas aprobadas de un estudiante
      */
     public List<Matricula> findMatriculasAprobadas(Long estudianteId) {
-        return find("estudiante.id = ?1 and UPPER(estadoAprobacion) = 'APROBADO' and active = true", 
-                   estudianteId).list();
+        return listado(find("estudiante.id = ?1 and estadoAprobacion = 'APROBADO' and active = true", 
+                   estudianteId)).list();
     }
 
     /**
      * Listar matrículas de un estudiante por estado de aprobación
      */
     public List<Matricula> findByEstudianteAndEstadoAprobacion(Long estudianteId, String estadoAprobacion) {
-        return find("estudiante.id = ?1 and UPPER(estadoAprobacion) = UPPER(?2) and active = true", 
-                   estudianteId, estadoAprobacion).list();
+        return listado(find("estudiante.id = ?1 and estadoAprobacion = ?2 and active = true", 
+                   estudianteId, CanonicalParams.upper(estadoAprobacion))).list();
     }
 
     /**
@@ -101,7 +157,7 @@ public class MatriculaRepository implements PanacheRepositoryBase<Matricula, Lon
      * Contar matrículas activas en una sección
      */
     public long countMatriculasActivasBySeccion(Long seccionId) {
-        return count("seccion.id = ?1 and UPPER(estadoMatricula) = 'MATRICULADO' and active = true", 
+        return count("seccion.id = ?1 and estadoMatricula = 'MATRICULADO' and active = true", 
                     seccionId);
     }
 
@@ -109,14 +165,22 @@ public class MatriculaRepository implements PanacheRepositoryBase<Matricula, Lon
      * Listar todas las matrículas activas
      */
     public List<Matricula> findAllActive() {
-        return find("active = true ORDER BY fechaMatricula DESC").list();
+        return listado(find("active = true ORDER BY fechaMatricula DESC")).list();
     }
 
     /**
      * Buscar matrículas por tipo
      */
     public List<Matricula> findByTipoMatricula(String tipoMatricula, Long periodoId) {
-        return find("UPPER(tipoMatricula) = UPPER(?1) and seccion.periodoAcademico.id = ?2 and active = true", 
-                   tipoMatricula, periodoId).list();
+        return listado(find("tipoMatricula = ?1 and seccion.periodoAcademico.id = ?2 and active = true", 
+                   CanonicalParams.upper(tipoMatricula), periodoId)).list();
+    }
+
+    /**
+     * Aplica el plan de carga del listado ({@link Matricula#GRAFO_LISTADO}) para que el mapper
+     * no dispare un SELECT por fila al leer las relaciones
+     */
+    private PanacheQuery<Matricula> listado(PanacheQuery<Matricula> query) {
+        return FetchGraphs.aplicar(query, getEntityManager(), Matricula.GRAFO_LISTADO);
     }
 }
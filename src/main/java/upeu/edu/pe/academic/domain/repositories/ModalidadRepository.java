@@ -2,6 +2,7 @@ package upeu.edu.pe.academic.domain.repositories;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 import upeu.edu.pe.academic.domain.entities.Modalidad;
 
 import java.util.List;
@@ -16,6 +17,7 @@ public class ModalidadRepository implements PanacheRepositoryBase<Modalidad, Lon
     public Optional<Modalidad> findByCodigo(String codigo, Long universidadId) {
         return find("codigo = ?1 and universidad.id = ?2 and active = true", 
                     codigo, universidadId)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
                 .firstResultOptional();
     }
 
@@ -24,6 +26,7 @@ public class ModalidadRepository implements PanacheRepositoryBase<Modalidad, Lon
      */
     public List<Modalidad> findByUniversidad(Long universidadId) {
         return find("universidad.id = ?1 and active = true", universidadId)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
                 .list();
     }
 
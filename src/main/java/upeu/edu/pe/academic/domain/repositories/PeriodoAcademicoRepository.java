@@ -2,7 +2,9 @@ package upeu.edu.pe.academic.domain.repositories;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 import upeu.edu.pe.academic.domain.entities.PeriodoAcademico;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,7 +18,7 @@ public class PeriodoAcademicoRepository implements PanacheRepository<PeriodoAcad
      */
     public List<PeriodoAcademico> findByUniversidad(Long universidadId) {
         return find("universidad.id = ?1 and active = true ORDER BY fechaInicio DESC", 
-                   universidadId).list();
+                   universidadId).withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     /**
@@ -24,15 +26,15 @@ public class PeriodoAcademicoRepository implements PanacheRepository<PeriodoAcad
      */
     public Optional<PeriodoAcademico> findActualByUniversidad(Long universidadId) {
         return find("universidad.id = ?1 and esActual = true and active = true", 
-                   universidadId).firstResultOptional();
+                   universidadId).withHint(HibernateHints.HINT_CACHEABLE, true).firstResultOptional();
     }
 
     /**
      * Busca período por código y universidad
      */
     public Optional<PeriodoAcademico> findByCodigoAndUniversidad(String codigoPeriodo, Long universidadId) {
-        return find("UPPER(codigoPeriodo) = UPPER(?1) and universidad.id = ?2 and active = true", 
-                   codigoPeriodo, universidadId).firstResultOptional();
+        return find("codigoPeriodo = ?1 and universidad.id = ?2 and active = true", 
+                   CanonicalParams.upper(codigoPeriodo), universidadId).firstResultOptional();
     }
 
     /**
@@ -47,8 +49,8 @@ public class PeriodoAcademicoRepository implements PanacheRepository<PeriodoAcad
      * Busca períodos por estado
      */
     public List<PeriodoAcademico> findByEstadoAndUniversidad(String estado, Long universidadId) {
-        return find("UPPER(estado) = UPPER(?1) and universidad.id = ?2 and active = true ORDER BY fechaInicio DESC", 
-                   estado, universidadId).list();
+        return find("estado = ?1 and universidad.id = ?2 and active = true ORDER BY fechaInicio DESC", 
+                   CanonicalParams.upper(estado), universidadId).list();
     }
 
     /**
@@ -63,8 +65,8 @@ public class PeriodoAcademicoRepository implements PanacheRepository<PeriodoAcad
      * Verifica si existe un período con ese código en la universidad
      */
     public boolean existsByCodigoAndUniversidad(String codigoPeriodo, Long universidadId) {
-        return count("UPPER(codigoPeriodo) = UPPER(?1) and universidad.id = ?2", 
-                    codigoPeriodo, universidadId) > 0;
+        return count("codigoPeriodo = ?1 and universidad.id = ?2", 
+                    CanonicalParams.upper(codigoPeriodo), universidadId) > 0;
     }
 
     /**
@@ -72,7 +74,7 @@ public class PeriodoAcademicoRepository implements PanacheRepository<PeriodoAcad
      */
     public List<PeriodoAcademico> findActivosAndUniversidad(Long universidadId) {
         return find("universidad.id = ?1 and estado IN ('EN_CURSO', 'MATRICULA_ABIERTA') and active = true ORDER BY fechaInicio DESC", 
-                   universidadId).list();
+                   universidadId).withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     /**
@@ -3,9 +3,14 @@ package upeu.edu.pe.academic.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.Persona;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.KeysetQuery;
+import upeu.edu.pe.shared.pagination.KeysetSort;
+import upeu.edu.pe.shared.pagination.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class PersonaRepository implements PanacheRepositoryBase<Persona, Long> {
@@ -81,4 +86,25 @@ public class PersonaRepository implements PanacheRepositoryBase<Persona, Long> {
     public boolean existsByEmailAndIdNot(String email, Long id) {
         return count("email = ?1 and id != ?2 and active = true", email, id) > 0;
     }
+
+    /**
+     * Personas activas paginadas por keyset, ordenadas por apellido paterno
+     */
+    public KeysetPage<Persona> findActivas(PageRequest pageRequest) {
+        return activas().page(pageRequest);
+    }
+
+    /**
+     * Personas activas recorridas sin materializar el listado (streaming)
+     */
+    public Stream<Persona> streamActivas() {
+        return activas().stream();
+    }
+
+    private KeysetQuery<Persona> activas() {
+        return KeysetQuery.from(getEntityManager(), Persona.class, "Persona e")
+                .where("e.active = true")
+                .orderBy(KeysetSort.asc("e.apellidoPaterno", String.class), Persona::getApellidoPaterno)
+                .id(Persona::getId);
+    }
 }
@@ -1,11 +1,17 @@
 package upeu.edu.pe.academic.domain.repositories;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.Profesor;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.KeysetQuery;
+import upeu.edu.pe.shared.pagination.PageRequest;
+import upeu.edu.pe.shared.persistence.FetchGraphs;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class ProfesorRepository implements PanacheRepositoryBase<Profesor, Long> {
@@ -21,49 +27,49 @@ public class ProfesorRepository implements PanacheRepositoryBase<Profesor, Long>
      * Listar profesores por grado académico
      */
     public List<Profesor> findByGradoAcademico(String gradoAcademico) {
-        return find("gradoAcademico = ?1 and active = true", gradoAcademico).list();
+        return listado(find("gradoAcademico = ?1 and active = true", gradoAcademico)).list();
     }
 
     /**
      * Listar profesores por categoría docente
      */
     public List<Profesor> findByCategoriaDocente(String categoriaDocente) {
-        return find("categoriaDocente = ?1 and active = true", categoriaDocente).list();
+        return listado(find("categoriaDocente = ?1 and active = true", categoriaDocente)).list();
     }
 
     /**
      * Listar profesores por condición docente
      */
     public List<Profesor> findByCondicionDocente(String condicionDocente) {
-        return find("condicionDocente = ?1 and active = true", condicionDocente).list();
+        return listado(find("condicionDocente = ?1 and active = true", condicionDocente)).list();
     }
 
     /**
      * Listar profesores por dedicación
      */
     public List<Profesor> findByDedicacion(String dedicacion) {
-        return find("dedicacion = ?1 and active = true", dedicacion).list();
+        return listado(find("dedicacion = ?1 and active = true", dedicacion)).list();
     }
 
     /**
      * Listar profesores por especialidad
      */
     public List<Profesor> findByEspecialidad(String especialidad) {
-        return find("especialidad like ?1 and active = true", "%" + especialidad + "%").list();
+        return listado(find("especialidad like ?1 and active = true", "%" + especialidad + "%")).list();
     }
 
     /**
      * Listar profesores tiempo completo
      */
     public List<Profesor> findProfesoresTiempoCompleto() {
-        return find("dedicacion = 'TIEMPO_COMPLETO' and active = true").list();
+        return listado(find("dedicacion = 'TIEMPO_COMPLETO' and active = true")).list();
     }
 
     /**
      * Listar todos los profesores activos
      */
     public List<Profesor> findAllActive() {
-        return find("active = true").list();
+        return listado(find("active = true")).list();
     }
 
     /**
@@ -79,4 +85,32 @@ public class ProfesorRepository implements PanacheRepositoryBase<Profesor, Long>
     public Optional<Profesor> findByCodigoOrcid(String codigoOrcid) {
         return find("codigoOrcid = ?1 and active = true", codigoOrcid).firstResultOptional();
     }
+
+    /**
+     * Profesores activos paginados por keyset (id), con su persona
+     */
+    public KeysetPage<Profesor> findActivos(PageRequest pageRequest) {
+        return activos().page(pageRequest);
+    }
+
+    /**
+     * Profesores activos recorridos sin materializar el listado (streaming)
+     */
+    public Stream<Profesor> streamActivos() {
+        return activos().stream();
+    }
+
+    private KeysetQuery<Profesor> activos() {
+        return KeysetQuery.from(getEntityManager(), Profesor.class, "Profesor e JOIN FETCH e.persona")
+                .where("e.active = true")
+                .id(Profesor::getId);
+    }
+
+    /**
+     * Aplica el plan de carga del listado ({@link Profesor#GRAFO_LISTADO}) para que el mapper
+     * no dispare un SELECT por fila al leer las relaciones
+     */
+    private PanacheQuery<Profesor> listado(PanacheQuery<Profesor> query) {
+        return FetchGraphs.aplicar(query, getEntityManager(), Profesor.GRAFO_LISTADO);
+    }
 }
@@ -3,6 +3,7 @@ package upeu.edu.pe.academic.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.RequisitoCurso;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,7 +22,7 @@ public class RequisitoCursoRepository implements PanacheRepository<RequisitoCurs
      * Busca prerrequisitos de un curso
      */
     public List<RequisitoCurso> findPrerequisitosByCurso(Long cursoId) {
-        return find("curso.id = ?1 and UPPER(tipoRequisito) = 'PRERREQUISITO' and active = true", 
+        return find("curso.id = ?1 and tipoRequisito = 'PRERREQUISITO' and active = true", 
                    cursoId).list();
     }
 
@@ -29,7 +30,7 @@ public class RequisitoCursoRepository implements PanacheRepository<RequisitoCurs
      * Busca correquisitos de un curso
      */
     public List<RequisitoCurso> findCorrequisitosByCurso(Long cursoId) {
-        return find("curso.id = ?1 and UPPER(tipoRequisito) = 'CORREQUISITO' and active = true", 
+        return find("curso.id = ?1 and tipoRequisito = 'CORREQUISITO' and active = true", 
                    cursoId).list();
     }
 
@@ -51,8 +52,8 @@ public class RequisitoCursoRepository implements PanacheRepository<RequisitoCurs
      * Busca un requisito específico
      */
     public Optional<RequisitoCurso> findByCursoAndRequisito(Long cursoId, Long cursoRequisitoId, String tipoRequisito) {
-        return find("curso.id = ?1 and cursoRequisito.id = ?2 and UPPER(tipoRequisito) = UPPER(?3)", 
-                   cursoId, cursoRequisitoId, tipoRequisito).firstResultOptional();
+        return find("curso.id = ?1 and cursoRequisito.id = ?2 and tipoRequisito = ?3", 
+                   cursoId, cursoRequisitoId, CanonicalParams.upper(tipoRequisito)).firstResultOptional();
     }
 
     /**
@@ -3,6 +3,8 @@ package upeu.edu.pe.academic.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.academic.domain.entities.Silabo;
+import upeu.edu.pe.shared.persistence.GroupedCountQuery;
+import upeu.edu.pe.shared.persistence.GroupedCounts;
 
 import java.util.List;
 import java.util.Optional;
@@ -93,8 +95,10 @@ public class SilaboRepository implements PanacheRepositoryBase<Silabo, Long> {
     /**
      * Cuenta sílabos por estado en una universidad
      */
-    public long countByEstado(String estado, Long universidadId) {
-        return count("estado = ?1 and universidad.id = ?2 and active = true", 
-                     estado, universidadId);
+    public GroupedCounts contarPorEstado(Long universidadId) {
+        return GroupedCountQuery.from(getEntityManager(), "Silabo e", "e.estado")
+                .where("e.universidad.id = :universidadId and e.active = true")
+                .param("universidadId", universidadId)
+                .fetch();
     }
 }
@@ -2,6 +2,7 @@ package upeu.edu.pe.academic.domain.repositories;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 import upeu.edu.pe.academic.domain.entities.TipoLocalizacion;
 
 import java.util.List;
@@ -21,7 +22,7 @@ public class TipoLocalizacionRepository implements PanacheRepositoryBase<TipoLoc
      * Listar todos los tipos activos
      */
     public List<TipoLocalizacion> findAllActive() {
-        return find("active = true").list();
+        return find("active = true").withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     /**
@@ -2,6 +2,7 @@ package upeu.edu.pe.academic.domain.repositories;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 import upeu.edu.pe.academic.domain.entities.TipoUnidad;
 
 import java.util.List;
@@ -28,7 +29,7 @@ public class TipoUnidadRepository implements PanacheRepositoryBase<TipoUnidad, L
      * Listar todos los tipos activos ordenados por nivel
      */
     public List<TipoUnidad> findAllActiveOrderedByNivel() {
-        return find("active = true order by nivel asc").list();
+        return find("active = true order by nivel asc").withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     /**
@@ -2,6 +2,7 @@ package upeu.edu.pe.academic.domain.repositories;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 import upeu.edu.pe.academic.domain.entities.Universidad;
 
 import java.util.List;
@@ -28,7 +29,7 @@ public class UniversidadRepository implements PanacheRepositoryBase<Universidad,
      * Listar todas las universidades activas
      */
     public List<Universidad> findAllActive() {
-        return find("active = true").list();
+        return find("active = true").withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     /**
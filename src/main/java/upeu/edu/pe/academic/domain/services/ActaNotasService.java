@@ -0,0 +1,184 @@
+package upeu.edu.pe.academic.domain.services;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import upeu.edu.pe.academic.application.dto.ActaNotasResponseDTO;
+import upeu.edu.pe.academic.domain.repositories.CursoOfertadoRepository;
+import upeu.edu.pe.academic.domain.repositories.EvaluacionNotaRepository;
+import upeu.edu.pe.shared.exceptions.NotFoundException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cálculo de las notas finales ponderadas de toda una sección (acta de notas).
+ * <p>
+ * Carga criterios y notas con una sola consulta, los vuelca a arreglos primitivos y calcula
+ * todas las filas en una pasada. El acta queda en caché por sección hasta que se confirma un
+ * cambio de notas, criterios o matrículas de esa sección.
+ */
+@ApplicationScoped
+public class ActaNotasService {
+
+    @Inject
+    EvaluacionNotaRepository notaRepository;
+
+    @Inject
+    CursoOfertadoRepository cursoOfertadoRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    @CacheName("acta-notas-cache")
+    Cache actaCache;
+
+    /**
+     * Escala de la nota final (las notas de cada criterio se llevan a esta escala)
+     */
+    @ConfigProperty(name = "academico.actas.escala", defaultValue = "20")
+    int escala;
+
+    /**
+     * Decimales de la nota final; el redondeo es HALF_UP (10.5 -> 11 con 0 decimales)
+     */
+    @ConfigProperty(name = "academico.actas.decimales", defaultValue = "0")
+    int decimales;
+
+    @ConfigProperty(name = "academico.actas.nota-aprobatoria", defaultValue = "11")
+    BigDecimal notaAprobatoria;
+
+    public ActaNotasResponseDTO getActa(Long cursoOfertadoId) {
+        return actaCache.get(cursoOfertadoId, this::calcular).await().indefinitely();
+    }
+
+    /**
+     * Descarta el acta en caché de la sección al confirmarse la transacción actual
+     */
+    public void invalidar(Long cursoOfertadoId) {
+        if (cursoOfertadoId == null) {
+            return;
+        }
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            actaCache.invalidate(cursoOfertadoId).await().indefinitely();
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    actaCache.invalidate(cursoOfertadoId).await().indefinitely();
+                }
+            }
+        });
+    }
+
+    private ActaNotasResponseDTO calcular(Object key) {
+        Long cursoOfertadoId = (Long) key;
+        if (cursoOfertadoRepository.findByIdOptional(cursoOfertadoId).isEmpty()) {
+            throw new NotFoundException("Curso ofertado no encontrado con ID: " + cursoOfertadoId);
+        }
+        List<Object[]> filas = notaRepository.findActaBySeccion(cursoOfertadoId);
+
+        // Columnas: los criterios del primer estudiante (todos comparten el mismo orden)
+        Long primeraMatricula = filas.isEmpty() ? null : (Long) filas.get(0)[0];
+        List<ActaNotasResponseDTO.Criterio> criterios = new ArrayList<>();
+        for (Object[] fila : filas) {
+            if (!fila[0].equals(primeraMatricula)) {
+                break;
+            }
+            criterios.add(new ActaNotasResponseDTO.Criterio((Long) fila[6], (String) fila[7],
+                    (Integer) fila[8], (Integer) fila[9], Boolean.TRUE.equals(fila[10])));
+        }
+        int numCriterios = criterios.size();
+        int numEstudiantes = numCriterios == 0 ? 0 : filas.size() / numCriterios;
+
+        double[] factor = new double[numCriterios];  // peso / 100 * escala / notaMaxima
+        boolean[] recuperable = new boolean[numCriterios];
+        int pesoTotal = 0;
+        for (int j = 0; j < numCriterios; j++) {
+            ActaNotasResponseDTO.Criterio criterio = criterios.get(j);
+            int peso = criterio.getPeso() != null ? criterio.getPeso() : 0;
+            int notaMaxima = criterio.getNotaMaxima() != null && criterio.getNotaMaxima() > 0 ? criterio.getNotaMaxima() : escala;
+            factor[j] = peso / 100.0 * escala / notaMaxima;
+            recuperable[j] = criterio.getEsRecuperable();
+            pesoTotal += peso;
+        }
+
+        // Matriz de notas efectivas (NaN = sin calificar)
+        double[] notas = new double[numEstudiantes * numCriterios];
+        for (int k = 0; k < notas.length; k++) {
+            Object[] fila = filas.get(k);
+            notas[k] = notaEfectiva((BigDecimal) fila[11], (BigDecimal) fila[12], recuperable[k % numCriterios]);
+        }
+
+        List<ActaNotasResponseDTO.Fila> estudiantes = new ArrayList<>(numEstudiantes);
+        for (int i = 0; i < numEstudiantes; i++) {
+            int base = i * numCriterios;
+            double acumulado = 0.0;
+            boolean completo = pesoTotal == 100;
+            BigDecimal[] notasFila = new BigDecimal[numCriterios];
+            for (int j = 0; j < numCriterios; j++) {
+                double nota = notas[base + j];
+                if (Double.isNaN(nota)) {
+                    completo = false; // Sin calificar cuenta como 0
+                } else {
+                    acumulado += nota * factor[j];
+                    notasFila[j] = BigDecimal.valueOf(nota).setScale(2, RoundingMode.HALF_UP);
+                }
+            }
+            // Se fija primero a 6 decimales para que el error binario no altere el redondeo final
+            BigDecimal notaFinal = BigDecimal.valueOf(acumulado)
+                    .setScale(6, RoundingMode.HALF_UP)
+                    .setScale(decimales, RoundingMode.HALF_UP);
+
+            Object[] fila = filas.get(base);
+            estudiantes.add(new ActaNotasResponseDTO.Fila((Long) fila[0], (Long) fila[1], (String) fila[2],
+                    nombreCompleto(fila[3], fila[4], fila[5]), Arrays.asList(notasFila), notaFinal,
+                    notaFinal.compareTo(notaAprobatoria) >= 0, completo));
+        }
+
+        return new ActaNotasResponseDTO(cursoOfertadoId, escala, pesoTotal, criterios, estudiantes, LocalDateTime.now());
+    }
+
+    /**
+     * Une las partes presentes del nombre (el apellido materno puede faltar)
+     */
+    private static String nombreCompleto(Object... partes) {
+        return Stream.of(partes)
+                .filter(Objects::nonNull)
+                .map(Object::toString)
+                .filter(parte -> !parte.isBlank())
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Nota que cuenta para el promedio: si el criterio es recuperable, la mayor entre la
+     * nota regular y la de recuperación
+     */
+    private static double notaEfectiva(BigDecimal nota, BigDecimal notaRecuperacion, boolean recuperable) {
+        double regular = nota != null ? nota.doubleValue() : Double.NaN;
+        if (!recuperable || notaRecuperacion == null) {
+            return regular;
+        }
+        double recuperacion = notaRecuperacion.doubleValue();
+        return Double.isNaN(regular) ? recuperacion : Math.max(regular, recuperacion);
+    }
+}
@@ -2,21 +2,38 @@ package upeu.edu.pe.academic.domain.services;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.StreamingOutput;
 import upeu.edu.pe.academic.application.dto.AsistenciaAlumnoRequestDTO;
 import upeu.edu.pe.academic.application.dto.AsistenciaAlumnoResponseDTO;
+import upeu.edu.pe.academic.application.dto.AsistenciaResumenResponseDTO;
+import upeu.edu.pe.academic.application.dto.AsistenciaSesionRequestDTO;
+import upeu.edu.pe.academic.application.dto.AsistenciaSesionResponseDTO;
 import upeu.edu.pe.academic.application.mapper.AsistenciaAlumnoMapper;
 import upeu.edu.pe.academic.domain.entities.AsistenciaAlumno;
 import upeu.edu.pe.academic.domain.entities.Estudiante;
 import upeu.edu.pe.academic.domain.entities.Horario;
+import upeu.edu.pe.academic.domain.entities.Universidad;
 import upeu.edu.pe.academic.domain.repositories.*;
 import upeu.edu.pe.shared.exceptions.BusinessException;
 import upeu.edu.pe.shared.exceptions.NotFoundException;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
+import upeu.edu.pe.shared.persistence.GroupedCounts;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class AsistenciaAlumnoService {
@@ -33,11 +50,27 @@ public class AsistenciaAlumnoService {
     @Inject
     UniversidadRepository universidadRepository;
 
+    @Inject
+    MatriculaRepository matriculaRepository;
+
+    @Inject
+    AsistenciaResumenRepository asistenciaResumenRepository;
+
+    @Inject
+    CursoOfertadoRepository cursoOfertadoRepository;
+
     @Inject
     AsistenciaAlumnoMapper asistenciaMapper;
 
-    public List<AsistenciaAlumnoResponseDTO> findAll() {
-        return asistenciaMapper.toResponseDTOList(asistenciaRepository.findAllActive());
+    @Inject
+    NdjsonStreamer ndjsonStreamer;
+
+    public KeysetPage<AsistenciaAlumnoResponseDTO> findAll(PageRequest pageRequest) {
+        return asistenciaRepository.findActivas(pageRequest).map(asistenciaMapper::toResponseDTO);
+    }
+
+    public StreamingOutput streamAll() {
+        return ndjsonStreamer.stream(asistenciaRepository::streamActivas, asistenciaMapper::toResponseDTO);
     }
 
     public AsistenciaAlumnoResponseDTO findById(Long id) {
@@ -66,12 +99,13 @@ public class AsistenciaAlumnoService {
     }
 
     public Map<String, Object> getEstadisticasAsistencia(Long estudianteId, Long horarioId) {
-        long totalClases = asistenciaRepository.countByEstudianteAndHorario(estudianteId, horarioId);
-        long presentes = asistenciaRepository.countByEstudianteAndEstado(estudianteId, "PRESENTE");
-        long ausentes = asistenciaRepository.countByEstudianteAndEstado(estudianteId, "AUSENTE");
-        long tardanzas = asistenciaRepository.countByEstudianteAndEstado(estudianteId, "TARDANZA");
-        long justificados = asistenciaRepository.countByEstudianteAndEstado(estudianteId, "JUSTIFICADO");
-        double porcentaje = asistenciaRepository.calcularPorcentajeAsistencia(estudianteId, horarioId);
+        GroupedCounts porEstado = asistenciaRepository.countByEstudianteAndHorarioPorEstado(estudianteId, horarioId);
+        long presentes = porEstado.get("PRESENTE");
+        long ausentes = porEstado.get("AUSENTE");
+        long tardanzas = porEstado.get("TARDANZA");
+        long justificados = porEstado.get("JUSTIFICADO");
+        long totalClases = presentes + ausentes + tardanzas + justificados;
+        double porcentaje = porcentajeAsistencia(presentes + tardanzas, totalClases);
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalClases", totalClases);
@@ -84,6 +118,29 @@ public class AsistenciaAlumnoService {
         return stats;
     }
 
+    /**
+     * Tasas de asistencia de todos los estudiantes de una sección, desde los contadores
+     * mantenidos en asistencia_resumen (una sola consulta)
+     */
+    public List<AsistenciaResumenResponseDTO> getEstadisticasSeccion(Long cursoOfertadoId) {
+        return asistenciaResumenRepository.findBySeccionConEstudiante(cursoOfertadoId).stream()
+                .map(this::toResumenDTO)
+                .toList();
+    }
+
+    /**
+     * Reconstruye los contadores de la sección desde los registros de asistencia
+     * (datos previos a los contadores o corregidos fuera de la API)
+     */
+    @Transactional
+    public List<AsistenciaResumenResponseDTO> recalcularEstadisticasSeccion(Long cursoOfertadoId) {
+        if (cursoOfertadoRepository.findByIdOptional(cursoOfertadoId).isEmpty()) {
+            throw new NotFoundException("Curso ofertado no encontrado con ID: " + cursoOfertadoId);
+        }
+        asistenciaResumenRepository.reconstruir(cursoOfertadoId);
+        return getEstadisticasSeccion(cursoOfertadoId);
+    }
+
     @Transactional
     public AsistenciaAlumnoResponseDTO create(AsistenciaAlumnoRequestDTO requestDTO) {
         // Validar que la universidad existe
@@ -133,13 +190,114 @@ public class AsistenciaAlumnoService {
 
         AsistenciaAlumno asistencia = asistenciaMapper.toEntity(requestDTO);
         asistenciaRepository.persist(asistencia);
+        asistenciaResumenRepository.aplicarDelta(horario.getCursoOfertado().getId(), estudiante.getId(),
+                requestDTO.getUniversidadId(), asistencia.getEstado(), 1);
         return asistenciaMapper.toResponseDTO(asistencia);
     }
 
+    /**
+     * Registra la asistencia de una sesión completa (horario + fecha).
+     * <p>
+     * Valida el horario y el día una sola vez, la matrícula de todos los estudiantes con una
+     * consulta y los registros existentes con otra; inserta los nuevos en batch. Es idempotente:
+     * reenviar la sesión actualiza los registros existentes en lugar de fallar o duplicarlos.
+     */
+    @Transactional
+    public AsistenciaSesionResponseDTO registrarSesion(AsistenciaSesionRequestDTO requestDTO) {
+        Map<Long, AsistenciaSesionRequestDTO.Registro> registros = new LinkedHashMap<>();
+        for (AsistenciaSesionRequestDTO.Registro registro : requestDTO.getRegistros()) {
+            if (registros.put(registro.getEstudianteId(), registro) != null) {
+                throw new BusinessException("El estudiante " + registro.getEstudianteId() + " figura más de una vez en la sesión");
+            }
+            // Validar que si el estado es TARDANZA, debe tener minutos de tardanza
+            if ("TARDANZA".equals(registro.getEstado()) &&
+                (registro.getMinutosTardanza() == null || registro.getMinutosTardanza() <= 0)) {
+                throw new BusinessException("Debe especificar los minutos de tardanza del estudiante "
+                        + registro.getEstudianteId() + " (estado TARDANZA)");
+            }
+        }
+
+        // Bloquea el horario: dos envíos simultáneos de la misma sesión se serializan
+        Horario horario = horarioRepository.findByIdOptional(requestDTO.getHorarioId(), LockModeType.PESSIMISTIC_WRITE)
+                .orElseThrow(() -> new NotFoundException("Horario no encontrado con ID: " + requestDTO.getHorarioId()));
+
+        // Validar que la fecha coincide con el día de la semana del horario
+        LocalDate fechaClase = requestDTO.getFechaClase();
+        if (!horario.getDiaSemana().equals(fechaClase.getDayOfWeek().getValue())) {
+            throw new BusinessException("La fecha de clase no coincide con el día de la semana del horario. " +
+                    "Horario es para " + horario.getNombreDia() + " pero la fecha es " + fechaClase.getDayOfWeek());
+        }
+
+        // Todos los estudiantes deben estar matriculados en la sección del horario
+        Long cursoOfertadoId = horario.getCursoOfertado().getId();
+        Set<Long> matriculados = new HashSet<>(
+                matriculaRepository.findEstudianteIdsMatriculados(cursoOfertadoId, registros.keySet()));
+        List<Long> noMatriculados = registros.keySet().stream()
+                .filter(estudianteId -> !matriculados.contains(estudianteId))
+                .toList();
+        if (!noMatriculados.isEmpty()) {
+            throw new BusinessException("Estudiantes sin matrícula vigente en la sección: " + noMatriculados);
+        }
+
+        // Reenvío: los registros ya existentes (incluso eliminados) se actualizan
+        int actualizados = 0;
+        int sinCambios = 0;
+        for (AsistenciaAlumno existente : asistenciaRepository.findBySesionAndEstudiantes(
+                horario.getId(), fechaClase, registros.keySet())) {
+            AsistenciaSesionRequestDTO.Registro registro = registros.remove(existente.getEstudiante().getId());
+            if (aplicarRegistro(existente, registro)) {
+                actualizados++;
+            } else {
+                sinCambios++;
+            }
+        }
+
+        Universidad universidad = horario.getUniversidad();
+        List<AsistenciaAlumno> nuevas = new ArrayList<>(registros.size());
+        for (AsistenciaSesionRequestDTO.Registro registro : registros.values()) {
+            AsistenciaAlumno asistencia = new AsistenciaAlumno();
+            asistencia.setUniversidad(universidad);
+            asistencia.setEstudiante(estudianteRepository.getEntityManager()
+                    .getReference(Estudiante.class, registro.getEstudianteId()));
+            asistencia.setHorario(horario);
+            asistencia.setFechaClase(fechaClase);
+            aplicarRegistro(asistencia, registro);
+            nuevas.add(asistencia);
+        }
+        asistenciaRepository.persist(nuevas);
+
+        if (actualizados > 0 || !nuevas.isEmpty()) {
+            // Un único recálculo de los contadores de la sesión en lugar de un delta por estudiante
+            asistenciaRepository.flush();
+            asistenciaResumenRepository.recalcularEstudiantes(cursoOfertadoId, matriculados);
+        }
+
+        return new AsistenciaSesionResponseDTO(horario.getId(), fechaClase, nuevas.size(), actualizados, sinCambios);
+    }
+
+    /**
+     * Copia estado, tardanza y observaciones del registro; devuelve false si no cambió nada
+     */
+    private boolean aplicarRegistro(AsistenciaAlumno asistencia, AsistenciaSesionRequestDTO.Registro registro) {
+        Integer minutosTardanza = "TARDANZA".equals(registro.getEstado()) ? registro.getMinutosTardanza() : null;
+        if (Boolean.TRUE.equals(asistencia.getActive())
+                && registro.getEstado().equals(asistencia.getEstado())
+                && Objects.equals(minutosTardanza, asistencia.getMinutosTardanza())
+                && Objects.equals(registro.getObservaciones(), asistencia.getObservaciones())) {
+            return false;
+        }
+        asistencia.setEstado(registro.getEstado());
+        asistencia.setMinutosTardanza(minutosTardanza);
+        asistencia.setObservaciones(registro.getObservaciones());
+        asistencia.setActive(true);
+        return true;
+    }
+
     @Transactional
     public AsistenciaAlumnoResponseDTO update(Long id, AsistenciaAlumnoRequestDTO requestDTO) {
         AsistenciaAlumno asistencia = asistenciaRepository.findByIdOptional(id)
                 .orElseThrow(() -> new NotFoundException("Asistencia no encontrada con ID: " + id));
+        RegistroContado anterior = registroContado(asistencia);
 
         // Validar que la universidad existe
         if (!universidadRepository.findByIdOptional(requestDTO.getUniversidadId()).isPresent()) {
@@ -170,6 +328,15 @@ public class AsistenciaAlumnoService {
 
         asistenciaMapper.updateEntityFromDTO(requestDTO, asistencia);
         asistenciaRepository.persist(asistencia);
+        // El flush aplica la normalización del estado antes de actualizar los contadores
+        asistenciaRepository.flush();
+
+        RegistroContado actual = new RegistroContado(horario.getCursoOfertado().getId(), estudiante.getId(),
+                requestDTO.getUniversidadId(), asistencia.getEstado(), Boolean.TRUE.equals(asistencia.getActive()));
+        if (!actual.equals(anterior)) {
+            descontar(anterior);
+            contar(actual);
+        }
         return asistenciaMapper.toResponseDTO(asistencia);
     }
 
@@ -179,7 +346,64 @@ public class AsistenciaAlumnoService {
                 .orElseThrow(() -> new NotFoundException("Asistencia no encontrada con ID: " + id));
 
         // Soft delete
+        descontar(registroContado(asistencia));
         asistencia.setActive(false);
         asistenciaRepository.persist(asistencia);
     }
+
+    /**
+     * Clave y estado con los que un registro de asistencia figura en asistencia_resumen
+     */
+    private record RegistroContado(Long cursoOfertadoId, Long estudianteId, Long universidadId,
+                                   String estado, boolean activo) {
+    }
+
+    private RegistroContado registroContado(AsistenciaAlumno asistencia) {
+        return new RegistroContado(asistencia.getHorario().getCursoOfertado().getId(),
+                asistencia.getEstudiante().getId(), asistencia.getUniversidad().getId(),
+                asistencia.getEstado(), Boolean.TRUE.equals(asistencia.getActive()));
+    }
+
+    private void contar(RegistroContado registro) {
+        if (registro.activo()) {
+            asistenciaResumenRepository.aplicarDelta(registro.cursoOfertadoId(), registro.estudianteId(),
+                    registro.universidadId(), registro.estado(), 1);
+        }
+    }
+
+    private void descontar(RegistroContado registro) {
+        if (registro.activo()) {
+            asistenciaResumenRepository.aplicarDelta(registro.cursoOfertadoId(), registro.estudianteId(),
+                    registro.universidadId(), registro.estado(), -1);
+        }
+    }
+
+    private AsistenciaResumenResponseDTO toResumenDTO(Object[] fila) {
+        AsistenciaResumenResponseDTO dto = new AsistenciaResumenResponseDTO();
+        dto.setEstudianteId((Long) fila[0]);
+        dto.setEstudianteCodigo((String) fila[1]);
+        dto.setEstudianteNombre(nombreCompleto(fila[2], fila[3], fila[4]));
+        dto.setTotalClases((Integer) fila[5]);
+        dto.setPresentes((Integer) fila[6]);
+        dto.setAusentes((Integer) fila[7]);
+        dto.setTardanzas((Integer) fila[8]);
+        dto.setJustificados((Integer) fila[9]);
+        dto.setPorcentajeAsistencia(porcentajeAsistencia(dto.getPresentes() + dto.getTardanzas(), dto.getTotalClases()));
+        return dto;
+    }
+
+    /**
+     * Une las partes presentes del nombre (el apellido materno puede faltar)
+     */
+    private static String nombreCompleto(Object... partes) {
+        return Stream.of(partes)
+                .filter(Objects::nonNull)
+                .map(Object::toString)
+                .filter(parte -> !parte.isBlank())
+                .collect(Collectors.joining(" "));
+    }
+
+    private static double porcentajeAsistencia(long asistidas, long totalClases) {
+        return totalClases == 0 ? 0.0 : (asistidas * 100.0) / totalClases;
+    }
 }
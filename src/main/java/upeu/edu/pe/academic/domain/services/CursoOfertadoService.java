@@ -37,6 +37,12 @@ public class CursoOfertadoService {
     @Inject
     CursoOfertadoMapper cursoOfertadoMapper;
 
+    @Inject
+    HorarioConflictIndex horarioConflictIndex;
+
+    @Inject
+    ReservaVacantesService reservaVacantesService;
+
     public List<CursoOfertadoResponseDTO> findByUniversidad(Long universidadId) {
         List<CursoOfertado> cursosOfertados = cursoOfertadoRepository.findByUniversidad(universidadId);
         return cursoOfertadoMapper.toResponseDTOList(cursosOfertados);
@@ -154,6 +160,7 @@ public class CursoOfertadoService {
     public CursoOfertadoResponseDTO update(Long id, CursoOfertadoRequestDTO requestDTO) {
         CursoOfertado cursoOfertado = cursoOfertadoRepository.findByIdOptional(id)
                 .orElseThrow(() -> new NotFoundException("Curso ofertado no encontrado con ID: " + id));
+        Long universidadAnteriorId = cursoOfertado.getUniversidad().getId();
 
         // Validar cambios de relaciones
         if (!cursoOfertado.getUniversidad().getId().equals(requestDTO.getUniversidadId())) {
@@ -204,6 +211,11 @@ public class CursoOfertadoService {
 
         cursoOfertadoMapper.updateEntityFromDTO(requestDTO, cursoOfertado);
         cursoOfertadoRepository.persist(cursoOfertado);
+
+        // Profesor, período o universidad pueden haber cambiado: los bloques indexados quedan obsoletos
+        horarioConflictIndex.invalidar(universidadAnteriorId);
+        horarioConflictIndex.invalidar(cursoOfertado.getUniversidad().getId());
+        reservaVacantesService.invalidar(id);
         return cursoOfertadoMapper.toResponseDTO(cursoOfertado);
     }
 
@@ -221,5 +233,7 @@ public class CursoOfertadoService {
         // Soft delete
         cursoOfertado.setActive(false);
         cursoOfertadoRepository.persist(cursoOfertado);
+        horarioConflictIndex.invalidar(cursoOfertado.getUniversidad().getId());
+        reservaVacantesService.invalidar(id);
     }
 }
@@ -4,6 +4,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import jakarta.ws.rs.core.StreamingOutput;
 import upeu.edu.pe.academic.application.dto.EstudianteRequestDTO;
 import upeu.edu.pe.academic.application.dto.EstudianteResponseDTO;
 import upeu.edu.pe.academic.application.mapper.EstudianteMapper;
@@ -16,6 +17,9 @@ import upeu.edu.pe.academic.domain.usecases.ActualizarEstudianteUseCase;
 import upeu.edu.pe.academic.domain.usecases.BuscarEstudianteUseCase;
 import upeu.edu.pe.academic.domain.usecases.CambiarEstadoAcademicoUseCase;
 import upeu.edu.pe.academic.domain.usecases.CrearEstudianteUseCase;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -50,14 +54,21 @@ public class EstudianteService {
     @Inject
     CambiarEstadoAcademicoUseCase cambiarEstadoUseCase;
 
+    @Inject
+    NdjsonStreamer ndjsonStreamer;
+
     /**
-     * Listar todos los estudiantes activos.
+     * Listar los estudiantes activos por páginas (cursor keyset).
      */
-    public List<EstudianteResponseDTO> findAll() {
-        return buscarUseCase.ejecutarListarActivos()
-                .stream()
-                .map(estudianteMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public KeysetPage<EstudianteResponseDTO> findAll(PageRequest pageRequest) {
+        return estudianteRepository.findActivos(pageRequest).map(estudianteMapper::toResponseDTO);
+    }
+
+    /**
+     * Todos los estudiantes activos en NDJSON, escritos a medida que se leen.
+     */
+    public StreamingOutput streamAll() {
+        return ndjsonStreamer.stream(estudianteRepository::streamActivos, estudianteMapper::toResponseDTO);
     }
 
     /**
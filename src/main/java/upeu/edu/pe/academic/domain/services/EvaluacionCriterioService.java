@@ -23,6 +23,9 @@ public class EvaluacionCriterioService {
     @Inject
     EvaluacionCriterioMapper criterioMapper;
 
+    @Inject
+    ActaNotasService actaNotasService;
+
     public List<EvaluacionCriterioResponseDTO> findBySeccion(Long seccionId) {
         List<EvaluacionCriterio> criterios = criterioRepository.findBySeccion(seccionId);
         return criterioMapper.toResponseDTOList(criterios);
@@ -86,6 +89,7 @@ public class EvaluacionCriterioService {
         }
 
         criterioRepository.persist(criterio);
+        actaNotasService.invalidar(requestDTO.getSeccionId());
         return criterioMapper.toResponseDTO(criterio);
     }
 
@@ -122,6 +126,8 @@ public class EvaluacionCriterioService {
             }
         }
 
+        actaNotasService.invalidar(criterio.getCursoOfertado().getId());
+        actaNotasService.invalidar(requestDTO.getSeccionId());
         criterioMapper.updateEntityFromDTO(requestDTO, criterio);
         criterioRepository.persist(criterio);
 
@@ -142,6 +148,7 @@ public class EvaluacionCriterioService {
         // Soft delete
         criterio.setActive(false);
         criterioRepository.persist(criterio);
+        actaNotasService.invalidar(criterio.getCursoOfertado().getId());
     }
 
     public boolean isPesoTotalValido(Long seccionId) {
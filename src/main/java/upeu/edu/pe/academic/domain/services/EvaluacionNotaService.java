@@ -2,20 +2,33 @@ package upeu.edu.pe.academic.domain.services;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import upeu.edu.pe.academic.application.dto.EvaluacionNotaImportRequestDTO;
+import upeu.edu.pe.academic.application.dto.EvaluacionNotaImportResponseDTO;
 import upeu.edu.pe.academic.application.dto.EvaluacionNotaRequestDTO;
 import upeu.edu.pe.academic.application.dto.EvaluacionNotaResponseDTO;
 import upeu.edu.pe.academic.application.mapper.EvaluacionNotaMapper;
 import upeu.edu.pe.academic.domain.entities.EvaluacionNota;
 import upeu.edu.pe.academic.domain.entities.EvaluacionCriterio;
+import upeu.edu.pe.academic.domain.entities.Matricula;
 import upeu.edu.pe.academic.domain.repositories.EvaluacionNotaRepository;
 import upeu.edu.pe.academic.domain.repositories.EvaluacionCriterioRepository;
+import upeu.edu.pe.academic.domain.repositories.MatriculaRepository;
 import upeu.edu.pe.shared.exceptions.BusinessException;
 import upeu.edu.pe.shared.exceptions.NotFoundException;
+import upeu.edu.pe.shared.exceptions.ValidationException;
+import upeu.edu.pe.shared.utils.CsvParser;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @ApplicationScoped
 public class EvaluacionNotaService {
@@ -29,6 +42,14 @@ public class EvaluacionNotaService {
     @Inject
     EvaluacionCriterioRepository criterioRepository;
 
+    @Inject
+    ActaNotasService actaNotasService;
+
+    @Inject
+    MatriculaRepository matriculaRepository;
+
+    private static final int MAX_FILAS_IMPORTACION = 5000;
+
     public List<EvaluacionNotaResponseDTO> findByMatricula(Long matriculaId) {
         List<EvaluacionNota> notas = notaRepository.findByMatricula(matriculaId);
         return notaMapper.toResponseDTOList(notas);
@@ -82,16 +103,12 @@ public class EvaluacionNotaService {
                 .orElseThrow(() -> new NotFoundException("Criterio no encontrado con ID: " + requestDTO.getCriterioId()));
 
         // Validar que la nota no exceda la nota máxima del criterio
-        if (requestDTO.getNota() != null && criterio.getNotaMaxima() != null) {
-            if (requestDTO.getNota().compareTo(new BigDecimal(criterio.getNotaMaxima())) > 0) {
-                throw new BusinessException("La nota no puede exceder la nota máxima del criterio: " + criterio.getNotaMaxima());
-            }
+        if (criterio.excedeNotaMaxima(requestDTO.getNota())) {
+            throw new BusinessException("La nota no puede exceder la nota máxima del criterio: " + criterio.getNotaMaxima());
         }
 
         EvaluacionNota nota = notaMapper.toEntity(requestDTO);
-        upeu.edu.pe.academic.domain.entities.Matricula matricula = new upeu.edu.pe.academic.domain.entities.Matricula();
-        matricula.setId(requestDTO.getMatriculaId());
-        nota.setMatricula(matricula);
+        nota.setMatricula(notaRepository.getEntityManager().getReference(Matricula.class, requestDTO.getMatriculaId()));
         nota.setCriterio(criterio);
 
         // Establecer fecha de calificación si hay nota
@@ -100,6 +117,7 @@ public class EvaluacionNotaService {
         }
 
         notaRepository.persist(nota);
+        actaNotasService.invalidar(criterio.getCursoOfertado().getId());
         return notaMapper.toResponseDTO(nota);
     }
 
@@ -110,7 +128,7 @@ public class EvaluacionNotaService {
 
         // Validar que la nota no exceda la nota máxima del criterio
         var criterio = evaluacionNota.getCriterio();
-        if (criterio.getNotaMaxima() != null && nota.compareTo(new BigDecimal(criterio.getNotaMaxima())) > 0) {
+        if (criterio.excedeNotaMaxima(nota)) {
             throw new BusinessException("La nota no puede exceder la nota máxima del criterio: " + criterio.getNotaMaxima());
         }
 
@@ -119,6 +137,7 @@ public class EvaluacionNotaService {
         evaluacionNota.setEstado("CALIFICADA");
 
         notaRepository.persist(evaluacionNota);
+        actaNotasService.invalidar(criterio.getCursoOfertado().getId());
         return notaMapper.toResponseDTO(evaluacionNota);
     }
 
@@ -139,7 +158,7 @@ public class EvaluacionNotaService {
 
         // Validar que la nota de recuperación no exceda la nota máxima
         var criterio = evaluacionNota.getCriterio();
-        if (criterio.getNotaMaxima() != null && notaRecuperacion.compareTo(new BigDecimal(criterio.getNotaMaxima())) > 0) {
+        if (criterio.excedeNotaMaxima(notaRecuperacion)) {
             throw new BusinessException("La nota de recuperación no puede exceder la nota máxima del criterio: " + criterio.getNotaMaxima());
         }
 
@@ -147,6 +166,7 @@ public class EvaluacionNotaService {
         evaluacionNota.setEstado("RECUPERADA");
 
         notaRepository.persist(evaluacionNota);
+        actaNotasService.invalidar(criterio.getCursoOfertado().getId());
         return notaMapper.toResponseDTO(evaluacionNota);
     }
 
@@ -157,10 +177,8 @@ public class EvaluacionNotaService {
 
         // Validar que la nota no exceda la nota máxima del criterio
         EvaluacionCriterio criterio = nota.getCriterio();
-        if (requestDTO.getNota() != null && criterio.getNotaMaxima() != null) {
-            if (requestDTO.getNota().compareTo(new BigDecimal(criterio.getNotaMaxima())) > 0) {
-                throw new BusinessException("La nota no puede exceder la nota máxima del criterio: " + criterio.getNotaMaxima());
-            }
+        if (criterio.excedeNotaMaxima(requestDTO.getNota())) {
+            throw new BusinessException("La nota no puede exceder la nota máxima del criterio: " + criterio.getNotaMaxima());
         }
 
         notaMapper.updateEntityFromDTO(requestDTO, nota);
@@ -171,6 +189,7 @@ public class EvaluacionNotaService {
         }
 
         notaRepository.persist(nota);
+        actaNotasService.invalidar(criterio.getCursoOfertado().getId());
         return notaMapper.toResponseDTO(nota);
     }
 
@@ -182,6 +201,194 @@ public class EvaluacionNotaService {
         // Soft delete
         nota.setActive(false);
         notaRepository.persist(nota);
+        actaNotasService.invalidar(nota.getCriterio().getCursoOfertado().getId());
+    }
+
+    /**
+     * Importación masiva de notas. Carga los criterios, las secciones de las matrículas y las
+     * notas existentes con una consulta cada uno, valida todo en memoria y persiste las notas
+     * nuevas en lote. Las filas inválidas se informan y no impiden registrar las demás.
+     * <p>
+     * Una nota existente sin calificar se completa; una ya calificada solo se reemplaza con
+     * {@code sobrescribir}.
+     */
+    @Transactional
+    public EvaluacionNotaImportResponseDTO importar(List<EvaluacionNotaImportRequestDTO.Fila> filas, boolean sobrescribir) {
+        return importar(filas, sobrescribir, new ArrayList<>());
+    }
+
+    /**
+     * Importación masiva desde CSV con columnas matriculaId, criterioId, nota, notaRecuperacion
+     * y observacion (en ese orden; la fila de cabecera es opcional). Admite coma o punto y coma
+     * como separador y, en este último caso, coma decimal. Sin separador se detecta en la
+     * primera línea.
+     */
+    @Transactional
+    public EvaluacionNotaImportResponseDTO importarCsv(String csv, String separador, boolean sobrescribir) {
+        List<String[]> registros = separador == null || separador.isEmpty()
+                ? CsvParser.parse(csv)
+                : CsvParser.parse(csv, separadorCsv(separador));
+        if (!registros.isEmpty() && !esNumero(registros.get(0)[0])) {
+            registros = registros.subList(1, registros.size()); // Cabecera
+        }
+        if (registros.isEmpty()) {
+            throw new ValidationException("El archivo CSV no contiene notas");
+        }
+        if (registros.size() > MAX_FILAS_IMPORTACION) {
+            throw new ValidationException("No se pueden importar más de " + MAX_FILAS_IMPORTACION + " notas a la vez");
+        }
+
+        List<EvaluacionNotaImportRequestDTO.Fila> filas = new ArrayList<>(registros.size());
+        List<EvaluacionNotaImportResponseDTO.ErrorFila> errores = new ArrayList<>();
+        for (int i = 0; i < registros.size(); i++) {
+            String[] campos = registros.get(i);
+            try {
+                EvaluacionNotaImportRequestDTO.Fila fila = new EvaluacionNotaImportRequestDTO.Fila();
+                fila.setMatriculaId(parseLong(campo(campos, 0)));
+                fila.setCriterioId(parseLong(campo(campos, 1)));
+                fila.setNota(parseDecimal(campo(campos, 2)));
+                fila.setNotaRecuperacion(parseDecimal(campo(campos, 3)));
+                fila.setObservacion(campo(campos, 4));
+                filas.add(fila);
+            } catch (NumberFormatException e) {
+                filas.add(null); // Ya informada: se omite al validar
+                errores.add(new EvaluacionNotaImportResponseDTO.ErrorFila(i + 1, null, null,
+                        "Valor numérico inválido: " + String.join(",", campos)));
+            }
+        }
+        return importar(filas, sobrescribir, errores);
+    }
+
+    private static char separadorCsv(String separador) {
+        if (!separador.equals(",") && !separador.equals(";")) {
+            throw new ValidationException("El separador del CSV debe ser ',' o ';'");
+        }
+        return separador.charAt(0);
+    }
+
+    private EvaluacionNotaImportResponseDTO importar(List<EvaluacionNotaImportRequestDTO.Fila> filas, boolean sobrescribir,
+                                                     List<EvaluacionNotaImportResponseDTO.ErrorFila> errores) {
+        Set<Long> matriculaIds = new HashSet<>();
+        Set<Long> criterioIds = new HashSet<>();
+        for (EvaluacionNotaImportRequestDTO.Fila fila : filas) {
+            if (fila != null && fila.getMatriculaId() != null && fila.getCriterioId() != null) {
+                matriculaIds.add(fila.getMatriculaId());
+                criterioIds.add(fila.getCriterioId());
+            }
+        }
+
+        Map<Long, EvaluacionCriterio> criterios = new HashMap<>();
+        Map<Long, Long> seccionPorMatricula = new HashMap<>();
+        Map<ParNota, EvaluacionNota> existentes = new HashMap<>();
+        if (!matriculaIds.isEmpty()) {
+            criterioRepository.findActivosByIds(criterioIds).forEach(c -> criterios.put(c.getId(), c));
+            matriculaRepository.findSeccionIdsByMatriculas(matriculaIds)
+                    .forEach(fila -> seccionPorMatricula.put((Long) fila[0], (Long) fila[1]));
+            notaRepository.findByMatriculasAndCriterios(matriculaIds, criterioIds)
+                    .forEach(n -> existentes.put(new ParNota(n.getMatricula().getId(), n.getCriterio().getId()), n));
+        }
+
+        EntityManager em = notaRepository.getEntityManager();
+        LocalDateTime ahora = LocalDateTime.now();
+        Set<ParNota> procesadas = new HashSet<>();
+        Set<Long> secciones = new HashSet<>();
+        List<EvaluacionNota> nuevas = new ArrayList<>();
+        int actualizadas = 0;
+
+        for (int i = 0; i < filas.size(); i++) {
+            EvaluacionNotaImportRequestDTO.Fila fila = filas.get(i);
+            if (fila == null) {
+                continue;
+            }
+            EvaluacionCriterio criterio = criterios.get(fila.getCriterioId());
+            String error = validarFila(fila, criterio, seccionPorMatricula.get(fila.getMatriculaId()));
+            ParNota par = new ParNota(fila.getMatriculaId(), fila.getCriterioId());
+            EvaluacionNota nota = existentes.get(par);
+            if (error == null && !procesadas.add(par)) {
+                error = "La matrícula y el criterio se repiten en el lote";
+            }
+            if (error == null && nota != null && Boolean.TRUE.equals(nota.getActive()) && nota.getNota() != null && !sobrescribir) {
+                error = "La nota ya está registrada; use sobrescribir para reemplazarla";
+            }
+            if (error != null) {
+                errores.add(new EvaluacionNotaImportResponseDTO.ErrorFila(i + 1, fila.getMatriculaId(), fila.getCriterioId(), error));
+                continue;
+            }
+
+            if (nota == null) {
+                nota = new EvaluacionNota(em.getReference(Matricula.class, fila.getMatriculaId()), criterio);
+                nuevas.add(nota);
+            } else {
+                nota.setActive(true);
+                actualizadas++;
+            }
+            nota.setNota(fila.getNota());
+            nota.setNotaRecuperacion(fila.getNotaRecuperacion());
+            if (fila.getObservacion() != null && !fila.getObservacion().isBlank()) {
+                nota.setObservacion(fila.getObservacion().trim());
+            }
+            nota.setFechaCalificacion(ahora);
+            nota.setEstado(fila.getNotaRecuperacion() != null ? "RECUPERADA" : "CALIFICADO");
+            secciones.add(criterio.getCursoOfertado().getId());
+        }
+
+        notaRepository.persist(nuevas);
+        secciones.forEach(actaNotasService::invalidar);
+
+        errores.sort(Comparator.comparing(EvaluacionNotaImportResponseDTO.ErrorFila::getFila));
+        return new EvaluacionNotaImportResponseDTO(filas.size(), nuevas.size(), actualizadas, errores);
+    }
+
+    /**
+     * Valida una fila contra los datos precargados; devuelve el mensaje de error o null
+     */
+    private static String validarFila(EvaluacionNotaImportRequestDTO.Fila fila, EvaluacionCriterio criterio, Long seccionId) {
+        if (fila.getMatriculaId() == null || fila.getCriterioId() == null) {
+            return "La matrícula y el criterio son obligatorios";
+        }
+        if (seccionId == null) {
+            return "Matrícula no encontrada con ID: " + fila.getMatriculaId();
+        }
+        if (criterio == null) {
+            return "Criterio no encontrado con ID: " + fila.getCriterioId();
+        }
+        if (!seccionId.equals(criterio.getCursoOfertado().getId())) {
+            return "El criterio no pertenece a la sección de la matrícula";
+        }
+        if (fila.getNota() == null) {
+            return "La nota es obligatoria";
+        }
+        if (fila.getNota().signum() < 0 || criterio.excedeNotaMaxima(fila.getNota())) {
+            return "La nota debe estar entre 0 y " + criterio.getNotaMaxima();
+        }
+        if (fila.getNotaRecuperacion() != null) {
+            if (!Boolean.TRUE.equals(criterio.getEsRecuperable())) {
+                return "Este criterio no permite recuperación";
+            }
+            if (fila.getNotaRecuperacion().signum() < 0 || criterio.excedeNotaMaxima(fila.getNotaRecuperacion())) {
+                return "La nota de recuperación debe estar entre 0 y " + criterio.getNotaMaxima();
+            }
+        }
+        return null;
+    }
+
+    private static String campo(String[] campos, int indice) {
+        return indice < campos.length && !campos[indice].isEmpty() ? campos[indice] : null;
+    }
+
+    private static boolean esNumero(String valor) {
+        return !valor.isEmpty() && valor.chars().allMatch(Character::isDigit);
+    }
+
+    private static Long parseLong(String valor) {
+        return valor != null ? Long.valueOf(valor) : null;
+    }
+
+    private static BigDecimal parseDecimal(String valor) {
+        return valor != null ? new BigDecimal(valor.replace(',', '.')) : null;
+    }
+
+    private record ParNota(Long matriculaId, Long criterioId) {
     }
 
     public long countCalificadasByMatricula(Long matriculaId) {
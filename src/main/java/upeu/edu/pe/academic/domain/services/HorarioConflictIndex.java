@@ -0,0 +1,391 @@
+package upeu.edu.pe.academic.domain.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import upeu.edu.pe.academic.domain.entities.CursoOfertado;
+import upeu.edu.pe.academic.domain.entities.Horario;
+import upeu.edu.pe.academic.domain.repositories.HorarioRepository;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Índice en memoria de bloques horarios por universidad y período académico.
+ * Mantiene, por (profesor | aula, día), los bloques ordenados por hora de inicio para
+ * resolver cruces en O(log n) sin consultar la base de datos.
+ * Se carga desde HorarioRepository al primer uso (y tras expirar el TTL) y se
+ * sincroniza con las escrituras de HorarioService una vez confirmada la transacción.
+ */
+@ApplicationScoped
+public class HorarioConflictIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(HorarioConflictIndex.class.getName());
+
+    @Inject
+    HorarioRepository horarioRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    /**
+     * Tiempo máximo antes de recargar el índice de una universidad desde base de datos
+     * (cubre escrituras hechas por otras instancias)
+     */
+    @ConfigProperty(name = "horario.conflict-index.ttl", defaultValue = "10M")
+    Duration ttl;
+
+    private final Map<Long, UniversidadIndex> universidades = new ConcurrentHashMap<>();
+
+    // Se incrementa al registrar cada escritura y otra vez al aplicarla tras el commit, para
+    // descartar cargas concurrentes que pudieron leer la tabla antes de confirmarse
+    private final Map<Long, AtomicLong> generaciones = new ConcurrentHashMap<>();
+
+    /**
+     * Bloque horario indexado (horas en segundos del día)
+     */
+    public record Slot(Long horarioId, Long cursoOfertadoId, Long periodoId, Long profesorId,
+                       Long localizacionId, int diaSemana, int inicio, int fin) {
+
+        public boolean seCruzaCon(int otroInicio, int otroFin) {
+            return inicio < otroFin && fin > otroInicio;
+        }
+
+        public LocalTime horaInicio() {
+            return LocalTime.ofSecondOfDay(inicio);
+        }
+
+        public LocalTime horaFin() {
+            return LocalTime.ofSecondOfDay(fin);
+        }
+    }
+
+    /**
+     * Cruce entre un bloque propuesto y uno ya existente
+     */
+    public record Cruce(Slot propuesto, Slot existente) {
+    }
+
+    /**
+     * Busca un bloque del profesor que se cruce con el intervalo dado
+     */
+    public Optional<Slot> findCruceProfesor(Long universidadId, Long periodoId, Long profesorId,
+                                            int diaSemana, LocalTime horaInicio, LocalTime horaFin,
+                                            Long horarioIdExcluir) {
+        return universidad(universidadId).findCruce(periodoId, Recurso.PROFESOR, profesorId,
+                diaSemana, horaInicio.toSecondOfDay(), horaFin.toSecondOfDay(), horarioIdExcluir);
+    }
+
+    /**
+     * Busca un bloque del aula que se cruce con el intervalo dado
+     */
+    public Optional<Slot> findCruceLocalizacion(Long universidadId, Long periodoId, Long localizacionId,
+                                                int diaSemana, LocalTime horaInicio, LocalTime horaFin,
+                                                Long horarioIdExcluir) {
+        return universidad(universidadId).findCruce(periodoId, Recurso.LOCALIZACION, localizacionId,
+                diaSemana, horaInicio.toSecondOfDay(), horaFin.toSecondOfDay(), horarioIdExcluir);
+    }
+
+    /**
+     * Verifica si el curso ofertado ya tiene un bloque en el mismo día y hora de inicio
+     */
+    public boolean existeHorario(Long universidadId, Long periodoId, Long cursoOfertadoId,
+                                 int diaSemana, LocalTime horaInicio, Long horarioIdExcluir) {
+        int inicio = horaInicio.toSecondOfDay();
+        return universidad(universidadId).findByCursoOfertado(periodoId, cursoOfertadoId).stream()
+                .anyMatch(s -> s.diaSemana() == diaSemana && s.inicio() == inicio
+                        && !s.horarioId().equals(horarioIdExcluir));
+    }
+
+    /**
+     * Verifica en una sola llamada los cursos propuestos contra los ya matriculados
+     * y entre sí (un estudiante no puede estar en dos bloques a la vez)
+     */
+    public List<Cruce> findCrucesEstudiante(Long universidadId, Long periodoId,
+                                            Collection<Long> cursosMatriculados,
+                                            Collection<Long> cursosPropuestos) {
+        UniversidadIndex index = universidad(universidadId);
+
+        IntervalSet[] agenda = IntervalSet.porDia();
+        for (Long cursoId : cursosMatriculados) {
+            for (Slot slot : index.findByCursoOfertado(periodoId, cursoId)) {
+                agenda[slot.diaSemana()].add(slot);
+            }
+        }
+
+        List<Cruce> cruces = new ArrayList<>();
+        for (Long cursoId : cursosPropuestos) {
+            if (cursosMatriculados.contains(cursoId)) {
+                continue;
+            }
+            List<Slot> slots = index.findByCursoOfertado(periodoId, cursoId);
+            for (Slot slot : slots) {
+                agenda[slot.diaSemana()].findCruce(slot.inicio(), slot.fin(), null)
+                        .ifPresent(existente -> cruces.add(new Cruce(slot, existente)));
+            }
+            for (Slot slot : slots) {
+                agenda[slot.diaSemana()].add(slot);
+            }
+        }
+        return cruces;
+    }
+
+    /**
+     * Registra (o reemplaza) el bloque en el índice al confirmarse la transacción
+     */
+    public void registrar(Horario horario) {
+        CursoOfertado cursoOfertado = horario.getCursoOfertado();
+        Long universidadId = horario.getUniversidad().getId();
+        Slot slot = new Slot(
+                horario.getId(),
+                cursoOfertado.getId(),
+                cursoOfertado.getPeriodoAcademico().getId(),
+                cursoOfertado.getProfesor() != null ? cursoOfertado.getProfesor().getId() : null,
+                horario.getLocalizacion() != null ? horario.getLocalizacion().getId() : null,
+                horario.getDiaSemana(),
+                horario.getHoraInicio().toSecondOfDay(),
+                horario.getHoraFin().toSecondOfDay()
+        );
+        despuesDeConfirmar(universidadId, () -> {
+            UniversidadIndex index = universidades.get(universidadId);
+            if (index != null) {
+                index.put(slot);
+            }
+        });
+    }
+
+    /**
+     * Quita el bloque del índice al confirmarse la transacción
+     */
+    public void eliminar(Long universidadId, Long horarioId) {
+        despuesDeConfirmar(universidadId, () -> {
+            UniversidadIndex index = universidades.get(universidadId);
+            if (index != null) {
+                index.remove(horarioId);
+            }
+        });
+    }
+
+    /**
+     * Descarta el índice de la universidad (p.ej. al cambiar profesor o período de un curso ofertado)
+     */
+    public void invalidar(Long universidadId) {
+        despuesDeConfirmar(universidadId, () -> universidades.remove(universidadId));
+    }
+
+    private UniversidadIndex universidad(Long universidadId) {
+        UniversidadIndex index = universidades.get(universidadId);
+        if (index != null && !index.expirado(ttl)) {
+            return index;
+        }
+
+        long generacion = generacion(universidadId).get();
+        UniversidadIndex cargado = new UniversidadIndex();
+        for (Object[] row : horarioRepository.findSlotsByUniversidad(universidadId)) {
+            cargado.put(new Slot(
+                    (Long) row[0], (Long) row[1], (Long) row[2], (Long) row[3], (Long) row[4],
+                    (Integer) row[5],
+                    ((LocalTime) row[6]).toSecondOfDay(),
+                    ((LocalTime) row[7]).toSecondOfDay()
+            ));
+        }
+
+        // Si hubo escrituras durante la carga, se usa sin cachear: la próxima consulta recarga
+        AtomicLong actual = generacion(universidadId);
+        synchronized (actual) {
+            if (actual.get() == generacion) {
+                universidades.put(universidadId, cargado);
+            }
+        }
+        LOGGER.fine(() -> "Índice de horarios cargado para universidad " + universidadId);
+        return cargado;
+    }
+
+    private AtomicLong generacion(Long universidadId) {
+        return generaciones.computeIfAbsent(universidadId, id -> new AtomicLong());
+    }
+
+    private void despuesDeConfirmar(Long universidadId, Runnable accion) {
+        generacion(universidadId).incrementAndGet();
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            aplicar(universidadId, accion);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    aplicar(universidadId, accion);
+                }
+            }
+        });
+    }
+
+    /**
+     * Aplica la escritura confirmada; el nuevo incremento invalida cualquier carga iniciada
+     * antes del commit, que pudo no ver el cambio y aún no ha cacheado su índice
+     */
+    private void aplicar(Long universidadId, Runnable accion) {
+        AtomicLong generacion = generacion(universidadId);
+        synchronized (generacion) {
+            generacion.incrementAndGet();
+            accion.run();
+        }
+    }
+
+    private enum Recurso {
+        PROFESOR, LOCALIZACION
+    }
+
+    /**
+     * Índice de una universidad: bloques por período, recurso y día
+     */
+    private static final class UniversidadIndex {
+
+        private final long cargadoEn = System.nanoTime();
+        private final Map<Long, Slot> horarios = new HashMap<>();
+        private final Map<Long, PeriodoIndex> periodos = new HashMap<>();
+
+        boolean expirado(Duration ttl) {
+            return System.nanoTime() - cargadoEn > ttl.toNanos();
+        }
+
+        synchronized void put(Slot slot) {
+            Slot anterior = horarios.put(slot.horarioId(), slot);
+            if (anterior != null) {
+                periodo(anterior.periodoId()).remove(anterior);
+            }
+            periodo(slot.periodoId()).add(slot);
+        }
+
+        synchronized void remove(Long horarioId) {
+            Slot anterior = horarios.remove(horarioId);
+            if (anterior != null) {
+                periodo(anterior.periodoId()).remove(anterior);
+            }
+        }
+
+        synchronized Optional<Slot> findCruce(Long periodoId, Recurso recurso, Long recursoId,
+                                              int diaSemana, int inicio, int fin, Long excluir) {
+            PeriodoIndex periodo = periodos.get(periodoId);
+            if (periodo == null || recursoId == null) {
+                return Optional.empty();
+            }
+            IntervalSet[] dias = periodo.recursos(recurso).get(recursoId);
+            return dias == null ? Optional.empty() : dias[diaSemana].findCruce(inicio, fin, excluir);
+        }
+
+        synchronized List<Slot> findByCursoOfertado(Long periodoId, Long cursoOfertadoId) {
+            PeriodoIndex periodo = periodos.get(periodoId);
+            if (periodo == null) {
+                return List.of();
+            }
+            return List.copyOf(periodo.cursos.getOrDefault(cursoOfertadoId, List.of()));
+        }
+
+        private PeriodoIndex periodo(Long periodoId) {
+            return periodos.computeIfAbsent(periodoId, id -> new PeriodoIndex());
+        }
+    }
+
+    private static final class PeriodoIndex {
+
+        private final Map<Long, IntervalSet[]> profesores = new HashMap<>();
+        private final Map<Long, IntervalSet[]> localizaciones = new HashMap<>();
+        private final Map<Long, List<Slot>> cursos = new HashMap<>();
+
+        Map<Long, IntervalSet[]> recursos(Recurso recurso) {
+            return recurso == Recurso.PROFESOR ? profesores : localizaciones;
+        }
+
+        void add(Slot slot) {
+            if (slot.profesorId() != null) {
+                profesores.computeIfAbsent(slot.profesorId(), id -> IntervalSet.porDia())[slot.diaSemana()].add(slot);
+            }
+            if (slot.localizacionId() != null) {
+                localizaciones.computeIfAbsent(slot.localizacionId(), id -> IntervalSet.porDia())[slot.diaSemana()].add(slot);
+            }
+            cursos.computeIfAbsent(slot.cursoOfertadoId(), id -> new ArrayList<>()).add(slot);
+        }
+
+        void remove(Slot slot) {
+            if (slot.profesorId() != null && profesores.containsKey(slot.profesorId())) {
+                profesores.get(slot.profesorId())[slot.diaSemana()].remove(slot);
+            }
+            if (slot.localizacionId() != null && localizaciones.containsKey(slot.localizacionId())) {
+                localizaciones.get(slot.localizacionId())[slot.diaSemana()].remove(slot);
+            }
+            List<Slot> slots = cursos.get(slot.cursoOfertadoId());
+            if (slots != null) {
+                slots.removeIf(s -> s.horarioId().equals(slot.horarioId()));
+            }
+        }
+    }
+
+    /**
+     * Bloques de un recurso en un día, ordenados por inicio. Un bloque que se cruce con
+     * [inicio, fin) debe empezar en [inicio - duraciónMáxima, fin), por lo que basta
+     * recorrer ese rango del árbol.
+     */
+    private static final class IntervalSet {
+
+        private static final Comparator<Slot> ORDEN =
+                Comparator.comparingInt(Slot::inicio).thenComparing(Slot::horarioId);
+
+        private final TreeSet<Slot> slots = new TreeSet<>(ORDEN);
+        private int duracionMaxima;
+
+        static IntervalSet[] porDia() {
+            IntervalSet[] dias = new IntervalSet[8]; // índice 1..7 = Lunes..Domingo
+            for (int i = 1; i < dias.length; i++) {
+                dias[i] = new IntervalSet();
+            }
+            return dias;
+        }
+
+        void add(Slot slot) {
+            slots.add(slot);
+            duracionMaxima = Math.max(duracionMaxima, slot.fin() - slot.inicio());
+        }
+
+        void remove(Slot slot) {
+            slots.remove(slot);
+        }
+
+        Optional<Slot> findCruce(int inicio, int fin, Long excluir) {
+            if (slots.isEmpty()) {
+                return Optional.empty();
+            }
+            Slot desde = sonda(inicio - duracionMaxima);
+            Slot hasta = sonda(fin);
+            for (Slot slot : slots.subSet(desde, true, hasta, false)) {
+                if (slot.seCruzaCon(inicio, fin) && !slot.horarioId().equals(excluir)) {
+                    return Optional.of(slot);
+                }
+            }
+            return Optional.empty();
+        }
+
+        private static Slot sonda(int inicio) {
+            return new Slot(Long.MIN_VALUE, null, null, null, null, 0, inicio, inicio);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import upeu.edu.pe.academic.application.dto.CruceHorarioDTO;
 import upeu.edu.pe.academic.application.dto.HorarioRequestDTO;
 import upeu.edu.pe.academic.application.dto.HorarioResponseDTO;
 import upeu.edu.pe.academic.application.mapper.HorarioMapper;
@@ -12,7 +13,13 @@ import upeu.edu.pe.academic.domain.repositories.*;
 import upeu.edu.pe.shared.exceptions.BusinessException;
 import upeu.edu.pe.shared.exceptions.ResourceNotFoundException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @ApplicationScoped
 public class HorarioService {
@@ -29,9 +36,15 @@ public class HorarioService {
     @Inject
     LocalizacionRepository localizacionRepository;
 
+    @Inject
+    MatriculaRepository matriculaRepository;
+
     @Inject
     HorarioMapper horarioMapper;
 
+    @Inject
+    HorarioConflictIndex horarioConflictIndex;
+
     /**
      * Busca todos los horarios de una universidad
      */
@@ -124,15 +137,13 @@ public class HorarioService {
             throw new BusinessException("La hora de inicio debe ser anterior a la hora de fin");
         }
 
-        // Validar cruce de horarios para el profesor
-        List<Horario> crucesProfesor = horarioRepository.findCrucesProfesor(
-                cursoOfertado.getProfesor().getId(),
-                dto.getDiaSemana(),
-                dto.getHoraInicio(),
-                dto.getHoraFin()
-        );
+        Long periodoId = cursoOfertado.getPeriodoAcademico().getId();
 
-        if (!crucesProfesor.isEmpty()) {
+        // Validar cruce de horarios para el profesor
+        if (cursoOfertado.getProfesor() != null
+                && horarioConflictIndex.findCruceProfesor(dto.getUniversidadId(), periodoId,
+                        cursoOfertado.getProfesor().getId(), dto.getDiaSemana(),
+                        dto.getHoraInicio(), dto.getHoraFin(), null).isPresent()) {
             throw new BusinessException(
                     "El profesor ya tiene clase el " + getNombreDia(dto.getDiaSemana()) +
                     " de " + dto.getHoraInicio() + " a " + dto.getHoraFin()
@@ -140,19 +151,14 @@ public class HorarioService {
         }
 
         // Validar cruce de horarios en la localización (si se especifica)
+        Localizacion localizacion = null;
         if (dto.getLocalizacionId() != null) {
-            Localizacion localizacion = localizacionRepository.findByIdOptional(dto.getLocalizacionId())
+            localizacion = localizacionRepository.findByIdOptional(dto.getLocalizacionId())
                     .orElseThrow(() -> new ResourceNotFoundException("Localización no encontrada"));
 
-            List<Horario> crucesAula = horarioRepository.findCrucesLocalizacion(
-                    dto.getLocalizacionId(),
-                    dto.getDiaSemana(),
-                    dto.getHoraInicio(),
-                    dto.getHoraFin(),
-                    null
-            );
-
-            if (!crucesAula.isEmpty()) {
+            if (horarioConflictIndex.findCruceLocalizacion(dto.getUniversidadId(), periodoId,
+                    dto.getLocalizacionId(), dto.getDiaSemana(),
+                    dto.getHoraInicio(), dto.getHoraFin(), null).isPresent()) {
                 throw new BusinessException(
                         "El aula " + localizacion.getNombre() + " ya está ocupada el " +
                         getNombreDia(dto.getDiaSemana()) + " de " + dto.getHoraInicio() + " a " + dto.getHoraFin()
@@ -161,7 +167,8 @@ public class HorarioService {
         }
 
         // Validar que no exista el mismo horario
-        if (horarioRepository.existeHorario(dto.getCursoOfertadoId(), dto.getDiaSemana(), dto.getHoraInicio())) {
+        if (horarioConflictIndex.existeHorario(dto.getUniversidadId(), periodoId, dto.getCursoOfertadoId(),
+                dto.getDiaSemana(), dto.getHoraInicio(), null)) {
             throw new BusinessException("Ya existe un horario para este curso en el mismo día y hora");
         }
 
@@ -169,14 +176,10 @@ public class HorarioService {
         Horario horario = horarioMapper.toEntity(dto);
         horario.setUniversidad(universidad);
         horario.setCursoOfertado(cursoOfertado);
-
-        if (dto.getLocalizacionId() != null) {
-            Localizacion localizacion = localizacionRepository.findByIdOptional(dto.getLocalizacionId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Localización no encontrada"));
-            horario.setLocalizacion(localizacion);
-        }
+        horario.setLocalizacion(localizacion);
 
         horarioRepository.persist(horario);
+        horarioConflictIndex.registrar(horario);
 
         return horarioMapper.toResponseDTO(horario);
     }
@@ -194,21 +197,15 @@ public class HorarioService {
             throw new BusinessException("La hora de inicio debe ser anterior a la hora de fin");
         }
 
-        // Validar cruce con profesor (excluyendo el horario actual)
         CursoOfertado cursoOfertado = horario.getCursoOfertado();
-        List<Horario> crucesProfesor = horarioRepository.findCrucesProfesor(
-                cursoOfertado.getProfesor().getId(),
-                dto.getDiaSemana(),
-                dto.getHoraInicio(),
-                dto.getHoraFin()
-        );
+        Long universidadId = horario.getUniversidad().getId();
+        Long periodoId = cursoOfertado.getPeriodoAcademico().getId();
 
-        // Excluir el horario actual de los cruces
-        crucesProfesor = crucesProfesor.stream()
-                .filter(h -> !h.getId().equals(id))
-                .toList();
-
-        if (!crucesProfesor.isEmpty()) {
+        // Validar cruce con profesor (excluyendo el horario actual)
+        if (cursoOfertado.getProfesor() != null
+                && horarioConflictIndex.findCruceProfesor(universidadId, periodoId,
+                        cursoOfertado.getProfesor().getId(), dto.getDiaSemana(),
+                        dto.getHoraInicio(), dto.getHoraFin(), id).isPresent()) {
             throw new BusinessException(
                     "El profesor ya tiene clase el " + getNombreDia(dto.getDiaSemana()) +
                     " de " + dto.getHoraInicio() + " a " + dto.getHoraFin()
@@ -220,15 +217,9 @@ public class HorarioService {
             Localizacion localizacion = localizacionRepository.findByIdOptional(dto.getLocalizacionId())
                     .orElseThrow(() -> new ResourceNotFoundException("Localización no encontrada"));
 
-            List<Horario> crucesAula = horarioRepository.findCrucesLocalizacion(
-                    dto.getLocalizacionId(),
-                    dto.getDiaSemana(),
-                    dto.getHoraInicio(),
-                    dto.getHoraFin(),
-                    id // Excluir el horario actual
-            );
-
-            if (!crucesAula.isEmpty()) {
+            if (horarioConflictIndex.findCruceLocalizacion(universidadId, periodoId,
+                    dto.getLocalizacionId(), dto.getDiaSemana(),
+                    dto.getHoraInicio(), dto.getHoraFin(), id).isPresent()) {
                 throw new BusinessException(
                         "El aula " + localizacion.getNombre() + " ya está ocupada el " +
                         getNombreDia(dto.getDiaSemana()) + " de " + dto.getHoraInicio() + " a " + dto.getHoraFin()
@@ -240,6 +231,12 @@ public class HorarioService {
             horario.setLocalizacion(null);
         }
 
+        // Validar que no exista el mismo horario (excluyendo el actual)
+        if (horarioConflictIndex.existeHorario(universidadId, periodoId, cursoOfertado.getId(),
+                dto.getDiaSemana(), dto.getHoraInicio(), id)) {
+            throw new BusinessException("Ya existe un horario para este curso en el mismo día y hora");
+        }
+
         // Actualizar campos
         horarioMapper.updateEntityFromDto(dto, horario);
         horario.setDiaSemana(dto.getDiaSemana());
@@ -249,6 +246,7 @@ public class HorarioService {
         horario.setObservaciones(dto.getObservaciones());
 
         horarioRepository.persist(horario);
+        horarioConflictIndex.registrar(horario);
 
         return horarioMapper.toResponseDTO(horario);
     }
@@ -263,28 +261,74 @@ public class HorarioService {
 
         horario.setActive(false);
         horarioRepository.persist(horario);
+        horarioConflictIndex.eliminar(horario.getUniversidad().getId(), id);
     }
 
     /**
      * Valida si un estudiante tiene cruce de horarios al matricularse
      */
     public boolean tieneCreceHorario(Long estudianteId, Long cursoOfertadoId) {
-        List<Horario> horariosNuevoCurso = horarioRepository.findByCursoOfertado(cursoOfertadoId);
-        
-        for (Horario nuevoHorario : horariosNuevoCurso) {
-            List<Horario> cruces = horarioRepository.findCrucesEstudiante(
-                    estudianteId,
-                    nuevoHorario.getDiaSemana(),
-                    nuevoHorario.getHoraInicio(),
-                    nuevoHorario.getHoraFin()
-            );
-            
-            if (!cruces.isEmpty()) {
-                return true;
-            }
+        return !validarCrucesEstudiante(estudianteId, List.of(cursoOfertadoId)).isEmpty();
+    }
+
+    /**
+     * Valida en una sola llamada todos los cursos que un estudiante propone matricular:
+     * contra sus matrículas vigentes del mismo período y entre los propios cursos propuestos
+     */
+    public List<CruceHorarioDTO> validarCrucesEstudiante(Long estudianteId, List<Long> cursoOfertadoIds) {
+        if (cursoOfertadoIds == null || cursoOfertadoIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<CursoOfertado> cursos = cursoOfertadoRepository.list("id in ?1 and active = true", cursoOfertadoIds);
+        if (cursos.size() != new HashSet<>(cursoOfertadoIds).size()) {
+            throw new ResourceNotFoundException("Uno o más cursos ofertados no existen");
         }
-        
-        return false;
+        return validarCrucesEstudiante(estudianteId, cursos);
+    }
+
+    /**
+     * Igual que {@link #validarCrucesEstudiante(Long, List)} sobre secciones ya cargadas
+     * (p.ej. la matrícula por lote, que las precarga en una sola consulta)
+     */
+    public List<CruceHorarioDTO> validarCrucesEstudiante(Long estudianteId, Collection<CursoOfertado> cursos) {
+        // Los cruces solo son posibles dentro de la misma universidad y período
+        Map<List<Long>, List<Long>> cursosPorPeriodo = new LinkedHashMap<>();
+        for (CursoOfertado curso : cursos) {
+            List<Long> clave = List.of(curso.getUniversidad().getId(), curso.getPeriodoAcademico().getId());
+            cursosPorPeriodo.computeIfAbsent(clave, k -> new ArrayList<>()).add(curso.getId());
+        }
+
+        List<CruceHorarioDTO> cruces = new ArrayList<>();
+        cursosPorPeriodo.forEach((clave, propuestos) -> {
+            Long universidadId = clave.get(0);
+            Long periodoId = clave.get(1);
+            Set<Long> matriculados = new HashSet<>(
+                    matriculaRepository.findCursoOfertadoIdsMatriculados(estudianteId, periodoId));
+
+            for (HorarioConflictIndex.Cruce cruce : horarioConflictIndex.findCrucesEstudiante(
+                    universidadId, periodoId, matriculados, propuestos)) {
+                cruces.add(toCruceDTO(cruce));
+            }
+        });
+        return cruces;
+    }
+
+    private CruceHorarioDTO toCruceDTO(HorarioConflictIndex.Cruce cruce) {
+        HorarioConflictIndex.Slot propuesto = cruce.propuesto();
+        HorarioConflictIndex.Slot existente = cruce.existente();
+        return new CruceHorarioDTO(
+                propuesto.cursoOfertadoId(),
+                propuesto.horarioId(),
+                existente.cursoOfertadoId(),
+                existente.horarioId(),
+                propuesto.diaSemana(),
+                getNombreDia(propuesto.diaSemana()),
+                propuesto.horaInicio(),
+                propuesto.horaFin(),
+                existente.horaInicio(),
+                existente.horaFin()
+        );
     }
 
     /**
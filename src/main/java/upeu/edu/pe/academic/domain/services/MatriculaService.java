@@ -2,7 +2,11 @@ package upeu.edu.pe.academic.domain.services;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
+import upeu.edu.pe.academic.application.dto.CruceHorarioDTO;
+import upeu.edu.pe.academic.application.dto.MatriculaLoteRequestDTO;
+import upeu.edu.pe.academic.application.dto.MatriculaLoteResponseDTO;
 import upeu.edu.pe.academic.application.dto.MatriculaRequestDTO;
 import upeu.edu.pe.academic.application.dto.MatriculaResponseDTO;
 import upeu.edu.pe.academic.application.mapper.MatriculaMapper;
@@ -11,7 +15,15 @@ import upeu.edu.pe.academic.domain.repositories.*;
 import upeu.edu.pe.shared.exceptions.BusinessException;
 import upeu.edu.pe.shared.exceptions.NotFoundException;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class MatriculaService {
@@ -28,6 +40,15 @@ public class MatriculaService {
     @Inject
     MatriculaMapper matriculaMapper;
 
+    @Inject
+    ReservaVacantesService reservaVacantesService;
+
+    @Inject
+    HorarioService horarioService;
+
+    @Inject
+    ActaNotasService actaNotasService;
+
     public List<MatriculaResponseDTO> findByEstudiante(Long estudianteId) {
         List<Matricula> matriculas = matriculaRepository.findByEstudiante(estudianteId);
         return matriculaMapper.toResponseDTOList(matriculas);
@@ -82,24 +103,21 @@ public class MatriculaService {
 
     @Transactional
     public MatriculaResponseDTO create(MatriculaRequestDTO requestDTO) {
+        // Bloquea al estudiante igual que createLote, antes de validar duplicado y créditos:
+        // una matrícula y un lote simultáneos no pueden superar juntos el límite de créditos
+        Estudiante estudiante = estudianteRepository
+                .findByIdOptional(requestDTO.getEstudianteId(), LockModeType.PESSIMISTIC_WRITE)
+                .orElseThrow(() -> new NotFoundException("Estudiante no encontrado con ID: " + requestDTO.getEstudianteId()));
+
         // Validar que no exista la matrícula
         if (matriculaRepository.existsByEstudianteAndSeccion(requestDTO.getEstudianteId(), requestDTO.getSeccionId())) {
             throw new BusinessException("El estudiante ya está matriculado en esta sección");
         }
 
-        // Validar estudiante
-        Estudiante estudiante = estudianteRepository.findByIdOptional(requestDTO.getEstudianteId())
-                .orElseThrow(() -> new NotFoundException("Estudiante no encontrado con ID: " + requestDTO.getEstudianteId()));
-
         // Validar curso ofertado
         CursoOfertado cursoOfertado = cursoOfertadoRepository.findByIdOptional(requestDTO.getSeccionId())
                 .orElseThrow(() -> new NotFoundException("Curso ofertado no encontrado con ID: " + requestDTO.getSeccionId()));
 
-        // Verificar cupo disponible
-        if (!cursoOfertado.hayCupoDisponible()) {
-            throw new BusinessException("El curso ofertado no tiene cupo disponible");
-        }
-
         // ==================== VALIDACIONES DE CRÉDITOS SaaS ====================
         
         // 1. Obtener créditos del curso desde PlanCurso
@@ -137,8 +155,15 @@ public class MatriculaService {
             );
         }
 
+        // Reservar vacante (UPDATE condicional atómico): se hace al final para retener
+        // el bloqueo de la fila el menor tiempo posible
+        if (!reservaVacantesService.reservar(cursoOfertado.getId())) {
+            throw new BusinessException("El curso ofertado no tiene cupo disponible");
+        }
+
         // Crear matrícula
         Matricula matricula = matriculaMapper.toEntity(requestDTO);
+        matricula.setUniversidad(cursoOfertado.getUniversidad());
         matricula.setEstudiante(estudiante);
         matricula.setCursoOfertado(cursoOfertado);
         matricula.setCreditosMatriculados(creditosCurso);
@@ -147,14 +172,138 @@ public class MatriculaService {
         estudiante.setCreditosCursando(nuevoTotalCreditos);
         estudianteRepository.persist(estudiante);
 
-        // Reducir vacantes del curso ofertado
-        cursoOfertado.reducirVacantes();
-        cursoOfertadoRepository.persist(cursoOfertado);
-
         matriculaRepository.persist(matricula);
+        actaNotasService.invalidar(cursoOfertado.getId());
         return matriculaMapper.toResponseDTO(matricula);
     }
 
+    /**
+     * Matricula a un estudiante en varias secciones en una sola transacción: si alguna
+     * validación falla (créditos, cupo, cruce de horario, duplicado) no se crea ninguna.
+     */
+    @Transactional
+    public MatriculaLoteResponseDTO createLote(MatriculaLoteRequestDTO requestDTO) {
+        Set<Long> seccionIds = new LinkedHashSet<>(requestDTO.getSeccionIds());
+        if (seccionIds.size() != requestDTO.getSeccionIds().size()) {
+            throw new BusinessException("El lote contiene secciones repetidas");
+        }
+
+        // Bloquea al estudiante: dos lotes simultáneos del mismo estudiante no pueden
+        // superar juntos el límite de créditos
+        Estudiante estudiante = estudianteRepository
+                .findByIdOptional(requestDTO.getEstudianteId(), LockModeType.PESSIMISTIC_WRITE)
+                .orElseThrow(() -> new NotFoundException("Estudiante no encontrado con ID: " + requestDTO.getEstudianteId()));
+
+        // Todas las secciones con su plan y créditos en una sola consulta
+        Map<Long, CursoOfertado> cursosPorId = cursoOfertadoRepository.findByIdsParaMatricula(seccionIds).stream()
+                .collect(Collectors.toMap(CursoOfertado::getId, c -> c));
+        if (cursosPorId.size() != seccionIds.size()) {
+            List<Long> faltantes = seccionIds.stream().filter(id -> !cursosPorId.containsKey(id)).toList();
+            throw new NotFoundException("Cursos ofertados no encontrados con ID: " + faltantes);
+        }
+        List<CursoOfertado> cursosOfertados = seccionIds.stream().map(cursosPorId::get).toList();
+
+        List<Long> yaMatriculadas = matriculaRepository.findSeccionIdsMatriculadas(estudiante.getId(), seccionIds);
+        if (!yaMatriculadas.isEmpty()) {
+            throw new BusinessException("El estudiante ya está matriculado en las secciones: " + yaMatriculadas);
+        }
+
+        // Dos secciones del mismo curso en el mismo lote
+        Set<Long> planCursos = new HashSet<>();
+        for (CursoOfertado cursoOfertado : cursosOfertados) {
+            if (!planCursos.add(cursoOfertado.getPlanCurso().getId())) {
+                throw new BusinessException("El lote incluye más de una sección del curso "
+                        + cursoOfertado.getPlanCurso().getCurso().getNombre());
+            }
+        }
+
+        // ==================== VALIDACIONES DE CRÉDITOS SaaS ====================
+
+        // El total es el mismo para todas las secciones: basta con el límite más estricto
+        int creditosLote = 0;
+        PlanAcademico planMasEstricto = null;
+        for (CursoOfertado cursoOfertado : cursosOfertados) {
+            creditosLote += cursoOfertado.getPlanCurso().getCreditos();
+            PlanAcademico planAcademico = cursoOfertado.getPlanCurso().getPlanAcademico();
+            if (planAcademico.getCreditosMaximosPorCiclo() != null && (planMasEstricto == null ||
+                planAcademico.getCreditosMaximosPorCiclo() < planMasEstricto.getCreditosMaximosPorCiclo())) {
+                planMasEstricto = planAcademico;
+            }
+        }
+
+        Integer creditosActuales = estudiante.getCreditosCursando() != null ? estudiante.getCreditosCursando() : 0;
+        Integer nuevoTotalCreditos = creditosActuales + creditosLote;
+        if (planMasEstricto != null && nuevoTotalCreditos > planMasEstricto.getCreditosMaximosPorCiclo()) {
+            throw new BusinessException(
+                "El estudiante excedería el límite de créditos por ciclo de su carrera. " +
+                "Actual: " + creditosActuales + ", Lote: " + creditosLote +
+                ", Máximo permitido: " + planMasEstricto.getCreditosMaximosPorCiclo()
+            );
+        }
+
+        Universidad universidad = estudiante.getUniversidad();
+        if (universidad.haExcedidoLimiteEstudiantes()) {
+            throw new BusinessException(
+                "La universidad ha excedido su límite de estudiantes activos según su plan SaaS (" +
+                universidad.getPlan() + ")"
+            );
+        }
+        if (!universidad.estaActiva()) {
+            throw new BusinessException(
+                "La universidad no está activa. Estado: " + universidad.getEstado() +
+                (universidad.getFechaVencimiento() != null ?
+                    ", Fecha vencimiento: " + universidad.getFechaVencimiento() : "")
+            );
+        }
+
+        // Cruces de horario contra lo ya matriculado y entre las secciones del propio lote
+        List<CruceHorarioDTO> cruces = horarioService.validarCrucesEstudiante(estudiante.getId(), cursosOfertados);
+        if (!cruces.isEmpty()) {
+            CruceHorarioDTO cruce = cruces.get(0);
+            throw new BusinessException(
+                "Cruce de horario entre las secciones " + cruce.getCursoOfertadoId() + " y " +
+                cruce.getCursoOfertadoConflictoId() + " el " + cruce.getNombreDia() + " (" +
+                cruce.getHoraInicio() + "-" + cruce.getHoraFin() + ")" +
+                (cruces.size() > 1 ? " y " + (cruces.size() - 1) + " cruce(s) más" : "")
+            );
+        }
+
+        // Reserva de vacantes en orden de ID: dos lotes concurrentes bloquean las filas
+        // en el mismo orden y no pueden interbloquearse
+        List<CursoOfertado> ordenados = new ArrayList<>(cursosOfertados);
+        ordenados.sort(Comparator.comparing(CursoOfertado::getId));
+        for (CursoOfertado cursoOfertado : ordenados) {
+            if (!reservaVacantesService.reservar(cursoOfertado.getId())) {
+                throw new BusinessException("El curso ofertado " + cursoOfertado.getCodigoSeccion() +
+                        " (ID " + cursoOfertado.getId() + ") no tiene cupo disponible");
+            }
+        }
+
+        // Los INSERT se envían en batch JDBC (statement-batch-size) al confirmar
+        LocalDate fechaMatricula = requestDTO.getFechaMatricula() != null ? requestDTO.getFechaMatricula() : LocalDate.now();
+        List<Matricula> matriculas = new ArrayList<>(cursosOfertados.size());
+        for (CursoOfertado cursoOfertado : cursosOfertados) {
+            Matricula matricula = new Matricula(cursoOfertado.getUniversidad(), estudiante, cursoOfertado);
+            matricula.setFechaMatricula(fechaMatricula);
+            if (requestDTO.getTipoMatricula() != null && !requestDTO.getTipoMatricula().isBlank()) {
+                matricula.setTipoMatricula(requestDTO.getTipoMatricula());
+            }
+            matricula.setCreditosMatriculados(cursoOfertado.getPlanCurso().getCreditos());
+            matriculas.add(matricula);
+        }
+        matriculaRepository.persist(matriculas);
+        cursosOfertados.forEach(cursoOfertado -> actaNotasService.invalidar(cursoOfertado.getId()));
+
+        estudiante.setCreditosCursando(nuevoTotalCreditos);
+
+        return new MatriculaLoteResponseDTO(
+                estudiante.getId(),
+                creditosLote,
+                nuevoTotalCreditos,
+                matriculaMapper.toResponseDTOList(matriculas)
+        );
+    }
+
     @Transactional
     public MatriculaResponseDTO update(Long id, MatriculaRequestDTO requestDTO) {
         Matricula matricula = matriculaRepository.findByIdOptional(id)
@@ -170,19 +319,14 @@ public class MatriculaService {
             CursoOfertado nuevoCursoOfertado = cursoOfertadoRepository.findByIdOptional(requestDTO.getSeccionId())
                     .orElseThrow(() -> new NotFoundException("Curso ofertado no encontrado con ID: " + requestDTO.getSeccionId()));
 
-            // Verificar cupo en nuevo curso ofertado
-            if (!nuevoCursoOfertado.hayCupoDisponible()) {
+            // Reservar cupo en nuevo curso ofertado
+            if (!reservaVacantesService.reservar(nuevoCursoOfertado.getId())) {
                 throw new BusinessException("El nuevo curso ofertado no tiene cupo disponible");
             }
 
             // Liberar cupo en curso ofertado anterior
-            CursoOfertado cursoOfertadoAnterior = matricula.getCursoOfertado();
-            cursoOfertadoAnterior.aumentarVacantes();
-            cursoOfertadoRepository.persist(cursoOfertadoAnterior);
-
-            // Reducir cupo en nuevo curso ofertado
-            nuevoCursoOfertado.reducirVacantes();
-            cursoOfertadoRepository.persist(nuevoCursoOfertado);
+            reservaVacantesService.liberar(matricula.getCursoOfertado().getId());
+            actaNotasService.invalidar(matricula.getCursoOfertado().getId());
 
             matricula.setCursoOfertado(nuevoCursoOfertado);
         }
@@ -196,6 +340,7 @@ public class MatriculaService {
 
         matriculaMapper.updateEntityFromDTO(requestDTO, matricula);
         matriculaRepository.persist(matricula);
+        actaNotasService.invalidar(matricula.getCursoOfertado().getId());
         return matriculaMapper.toResponseDTO(matricula);
     }
 
@@ -207,19 +352,21 @@ public class MatriculaService {
         // Retirar estudiante
         matricula.retirar();
 
-        // Actualizar créditos del estudiante (reducir créditos cursando)
-        Estudiante estudiante = matricula.getEstudiante();
+        // Actualizar créditos del estudiante (reducir créditos cursando), con el mismo bloqueo
+        // que create y createLote para no perder una actualización concurrente
+        Estudiante estudiante = estudianteRepository
+                .findByIdOptional(matricula.getEstudiante().getId(), LockModeType.PESSIMISTIC_WRITE)
+                .orElseThrow(() -> new NotFoundException("Estudiante no encontrado con ID: " + matricula.getEstudiante().getId()));
         Integer creditosActuales = estudiante.getCreditosCursando() != null ? estudiante.getCreditosCursando() : 0;
         Integer creditosCurso = matricula.getCreditosMatriculados() != null ? matricula.getCreditosMatriculados() : 0;
         estudiante.setCreditosCursando(Math.max(0, creditosActuales - creditosCurso));
         estudianteRepository.persist(estudiante);
 
         // Liberar cupo en el curso ofertado
-        CursoOfertado cursoOfertado = matricula.getCursoOfertado();
-        cursoOfertado.aumentarVacantes();
-        cursoOfertadoRepository.persist(cursoOfertado);
+        reservaVacantesService.liberar(matricula.getCursoOfertado().getId());
 
         matriculaRepository.persist(matricula);
+        actaNotasService.invalidar(matricula.getCursoOfertado().getId());
         return matriculaMapper.toResponseDTO(matricula);
     }
 
@@ -230,13 +377,12 @@ public class MatriculaService {
 
         // Liberar cupo en el curso ofertado si está activa
         if ("MATRICULADO".equals(matricula.getEstadoMatricula())) {
-            CursoOfertado cursoOfertado = matricula.getCursoOfertado();
-            cursoOfertado.aumentarVacantes();
-            cursoOfertadoRepository.persist(cursoOfertado);
+            reservaVacantesService.liberar(matricula.getCursoOfertado().getId());
         }
 
         // Soft delete
         matricula.setActive(false);
         matriculaRepository.persist(matricula);
+        actaNotasService.invalidar(matricula.getCursoOfertado().getId());
     }
 }
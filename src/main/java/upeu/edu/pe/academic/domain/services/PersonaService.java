@@ -4,6 +4,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import jakarta.ws.rs.core.StreamingOutput;
 import upeu.edu.pe.academic.application.dto.PersonaRequestDTO;
 import upeu.edu.pe.academic.application.dto.PersonaResponseDTO;
 import upeu.edu.pe.academic.application.mapper.PersonaMapper;
@@ -11,6 +12,9 @@ import upeu.edu.pe.academic.domain.entities.Persona;
 import upeu.edu.pe.academic.domain.repositories.PersonaRepository;
 import upeu.edu.pe.shared.exceptions.DuplicateResourceException;
 import upeu.edu.pe.shared.exceptions.ResourceNotFoundException;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,14 +28,21 @@ public class PersonaService {
     @Inject
     PersonaMapper personaMapper;
 
+    @Inject
+    NdjsonStreamer ndjsonStreamer;
+
     /**
-     * Listar todas las personas activas
+     * Listar las personas activas por páginas (cursor keyset, orden por apellido)
      */
-    public List<PersonaResponseDTO> findAll() {
-        return personaRepository.findAllActive()
-                .stream()
-                .map(personaMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public KeysetPage<PersonaResponseDTO> findAll(PageRequest pageRequest) {
+        return personaRepository.findActivas(pageRequest).map(personaMapper::toResponseDTO);
+    }
+
+    /**
+     * Todas las personas activas en NDJSON, escritas a medida que se leen
+     */
+    public StreamingOutput streamAll() {
+        return ndjsonStreamer.stream(personaRepository::streamActivas, personaMapper::toResponseDTO);
     }
 
     /**
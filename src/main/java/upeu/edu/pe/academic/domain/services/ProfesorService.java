@@ -3,6 +3,7 @@ package upeu.edu.pe.academic.domain.services;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.StreamingOutput;
 import upeu.edu.pe.academic.application.dto.ProfesorRequestDTO;
 import upeu.edu.pe.academic.application.dto.ProfesorResponseDTO;
 import upeu.edu.pe.academic.application.mapper.ProfesorMapper;
@@ -13,6 +14,9 @@ import upeu.edu.pe.academic.domain.repositories.ProfesorRepository;
 import upeu.edu.pe.shared.exceptions.BusinessRuleException;
 import upeu.edu.pe.shared.exceptions.DuplicateResourceException;
 import upeu.edu.pe.shared.exceptions.ResourceNotFoundException;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -37,14 +41,21 @@ public class ProfesorService {
     @Inject
     ProfesorMapper profesorMapper;
 
+    @Inject
+    NdjsonStreamer ndjsonStreamer;
+
     /**
-     * Lista todos los profesores activos
+     * Lista los profesores activos por páginas (cursor keyset)
      */
-    public List<ProfesorResponseDTO> listarTodos() {
-        return profesorRepository.findAllActive()
-                .stream()
-                .map(profesorMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public KeysetPage<ProfesorResponseDTO> listarTodos(PageRequest pageRequest) {
+        return profesorRepository.findActivos(pageRequest).map(profesorMapper::toResponseDTO);
+    }
+
+    /**
+     * Todos los profesores activos en NDJSON, escritos a medida que se leen
+     */
+    public StreamingOutput streamTodos() {
+        return ndjsonStreamer.stream(profesorRepository::streamActivos, profesorMapper::toResponseDTO);
     }
 
     /**
@@ -0,0 +1,211 @@
+package upeu.edu.pe.academic.domain.services;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import upeu.edu.pe.academic.domain.repositories.CursoOfertadoRepository;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Reserva de vacantes de CursoOfertado segura ante concurrencia.
+ * <p>
+ * La fuente de verdad es la base de datos: cada reserva es un UPDATE condicional atómico
+ * ({@code vacantes > 0}), por lo que no puede sobrevenderse una sección aunque haya miles
+ * de matrículas simultáneas. Delante hay un contador en memoria por sección (un AtomicInteger
+ * por sección, de modo que la contención se reparte entre secciones) que rechaza sin ir a la
+ * base de datos las solicitudes a secciones que se sabe agotadas; se reconcilia
+ * periódicamente con la base de datos.
+ */
+@ApplicationScoped
+public class ReservaVacantesService {
+
+    private static final Logger LOGGER = Logger.getLogger(ReservaVacantesService.class.getName());
+
+    @Inject
+    CursoOfertadoRepository cursoOfertadoRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "matricula.reserva.contador.enabled", defaultValue = "true")
+    boolean contadorHabilitado;
+
+    /**
+     * Tiempo durante el cual una sección agotada se rechaza sin volver a consultar la base de datos
+     */
+    @ConfigProperty(name = "matricula.reserva.contador.ventana-agotado", defaultValue = "2S")
+    Duration ventanaAgotado;
+
+    private final Map<Long, Contador> contadores = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva una vacante dentro de la transacción actual. Si la transacción se revierte,
+     * la base de datos restaura la vacante y el contador en memoria se devuelve.
+     *
+     * @return false si la sección no tiene cupo o no está ABIERTA
+     */
+    public boolean reservar(Long cursoOfertadoId) {
+        Contador contador = null;
+        if (contadorHabilitado) {
+            contador = contador(cursoOfertadoId);
+
+            if (!contador.tomar()) {
+                if (!contador.sincronizadoHaceMas(ventanaAgotado)) {
+                    return false;
+                }
+                contador.sincronizar(cursoOfertadoRepository.findVacantesDisponibles(cursoOfertadoId));
+                if (!contador.tomar()) {
+                    return false;
+                }
+            }
+        }
+
+        if (!cursoOfertadoRepository.reservarVacante(cursoOfertadoId)) {
+            if (contador != null) {
+                // Otra instancia (o una edición) consumió las vacantes: se alinea con la BD
+                contador.sincronizar(cursoOfertadoRepository.findVacantesDisponibles(cursoOfertadoId));
+            }
+            return false;
+        }
+
+        if (contador != null) {
+            Contador tomado = contador;
+            alCompletar(confirmada -> {
+                if (!confirmada) {
+                    tomado.devolver();
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Libera una vacante (retiro, anulación o cambio de sección) dentro de la transacción actual
+     */
+    public void liberar(Long cursoOfertadoId) {
+        if (!cursoOfertadoRepository.liberarVacante(cursoOfertadoId)) {
+            return;
+        }
+        Contador contador = contadores.get(cursoOfertadoId);
+        if (contador != null) {
+            alCompletar(confirmada -> {
+                if (confirmada) {
+                    contador.devolver();
+                }
+            });
+        }
+    }
+
+    /**
+     * Reconciliación periódica de los contadores con las vacantes confirmadas en BD
+     */
+    @Scheduled(every = "${matricula.reserva.contador.reconciliacion:30s}",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void reconciliar() {
+        if (contadores.isEmpty()) {
+            return;
+        }
+
+        Set<Long> pendientes = new HashSet<>(contadores.keySet());
+        List<Object[]> filas = cursoOfertadoRepository.findVacantesDisponiblesByIds(pendientes);
+        for (Object[] fila : filas) {
+            Contador contador = contadores.get((Long) fila[0]);
+            if (contador != null) {
+                contador.sincronizar((Integer) fila[1]);
+            }
+            pendientes.remove((Long) fila[0]);
+        }
+
+        // Secciones cerradas o eliminadas: dejan de seguirse
+        pendientes.forEach(contadores::remove);
+        LOGGER.fine(() -> "Contadores de vacantes reconciliados: " + contadores.size());
+    }
+
+    /**
+     * Descarta el contador de una sección (p.ej. tras cambiar su capacidad o estado)
+     */
+    public void invalidar(Long cursoOfertadoId) {
+        contadores.remove(cursoOfertadoId);
+    }
+
+    private Contador contador(Long cursoOfertadoId) {
+        Contador contador = contadores.get(cursoOfertadoId);
+        if (contador == null) {
+            // La consulta se hace fuera del mapa para no bloquear otras secciones
+            Contador nuevo = new Contador(cursoOfertadoRepository.findVacantesDisponibles(cursoOfertadoId));
+            contador = contadores.putIfAbsent(cursoOfertadoId, nuevo);
+            if (contador == null) {
+                contador = nuevo;
+            }
+        }
+        return contador;
+    }
+
+    private void alCompletar(Consumer<Boolean> accion) {
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            accion.accept(true);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                accion.accept(status == Status.STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Vacantes estimadas de una sección en esta instancia
+     */
+    private static final class Contador {
+
+        private final AtomicInteger vacantes;
+        private volatile long sincronizadoEn;
+
+        Contador(int vacantes) {
+            this.vacantes = new AtomicInteger(vacantes);
+            this.sincronizadoEn = System.nanoTime();
+        }
+
+        boolean tomar() {
+            int actual;
+            do {
+                actual = vacantes.get();
+                if (actual <= 0) {
+                    return false;
+                }
+            } while (!vacantes.compareAndSet(actual, actual - 1));
+            return true;
+        }
+
+        void devolver() {
+            vacantes.incrementAndGet();
+        }
+
+        void sincronizar(int vacantesConfirmadas) {
+            vacantes.set(vacantesConfirmadas);
+            sincronizadoEn = System.nanoTime();
+        }
+
+        boolean sincronizadoHaceMas(Duration ventana) {
+            return System.nanoTime() - sincronizadoEn > ventana.toNanos();
+        }
+    }
+}
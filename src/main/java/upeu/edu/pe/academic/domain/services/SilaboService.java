@@ -12,8 +12,10 @@ import upeu.edu.pe.academic.domain.entities.Silabo;
 import upeu.edu.pe.academic.domain.entities.SilaboHistorial;
 import upeu.edu.pe.academic.domain.repositories.SilaboRepository;
 import upeu.edu.pe.academic.domain.usecases.*;
+import upeu.edu.pe.shared.cache.EstadisticasCache;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +30,11 @@ import java.util.stream.Collectors;
 @ApplicationScoped
 public class SilaboService {
 
+    private static final String[] ESTADOS = {"BORRADOR", "EN_REVISION", "APROBADO", "VIGENTE", "OBSOLETO"};
+
+    @Inject
+    EstadisticasCache estadisticasCache;
+
     @Inject
     CrearSilaboUseCase crearUseCase;
     
@@ -267,10 +274,11 @@ public class SilaboService {
     }
 
     /**
-     * Contar sílabos por estado
+     * Contar sílabos por estado (una sola consulta, en caché unos segundos por universidad)
      */
-    public long contarPorEstado(String estado, Long universidadId) {
-        return buscarUseCase.countByEstado(estado, universidadId);
+    public Map<String, Long> contarPorEstado(Long universidadId) {
+        return estadisticasCache.obtener("silabo", universidadId, () -> buscarUseCase.contarPorEstado(universidadId))
+                .asMap(ESTADOS);
     }
 
     /**
@@ -4,6 +4,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import upeu.edu.pe.academic.domain.entities.Silabo;
 import upeu.edu.pe.academic.domain.repositories.SilaboRepository;
+import upeu.edu.pe.shared.persistence.GroupedCounts;
 
 import java.util.List;
 import java.util.Optional;
@@ -90,9 +91,9 @@ public class BuscarSilaboUseCase {
     }
     
     /**
-     * Contar sílabos por estado
+     * Contar sílabos de la universidad agrupados por estado
      */
-    public long countByEstado(String estado, Long universidadId) {
-        return silaboRepository.countByEstado(estado, universidadId);
+    public GroupedCounts contarPorEstado(Long universidadId) {
+        return silaboRepository.contarPorEstado(universidadId);
     }
 }
@@ -4,9 +4,16 @@ import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import upeu.edu.pe.academic.application.dto.AsistenciaAlumnoRequestDTO;
 import upeu.edu.pe.academic.application.dto.AsistenciaAlumnoResponseDTO;
+import upeu.edu.pe.academic.application.dto.AsistenciaResumenResponseDTO;
+import upeu.edu.pe.academic.application.dto.AsistenciaSesionRequestDTO;
+import upeu.edu.pe.academic.application.dto.AsistenciaSesionResponseDTO;
 import upeu.edu.pe.academic.domain.services.AsistenciaAlumnoService;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
 import upeu.edu.pe.shared.response.ApiResponse;
 
 import java.time.LocalDate;
@@ -22,8 +29,18 @@ public class AsistenciaAlumnoController {
     AsistenciaAlumnoService asistenciaService;
 
     @GET
-    public ApiResponse<List<AsistenciaAlumnoResponseDTO>> getAll() {
-        return ApiResponse.success("Asistencias obtenidas exitosamente", asistenciaService.findAll());
+    public ApiResponse<List<AsistenciaAlumnoResponseDTO>> getAll(
+            @QueryParam("cursor") String cursor,
+            @QueryParam("size") Integer size) {
+        KeysetPage<AsistenciaAlumnoResponseDTO> asistencias = asistenciaService.findAll(PageRequest.of(cursor, size));
+        return ApiResponse.success("Asistencias obtenidas exitosamente", asistencias.items(), asistencias.info());
+    }
+
+    @GET
+    @Path("/stream")
+    @Produces(NdjsonStreamer.MEDIA_TYPE)
+    public Response streamAll() {
+        return Response.ok(asistenciaService.streamAll()).build();
     }
 
     @GET
@@ -80,11 +97,34 @@ public class AsistenciaAlumnoController {
                 asistenciaService.getEstadisticasAsistencia(estudianteId, horarioId));
     }
 
+    @GET
+    @Path("/estadisticas/curso-ofertado/{cursoOfertadoId}")
+    public ApiResponse<List<AsistenciaResumenResponseDTO>> getEstadisticasSeccion(
+            @PathParam("cursoOfertadoId") Long cursoOfertadoId) {
+        return ApiResponse.success("Estadísticas de asistencia de la sección obtenidas exitosamente",
+                asistenciaService.getEstadisticasSeccion(cursoOfertadoId));
+    }
+
+    @POST
+    @Path("/estadisticas/curso-ofertado/{cursoOfertadoId}/recalcular")
+    public ApiResponse<List<AsistenciaResumenResponseDTO>> recalcularEstadisticasSeccion(
+            @PathParam("cursoOfertadoId") Long cursoOfertadoId) {
+        return ApiResponse.success("Estadísticas de asistencia de la sección recalculadas exitosamente",
+                asistenciaService.recalcularEstadisticasSeccion(cursoOfertadoId));
+    }
+
     @POST
     public ApiResponse<AsistenciaAlumnoResponseDTO> create(@Valid AsistenciaAlumnoRequestDTO requestDTO) {
         return ApiResponse.success("Asistencia registrada exitosamente", asistenciaService.create(requestDTO));
     }
 
+    @POST
+    @Path("/sesion")
+    public ApiResponse<AsistenciaSesionResponseDTO> registrarSesion(@Valid AsistenciaSesionRequestDTO requestDTO) {
+        return ApiResponse.success("Asistencia de la sesión registrada exitosamente",
+                asistenciaService.registrarSesion(requestDTO));
+    }
+
     @PUT
     @Path("/{id}")
     public ApiResponse<AsistenciaAlumnoResponseDTO> update(@PathParam("id") Long id, @Valid AsistenciaAlumnoRequestDTO requestDTO) {
@@ -15,6 +15,9 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import upeu.edu.pe.academic.application.dto.EstudianteRequestDTO;
 import upeu.edu.pe.academic.application.dto.EstudianteResponseDTO;
 import upeu.edu.pe.academic.domain.services.EstudianteService;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
 import upeu.edu.pe.shared.response.ApiResponse;
 
 import java.util.List;
@@ -34,9 +37,22 @@ public class EstudianteController {
         @APIResponse(responseCode = "200", description = "Lista de estudiantes obtenida exitosamente",
                      content = @Content(schema = @Schema(implementation = ApiResponse.class)))
     })
-    public Response findAll() {
-        List<EstudianteResponseDTO> estudiantes = estudianteService.findAll();
-        return Response.ok(ApiResponse.success("Estudiantes listados exitosamente", estudiantes)).build();
+    public Response findAll(
+            @Parameter(description = "Cursor devuelto en page.nextCursor de la página anterior")
+            @QueryParam("cursor") String cursor,
+            @Parameter(description = "Tamaño de página (por defecto 50, máximo 500)")
+            @QueryParam("size") Integer size) {
+        KeysetPage<EstudianteResponseDTO> estudiantes = estudianteService.findAll(PageRequest.of(cursor, size));
+        return Response.ok(ApiResponse.success("Estudiantes listados exitosamente",
+                estudiantes.items(), estudiantes.info())).build();
+    }
+
+    @GET
+    @Path("/stream")
+    @Produces(NdjsonStreamer.MEDIA_TYPE)
+    @Operation(summary = "Exportar estudiantes (NDJSON)", description = "Todos los estudiantes activos, un JSON por línea, sin paginar")
+    public Response streamAll() {
+        return Response.ok(estudianteService.streamAll()).build();
     }
 
     @GET
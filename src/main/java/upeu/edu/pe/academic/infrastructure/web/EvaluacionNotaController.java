@@ -5,8 +5,12 @@ import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import upeu.edu.pe.academic.application.dto.ActaNotasResponseDTO;
+import upeu.edu.pe.academic.application.dto.EvaluacionNotaImportRequestDTO;
+import upeu.edu.pe.academic.application.dto.EvaluacionNotaImportResponseDTO;
 import upeu.edu.pe.academic.application.dto.EvaluacionNotaRequestDTO;
 import upeu.edu.pe.academic.application.dto.EvaluacionNotaResponseDTO;
+import upeu.edu.pe.academic.domain.services.ActaNotasService;
 import upeu.edu.pe.academic.domain.services.EvaluacionNotaService;
 
 import java.math.BigDecimal;
@@ -20,6 +24,9 @@ public class EvaluacionNotaController {
     @Inject
     EvaluacionNotaService notaService;
 
+    @Inject
+    ActaNotasService actaNotasService;
+
     @GET
     @Path("/matricula/{matriculaId}")
     public Response findByMatricula(@PathParam("matriculaId") Long matriculaId) {
@@ -48,6 +55,13 @@ public class EvaluacionNotaController {
         return Response.ok(notas).build();
     }
 
+    @GET
+    @Path("/seccion/{seccionId}/acta")
+    public Response getActaBySeccion(@PathParam("seccionId") Long seccionId) {
+        ActaNotasResponseDTO acta = actaNotasService.getActa(seccionId);
+        return Response.ok(acta).build();
+    }
+
     @GET
     @Path("/estudiante/{estudianteId}/seccion/{seccionId}")
     public Response findByEstudianteAndSeccion(
@@ -98,6 +112,27 @@ public class EvaluacionNotaController {
         return Response.status(Response.Status.CREATED).entity(nota).build();
     }
 
+    @POST
+    @Path("/importar")
+    public Response importar(
+            @Valid EvaluacionNotaImportRequestDTO requestDTO,
+            @QueryParam("sobrescribir") @DefaultValue("false") boolean sobrescribir) {
+        EvaluacionNotaImportResponseDTO resultado = notaService.importar(requestDTO.getNotas(),
+                sobrescribir || Boolean.TRUE.equals(requestDTO.getSobrescribir()));
+        return Response.ok(resultado).build();
+    }
+
+    @POST
+    @Path("/importar")
+    @Consumes("text/csv")
+    public Response importarCsv(
+            String csv,
+            @QueryParam("separador") String separador,
+            @QueryParam("sobrescribir") @DefaultValue("false") boolean sobrescribir) {
+        EvaluacionNotaImportResponseDTO resultado = notaService.importarCsv(csv, separador, sobrescribir);
+        return Response.ok(resultado).build();
+    }
+
     @PUT
     @Path("/{id}")
     public Response update(@PathParam("id") Long id, @Valid EvaluacionNotaRequestDTO requestDTO) {
@@ -5,6 +5,7 @@ import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import upeu.edu.pe.academic.application.dto.CruceHorarioDTO;
 import upeu.edu.pe.academic.application.dto.HorarioRequestDTO;
 import upeu.edu.pe.academic.application.dto.HorarioResponseDTO;
 import upeu.edu.pe.academic.domain.services.HorarioService;
@@ -167,4 +168,26 @@ public class HorarioController {
 
         return Response.ok(ApiResponse.success(null, "No hay cruce de horarios")).build();
     }
+
+    /**
+     * POST /api/horarios/estudiante/{estudianteId}/validar-cruces
+     * Valida en una sola llamada los cruces de todos los cursos que el estudiante propone matricular
+     * Body: [cursoOfertadoId, ...]
+     */
+    @POST
+    @Path("/estudiante/{estudianteId}/validar-cruces")
+    public Response validarCruces(@PathParam("estudianteId") Long estudianteId,
+                                  List<Long> cursoOfertadoIds) {
+        if (cursoOfertadoIds == null || cursoOfertadoIds.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("Debe indicar al menos un curso ofertado"))
+                    .build();
+        }
+
+        List<CruceHorarioDTO> cruces = horarioService.validarCrucesEstudiante(estudianteId, cursoOfertadoIds);
+        String mensaje = cruces.isEmpty()
+                ? "No hay cruce de horarios"
+                : "Se encontraron " + cruces.size() + " cruces de horario";
+        return Response.ok(ApiResponse.success(mensaje, cruces)).build();
+    }
 }
@@ -5,6 +5,8 @@ import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import upeu.edu.pe.academic.application.dto.MatriculaLoteRequestDTO;
+import upeu.edu.pe.academic.application.dto.MatriculaLoteResponseDTO;
 import upeu.edu.pe.academic.application.dto.MatriculaRequestDTO;
 import upeu.edu.pe.academic.application.dto.MatriculaResponseDTO;
 import upeu.edu.pe.academic.domain.services.MatriculaService;
@@ -104,6 +106,15 @@ public class MatriculaController {
                 .build();
     }
 
+    @POST
+    @Path("/lote")
+    public Response createLote(@Valid MatriculaLoteRequestDTO requestDTO) {
+        MatriculaLoteResponseDTO lote = matriculaService.createLote(requestDTO);
+        return Response.status(Response.Status.CREATED)
+                .entity(ApiResponse.success("Matrículas del lote creadas exitosamente", lote))
+                .build();
+    }
+
     @PUT
     @Path("/{id}")
     public Response update(@PathParam("id") Long id, @Valid MatriculaRequestDTO requestDTO) {
@@ -15,6 +15,9 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import upeu.edu.pe.academic.application.dto.PersonaRequestDTO;
 import upeu.edu.pe.academic.application.dto.PersonaResponseDTO;
 import upeu.edu.pe.academic.domain.services.PersonaService;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
 import upeu.edu.pe.shared.response.ApiResponse;
 
 import java.util.List;
@@ -34,9 +37,22 @@ public class PersonaController {
         @APIResponse(responseCode = "200", description = "Lista de personas obtenida exitosamente",
                      content = @Content(schema = @Schema(implementation = ApiResponse.class)))
     })
-    public Response findAll() {
-        List<PersonaResponseDTO> personas = personaService.findAll();
-        return Response.ok(ApiResponse.success("Personas listadas exitosamente", personas)).build();
+    public Response findAll(
+            @Parameter(description = "Cursor devuelto en page.nextCursor de la página anterior")
+            @QueryParam("cursor") String cursor,
+            @Parameter(description = "Tamaño de página (por defecto 50, máximo 500)")
+            @QueryParam("size") Integer size) {
+        KeysetPage<PersonaResponseDTO> personas = personaService.findAll(PageRequest.of(cursor, size));
+        return Response.ok(ApiResponse.success("Personas listadas exitosamente",
+                personas.items(), personas.info())).build();
+    }
+
+    @GET
+    @Path("/stream")
+    @Produces(NdjsonStreamer.MEDIA_TYPE)
+    @Operation(summary = "Exportar personas (NDJSON)", description = "Todas las personas activas, un JSON por línea, sin paginar")
+    public Response streamAll() {
+        return Response.ok(personaService.streamAll()).build();
     }
 
     @GET
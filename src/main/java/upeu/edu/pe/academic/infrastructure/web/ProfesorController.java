@@ -13,6 +13,9 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import upeu.edu.pe.academic.application.dto.ProfesorRequestDTO;
 import upeu.edu.pe.academic.application.dto.ProfesorResponseDTO;
 import upeu.edu.pe.academic.domain.services.ProfesorService;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
 import upeu.edu.pe.shared.response.ApiResponse;
 
 import java.time.LocalDateTime;
@@ -32,22 +35,32 @@ public class ProfesorController {
     ProfesorService profesorService;
 
     @GET
-    @Operation(summary = "Listar todos los profesores", description = "Obtiene lista de todos los profesores activos")
+    @Operation(summary = "Listar todos los profesores", description = "Obtiene los profesores activos por páginas (cursor keyset)")
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Lista de profesores obtenida exitosamente")
     })
-    public Response listarTodos() {
-        List<ProfesorResponseDTO> profesores = profesorService.listarTodos();
-        ApiResponse<List<ProfesorResponseDTO>> response = new ApiResponse<>(
-            true,
+    public Response listarTodos(
+            @Parameter(description = "Cursor devuelto en page.nextCursor de la página anterior")
+            @QueryParam("cursor") String cursor,
+            @Parameter(description = "Tamaño de página (por defecto 50, máximo 500)")
+            @QueryParam("size") Integer size) {
+        KeysetPage<ProfesorResponseDTO> profesores = profesorService.listarTodos(PageRequest.of(cursor, size));
+        ApiResponse<List<ProfesorResponseDTO>> response = ApiResponse.success(
             "Profesores listados exitosamente",
-            profesores,
-            null,
-            LocalDateTime.now()
+            profesores.items(),
+            profesores.info()
         );
         return Response.ok(response).build();
     }
 
+    @GET
+    @Path("/stream")
+    @Produces(NdjsonStreamer.MEDIA_TYPE)
+    @Operation(summary = "Exportar profesores (NDJSON)", description = "Todos los profesores activos, un JSON por línea, sin paginar")
+    public Response streamTodos() {
+        return Response.ok(profesorService.streamTodos()).build();
+    }
+
     @GET
     @Path("/{id}")
     @Operation(summary = "Buscar profesor por ID", description = "Obtiene un profesor específico por su ID")
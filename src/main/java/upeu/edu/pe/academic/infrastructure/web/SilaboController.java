@@ -17,7 +17,6 @@ import upeu.edu.pe.academic.domain.commands.ActualizarSilaboCommand;
 import upeu.edu.pe.academic.domain.services.SilaboService;
 import upeu.edu.pe.shared.response.ApiResponse;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -318,13 +317,7 @@ public class SilaboController {
     public Response obtenerEstadisticas(
             @Parameter(description = "ID de la universidad") 
             @QueryParam("universidadId") Long universidadId) {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("BORRADOR", silaboService.contarPorEstado("BORRADOR", universidadId));
-        stats.put("EN_REVISION", silaboService.contarPorEstado("EN_REVISION", universidadId));
-        stats.put("APROBADO", silaboService.contarPorEstado("APROBADO", universidadId));
-        stats.put("VIGENTE", silaboService.contarPorEstado("VIGENTE", universidadId));
-        stats.put("OBSOLETO", silaboService.contarPorEstado("OBSOLETO", universidadId));
-        
+        Map<String, Long> stats = silaboService.contarPorEstado(universidadId);
         return Response.ok(ApiResponse.success("Estadísticas de sílabos", stats)).build();
     }
 }
@@ -0,0 +1,103 @@
+package upeu.edu.pe.finance.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class EstadoCuentaAlumnoResponseDTO {
+
+    private Long estudianteId;
+    private Long universidadId;
+    private BigDecimal totalCargado;
+    private BigDecimal totalPagado;
+    private BigDecimal saldoPendiente;
+    private BigDecimal saldoVencido;
+    private Integer deudasPendientes;
+    private LocalDateTime fechaUltimoPago;
+    private BigDecimal montoUltimoPago;
+    private LocalDateTime fechaActualizacion;
+
+    // Constructors
+    public EstadoCuentaAlumnoResponseDTO() {
+    }
+
+    // Getters and Setters
+    public Long getEstudianteId() {
+        return estudianteId;
+    }
+
+    public void setEstudianteId(Long estudianteId) {
+        this.estudianteId = estudianteId;
+    }
+
+    public Long getUniversidadId() {
+        return universidadId;
+    }
+
+    public void setUniversidadId(Long universidadId) {
+        this.universidadId = universidadId;
+    }
+
+    public BigDecimal getTotalCargado() {
+        return totalCargado;
+    }
+
+    public void setTotalCargado(BigDecimal totalCargado) {
+        this.totalCargado = totalCargado;
+    }
+
+    public BigDecimal getTotalPagado() {
+        return totalPagado;
+    }
+
+    public void setTotalPagado(BigDecimal totalPagado) {
+        this.totalPagado = totalPagado;
+    }
+
+    public BigDecimal getSaldoPendiente() {
+        return saldoPendiente;
+    }
+
+    public void setSaldoPendiente(BigDecimal saldoPendiente) {
+        this.saldoPendiente = saldoPendiente;
+    }
+
+    public BigDecimal getSaldoVencido() {
+        return saldoVencido;
+    }
+
+    public void setSaldoVencido(BigDecimal saldoVencido) {
+        this.saldoVencido = saldoVencido;
+    }
+
+    public Integer getDeudasPendientes() {
+        return deudasPendientes;
+    }
+
+    public void setDeudasPendientes(Integer deudasPendientes) {
+        this.deudasPendientes = deudasPendientes;
+    }
+
+    public LocalDateTime getFechaUltimoPago() {
+        return fechaUltimoPago;
+    }
+
+    public void setFechaUltimoPago(LocalDateTime fechaUltimoPago) {
+        this.fechaUltimoPago = fechaUltimoPago;
+    }
+
+    public BigDecimal getMontoUltimoPago() {
+        return montoUltimoPago;
+    }
+
+    public void setMontoUltimoPago(BigDecimal montoUltimoPago) {
+        this.montoUltimoPago = montoUltimoPago;
+    }
+
+    public LocalDateTime getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+
+    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
+        this.fechaActualizacion = fechaActualizacion;
+    }
+}
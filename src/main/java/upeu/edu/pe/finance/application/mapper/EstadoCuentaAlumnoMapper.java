@@ -0,0 +1,11 @@
+package upeu.edu.pe.finance.application.mapper;
+
+import org.mapstruct.Mapper;
+import upeu.edu.pe.finance.application.dto.EstadoCuentaAlumnoResponseDTO;
+import upeu.edu.pe.finance.domain.entities.EstadoCuentaAlumno;
+
+@Mapper(componentModel = "cdi")
+public interface EstadoCuentaAlumnoMapper {
+
+    EstadoCuentaAlumnoResponseDTO toResponseDTO(EstadoCuentaAlumno entity);
+}
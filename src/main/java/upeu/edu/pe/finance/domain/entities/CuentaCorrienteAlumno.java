@@ -20,7 +20,9 @@ import java.util.Set;
 @Table(name = "cuenta_corriente_alumno",
     indexes = {
         @Index(name = "idx_cta_cte_universidad_estudiante", columnList = "universidad_id, estudiante_id"),
+        @Index(name = "idx_cta_cte_estudiante_vencimiento", columnList = "estudiante_id, fecha_vencimiento"),
         @Index(name = "idx_cta_cte_estado_vencimiento", columnList = "estado, fecha_vencimiento"),
+        @Index(name = "idx_cta_cte_universidad_estado", columnList = "universidad_id, estado, fecha_emision"),
         @Index(name = "idx_cta_cte_periodo_tipo", columnList = "periodo_academico, tipo_cargo")
     }
 )
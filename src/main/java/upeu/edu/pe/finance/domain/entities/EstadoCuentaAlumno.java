@@ -0,0 +1,61 @@
+package upeu.edu.pe.finance.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección materializada del estado de cuenta de un estudiante (una fila por estudiante).
+ * <p>
+ * Se mantiene de forma incremental desde EstadoCuentaService, en la misma transacción que
+ * las operaciones sobre deudas y pagos, por lo que no debe modificarse directamente.
+ */
+@Entity
+@Table(name = "estado_cuenta_alumno",
+    indexes = {
+        @Index(name = "idx_estado_cuenta_universidad", columnList = "universidad_id")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class EstadoCuentaAlumno {
+
+    @Id
+    @Column(name = "estudiante_id")
+    @EqualsAndHashCode.Include
+    private Long estudianteId;
+
+    @Column(name = "universidad_id", nullable = false)
+    private Long universidadId;
+
+    @Column(name = "total_cargado", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalCargado = BigDecimal.ZERO; // Suma de deudas vigentes
+
+    @Column(name = "total_pagado", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalPagado = BigDecimal.ZERO; // Suma aplicada a esas deudas
+
+    @Column(name = "saldo_pendiente", nullable = false, precision = 12, scale = 2)
+    private BigDecimal saldoPendiente = BigDecimal.ZERO;
+
+    @Column(name = "saldo_vencido", nullable = false, precision = 12, scale = 2)
+    private BigDecimal saldoVencido = BigDecimal.ZERO; // Pendiente con fecha de vencimiento pasada
+
+    @Column(name = "deudas_pendientes", nullable = false)
+    private Integer deudasPendientes = 0;
+
+    @Column(name = "fecha_ultimo_pago")
+    private LocalDateTime fechaUltimoPago;
+
+    @Column(name = "monto_ultimo_pago", precision = 10, scale = 2)
+    private BigDecimal montoUltimoPago;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
@@ -20,7 +20,9 @@ import java.util.Set;
 @Table(name = "pago",
     indexes = {
         @Index(name = "idx_pago_universidad_estudiante", columnList = "universidad_id, estudiante_id"),
+        @Index(name = "idx_pago_estudiante_fecha", columnList = "estudiante_id, fecha_pago"),
         @Index(name = "idx_pago_fecha_estado", columnList = "fecha_pago, estado"),
+        @Index(name = "idx_pago_universidad_estado", columnList = "universidad_id, estado, fecha_pago"),
         @Index(name = "idx_pago_numero_recibo", columnList = "numero_recibo")
     }
 )
@@ -29,8 +31,17 @@ import java.util.Set;
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = true)
 @EntityListeners(AuditListener.class)
+@NamedEntityGraph(name = Pago.GRAFO_LISTADO,
+    attributeNodes = {
+        @NamedAttributeNode("universidad"),
+        @NamedAttributeNode(value = "estudiante", subgraph = "estudiante")
+    },
+    subgraphs = @NamedSubgraph(name = "estudiante", attributeNodes = @NamedAttributeNode("persona")))
 public class Pago extends AuditableEntity {
 
+    /** Relaciones que lee PagoMapper.toResponseDTO */
+    public static final String GRAFO_LISTADO = "Pago.listado";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @EqualsAndHashCode.Include
@@ -3,6 +3,10 @@ package upeu.edu.pe.finance.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.finance.domain.entities.CuentaCorrienteAlumno;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
+import upeu.edu.pe.shared.persistence.GroupedCountQuery;
+import upeu.edu.pe.shared.persistence.GroupedCounts;
+
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -32,7 +36,7 @@ public class CuentaCorrienteAlumnoRepository implements PanacheRepository<Cuenta
      * Busca cuentas pendientes de pago
      */
     public List<CuentaCorrienteAlumno> findPendientesByEstudiante(Long estudianteId) {
-        return find("estudiante.id = ?1 and UPPER(estado) IN ('PENDIENTE', 'PAGADO_PARCIAL') and active = true ORDER BY fechaVencimiento", 
+        return find("estudiante.id = ?1 and estado IN ('PENDIENTE', 'PAGADO_PARCIAL') and active = true ORDER BY fechaVencimiento", 
                    estudianteId).list();
     }
 
@@ -41,7 +45,7 @@ public class CuentaCorrienteAlumnoRepository implements PanacheRepository<Cuenta
      */
     public List<CuentaCorrienteAlumno> findVencidasByEstudiante(Long estudianteId) {
         LocalDate hoy = LocalDate.now();
-        return find("estudiante.id = ?1 and fechaVencimiento < ?2 and UPPER(estado) IN ('PENDIENTE', 'PAGADO_PARCIAL', 'VENCIDO') and active = true ORDER BY fechaVencimiento", 
+        return find("estudiante.id = ?1 and fechaVencimiento < ?2 and estado IN ('PENDIENTE', 'PAGADO_PARCIAL', 'VENCIDO') and active = true ORDER BY fechaVencimiento", 
                    estudianteId, hoy).list();
     }
 
@@ -49,16 +53,16 @@ public class CuentaCorrienteAlumnoRepository implements PanacheRepository<Cuenta
      * Busca cuentas por tipo de cargo
      */
     public List<CuentaCorrienteAlumno> findByTipoCargoAndEstudiante(String tipoCargo, Long estudianteId) {
-        return find("UPPER(tipoCargo) = UPPER(?1) and estudiante.id = ?2 and active = true ORDER BY fechaEmision DESC", 
-                   tipoCargo, estudianteId).list();
+        return find("tipoCargo = ?1 and estudiante.id = ?2 and active = true ORDER BY fechaEmision DESC", 
+                   CanonicalParams.upper(tipoCargo), estudianteId).list();
     }
 
     /**
      * Busca cuentas por estado
      */
     public List<CuentaCorrienteAlumno> findByEstadoAndUniversidad(String estado, Long universidadId) {
-        return find("UPPER(estado) = UPPER(?1) and universidad.id = ?2 and active = true ORDER BY fechaEmision DESC", 
-                   estado, universidadId).list();
+        return find("estado = ?1 and universidad.id = ?2 and active = true ORDER BY fechaEmision DESC", 
+                   CanonicalParams.upper(estado), universidadId).list();
     }
 
     /**
@@ -66,7 +70,7 @@ public class CuentaCorrienteAlumnoRepository implements PanacheRepository<Cuenta
      */
     public BigDecimal calcularDeudaTotalByEstudiante(Long estudianteId) {
         Object result = find("SELECT COALESCE(SUM(montoPendiente), 0) FROM CuentaCorrienteAlumno " +
-                            "WHERE estudiante.id = ?1 and UPPER(estado) IN ('PENDIENTE', 'PAGADO_PARCIAL', 'VENCIDO') and active = true", 
+                            "WHERE estudiante.id = ?1 and estado IN ('PENDIENTE', 'PAGADO_PARCIAL', 'VENCIDO') and active = true", 
                             estudianteId).project(BigDecimal.class).firstResult();
         return result != null ? (BigDecimal) result : BigDecimal.ZERO;
     }
@@ -99,7 +103,7 @@ public class CuentaCorrienteAlumnoRepository implements PanacheRepository<Cuenta
      * Cuenta cuentas pendientes de un estudiante
      */
     public long countPendientesByEstudiante(Long estudianteId) {
-        return count("estudiante.id = ?1 and UPPER(estado) IN ('PENDIENTE', 'PAGADO_PARCIAL')", estudianteId);
+        return count("estudiante.id = ?1 and estado IN ('PENDIENTE', 'PAGADO_PARCIAL')", estudianteId);
     }
 
     /**
@@ -107,7 +111,7 @@ public class CuentaCorrienteAlumnoRepository implements PanacheRepository<Cuenta
      */
     public List<CuentaCorrienteAlumno> findProximasVencerByEstudiante(Long estudianteId, Integer dias) {
         LocalDate fechaLimite = LocalDate.now().plusDays(dias);
-        return find("estudiante.id = ?1 and fechaVencimiento <= ?2 and UPPER(estado) IN ('PENDIENTE', 'PAGADO_PARCIAL') and active = true ORDER BY fechaVencimiento", 
+        return find("estudiante.id = ?1 and fechaVencimiento <= ?2 and estado IN ('PENDIENTE', 'PAGADO_PARCIAL') and active = true ORDER BY fechaVencimiento", 
                    estudianteId, fechaLimite).list();
     }
 
@@ -115,27 +119,30 @@ public class CuentaCorrienteAlumnoRepository implements PanacheRepository<Cuenta
      * Busca cuentas por tipo de cargo (sin filtro de estudiante)
      */
     public List<CuentaCorrienteAlumno> findByTipoCargo(String tipoCargo) {
-        return find("UPPER(tipoCargo) = UPPER(?1) and active = true ORDER BY fechaEmision DESC", tipoCargo).list();
+        return find("tipoCargo = ?1 and active = true ORDER BY fechaEmision DESC", CanonicalParams.upper(tipoCargo)).list();
     }
 
     /**
      * Busca cuentas por estado (sin filtro de universidad)
      */
     public List<CuentaCorrienteAlumno> findByEstado(String estado) {
-        return find("UPPER(estado) = UPPER(?1) and active = true ORDER BY fechaEmision DESC", estado).list();
+        return find("estado = ?1 and active = true ORDER BY fechaEmision DESC", CanonicalParams.upper(estado)).list();
     }
 
     /**
-     * Cuenta cuentas por estado y universidad
+     * Cuenta cuentas de la universidad agrupadas por estado
      */
-    public long countByEstadoAndUniversidad(String estado, Long universidadId) {
-        return count("UPPER(estado) = UPPER(?1) and universidad.id = ?2 and active = true", estado, universidadId);
+    public GroupedCounts contarPorEstado(Long universidadId) {
+        return GroupedCountQuery.from(getEntityManager(), "CuentaCorrienteAlumno e", "e.estado")
+                .where("e.universidad.id = :universidadId and e.active = true")
+                .param("universidadId", universidadId)
+                .fetch();
     }
 
     /**
      * Verifica si existe una cuenta para estudiante y concepto
      */
     public boolean existsByEstudianteAndConcepto(Long estudianteId, String concepto) {
-        return count("estudiante.id = ?1 and UPPER(concepto) = UPPER(?2) and active = true", estudianteId, concepto) > 0;
+        return count("estudiante.id = ?1 and UPPER(concepto) = ?2 and active = true", estudianteId, CanonicalParams.upper(concepto)) > 0;
     }
 }
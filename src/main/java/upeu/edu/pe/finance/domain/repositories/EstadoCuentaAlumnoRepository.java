@@ -0,0 +1,111 @@
+package upeu.edu.pe.finance.domain.repositories;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import upeu.edu.pe.finance.domain.entities.EstadoCuentaAlumno;
+import upeu.edu.pe.shared.persistence.NativeUpdates;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@ApplicationScoped
+public class EstadoCuentaAlumnoRepository implements PanacheRepositoryBase<EstadoCuentaAlumno, Long> {
+
+    /**
+     * Reconstruye (o crea) la fila de un estudiante a partir de sus deudas y pagos.
+     * Usa el mismo criterio que los movimientos incrementales: deudas activas no anuladas.
+     */
+    private static final String UPSERT_DESDE_ORIGEN =
+        "INSERT INTO estado_cuenta_alumno (estudiante_id, universidad_id, total_cargado, total_pagado, " +
+        "    saldo_pendiente, saldo_vencido, deudas_pendientes, fecha_ultimo_pago, monto_ultimo_pago, fecha_actualizacion) " +
+        "SELECT e.id, e.universidad_id, " +
+        "    COALESCE(SUM(c.monto), 0), " +
+        "    COALESCE(SUM(c.monto_pagado), 0), " +
+        "    COALESCE(SUM(c.monto_pendiente), 0), " +
+        "    COALESCE(SUM(c.monto_pendiente) FILTER (WHERE c.fecha_vencimiento < CURRENT_DATE), 0), " +
+        "    COUNT(c.id) FILTER (WHERE c.monto_pendiente > 0), " +
+        "    up.fecha_pago, up.monto_pagado, LOCALTIMESTAMP " +
+        "FROM estudiante e " +
+        "LEFT JOIN cuenta_corriente_alumno c ON c.estudiante_id = e.id AND c.active = true " +
+        "    AND COALESCE(c.estado, '') <> 'ANULADO' " +
+        "LEFT JOIN LATERAL (SELECT p.fecha_pago, p.monto_pagado FROM pago p " +
+        "    WHERE p.estudiante_id = e.id AND p.active = true AND COALESCE(p.estado, '') <> 'ANULADO' " +
+        "    ORDER BY p.fecha_pago DESC, p.id DESC LIMIT 1) up ON true " +
+        "WHERE e.id = :estudianteId " +
+        "GROUP BY e.id, e.universidad_id, up.fecha_pago, up.monto_pagado " +
+        "ON CONFLICT (estudiante_id) DO UPDATE SET " +
+        "    universidad_id = EXCLUDED.universidad_id, " +
+        "    total_cargado = EXCLUDED.total_cargado, " +
+        "    total_pagado = EXCLUDED.total_pagado, " +
+        "    saldo_pendiente = EXCLUDED.saldo_pendiente, " +
+        "    saldo_vencido = EXCLUDED.saldo_vencido, " +
+        "    deudas_pendientes = EXCLUDED.deudas_pendientes, " +
+        "    fecha_ultimo_pago = EXCLUDED.fecha_ultimo_pago, " +
+        "    monto_ultimo_pago = EXCLUDED.monto_ultimo_pago, " +
+        "    fecha_actualizacion = EXCLUDED.fecha_actualizacion";
+
+    private static final String RECALCULAR_SALDOS_VENCIDOS =
+        "UPDATE estado_cuenta_alumno ec SET " +
+        "saldo_vencido = COALESCE((SELECT SUM(c.monto_pendiente) FROM cuenta_corriente_alumno c " +
+        "    WHERE c.estudiante_id = ec.estudiante_id AND c.active = true " +
+        "    AND COALESCE(c.estado, '') <> 'ANULADO' AND c.fecha_vencimiento < CURRENT_DATE), 0), " +
+        "fecha_actualizacion = LOCALTIMESTAMP " +
+        "WHERE ec.saldo_pendiente > 0 OR ec.saldo_vencido <> 0";
+
+    /**
+     * Aplica un movimiento (diferencias) sobre la fila del estudiante con un UPDATE atómico
+     *
+     * @return false si el estudiante aún no tiene fila materializada
+     */
+    public boolean aplicarMovimiento(Long estudianteId, BigDecimal cargado, BigDecimal pagado,
+                                     BigDecimal vencido, int deudasPendientes) {
+        return getEntityManager()
+            .createQuery("UPDATE EstadoCuentaAlumno e SET " +
+                        "e.totalCargado = e.totalCargado + :cargado, " +
+                        "e.totalPagado = e.totalPagado + :pagado, " +
+                        "e.saldoPendiente = e.saldoPendiente + :cargado - :pagado, " +
+                        "e.saldoVencido = e.saldoVencido + :vencido, " +
+                        "e.deudasPendientes = e.deudasPendientes + :deudas, " +
+                        "e.fechaActualizacion = :ahora " +
+                        "WHERE e.estudianteId = :estudianteId")
+            .setParameter("cargado", cargado)
+            .setParameter("pagado", pagado)
+            .setParameter("vencido", vencido)
+            .setParameter("deudas", deudasPendientes)
+            .setParameter("ahora", LocalDateTime.now())
+            .setParameter("estudianteId", estudianteId)
+            .executeUpdate() == 1;
+    }
+
+    /**
+     * Registra un pago recibido como último pago si es posterior al registrado
+     *
+     * @return false si el estudiante aún no tiene fila materializada
+     */
+    public boolean registrarUltimoPago(Long estudianteId, LocalDateTime fechaPago, BigDecimal monto) {
+        int filas = update("fechaUltimoPago = ?2, montoUltimoPago = ?3, fechaActualizacion = ?4 " +
+                          "where estudianteId = ?1 and (fechaUltimoPago is null or fechaUltimoPago <= ?2)",
+                          estudianteId, fechaPago, monto, LocalDateTime.now());
+        return filas == 1 || count("estudianteId", estudianteId) == 1;
+    }
+
+    /**
+     * Recalcula la fila del estudiante desde las tablas de origen (INSERT ... ON CONFLICT)
+     *
+     * @return false si el estudiante no existe
+     */
+    public boolean reconstruir(Long estudianteId) {
+        return NativeUpdates.sobre(getEntityManager(), UPSERT_DESDE_ORIGEN, EstadoCuentaAlumno.class)
+            .setParameter("estudianteId", estudianteId)
+            .executeUpdate() == 1;
+    }
+
+    /**
+     * Recalcula el saldo vencido de todos los estudiantes con saldo pendiente: las deudas
+     * pasan a vencidas por el paso del tiempo, sin que haya ninguna escritura que lo refleje.
+     */
+    public int recalcularSaldosVencidos() {
+        return NativeUpdates.sobre(getEntityManager(), RECALCULAR_SALDOS_VENCIDOS, EstadoCuentaAlumno.class)
+            .executeUpdate();
+    }
+}
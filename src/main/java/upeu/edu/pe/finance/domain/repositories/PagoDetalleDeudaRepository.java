@@ -3,6 +3,7 @@ package upeu.edu.pe.finance.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.finance.domain.entities.PagoDetalleDeuda;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -29,7 +30,7 @@ public class PagoDetalleDeudaRepository implements PanacheRepository<PagoDetalle
      * Busca detalles activos por pago
      */
     public List<PagoDetalleDeuda> findActivosByPago(Long pagoId) {
-        return find("pago.id = ?1 and UPPER(estado) = 'APLICADO' and active = true ORDER BY fechaAplicacion", 
+        return find("pago.id = ?1 and estado = 'APLICADO' and active = true ORDER BY fechaAplicacion", 
                    pagoId).list();
     }
 
@@ -37,7 +38,7 @@ public class PagoDetalleDeudaRepository implements PanacheRepository<PagoDetalle
      * Busca detalles activos por deuda
      */
     public List<PagoDetalleDeuda> findActivosByDeuda(Long deudaId) {
-        return find("deuda.id = ?1 and UPPER(estado) = 'APLICADO' and active = true ORDER BY fechaAplicacion", 
+        return find("deuda.id = ?1 and estado = 'APLICADO' and active = true ORDER BY fechaAplicacion", 
                    deudaId).list();
     }
 
@@ -45,7 +46,7 @@ public class PagoDetalleDeudaRepository implements PanacheRepository<PagoDetalle
      * Busca un detalle específico
      */
     public Optional<PagoDetalleDeuda> findByPagoAndDeuda(Long pagoId, Long deudaId) {
-        return find("pago.id = ?1 and deuda.id = ?2 and UPPER(estado) = 'APLICADO' and active = true", 
+        return find("pago.id = ?1 and deuda.id = ?2 and estado = 'APLICADO' and active = true", 
                    pagoId, deudaId).firstResultOptional();
     }
 
@@ -54,7 +55,7 @@ public class PagoDetalleDeudaRepository implements PanacheRepository<PagoDetalle
      */
     public BigDecimal calcularTotalAplicadoByDeuda(Long deudaId) {
         Object result = find("SELECT COALESCE(SUM(montoAplicado), 0) FROM PagoDetalleDeuda " +
-                            "WHERE deuda.id = ?1 and UPPER(estado) = 'APLICADO' and active = true", 
+                            "WHERE deuda.id = ?1 and estado = 'APLICADO' and active = true", 
                             deudaId).project(BigDecimal.class).firstResult();
         return result != null ? (BigDecimal) result : BigDecimal.ZERO;
     }
@@ -64,7 +65,7 @@ public class PagoDetalleDeudaRepository implements PanacheRepository<PagoDetalle
      */
     public BigDecimal calcularTotalAplicadoByPago(Long pagoId) {
         Object result = find("SELECT COALESCE(SUM(montoAplicado), 0) FROM PagoDetalleDeuda " +
-                            "WHERE pago.id = ?1 and UPPER(estado) = 'APLICADO' and active = true", 
+                            "WHERE pago.id = ?1 and estado = 'APLICADO' and active = true", 
                             pagoId).project(BigDecimal.class).firstResult();
         return result != null ? (BigDecimal) result : BigDecimal.ZERO;
     }
@@ -73,7 +74,7 @@ public class PagoDetalleDeudaRepository implements PanacheRepository<PagoDetalle
      * Busca detalles revertidos por pago
      */
     public List<PagoDetalleDeuda> findRevertidosByPago(Long pagoId) {
-        return find("pago.id = ?1 and UPPER(estado) = 'REVERTIDO' and active = true ORDER BY fechaReversion DESC", 
+        return find("pago.id = ?1 and estado = 'REVERTIDO' and active = true ORDER BY fechaReversion DESC", 
                    pagoId).list();
     }
 
@@ -81,7 +82,7 @@ public class PagoDetalleDeudaRepository implements PanacheRepository<PagoDetalle
      * Busca detalles revertidos por deuda
      */
     public List<PagoDetalleDeuda> findRevertidosByDeuda(Long deudaId) {
-        return find("deuda.id = ?1 and UPPER(estado) = 'REVERTIDO' and active = true ORDER BY fechaReversion DESC", 
+        return find("deuda.id = ?1 and estado = 'REVERTIDO' and active = true ORDER BY fechaReversion DESC", 
                    deudaId).list();
     }
 
@@ -89,22 +90,22 @@ public class PagoDetalleDeudaRepository implements PanacheRepository<PagoDetalle
      * Cuenta detalles aplicados a una deuda
      */
     public long countActivosByDeuda(Long deudaId) {
-        return count("deuda.id = ?1 and UPPER(estado) = 'APLICADO'", deudaId);
+        return count("deuda.id = ?1 and estado = 'APLICADO'", deudaId);
     }
 
     /**
      * Verifica si existe aplicación entre pago y deuda
      */
     public boolean existsAplicacion(Long pagoId, Long deudaId) {
-        return count("pago.id = ?1 and deuda.id = ?2 and UPPER(estado) = 'APLICADO'", pagoId, deudaId) > 0;
+        return count("pago.id = ?1 and deuda.id = ?2 and estado = 'APLICADO'", pagoId, deudaId) > 0;
     }
 
     /**
      * Busca detalles por usuario que aplicó
      */
     public List<PagoDetalleDeuda> findByAplicadoPor(String aplicadoPor) {
-        return find("UPPER(aplicadoPor) = UPPER(?1) and active = true ORDER BY fechaAplicacion DESC", 
-                   aplicadoPor).list();
+        return find("UPPER(aplicadoPor) = ?1 and active = true ORDER BY fechaAplicacion DESC", 
+                   CanonicalParams.upper(aplicadoPor)).list();
     }
 
     /**
@@ -118,13 +119,13 @@ public class PagoDetalleDeudaRepository implements PanacheRepository<PagoDetalle
      * Cuenta aplicaciones activas por pago
      */
     public long countByPago(Long pagoId) {
-        return count("pago.id = ?1 and UPPER(estado) = 'APLICADO' and active = true", pagoId);
+        return count("pago.id = ?1 and estado = 'APLICADO' and active = true", pagoId);
     }
 
     /**
      * Cuenta aplicaciones activas por deuda
      */
     public long countByDeuda(Long deudaId) {
-        return count("deuda.id = ?1 and UPPER(estado) = 'APLICADO' and active = true", deudaId);
+        return count("deuda.id = ?1 and estado = 'APLICADO' and active = true", deudaId);
     }
 }
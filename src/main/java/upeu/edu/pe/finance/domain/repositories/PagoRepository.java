@@ -1,14 +1,24 @@
 package upeu.edu.pe.finance.domain.repositories;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.finance.domain.entities.Pago;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.KeysetQuery;
+import upeu.edu.pe.shared.pagination.KeysetSort;
+import upeu.edu.pe.shared.pagination.PageRequest;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
+import upeu.edu.pe.shared.persistence.FetchGraphs;
+import upeu.edu.pe.shared.persistence.GroupedCountQuery;
+import upeu.edu.pe.shared.persistence.GroupedCounts;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class PagoRepository implements PanacheRepository<Pago> {
@@ -17,56 +27,56 @@ public class PagoRepository implements PanacheRepository<Pago> {
      * Busca pagos por estudiante
      */
     public List<Pago> findByEstudiante(Long estudianteId) {
-        return find("estudiante.id = ?1 and active = true ORDER BY fechaPago DESC", 
-                   estudianteId).list();
+        return listado(find("estudiante.id = ?1 and active = true ORDER BY fechaPago DESC", 
+                   estudianteId)).list();
     }
 
     /**
      * Busca pagos por universidad
      */
     public List<Pago> findByUniversidad(Long universidadId) {
-        return find("universidad.id = ?1 and active = true ORDER BY fechaPago DESC", 
-                   universidadId).list();
+        return listado(find("universidad.id = ?1 and active = true ORDER BY fechaPago DESC", 
+                   universidadId)).list();
     }
 
     /**
      * Busca pago por número de recibo
      */
     public Optional<Pago> findByNumeroRecibo(String numeroRecibo, Long universidadId) {
-        return find("UPPER(numeroRecibo) = UPPER(?1) and universidad.id = ?2 and active = true", 
-                   numeroRecibo, universidadId).firstResultOptional();
+        return find("numeroRecibo = ?1 and universidad.id = ?2 and active = true", 
+                   CanonicalParams.upper(numeroRecibo), universidadId).firstResultOptional();
     }
 
     /**
      * Verifica si existe un número de recibo
      */
     public boolean existsByNumeroRecibo(String numeroRecibo, Long universidadId) {
-        return count("UPPER(numeroRecibo) = UPPER(?1) and universidad.id = ?2", 
-                    numeroRecibo, universidadId) > 0;
+        return count("numeroRecibo = ?1 and universidad.id = ?2", 
+                    CanonicalParams.upper(numeroRecibo), universidadId) > 0;
     }
 
     /**
      * Busca pagos pendientes de aplicar
      */
     public List<Pago> findPendientesAplicarByUniversidad(Long universidadId) {
-        return find("universidad.id = ?1 and UPPER(estado) = 'PENDIENTE_APLICAR' and montoPendienteAplicar > 0 and active = true ORDER BY fechaPago", 
-                   universidadId).list();
+        return listado(find("universidad.id = ?1 and estado = 'PENDIENTE_APLICAR' and montoPendienteAplicar > 0 and active = true ORDER BY fechaPago", 
+                   universidadId)).list();
     }
 
     /**
      * Busca pagos por método de pago
      */
     public List<Pago> findByMetodoPagoAndUniversidad(String metodoPago, Long universidadId) {
-        return find("UPPER(metodoPago) = UPPER(?1) and universidad.id = ?2 and active = true ORDER BY fechaPago DESC", 
-                   metodoPago, universidadId).list();
+        return listado(find("metodoPago = ?1 and universidad.id = ?2 and active = true ORDER BY fechaPago DESC", 
+                   CanonicalParams.upper(metodoPago), universidadId)).list();
     }
 
     /**
      * Busca pagos por estado
      */
     public List<Pago> findByEstadoAndUniversidad(String estado, Long universidadId) {
-        return find("UPPER(estado) = UPPER(?1) and universidad.id = ?2 and active = true ORDER BY fechaPago DESC", 
-                   estado, universidadId).list();
+        return listado(find("estado = ?1 and universidad.id = ?2 and active = true ORDER BY fechaPago DESC", 
+                   CanonicalParams.upper(estado), universidadId)).list();
     }
 
     /**
@@ -75,8 +85,8 @@ public class PagoRepository implements PanacheRepository<Pago> {
     public List<Pago> findByFechasAndUniversidad(LocalDate fechaInicio, LocalDate fechaFin, Long universidadId) {
         LocalDateTime inicio = fechaInicio.atStartOfDay();
         LocalDateTime fin = fechaFin.plusDays(1).atStartOfDay();
-        return find("universidad.id = ?1 and fechaPago >= ?2 and fechaPago < ?3 and active = true ORDER BY fechaPago", 
-                   universidadId, inicio, fin).list();
+        return listado(find("universidad.id = ?1 and fechaPago >= ?2 and fechaPago < ?3 and active = true ORDER BY fechaPago", 
+                   universidadId, inicio, fin)).list();
     }
 
     /**
@@ -85,8 +95,8 @@ public class PagoRepository implements PanacheRepository<Pago> {
     public List<Pago> findByCajeroAndFecha(String cajero, LocalDate fecha) {
         LocalDateTime inicio = fecha.atStartOfDay();
         LocalDateTime fin = fecha.plusDays(1).atStartOfDay();
-        return find("UPPER(cajero) = UPPER(?1) and fechaPago >= ?2 and fechaPago < ?3 and active = true ORDER BY fechaPago", 
-                   cajero, inicio, fin).list();
+        return listado(find("UPPER(cajero) = ?1 and fechaPago >= ?2 and fechaPago < ?3 and active = true ORDER BY fechaPago", 
+                   CanonicalParams.upper(cajero), inicio, fin)).list();
     }
 
     /**
@@ -96,7 +106,7 @@ public class PagoRepository implements PanacheRepository<Pago> {
         LocalDateTime inicio = fecha.atStartOfDay();
         LocalDateTime fin = fecha.plusDays(1).atStartOfDay();
         Object result = find("SELECT COALESCE(SUM(montoPagado), 0) FROM Pago " +
-                            "WHERE universidad.id = ?1 and fechaPago >= ?2 and fechaPago < ?3 and UPPER(estado) != 'ANULADO' and active = true", 
+                            "WHERE universidad.id = ?1 and fechaPago >= ?2 and fechaPago < ?3 and estado != 'ANULADO' and active = true", 
                             universidadId, inicio, fin).project(BigDecimal.class).firstResult();
         return result != null ? (BigDecimal) result : BigDecimal.ZERO;
     }
@@ -105,8 +115,8 @@ public class PagoRepository implements PanacheRepository<Pago> {
      * Busca pagos por referencia
      */
     public List<Pago> findByReferencia(String referenciaPago, Long universidadId) {
-        return find("UPPER(referenciaPago) LIKE UPPER(?1) and universidad.id = ?2 and active = true", 
-                   "%" + referenciaPago + "%", universidadId).list();
+        return listado(find("UPPER(referenciaPago) LIKE UPPER(?1) and universidad.id = ?2 and active = true", 
+                   "%" + referenciaPago + "%", universidadId)).list();
     }
 
     /**
@@ -120,22 +130,22 @@ public class PagoRepository implements PanacheRepository<Pago> {
      * Busca pagos anulados
      */
     public List<Pago> findAnuladosByUniversidad(Long universidadId) {
-        return find("universidad.id = ?1 and UPPER(estado) = 'ANULADO' and active = true ORDER BY fechaAnulacion DESC", 
-                   universidadId).list();
+        return listado(find("universidad.id = ?1 and estado = 'ANULADO' and active = true ORDER BY fechaAnulacion DESC", 
+                   universidadId)).list();
     }
 
     /**
      * Busca pagos por estado (sin filtro de universidad)
      */
     public List<Pago> findByEstado(String estado) {
-        return find("UPPER(estado) = UPPER(?1) and active = true ORDER BY fechaPago DESC", estado).list();
+        return listado(find("estado = ?1 and active = true ORDER BY fechaPago DESC", CanonicalParams.upper(estado))).list();
     }
 
     /**
      * Busca pagos por método de pago (sin filtro de universidad)
      */
     public List<Pago> findByMetodoPago(String metodoPago) {
-        return find("UPPER(metodoPago) = UPPER(?1) and active = true ORDER BY fechaPago DESC", metodoPago).list();
+        return listado(find("metodoPago = ?1 and active = true ORDER BY fechaPago DESC", CanonicalParams.upper(metodoPago))).list();
     }
 
     /**
@@ -144,22 +154,22 @@ public class PagoRepository implements PanacheRepository<Pago> {
     public List<Pago> findByFecha(LocalDate fecha) {
         LocalDateTime inicio = fecha.atStartOfDay();
         LocalDateTime fin = fecha.plusDays(1).atStartOfDay();
-        return find("fechaPago >= ?1 and fechaPago < ?2 and active = true ORDER BY fechaPago", inicio, fin).list();
+        return listado(find("fechaPago >= ?1 and fechaPago < ?2 and active = true ORDER BY fechaPago", inicio, fin)).list();
     }
 
     /**
      * Busca pagos por cajero
      */
     public List<Pago> findByCajero(String cajero) {
-        return find("UPPER(cajero) = UPPER(?1) and active = true ORDER BY fechaPago DESC", cajero).list();
+        return listado(find("UPPER(cajero) = ?1 and active = true ORDER BY fechaPago DESC", CanonicalParams.upper(cajero))).list();
     }
 
     /**
      * Busca pagos pendientes de aplicar por estudiante
      */
     public List<Pago> findPendientesAplicarByEstudiante(Long estudianteId) {
-        return find("estudiante.id = ?1 and UPPER(estado) = 'PENDIENTE_APLICAR' and montoPendienteAplicar > 0 and active = true ORDER BY fechaPago", 
-                   estudianteId).list();
+        return listado(find("estudiante.id = ?1 and estado = 'PENDIENTE_APLICAR' and montoPendienteAplicar > 0 and active = true ORDER BY fechaPago", 
+                   estudianteId)).list();
     }
 
     /**
@@ -168,7 +178,7 @@ public class PagoRepository implements PanacheRepository<Pago> {
     public List<Pago> findByRangoFechas(LocalDate fechaInicio, LocalDate fechaFin) {
         LocalDateTime inicio = fechaInicio.atStartOfDay();
         LocalDateTime fin = fechaFin.plusDays(1).atStartOfDay();
-        return find("fechaPago >= ?1 and fechaPago < ?2 and active = true ORDER BY fechaPago", inicio, fin).list();
+        return listado(find("fechaPago >= ?1 and fechaPago < ?2 and active = true ORDER BY fechaPago", inicio, fin)).list();
     }
 
     /**
@@ -178,15 +188,49 @@ public class PagoRepository implements PanacheRepository<Pago> {
         LocalDateTime inicio = fecha.atStartOfDay();
         LocalDateTime fin = fecha.plusDays(1).atStartOfDay();
         Object result = find("SELECT COALESCE(SUM(montoPagado), 0) FROM Pago " +
-                            "WHERE UPPER(metodoPago) = UPPER(?1) and fechaPago >= ?2 and fechaPago < ?3 and UPPER(estado) != 'ANULADO' and active = true", 
-                            metodoPago, inicio, fin).project(BigDecimal.class).firstResult();
+                            "WHERE metodoPago = ?1 and fechaPago >= ?2 and fechaPago < ?3 and estado != 'ANULADO' and active = true", 
+                            CanonicalParams.upper(metodoPago), inicio, fin).project(BigDecimal.class).firstResult();
         return result != null ? (BigDecimal) result : BigDecimal.ZERO;
     }
 
     /**
      * Cuenta pagos por estado y universidad
      */
-    public long countByEstadoAndUniversidad(String estado, Long universidadId) {
-        return count("UPPER(estado) = UPPER(?1) and universidad.id = ?2 and active = true", estado, universidadId);
+    public GroupedCounts contarPorEstado(Long universidadId) {
+        return GroupedCountQuery.from(getEntityManager(), "Pago e", "e.estado")
+                .where("e.universidad.id = :universidadId and e.active = true")
+                .param("universidadId", universidadId)
+                .fetch();
+    }
+
+    /**
+     * Pagos de una universidad paginados por keyset, del más reciente al más antiguo
+     */
+    public KeysetPage<Pago> findByUniversidad(Long universidadId, PageRequest pageRequest) {
+        return porUniversidad(universidadId).page(pageRequest);
+    }
+
+    /**
+     * Pagos de una universidad recorridos sin materializar el listado (streaming)
+     */
+    public Stream<Pago> streamByUniversidad(Long universidadId) {
+        return porUniversidad(universidadId).stream();
+    }
+
+    private KeysetQuery<Pago> porUniversidad(Long universidadId) {
+        return KeysetQuery.from(getEntityManager(), Pago.class,
+                        "Pago e JOIN FETCH e.estudiante es JOIN FETCH es.persona JOIN FETCH e.universidad")
+                .where("e.universidad.id = :universidadId and e.active = true")
+                .param("universidadId", universidadId)
+                .orderBy(KeysetSort.desc("e.fechaPago", LocalDateTime.class), Pago::getFechaPago)
+                .id(Pago::getId);
+    }
+
+    /**
+     * Aplica el plan de carga del listado ({@link Pago#GRAFO_LISTADO}) para que el mapper
+     * no dispare un SELECT por fila al leer las relaciones
+     */
+    private PanacheQuery<Pago> listado(PanacheQuery<Pago> query) {
+        return FetchGraphs.aplicar(query, getEntityManager(), Pago.GRAFO_LISTADO);
     }
 }
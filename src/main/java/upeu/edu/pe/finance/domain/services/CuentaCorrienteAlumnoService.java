@@ -8,11 +8,15 @@ import upeu.edu.pe.finance.application.dto.CuentaCorrienteAlumnoResponseDTO;
 import upeu.edu.pe.finance.application.mapper.CuentaCorrienteAlumnoMapper;
 import upeu.edu.pe.finance.domain.entities.CuentaCorrienteAlumno;
 import upeu.edu.pe.finance.domain.repositories.CuentaCorrienteAlumnoRepository;
+import upeu.edu.pe.shared.cache.EstadisticasCache;
 import upeu.edu.pe.shared.exceptions.BusinessException;
 import upeu.edu.pe.shared.exceptions.NotFoundException;
+import upeu.edu.pe.shared.persistence.GroupedCounts;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @ApplicationScoped
 public class CuentaCorrienteAlumnoService {
@@ -20,9 +24,15 @@ public class CuentaCorrienteAlumnoService {
     @Inject
     CuentaCorrienteAlumnoRepository cuentaRepository;
 
+    @Inject
+    EstadisticasCache estadisticasCache;
+
     @Inject
     CuentaCorrienteAlumnoMapper cuentaMapper;
 
+    @Inject
+    EstadoCuentaService estadoCuentaService;
+
     public List<CuentaCorrienteAlumnoResponseDTO> findByUniversidad(Long universidadId) {
         List<CuentaCorrienteAlumno> cuentas = cuentaRepository.findByUniversidad(universidadId);
         return cuentaMapper.toResponseDTOList(cuentas);
@@ -101,6 +111,7 @@ public class CuentaCorrienteAlumnoService {
         cuenta.setMontoPendiente(requestDTO.getMonto());
 
         cuentaRepository.persist(cuenta);
+        estadoCuentaService.registrarCargo(cuenta);
         return cuentaMapper.toResponseDTO(cuenta);
     }
 
@@ -130,6 +141,8 @@ public class CuentaCorrienteAlumnoService {
         }
 
         cuentaRepository.persist(cuenta);
+        // Puede cambiar el monto y la fecha de vencimiento: se recalcula en lugar de aplicar diferencias
+        estadoCuentaService.refrescar(cuenta.getEstudiante().getId());
         return cuentaMapper.toResponseDTO(cuenta);
     }
 
@@ -159,6 +172,7 @@ public class CuentaCorrienteAlumnoService {
         }
 
         cuentaRepository.persist(cuenta);
+        estadoCuentaService.registrarAbono(cuenta, montoPago);
         return cuentaMapper.toResponseDTO(cuenta);
     }
 
@@ -173,6 +187,9 @@ public class CuentaCorrienteAlumnoService {
         }
 
         // Soft delete
+        if (Boolean.TRUE.equals(cuenta.getActive())) {
+            estadoCuentaService.anularCargo(cuenta);
+        }
         cuenta.setActive(false);
         cuentaRepository.persist(cuenta);
     }
@@ -182,6 +199,17 @@ public class CuentaCorrienteAlumnoService {
     }
 
     public long countByEstadoAndUniversidad(String estado, Long universidadId) {
-        return cuentaRepository.countByEstadoAndUniversidad(estado, universidadId);
+        return contarPorEstado(universidadId).get(estado.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Cuentas de la universidad por estado (una sola consulta, en caché unos segundos)
+     */
+    public Map<String, Long> countPorEstadoAndUniversidad(Long universidadId) {
+        return contarPorEstado(universidadId).asMap();
+    }
+
+    private GroupedCounts contarPorEstado(Long universidadId) {
+        return estadisticasCache.obtener("cuenta-corriente", universidadId, () -> cuentaRepository.contarPorEstado(universidadId));
     }
 }
@@ -0,0 +1,143 @@
+package upeu.edu.pe.finance.domain.services;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import upeu.edu.pe.finance.application.dto.EstadoCuentaAlumnoResponseDTO;
+import upeu.edu.pe.finance.application.mapper.EstadoCuentaAlumnoMapper;
+import upeu.edu.pe.finance.domain.entities.CuentaCorrienteAlumno;
+import upeu.edu.pe.finance.domain.entities.EstadoCuentaAlumno;
+import upeu.edu.pe.finance.domain.entities.Pago;
+import upeu.edu.pe.finance.domain.repositories.EstadoCuentaAlumnoRepository;
+import upeu.edu.pe.shared.exceptions.NotFoundException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.logging.Logger;
+
+/**
+ * Estado de cuenta materializado por estudiante (total cargado, pagado, pendiente, vencido
+ * y último pago).
+ * <p>
+ * Cada operación sobre deudas y pagos aplica aquí su diferencia con un UPDATE atómico en la
+ * misma transacción, de modo que la consulta es la lectura de una fila por clave primaria.
+ * Si el estudiante aún no tiene fila (datos previos a la proyección), se reconstruye desde las
+ * tablas de origen. Los métodos de registro deben llamarse después de modificar las entidades.
+ */
+@ApplicationScoped
+public class EstadoCuentaService {
+
+    private static final Logger LOGGER = Logger.getLogger(EstadoCuentaService.class.getName());
+
+    @Inject
+    EstadoCuentaAlumnoRepository estadoCuentaRepository;
+
+    @Inject
+    EstadoCuentaAlumnoMapper estadoCuentaMapper;
+
+    @Transactional
+    public EstadoCuentaAlumnoResponseDTO findByEstudiante(Long estudianteId) {
+        EstadoCuentaAlumno estado = estadoCuentaRepository.findById(estudianteId);
+        if (estado == null) {
+            estado = reconstruir(estudianteId);
+        }
+        return estadoCuentaMapper.toResponseDTO(estado);
+    }
+
+    /**
+     * Recalcula el estado de cuenta desde las deudas y pagos (corrección manual o cambios de fechas)
+     */
+    @Transactional
+    public EstadoCuentaAlumnoResponseDTO recalcular(Long estudianteId) {
+        return estadoCuentaMapper.toResponseDTO(reconstruir(estudianteId));
+    }
+
+    /**
+     * Nueva deuda emitida
+     */
+    public void registrarCargo(CuentaCorrienteAlumno deuda) {
+        aplicar(deuda, deuda.getMonto(), BigDecimal.ZERO, vencido(deuda, deuda.getMonto()), 1);
+    }
+
+    /**
+     * Deuda anulada o eliminada (solo se permite sin pagos aplicados)
+     */
+    public void anularCargo(CuentaCorrienteAlumno deuda) {
+        BigDecimal monto = deuda.getMonto().negate();
+        aplicar(deuda, monto, BigDecimal.ZERO, vencido(deuda, monto), -1);
+    }
+
+    /**
+     * Monto aplicado a una deuda; la deuda ya debe reflejar el abono
+     */
+    public void registrarAbono(CuentaCorrienteAlumno deuda, BigDecimal monto) {
+        int deudas = deuda.getMontoPendiente().signum() <= 0 ? -1 : 0;
+        aplicar(deuda, BigDecimal.ZERO, monto, vencido(deuda, monto.negate()), deudas);
+    }
+
+    /**
+     * Abono revertido; la deuda ya debe reflejar la reversión
+     */
+    public void revertirAbono(CuentaCorrienteAlumno deuda, BigDecimal monto) {
+        // La deuda vuelve a estar pendiente si estaba saldada antes de revertir
+        int deudas = deuda.getMontoPendiente().compareTo(monto) == 0 ? 1 : 0;
+        aplicar(deuda, BigDecimal.ZERO, monto.negate(), vencido(deuda, monto), deudas);
+    }
+
+    /**
+     * Pago recibido: actualiza el último pago del estudiante
+     */
+    public void registrarPago(Pago pago) {
+        Long estudianteId = pago.getEstudiante().getId();
+        if (!estadoCuentaRepository.registrarUltimoPago(estudianteId, pago.getFechaPago(), pago.getMontoPagado())) {
+            reconstruir(estudianteId);
+        }
+    }
+
+    /**
+     * Cambios que no se pueden expresar como diferencia (fechas de vencimiento, anulación del último pago)
+     */
+    public void refrescar(Long estudianteId) {
+        reconstruir(estudianteId);
+    }
+
+    /**
+     * Las deudas vencen con el paso del tiempo sin que haya ninguna escritura: el saldo vencido
+     * se recalcula en bloque una vez al día.
+     */
+    @Scheduled(cron = "${finanzas.estado-cuenta.recalculo-vencidos:0 5 0 * * ?}",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @Transactional
+    void recalcularSaldosVencidos() {
+        int filas = estadoCuentaRepository.recalcularSaldosVencidos();
+        LOGGER.info(() -> "Saldos vencidos recalculados: " + filas + " estados de cuenta");
+    }
+
+    private void aplicar(CuentaCorrienteAlumno deuda, BigDecimal cargado, BigDecimal pagado,
+                         BigDecimal vencido, int deudasPendientes) {
+        Long estudianteId = deuda.getEstudiante().getId();
+        if (!estadoCuentaRepository.aplicarMovimiento(estudianteId, cargado, pagado, vencido, deudasPendientes)) {
+            // Primera operación del estudiante: la reconstrucción ya incluye este movimiento
+            reconstruir(estudianteId);
+        }
+    }
+
+    private EstadoCuentaAlumno reconstruir(Long estudianteId) {
+        // Los cambios pendientes de la transacción deben verse desde el SQL de reconstrucción
+        estadoCuentaRepository.flush();
+        if (!estadoCuentaRepository.reconstruir(estudianteId)) {
+            throw new NotFoundException("Estudiante no encontrado con ID: " + estudianteId);
+        }
+        EstadoCuentaAlumno estado = estadoCuentaRepository.findById(estudianteId);
+        if (estado != null) {
+            estadoCuentaRepository.getEntityManager().refresh(estado);
+        }
+        return estado;
+    }
+
+    private static BigDecimal vencido(CuentaCorrienteAlumno deuda, BigDecimal monto) {
+        LocalDate vencimiento = deuda.getFechaVencimiento();
+        return vencimiento != null && vencimiento.isBefore(LocalDate.now()) ? monto : BigDecimal.ZERO;
+    }
+}
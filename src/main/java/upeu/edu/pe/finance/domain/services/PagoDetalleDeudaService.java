@@ -34,6 +34,9 @@ public class PagoDetalleDeudaService {
     @Inject
     CuentaCorrienteAlumnoRepository cuentaRepository;
 
+    @Inject
+    EstadoCuentaService estadoCuentaService;
+
     public List<PagoDetalleDeudaResponseDTO> findByPago(Long pagoId) {
         List<PagoDetalleDeuda> detalles = detalleRepository.findByPago(pagoId);
         return detalleMapper.toResponseDTOList(detalles);
@@ -126,6 +129,7 @@ public class PagoDetalleDeudaService {
         detalleRepository.persist(detalle);
         pagoRepository.persist(pago);
         cuentaRepository.persist(deuda);
+        estadoCuentaService.registrarAbono(deuda, requestDTO.getMontoAplicado());
 
         return detalleMapper.toResponseDTO(detalle);
     }
@@ -162,6 +166,7 @@ public class PagoDetalleDeudaService {
         detalleRepository.persist(detalle);
         pagoRepository.persist(pago);
         cuentaRepository.persist(deuda);
+        estadoCuentaService.revertirAbono(deuda, detalle.getMontoAplicado());
 
         return detalleMapper.toResponseDTO(detalle);
     }
@@ -3,17 +3,25 @@ package upeu.edu.pe.finance.domain.services;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.StreamingOutput;
 import upeu.edu.pe.finance.application.dto.PagoRequestDTO;
 import upeu.edu.pe.finance.application.dto.PagoResponseDTO;
 import upeu.edu.pe.finance.application.mapper.PagoMapper;
 import upeu.edu.pe.finance.domain.entities.Pago;
 import upeu.edu.pe.finance.domain.repositories.PagoRepository;
+import upeu.edu.pe.shared.cache.EstadisticasCache;
 import upeu.edu.pe.shared.exceptions.BusinessException;
 import upeu.edu.pe.shared.exceptions.NotFoundException;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
+import upeu.edu.pe.shared.persistence.GroupedCounts;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @ApplicationScoped
 public class PagoService {
@@ -21,12 +29,24 @@ public class PagoService {
     @Inject
     PagoRepository pagoRepository;
 
+    @Inject
+    EstadisticasCache estadisticasCache;
+
     @Inject
     PagoMapper pagoMapper;
 
-    public List<PagoResponseDTO> findByUniversidad(Long universidadId) {
-        List<Pago> pagos = pagoRepository.findByUniversidad(universidadId);
-        return pagoMapper.toResponseDTOList(pagos);
+    @Inject
+    NdjsonStreamer ndjsonStreamer;
+
+    @Inject
+    EstadoCuentaService estadoCuentaService;
+
+    public KeysetPage<PagoResponseDTO> findByUniversidad(Long universidadId, PageRequest pageRequest) {
+        return pagoRepository.findByUniversidad(universidadId, pageRequest).map(pagoMapper::toResponseDTO);
+    }
+
+    public StreamingOutput streamByUniversidad(Long universidadId) {
+        return ndjsonStreamer.stream(() -> pagoRepository.streamByUniversidad(universidadId), pagoMapper::toResponseDTO);
     }
 
     public List<PagoResponseDTO> findByEstudiante(Long estudianteId) {
@@ -104,6 +124,7 @@ public class PagoService {
         pago.setEstado("REGISTRADO");
 
         pagoRepository.persist(pago);
+        estadoCuentaService.registrarPago(pago);
         return pagoMapper.toResponseDTO(pago);
     }
 
@@ -134,6 +155,7 @@ public class PagoService {
         }
 
         pagoRepository.persist(pago);
+        estadoCuentaService.refrescar(pago.getEstudiante().getId());
         return pagoMapper.toResponseDTO(pago);
     }
 
@@ -153,6 +175,7 @@ public class PagoService {
                               "ANULADO: " + motivo);
 
         pagoRepository.persist(pago);
+        estadoCuentaService.refrescar(pago.getEstudiante().getId());
         return pagoMapper.toResponseDTO(pago);
     }
 
@@ -169,6 +192,7 @@ public class PagoService {
         // Soft delete
         pago.setActive(false);
         pagoRepository.persist(pago);
+        estadoCuentaService.refrescar(pago.getEstudiante().getId());
     }
 
     public BigDecimal calcularTotalPagosByFecha(LocalDate fecha) {
@@ -181,6 +205,17 @@ public class PagoService {
     }
 
     public long countByEstadoAndUniversidad(String estado, Long universidadId) {
-        return pagoRepository.countByEstadoAndUniversidad(estado, universidadId);
+        return contarPorEstado(universidadId).get(estado.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Pagos de la universidad por estado (una sola consulta, en caché unos segundos)
+     */
+    public Map<String, Long> countPorEstadoAndUniversidad(Long universidadId) {
+        return contarPorEstado(universidadId).asMap("PENDIENTE_APLICAR", "APLICADO", "ANULADO");
+    }
+
+    private GroupedCounts contarPorEstado(Long universidadId) {
+        return estadisticasCache.obtener("pago", universidadId, () -> pagoRepository.contarPorEstado(universidadId));
     }
 }
@@ -7,10 +7,13 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import upeu.edu.pe.finance.application.dto.CuentaCorrienteAlumnoRequestDTO;
 import upeu.edu.pe.finance.application.dto.CuentaCorrienteAlumnoResponseDTO;
+import upeu.edu.pe.finance.application.dto.EstadoCuentaAlumnoResponseDTO;
 import upeu.edu.pe.finance.domain.services.CuentaCorrienteAlumnoService;
+import upeu.edu.pe.finance.domain.services.EstadoCuentaService;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @Path("/api/v1/cuentas-corrientes")
 @Produces(MediaType.APPLICATION_JSON)
@@ -20,6 +23,9 @@ public class CuentaCorrienteAlumnoController {
     @Inject
     CuentaCorrienteAlumnoService cuentaService;
 
+    @Inject
+    EstadoCuentaService estadoCuentaService;
+
     @GET
     @Path("/universidad/{universidadId}")
     public Response findByUniversidad(@PathParam("universidadId") Long universidadId) {
@@ -85,6 +91,20 @@ public class CuentaCorrienteAlumnoController {
         return Response.ok().entity("{\"deudaTotal\": " + deudaTotal + "}").build();
     }
 
+    @GET
+    @Path("/estudiante/{estudianteId}/estado-cuenta")
+    public Response findEstadoCuentaByEstudiante(@PathParam("estudianteId") Long estudianteId) {
+        EstadoCuentaAlumnoResponseDTO estadoCuenta = estadoCuentaService.findByEstudiante(estudianteId);
+        return Response.ok(estadoCuenta).build();
+    }
+
+    @POST
+    @Path("/estudiante/{estudianteId}/estado-cuenta/recalcular")
+    public Response recalcularEstadoCuenta(@PathParam("estudianteId") Long estudianteId) {
+        EstadoCuentaAlumnoResponseDTO estadoCuenta = estadoCuentaService.recalcular(estudianteId);
+        return Response.ok(estadoCuenta).build();
+    }
+
     @GET
     @Path("/estado/{estado}/universidad/{universidadId}/count")
     public Response countByEstadoAndUniversidad(
@@ -94,6 +114,13 @@ public class CuentaCorrienteAlumnoController {
         return Response.ok().entity("{\"count\": " + count + "}").build();
     }
 
+    @GET
+    @Path("/universidad/{universidadId}/stats")
+    public Response countPorEstadoAndUniversidad(@PathParam("universidadId") Long universidadId) {
+        Map<String, Long> stats = cuentaService.countPorEstadoAndUniversidad(universidadId);
+        return Response.ok(stats).build();
+    }
+
     @POST
     public Response create(@Valid CuentaCorrienteAlumnoRequestDTO requestDTO) {
         CuentaCorrienteAlumnoResponseDTO cuenta = cuentaService.create(requestDTO);
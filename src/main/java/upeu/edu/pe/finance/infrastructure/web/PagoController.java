@@ -8,10 +8,14 @@ import jakarta.ws.rs.core.Response;
 import upeu.edu.pe.finance.application.dto.PagoRequestDTO;
 import upeu.edu.pe.finance.application.dto.PagoResponseDTO;
 import upeu.edu.pe.finance.domain.services.PagoService;
+import upeu.edu.pe.shared.pagination.KeysetPage;
+import upeu.edu.pe.shared.pagination.NdjsonStreamer;
+import upeu.edu.pe.shared.pagination.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Path("/api/v1/pagos")
 @Produces(MediaType.APPLICATION_JSON)
@@ -23,9 +27,24 @@ public class PagoController {
 
     @GET
     @Path("/universidad/{universidadId}")
-    public Response findByUniversidad(@PathParam("universidadId") Long universidadId) {
-        List<PagoResponseDTO> pagos = pagoService.findByUniversidad(universidadId);
-        return Response.ok(pagos).build();
+    public Response findByUniversidad(
+            @PathParam("universidadId") Long universidadId,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("size") Integer size) {
+        KeysetPage<PagoResponseDTO> pagos = pagoService.findByUniversidad(universidadId, PageRequest.of(cursor, size));
+        // Este listado devuelve el arreglo plano: el cursor de la página siguiente va en cabecera
+        Response.ResponseBuilder response = Response.ok(pagos.items());
+        if (pagos.hasMore()) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, pagos.nextCursor());
+        }
+        return response.build();
+    }
+
+    @GET
+    @Path("/universidad/{universidadId}/stream")
+    @Produces(NdjsonStreamer.MEDIA_TYPE)
+    public Response streamByUniversidad(@PathParam("universidadId") Long universidadId) {
+        return Response.ok(pagoService.streamByUniversidad(universidadId)).build();
     }
 
     @GET
@@ -135,6 +154,13 @@ public class PagoController {
         return Response.ok().entity("{\"count\": " + count + "}").build();
     }
 
+    @GET
+    @Path("/universidad/{universidadId}/stats")
+    public Response countPorEstadoAndUniversidad(@PathParam("universidadId") Long universidadId) {
+        Map<String, Long> stats = pagoService.countPorEstadoAndUniversidad(universidadId);
+        return Response.ok(stats).build();
+    }
+
     @POST
     public Response create(@Valid PagoRequestDTO requestDTO) {
         PagoResponseDTO pago = pagoService.create(requestDTO);
@@ -24,6 +24,11 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditListener.class)
 public class AuthUsuario extends AuditableEntity {
 
+    /**
+     * Intentos fallidos consecutivos a partir de los cuales se bloquea la cuenta
+     */
+    public static final int MAX_INTENTOS_FALLIDOS = 5;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -89,7 +94,7 @@ public class AuthUsuario extends AuditableEntity {
 
     public void registrarAccesoFallido() {
         this.intentosFallidos = (this.intentosFallidos == null ? 0 : this.intentosFallidos) + 1;
-        if (this.intentosFallidos >= 5) {
+        if (this.intentosFallidos >= MAX_INTENTOS_FALLIDOS) {
             this.fechaBloqueo = LocalDateTime.now();
         }
     }
@@ -13,6 +13,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
 @Table(name = "permiso")
 @Data
 @NoArgsConstructor
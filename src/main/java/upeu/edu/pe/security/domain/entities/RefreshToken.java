@@ -11,7 +11,14 @@ import upeu.edu.pe.shared.listeners.AuditListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens",
+    indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_expires", columnList = "expires_at"),
+        @Index(name = "idx_refresh_token_revocado", columnList = "is_revoked, updated_at"),
+        @Index(name = "idx_refresh_token_usuario", columnList = "auth_usuario_id")
+    }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,8 +31,11 @@ public class RefreshToken extends AuditableEntity {
     @EqualsAndHashCode.Include
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 1000)
-    private String token;
+    /**
+     * SHA-256 del refresh token en hexadecimal; el token en sí no se almacena
+     */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -14,6 +14,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
 @Table(name = "rol", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"nombre"})
 })
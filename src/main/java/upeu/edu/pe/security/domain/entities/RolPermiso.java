@@ -11,6 +11,8 @@ import upeu.edu.pe.shared.listeners.AuditListener;
 @Entity
 @Table(name = "rol_permiso", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"rol_id", "permiso_id"})
+}, indexes = {
+    @Index(name = "idx_rol_permiso_permiso", columnList = "permiso_id")
 })
 @Data
 @NoArgsConstructor
@@ -20,7 +22,8 @@ import upeu.edu.pe.shared.listeners.AuditListener;
 public class RolPermiso extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rol_permiso_seq")
+    @SequenceGenerator(name = "rol_permiso_seq", sequenceName = "rol_permiso_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
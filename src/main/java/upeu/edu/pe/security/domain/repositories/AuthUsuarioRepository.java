@@ -2,8 +2,14 @@ package upeu.edu.pe.security.domain.repositories;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
 import upeu.edu.pe.security.domain.entities.AuthUsuario;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -100,4 +106,49 @@ public class AuthUsuarioRepository implements PanacheRepositoryBase<AuthUsuario,
     public boolean existsByPersona(Long personaId) {
         return count("persona.id = ?1 and active = true", personaId) > 0;
     }
+
+    /**
+     * Aplica en un único batch JDBC la actividad de login acumulada en memoria.
+     * Los fallos se suman al contador de BD (otras instancias pueden haber registrado los suyos)
+     * y el bloqueo no sobrescribe uno anterior.
+     */
+    public void aplicarActividadLogin(List<ActividadLogin> actividades) {
+        if (actividades.isEmpty()) {
+            return;
+        }
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "UPDATE auth_usuario SET "
+                            + "ultimo_acceso = COALESCE(?, ultimo_acceso), "
+                            + "intentos_fallidos = CASE WHEN ? THEN 0 ELSE COALESCE(intentos_fallidos, 0) END + ?, "
+                            + "fecha_bloqueo = COALESCE(fecha_bloqueo, ?) "
+                            + "WHERE id = ?")) {
+                for (ActividadLogin actividad : actividades) {
+                    setTimestamp(ps, 1, actividad.ultimoAcceso());
+                    ps.setBoolean(2, actividad.reiniciarIntentos());
+                    ps.setInt(3, actividad.intentosFallidos());
+                    setTimestamp(ps, 4, actividad.fechaBloqueo());
+                    ps.setLong(5, actividad.authUsuarioId());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime valor) throws SQLException {
+        if (valor == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(valor));
+        }
+    }
+
+    /**
+     * Actividad de login pendiente de un usuario: último acceso exitoso, si hubo que reiniciar
+     * el contador, fallos registrados desde entonces y bloqueo producido (null si no aplica)
+     */
+    public record ActividadLogin(Long authUsuarioId, LocalDateTime ultimoAcceso, boolean reiniciarIntentos,
+                                 int intentosFallidos, LocalDateTime fechaBloqueo) {
+    }
 }
@@ -2,8 +2,11 @@ package upeu.edu.pe.security.domain.repositories;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 import upeu.edu.pe.security.domain.entities.Permiso;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,50 +17,50 @@ public class PermisoRepository implements PanacheRepository<Permiso> {
      * Busca un permiso por nombre clave
      */
     public Optional<Permiso> findByNombreClave(String nombreClave) {
-        return find("UPPER(nombreClave) = UPPER(?1) and active = true", nombreClave).firstResultOptional();
+        return find("nombreClave = ?1 and active = true", CanonicalParams.upper(nombreClave)).firstResultOptional();
     }
 
     /**
      * Busca permisos por módulo
      */
     public List<Permiso> findByModulo(String modulo) {
-        return find("UPPER(modulo) = UPPER(?1) and active = true", modulo).list();
+        return find("modulo = ?1 and active = true", CanonicalParams.upper(modulo)).list();
     }
 
     /**
      * Busca permisos por recurso
      */
     public List<Permiso> findByRecurso(String recurso) {
-        return find("UPPER(recurso) = UPPER(?1) and active = true", recurso).list();
+        return find("recurso = ?1 and active = true", CanonicalParams.upper(recurso)).list();
     }
 
     /**
      * Busca permisos por acción
      */
     public List<Permiso> findByAccion(String accion) {
-        return find("UPPER(accion) = UPPER(?1) and active = true", accion).list();
+        return find("accion = ?1 and active = true", CanonicalParams.upper(accion)).list();
     }
 
     /**
      * Busca permisos por módulo y recurso
      */
     public List<Permiso> findByModuloAndRecurso(String modulo, String recurso) {
-        return find("UPPER(modulo) = UPPER(?1) and UPPER(recurso) = UPPER(?2) and active = true", 
-                   modulo, recurso).list();
+        return find("modulo = ?1 and recurso = ?2 and active = true", 
+                   CanonicalParams.upper(modulo), CanonicalParams.upper(recurso)).list();
     }
 
     /**
      * Busca todos los permisos activos agrupados por módulo
      */
     public List<Permiso> findAllActive() {
-        return find("active = true ORDER BY modulo, recurso, accion").list();
+        return find("active = true ORDER BY modulo, recurso, accion").withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     /**
      * Verifica si existe un permiso con ese nombre clave
      */
     public boolean existsByNombreClave(String nombreClave) {
-        return count("UPPER(nombreClave) = UPPER(?1)", nombreClave) > 0;
+        return count("nombreClave = ?1", CanonicalParams.upper(nombreClave)) > 0;
     }
 
     /**
@@ -67,7 +70,7 @@ public class PermisoRepository implements PanacheRepository<Permiso> {
         return find("SELECT p FROM Permiso p " +
                    "JOIN RolPermiso rp ON rp.permiso.id = p.id " +
                    "WHERE rp.rol.id = ?1 " +
-                   "AND p.active = true", rolId).list();
+                   "AND p.active = true", rolId).withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     /**
@@ -78,4 +81,11 @@ public class PermisoRepository implements PanacheRepository<Permiso> {
         return find("(UPPER(nombreClave) LIKE ?1 OR UPPER(descripcion) LIKE ?1) and active = true " +
                    "ORDER BY modulo, recurso", searchPattern).list();
     }
+
+    /**
+     * Obtiene los permisos activos de un conjunto de ids en una sola consulta
+     */
+    public List<Permiso> findActivosByIds(Collection<Long> ids) {
+        return find("id in ?1 and active = true", ids).list();
+    }
 }
@@ -3,7 +3,11 @@ package upeu.edu.pe.security.domain.repositories;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.security.domain.entities.RolPermiso;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
+import upeu.edu.pe.shared.persistence.NativeUpdates;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -63,7 +67,63 @@ public class RolPermisoRepository implements PanacheRepository<RolPermiso> {
      * Busca permisos de un rol por módulo
      */
     public List<RolPermiso> findByRolAndModulo(Long rolId, String modulo) {
-        return find("rol.id = ?1 and UPPER(permiso.modulo) = UPPER(?2) and active = true", 
-                   rolId, modulo).list();
+        return find("rol.id = ?1 and permiso.modulo = ?2 and active = true", 
+                   rolId, CanonicalParams.upper(modulo)).list();
+    }
+
+    /**
+     * Obtiene todas las asignaciones vigentes como [rolNombre, permisoId, nombreClave, modulo, recurso, accion]
+     * (carga de la caché de autorización en una sola consulta)
+     */
+    public List<Object[]> findAsignacionesActivas() {
+        return getEntityManager()
+            .createQuery("SELECT r.nombre, p.id, p.nombreClave, p.modulo, p.recurso, p.accion " +
+                        "FROM RolPermiso rp JOIN rp.rol r JOIN rp.permiso p " +
+                        "WHERE rp.active = true and r.active = true and p.active = true", Object[].class)
+            .getResultList();
+    }
+
+    /**
+     * Ids (de entre los indicados) de los permisos que el rol aún no tiene asignados (anti-join)
+     */
+    public List<Long> findPermisoIdsNoAsignados(Long rolId, Collection<Long> permisoIds) {
+        return getEntityManager()
+            .createQuery("SELECT p.id FROM Permiso p WHERE p.id IN :permisoIds " +
+                        "and NOT EXISTS (SELECT 1 FROM RolPermiso rp WHERE rp.rol.id = :rolId and rp.permiso = p)",
+                        Long.class)
+            .setParameter("permisoIds", permisoIds)
+            .setParameter("rolId", rolId)
+            .getResultList();
+    }
+
+    /**
+     * Elimina las asignaciones de un conjunto de permisos a un rol con un único DELETE
+     */
+    public long deleteByRolAndPermisos(Long rolId, Collection<Long> permisoIds) {
+        return delete("rol.id = ?1 and permiso.id in ?2", rolId, permisoIds);
+    }
+
+    private static final String CLONAR_PERMISOS =
+        "INSERT INTO rol_permiso (id, rol_id, permiso_id, puede_delegar, restriccion, " +
+        "    active, created_at, updated_at, created_by, updated_by) " +
+        "SELECT nextval('rol_permiso_id_seq'), :destino, o.permiso_id, o.puede_delegar, o.restriccion, " +
+        "    true, :ahora, :ahora, :usuario, :usuario " +
+        "FROM rol_permiso o " +
+        "WHERE o.rol_id = :origen and o.active = true " +
+        "and NOT EXISTS (SELECT 1 FROM rol_permiso d WHERE d.rol_id = :destino and d.permiso_id = o.permiso_id)";
+
+    /**
+     * Copia al rol destino las asignaciones activas del rol origen que aún no tiene,
+     * con un único INSERT ... SELECT
+     *
+     * @return cantidad de asignaciones creadas
+     */
+    public int clonarPermisos(Long rolOrigenId, Long rolDestinoId, String usuario) {
+        return NativeUpdates.sobre(getEntityManager(), CLONAR_PERMISOS, RolPermiso.class)
+            .setParameter("origen", rolOrigenId)
+            .setParameter("destino", rolDestinoId)
+            .setParameter("ahora", LocalDateTime.now())
+            .setParameter("usuario", usuario)
+            .executeUpdate();
     }
 }
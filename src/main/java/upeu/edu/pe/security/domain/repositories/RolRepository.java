@@ -2,7 +2,9 @@ package upeu.edu.pe.security.domain.repositories;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 import upeu.edu.pe.security.domain.entities.Rol;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,15 +16,15 @@ public class RolRepository implements PanacheRepository<Rol> {
      * Busca roles por universidad
      */
     public List<Rol> findByUniversidad(Long universidadId) {
-        return find("universidad.id = ?1 and active = true", universidadId).list();
+        return find("universidad.id = ?1 and active = true", universidadId).withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     /**
      * Busca un rol por nombre y universidad
      */
     public Optional<Rol> findByNombreAndUniversidad(String nombre, Long universidadId) {
-        return find("UPPER(nombre) = UPPER(?1) and universidad.id = ?2 and active = true", 
-                    nombre, universidadId).firstResultOptional();
+        return find("nombre = ?1 and universidad.id = ?2 and active = true", 
+                    CanonicalParams.upper(nombre), universidadId).firstResultOptional();
     }
 
     /**
@@ -36,14 +38,14 @@ public class RolRepository implements PanacheRepository<Rol> {
      * Busca roles activos por universidad
      */
     public List<Rol> findActiveByUniversidad(Long universidadId) {
-        return find("universidad.id = ?1 and active = true", universidadId).list();
+        return find("universidad.id = ?1 and active = true", universidadId).withHint(HibernateHints.HINT_CACHEABLE, true).list();
     }
 
     /**
      * Verifica si existe un rol con ese nombre en la universidad
      */
     public boolean existsByNombreAndUniversidad(String nombre, Long universidadId) {
-        return count("UPPER(nombre) = UPPER(?1) and universidad.id = ?2", nombre, universidadId) > 0;
+        return count("nombre = ?1 and universidad.id = ?2", CanonicalParams.upper(nombre), universidadId) > 0;
     }
 
     /**
@@ -64,8 +66,8 @@ public class RolRepository implements PanacheRepository<Rol> {
         return find("SELECT DISTINCT r FROM Rol r " +
                    "JOIN r.rolPermisos rp " +
                    "JOIN rp.permiso p " +
-                   "WHERE UPPER(p.nombreClave) = UPPER(?1) " +
+                   "WHERE p.nombreClave = ?1 " +
                    "AND r.universidad.id = ?2 " +
-                   "AND r.active = true", permisoNombre, universidadId).list();
+                   "AND r.active = true", CanonicalParams.upper(permisoNombre), universidadId).list();
     }
 }
@@ -5,6 +5,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import upeu.edu.pe.security.domain.entities.User;
 import upeu.edu.pe.security.domain.enums.UserRole;
 import upeu.edu.pe.security.domain.enums.UserStatus;
+import upeu.edu.pe.shared.persistence.CanonicalParams;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,19 +26,19 @@ public class UserRepository implements PanacheRepository<User> {
     }
 
     public Optional<User> findByUsername(String username) {
-        return find("UPPER(username) = UPPER(?1) and active = true", username).firstResultOptional();
+        return find("username = ?1 and active = true", CanonicalParams.lower(username)).firstResultOptional();
     }
 
     public Optional<User> findByEmail(String email) {
-        return find("UPPER(email) = UPPER(?1) and active = true", email).firstResultOptional();
+        return find("email = ?1 and active = true", CanonicalParams.lower(email)).firstResultOptional();
     }
 
     public boolean existsByUsername(String username) {
-        return count("UPPER(username) = UPPER(?1) and active = true", username) > 0;
+        return count("username = ?1 and active = true", CanonicalParams.lower(username)) > 0;
     }
 
     public boolean existsByEmail(String email) {
-        return count("UPPER(email) = UPPER(?1) and active = true", email) > 0;
+        return count("email = ?1 and active = true", CanonicalParams.lower(email)) > 0;
     }
 
     public long countByRole(UserRole role) {
@@ -6,26 +6,28 @@ import jakarta.transaction.Transactional;
 import upeu.edu.pe.security.domain.entities.RefreshToken;
 import upeu.edu.pe.security.domain.entities.AuthUsuario;
 import upeu.edu.pe.security.domain.repositories.RefreshTokenRepository;
+import upeu.edu.pe.security.infrastructure.utils.TokenHasher;
+import upeu.edu.pe.shared.persistence.NativeUpdates;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
 public class RefreshTokenRepositoryImpl implements RefreshTokenRepository, PanacheRepositoryBase<RefreshToken, Long> {
 
-    @Override
-    public List<RefreshToken> getAllRefreshTokens() {
-        return listAll();
-    }
-
     @Override
     public Optional<RefreshToken> getRefreshTokenById(Long id) {
         return findByIdOptional(id);
     }
 
+    /**
+     * Busca un token vigente por su huella SHA-256 (índice único de ancho fijo)
+     */
     @Override
     public Optional<RefreshToken> findByToken(String token) {
-        return find("token = ?1 and isRevoked = false and active = true", token).firstResultOptional();
+        return find("tokenHash = ?1 and isRevoked = false and active = true", TokenHasher.sha256(token))
+                .firstResultOptional();
     }
 
     @Override
@@ -49,7 +51,26 @@ public class RefreshTokenRepositoryImpl implements RefreshTokenRepository, Panac
     @Override
     @Transactional
     public void revokeAllByAuthUsuario(AuthUsuario authUsuario) {
-        update("isRevoked = true where authUsuario.id = ?1 and isRevoked = false", authUsuario.getId());
+        update("isRevoked = true, updatedAt = ?2 where authUsuario.id = ?1 and isRevoked = false",
+               authUsuario.getId(), LocalDateTime.now());
+    }
+
+    /**
+     * Elimina hasta {@code limite} tokens expirados o revocados antes de la fecha indicada
+     *
+     * @return cantidad de filas eliminadas
+     */
+    @Override
+    public int purgeChunk(LocalDateTime ahora, LocalDateTime revocadosAntesDe, int limite) {
+        return NativeUpdates.sobre(getEntityManager(),
+                "DELETE FROM refresh_tokens WHERE id IN (" +
+                "SELECT id FROM refresh_tokens " +
+                "WHERE expires_at < :ahora OR (is_revoked = true AND updated_at < :revocadosAntesDe) " +
+                "LIMIT :limite)", RefreshToken.class)
+            .setParameter("ahora", ahora)
+            .setParameter("revocadosAntesDe", revocadosAntesDe)
+            .setParameter("limite", limite)
+            .executeUpdate();
     }
 
     /**
@@ -57,7 +78,7 @@ public class RefreshTokenRepositoryImpl implements RefreshTokenRepository, Panac
      */
     @Transactional
     public void deleteByToken(String token) {
-        delete("token", token);
+        delete("tokenHash", TokenHasher.sha256(token));
     }
 
     /**
@@ -65,7 +86,8 @@ public class RefreshTokenRepositoryImpl implements RefreshTokenRepository, Panac
      */
     @Transactional
     public void revokeByToken(String token) {
-        update("isRevoked = true where token = ?1 and isRevoked = false", token);
+        update("isRevoked = true, updatedAt = ?2 where tokenHash = ?1 and isRevoked = false",
+               TokenHasher.sha256(token), LocalDateTime.now());
     }
 
     /**
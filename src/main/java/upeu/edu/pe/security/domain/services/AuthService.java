@@ -1,5 +1,6 @@
 package upeu.edu.pe.security.domain.services;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -10,11 +11,15 @@ import upeu.edu.pe.security.domain.entities.RefreshToken;
 import upeu.edu.pe.security.domain.entities.AuthUsuario;
 import upeu.edu.pe.security.domain.repositories.RefreshTokenRepository;
 import upeu.edu.pe.security.domain.repositories.AuthUsuarioRepository;
+import upeu.edu.pe.security.infrastructure.utils.JwtClaims;
 import upeu.edu.pe.security.infrastructure.utils.JwtTokenGenerator;
 import upeu.edu.pe.security.infrastructure.utils.JwtTokenValidator;
 import upeu.edu.pe.security.infrastructure.utils.PasswordEncoder;
+import upeu.edu.pe.security.infrastructure.utils.PasswordHashingExecutor;
+import upeu.edu.pe.security.infrastructure.utils.TokenHasher;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @ApplicationScoped
 public class AuthService {
@@ -31,40 +36,89 @@ public class AuthService {
     @Inject
     PasswordEncoder passwordEncoder;
 
+    @Inject
+    PasswordHashingExecutor passwordHashingExecutor;
+
     @Inject
     RefreshTokenRepository refreshTokenRepository;
 
-    @Transactional
+    @Inject
+    RefreshTokenRevocationFilter revocationFilter;
+
+    @Inject
+    LoginActivityBuffer loginActivityBuffer;
+
+    /**
+     * El hash de la contraseña (cientos de ms de CPU) se verifica en el pool acotado y fuera de
+     * toda transacción, para no retener una conexión de BD; el registro del acceso y la emisión
+     * de tokens se hacen después en una transacción corta. El último acceso y los intentos
+     * fallidos no se escriben aquí: se acumulan en {@link LoginActivityBuffer}. Un usuario
+     * inexistente también paga una verificación (contra un hash ficticio), para que el tiempo de
+     * respuesta no revele qué usuarios existen.
+     */
     public AuthResponseDto login(LoginRequestDto loginRequest) {
-        AuthUsuario authUsuario = authUsuarioRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new NotAuthorizedException("Credenciales inválidas"));
+        AuthUsuario credenciales = authUsuarioRepository.findByUsername(loginRequest.getUsername())
+                .orElse(null);
+        if (credenciales == null) {
+            passwordHashingExecutor.execute(() -> {
+                passwordEncoder.matchesDummy(loginRequest.getPassword());
+                return null;
+            });
+            throw new NotAuthorizedException("Credenciales inválidas");
+        }
+        Long authUsuarioId = credenciales.getId();
+        String passwordHash = credenciales.getPasswordHash();
 
-        // Validar contraseña con PasswordEncoder
-        if (!passwordEncoder.matches(loginRequest.getPassword(), authUsuario.getPasswordHash())) {
-            authUsuario.registrarAccesoFallido();
-            authUsuarioRepository.persist(authUsuario);
+        // Validar contraseña con PasswordEncoder (y regenerar el hash si usa un formato o coste anterior)
+        VerificacionPassword verificacion = passwordHashingExecutor.execute(
+                () -> verificarPassword(loginRequest.getPassword(), passwordHash));
+
+        if (!verificacion.valida()) {
+            loginActivityBuffer.registrarFallo(credenciales);
             throw new NotAuthorizedException("Credenciales inválidas");
         }
+        if (loginActivityBuffer.estaBloqueado(credenciales)) {
+            throw new NotAuthorizedException("Usuario inactivo o bloqueado");
+        }
 
-        if (!authUsuario.estaActivo()) {
+        return QuarkusTransaction.requiringNew()
+                .call(() -> completarLogin(authUsuarioId, verificacion));
+    }
+
+    private VerificacionPassword verificarPassword(String rawPassword, String passwordHash) {
+        if (!passwordEncoder.matches(rawPassword, passwordHash)) {
+            return new VerificacionPassword(false, passwordHash, null);
+        }
+        String nuevoHash = passwordEncoder.needsRehash(passwordHash) ? passwordEncoder.encode(rawPassword) : null;
+        return new VerificacionPassword(true, passwordHash, nuevoHash);
+    }
+
+    /**
+     * Emite los tokens de un login con contraseña válida y registra el acceso en el buffer
+     */
+    private AuthResponseDto completarLogin(Long authUsuarioId, VerificacionPassword verificacion) {
+        AuthUsuario authUsuario = authUsuarioRepository.findByIdOptional(authUsuarioId)
+                .orElseThrow(() -> new NotAuthorizedException("Credenciales inválidas"));
+
+        if (!Boolean.TRUE.equals(authUsuario.getActive()) || loginActivityBuffer.estaBloqueado(authUsuario)) {
             throw new NotAuthorizedException("Usuario inactivo o bloqueado");
         }
 
+        // Rehash transparente, salvo que la contraseña haya cambiado mientras se verificaba
+        if (verificacion.nuevoHash() != null
+                && verificacion.hashVerificado().equals(authUsuario.getPasswordHash())) {
+            authUsuario.setPasswordHash(verificacion.nuevoHash());
+        }
+
         // Generar tokens JWT
         String accessToken = jwtTokenGenerator.generateAccessToken(authUsuario);
         String refreshTokenStr = jwtTokenGenerator.generateRefreshToken(authUsuario);
 
         // Guardar refresh token en base de datos
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setToken(refreshTokenStr);
-        refreshToken.setAuthUsuario(authUsuario);
-        refreshToken.setExpiresAt(LocalDateTime.now().plusSeconds(jwtTokenGenerator.getRefreshDuration()));
-        refreshToken.setIsRevoked(false);
-        refreshTokenRepository.saveRefreshToken(refreshToken);
+        guardarRefreshToken(refreshTokenStr, authUsuario);
 
-        // Registrar acceso exitoso
-        authUsuario.registrarAccesoExitoso();
-        authUsuarioRepository.persist(authUsuario);
+        // Registrar acceso exitoso (se persiste en lote)
+        LocalDateTime ultimoAcceso = loginActivityBuffer.registrarExito(authUsuario);
 
         // Construir respuesta
         AuthResponseDto.UserInfoDto userInfo = new AuthResponseDto.UserInfoDto(
@@ -75,7 +129,7 @@ public class AuthService {
             authUsuario.getPersona() != null ? authUsuario.getPersona().getApellidoPaterno() : "",
             null, // rol enum - AuthUsuario usa Rol entity
             null, // status enum - AuthUsuario usa String estado
-            authUsuario.getUltimoAcceso()
+            ultimoAcceso
         );
 
         AuthResponseDto response = new AuthResponseDto();
@@ -93,10 +147,17 @@ public class AuthService {
         String refreshTokenStr = refreshRequest.getRefreshToken();
 
         // Validar refresh token con JwtTokenValidator
-        if (!jwtTokenValidator.validateToken(refreshTokenStr)) {
+        JwtClaims claims = jwtTokenValidator.verify(refreshTokenStr);
+        if (claims == null || !claims.isRefreshToken()) {
             throw new NotAuthorizedException("Refresh token inválido o expirado");
         }
 
+        // Rechazo sin consultar la BD de tokens ya rotados o revocados en esta instancia
+        String tokenHash = TokenHasher.sha256(refreshTokenStr);
+        if (revocationFilter.estaRevocado(tokenHash, claims)) {
+            throw new NotAuthorizedException("Refresh token no encontrado o revocado");
+        }
+
         // Verificar que el token existe en base de datos y no está revocado
         RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenStr)
                 .orElseThrow(() -> new NotAuthorizedException("Refresh token no encontrado o revocado"));
@@ -122,14 +183,10 @@ public class AuthService {
         // Revocar el refresh token anterior
         refreshToken.setIsRevoked(true);
         refreshTokenRepository.saveRefreshToken(refreshToken);
+        revocationFilter.revocar(tokenHash, claims.expiresAt());
 
         // Guardar nuevo refresh token
-        RefreshToken newRefreshToken = new RefreshToken();
-        newRefreshToken.setToken(newRefreshTokenStr);
-        newRefreshToken.setAuthUsuario(authUsuario);
-        newRefreshToken.setExpiresAt(LocalDateTime.now().plusSeconds(jwtTokenGenerator.getRefreshDuration()));
-        newRefreshToken.setIsRevoked(false);
-        refreshTokenRepository.saveRefreshToken(newRefreshToken);
+        guardarRefreshToken(newRefreshTokenStr, authUsuario);
 
         // Construir respuesta
         TokenResponseDto response = new TokenResponseDto();
@@ -150,6 +207,7 @@ public class AuthService {
         if (token != null) {
             token.setIsRevoked(true);
             refreshTokenRepository.saveRefreshToken(token);
+            revocationFilter.revocar(token.getTokenHash(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toEpochSecond());
         }
     }
 
@@ -160,5 +218,18 @@ public class AuthService {
 
         // Invalidar todos los refresh tokens del usuario
         refreshTokenRepository.revokeAllByAuthUsuario(authUsuario);
+        revocationFilter.revocarUsuario(authUsuario.getId());
+    }
+
+    private record VerificacionPassword(boolean valida, String hashVerificado, String nuevoHash) {
+    }
+
+    private void guardarRefreshToken(String refreshTokenStr, AuthUsuario authUsuario) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(TokenHasher.sha256(refreshTokenStr));
+        refreshToken.setAuthUsuario(authUsuario);
+        refreshToken.setExpiresAt(LocalDateTime.now().plusSeconds(jwtTokenGenerator.getRefreshDuration()));
+        refreshToken.setIsRevoked(false);
+        refreshTokenRepository.saveRefreshToken(refreshToken);
     }
 }
\ No newline at end of file
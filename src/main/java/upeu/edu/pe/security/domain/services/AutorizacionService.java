@@ -0,0 +1,199 @@
+package upeu.edu.pe.security.domain.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import upeu.edu.pe.security.domain.repositories.RolPermisoRepository;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Decisiones de autorización por rol, resueltas en memoria.
+ * <p>
+ * Las asignaciones rol-permiso se compilan en una sola consulta a un índice de permisos
+ * (nombre clave y {@code MODULO:RECURSO:ACCION} → posición) y un BitSet por rol, de modo que
+ * cada verificación son dos búsquedas en mapas y un test de bit. La compilación es inmutable:
+ * los cambios de permisos la invalidan al confirmarse la transacción y la siguiente
+ * verificación la vuelve a cargar. El TTL cubre los cambios hechos desde otras instancias.
+ */
+@ApplicationScoped
+public class AutorizacionService {
+
+    private static final Logger LOGGER = Logger.getLogger(AutorizacionService.class.getName());
+
+    @Inject
+    RolPermisoRepository rolPermisoRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "security.permisos.cache.ttl", defaultValue = "5M")
+    Duration ttl;
+
+    /**
+     * Roles que tienen todos los permisos (evita dejar la administración sin acceso)
+     */
+    @ConfigProperty(name = "security.permisos.superusuarios", defaultValue = "ADMIN")
+    List<String> superusuarios;
+
+    private final AtomicLong generacion = new AtomicLong();
+
+    private volatile PermisosCompilados compilados;
+
+    /**
+     * Indica si el rol tiene el permiso (nombre clave o MODULO:RECURSO:ACCION)
+     */
+    public boolean tienePermiso(String rolNombre, String permiso) {
+        if (rolNombre == null || permiso == null) {
+            return false;
+        }
+        String rol = rolNombre.toUpperCase(Locale.ROOT);
+        if (superusuarios.contains(rol)) {
+            return true;
+        }
+        return compilados().tiene(rol, normalizarClave(permiso));
+    }
+
+    /**
+     * Nombres clave de los permisos de un rol, desde la caché
+     */
+    public Set<String> permisosDeRol(String rolNombre) {
+        return rolNombre == null ? Set.of() : compilados().permisosDe(rolNombre.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Descarta la compilación actual cuando la transacción en curso se confirme
+     * (o de inmediato, fuera de una transacción)
+     */
+    public void invalidar() {
+        generacion.incrementAndGet();
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            compilados = null;
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    generacion.incrementAndGet();
+                    compilados = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Forma canónica de una clave de permiso: mayúsculas, sin espacios alrededor de los separadores
+     */
+    public static String normalizarClave(String permiso) {
+        String clave = permiso.trim().toUpperCase(Locale.ROOT);
+        return clave.indexOf(':') < 0 ? clave : clave.replaceAll("\\s*:\\s*", ":");
+    }
+
+    private PermisosCompilados compilados() {
+        PermisosCompilados actual = compilados;
+        if (actual != null && !actual.expirado()) {
+            return actual;
+        }
+        synchronized (this) {
+            actual = compilados;
+            if (actual != null && !actual.expirado()) {
+                return actual;
+            }
+            long generacionInicial = generacion.get();
+            PermisosCompilados nuevos = QuarkusTransaction.requiringNew()
+                    .call(() -> compilar(rolPermisoRepository.findAsignacionesActivas()));
+            // Si hubo una invalidación durante la carga, la compilación sirve solo para esta llamada
+            if (generacion.get() == generacionInicial) {
+                compilados = nuevos;
+            }
+            return nuevos;
+        }
+    }
+
+    private PermisosCompilados compilar(List<Object[]> asignaciones) {
+        Map<String, Integer> indice = new HashMap<>();
+        Map<Long, Integer> posicionPorPermiso = new HashMap<>();
+        Map<String, BitSet> porRol = new HashMap<>();
+        Map<Integer, String> nombrePorPosicion = new HashMap<>();
+
+        for (Object[] fila : asignaciones) {
+            String rol = ((String) fila[0]).toUpperCase(Locale.ROOT);
+            Long permisoId = (Long) fila[1];
+
+            Integer posicion = posicionPorPermiso.get(permisoId);
+            if (posicion == null) {
+                posicion = posicionPorPermiso.size();
+                posicionPorPermiso.put(permisoId, posicion);
+                String nombreClave = (String) fila[2];
+                indice.put(normalizarClave(nombreClave), posicion);
+                if (fila[3] != null && fila[4] != null && fila[5] != null) {
+                    indice.put(normalizarClave(fila[3] + ":" + fila[4] + ":" + fila[5]), posicion);
+                }
+                nombrePorPosicion.put(posicion, nombreClave);
+            }
+            porRol.computeIfAbsent(rol, r -> new BitSet()).set(posicion);
+        }
+
+        LOGGER.info(() -> "Permisos compilados: " + porRol.size() + " roles, "
+                + posicionPorPermiso.size() + " permisos asignados");
+        return new PermisosCompilados(indice, porRol, nombrePorPosicion, System.nanoTime() + ttl.toNanos());
+    }
+
+    /**
+     * Instantánea inmutable de las asignaciones rol-permiso
+     */
+    private static final class PermisosCompilados {
+
+        private final Map<String, Integer> indice;
+        private final Map<String, BitSet> porRol;
+        private final Map<Integer, String> nombrePorPosicion;
+        private final long expiraEn;
+
+        PermisosCompilados(Map<String, Integer> indice, Map<String, BitSet> porRol,
+                           Map<Integer, String> nombrePorPosicion, long expiraEn) {
+            this.indice = Map.copyOf(indice);
+            this.porRol = Map.copyOf(porRol);
+            this.nombrePorPosicion = Map.copyOf(nombrePorPosicion);
+            this.expiraEn = expiraEn;
+        }
+
+        boolean tiene(String rol, String clave) {
+            BitSet permisos = porRol.get(rol);
+            if (permisos == null) {
+                return false;
+            }
+            Integer posicion = indice.get(clave);
+            return posicion != null && permisos.get(posicion);
+        }
+
+        Set<String> permisosDe(String rol) {
+            BitSet permisos = porRol.get(rol);
+            if (permisos == null) {
+                return Set.of();
+            }
+            return permisos.stream().mapToObj(nombrePorPosicion::get).collect(Collectors.toUnmodifiableSet());
+        }
+
+        boolean expirado() {
+            return System.nanoTime() - expiraEn > 0;
+        }
+    }
+}
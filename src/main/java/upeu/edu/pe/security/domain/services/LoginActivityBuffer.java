@@ -0,0 +1,212 @@
+package upeu.edu.pe.security.domain.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import upeu.edu.pe.security.domain.entities.AuthUsuario;
+import upeu.edu.pe.security.domain.repositories.AuthUsuarioRepository;
+import upeu.edu.pe.security.domain.repositories.AuthUsuarioRepository.ActividadLogin;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Acumula en memoria el último acceso y los intentos fallidos de login por usuario y los
+ * persiste periódicamente en un único UPDATE por lotes, en lugar de escribir auth_usuario
+ * en cada login.
+ * <p>
+ * Mientras un usuario tiene entrada en el buffer, su contador y su bloqueo en memoria son los
+ * que deciden el acceso en esta instancia; la entrada se inicializa con los valores leídos de
+ * la BD y se descarta tras persistirse sin actividad nueva.
+ */
+@ApplicationScoped
+public class LoginActivityBuffer {
+
+    private static final Logger LOGGER = Logger.getLogger(LoginActivityBuffer.class.getName());
+
+    @Inject
+    AuthUsuarioRepository authUsuarioRepository;
+
+    /**
+     * Si es false, cada acceso se persiste de inmediato (sin agrupar)
+     */
+    @ConfigProperty(name = "security.login.buffer.enabled", defaultValue = "true")
+    boolean enabled;
+
+    private final Map<Long, EstadoLogin> estados = new ConcurrentHashMap<>();
+
+    /**
+     * Indica si la cuenta está bloqueada según el estado en memoria (o el leído de la BD)
+     */
+    public boolean estaBloqueado(AuthUsuario authUsuario) {
+        EstadoLogin estado = estados.get(authUsuario.getId());
+        return estado != null ? estado.bloqueado() : authUsuario.getFechaBloqueo() != null;
+    }
+
+    /**
+     * Registra un login exitoso; devuelve el instante registrado como último acceso
+     */
+    public LocalDateTime registrarExito(AuthUsuario authUsuario) {
+        LocalDateTime ahora = LocalDateTime.now();
+        actualizar(authUsuario, estado -> estado.registrarExito(ahora));
+        persistirSiNoAgrupa();
+        return ahora;
+    }
+
+    /**
+     * Registra un intento fallido, bloqueando la cuenta al alcanzar el máximo permitido
+     */
+    public void registrarFallo(AuthUsuario authUsuario) {
+        LocalDateTime ahora = LocalDateTime.now();
+        actualizar(authUsuario, estado -> estado.registrarFallo(ahora));
+        persistirSiNoAgrupa();
+    }
+
+    @Scheduled(every = "${security.login.buffer.flush-every:5s}",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void flushPeriodico() {
+        flush();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        flush();
+    }
+
+    /**
+     * Persiste la actividad pendiente de todos los usuarios en una transacción corta;
+     * si falla, la actividad vuelve al buffer para el siguiente intento
+     */
+    public synchronized void flush() {
+        List<ActividadLogin> pendientes = new ArrayList<>();
+        for (Long id : estados.keySet()) {
+            // Atómico frente a los registros concurrentes del mismo usuario
+            estados.computeIfPresent(id, (key, estado) -> {
+                ActividadLogin actividad = estado.tomarPendiente(key);
+                if (actividad == null) {
+                    // Sin actividad desde el último flush: la BD ya refleja el estado
+                    return null;
+                }
+                pendientes.add(actividad);
+                return estado;
+            });
+        }
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        try {
+            QuarkusTransaction.requiringNew().run(() -> authUsuarioRepository.aplicarActividadLogin(pendientes));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se pudo persistir la actividad de login; se reintentará", e);
+            for (ActividadLogin actividad : pendientes) {
+                estados.computeIfPresent(actividad.authUsuarioId(), (key, estado) -> {
+                    estado.devolver(actividad);
+                    return estado;
+                });
+            }
+        }
+    }
+
+    private void actualizar(AuthUsuario authUsuario, Consumer<EstadoLogin> accion) {
+        estados.compute(authUsuario.getId(), (id, actual) -> {
+            EstadoLogin estado = actual != null
+                    ? actual
+                    : new EstadoLogin(authUsuario.getIntentosFallidos(), authUsuario.getFechaBloqueo());
+            accion.accept(estado);
+            return estado;
+        });
+    }
+
+    private void persistirSiNoAgrupa() {
+        if (!enabled) {
+            flush();
+        }
+    }
+
+    /**
+     * Estado efectivo de un usuario (contador y bloqueo) más lo pendiente de persistir
+     */
+    private static final class EstadoLogin {
+
+        private int intentosFallidos;
+        private LocalDateTime fechaBloqueo;
+
+        private LocalDateTime ultimoAccesoPendiente;
+        private boolean reiniciarPendiente;
+        private int fallosPendientes;
+        private LocalDateTime bloqueoPendiente;
+        private boolean activo = true;
+
+        EstadoLogin(Integer intentosFallidos, LocalDateTime fechaBloqueo) {
+            this.intentosFallidos = intentosFallidos != null ? intentosFallidos : 0;
+            this.fechaBloqueo = fechaBloqueo;
+        }
+
+        synchronized boolean bloqueado() {
+            return fechaBloqueo != null;
+        }
+
+        synchronized void registrarExito(LocalDateTime ahora) {
+            intentosFallidos = 0;
+            ultimoAccesoPendiente = ahora;
+            reiniciarPendiente = true;
+            fallosPendientes = 0;
+            activo = true;
+        }
+
+        synchronized void registrarFallo(LocalDateTime ahora) {
+            intentosFallidos++;
+            fallosPendientes++;
+            if (fechaBloqueo == null && intentosFallidos >= AuthUsuario.MAX_INTENTOS_FALLIDOS) {
+                fechaBloqueo = ahora;
+                bloqueoPendiente = ahora;
+            }
+            activo = true;
+        }
+
+        /**
+         * Extrae lo pendiente de persistir (null si no hubo actividad desde el último flush)
+         */
+        synchronized ActividadLogin tomarPendiente(Long id) {
+            if (!activo) {
+                return null;
+            }
+            ActividadLogin actividad = new ActividadLogin(id, ultimoAccesoPendiente, reiniciarPendiente,
+                    fallosPendientes, bloqueoPendiente);
+            ultimoAccesoPendiente = null;
+            reiniciarPendiente = false;
+            fallosPendientes = 0;
+            bloqueoPendiente = null;
+            activo = false;
+            return actividad;
+        }
+
+        /**
+         * Reincorpora una actividad que no se pudo persistir, sin pisar la registrada después
+         */
+        synchronized void devolver(ActividadLogin actividad) {
+            if (!reiniciarPendiente) {
+                // Un éxito posterior ya reinicia el contador; si no, se conservan los fallos previos
+                reiniciarPendiente = actividad.reiniciarIntentos();
+                fallosPendientes += actividad.intentosFallidos();
+            }
+            if (ultimoAccesoPendiente == null) {
+                ultimoAccesoPendiente = actividad.ultimoAcceso();
+            }
+            if (bloqueoPendiente == null) {
+                bloqueoPendiente = actividad.fechaBloqueo();
+            }
+            activo = true;
+        }
+    }
+}
@@ -22,6 +22,9 @@ public class PermisoService {
     @Inject
     PermisoMapper permisoMapper;
 
+    @Inject
+    AutorizacionService autorizacionService;
+
     public List<PermisoResponseDTO> findAll() {
         List<Permiso> permisos = permisoRepository.findAllActive();
         return permisoMapper.toResponseDTOList(permisos);
@@ -106,6 +109,7 @@ public class PermisoService {
                 });
 
         permisoRepository.persist(permiso);
+        autorizacionService.invalidar();
         return permisoMapper.toResponseDTO(permiso);
     }
 
@@ -123,5 +127,6 @@ public class PermisoService {
         // Soft delete
         permiso.setActive(false);
         permisoRepository.persist(permiso);
+        autorizacionService.invalidar();
     }
 }
@@ -0,0 +1,64 @@
+package upeu.edu.pe.security.domain.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import upeu.edu.pe.security.domain.repositories.RefreshTokenRepository;
+import upeu.edu.pe.security.infrastructure.utils.JwtTokenGenerator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.logging.Logger;
+
+/**
+ * Purga periódica de refresh tokens expirados y revocados, en bloques de transacción corta
+ * para no bloquear la tabla ni generar una transacción enorme
+ */
+@ApplicationScoped
+public class RefreshTokenPurgeService {
+
+    private static final Logger LOGGER = Logger.getLogger(RefreshTokenPurgeService.class.getName());
+
+    @Inject
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Inject
+    RefreshTokenRevocationFilter revocationFilter;
+
+    @Inject
+    JwtTokenGenerator jwtTokenGenerator;
+
+    @ConfigProperty(name = "security.refresh-token.purge.chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    /**
+     * Tiempo que se conservan los tokens revocados (aún no expirados) antes de eliminarlos
+     */
+    @ConfigProperty(name = "security.refresh-token.purge.retencion-revocados", defaultValue = "1D")
+    Duration retencionRevocados;
+
+    @Scheduled(every = "${security.refresh-token.purge.every:1h}", delayed = "1m",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime revocadosAntesDe = ahora.minus(retencionRevocados);
+
+        long total = 0;
+        int eliminados;
+        do {
+            eliminados = QuarkusTransaction.requiringNew()
+                    .call(() -> refreshTokenRepository.purgeChunk(ahora, revocadosAntesDe, chunkSize));
+            total += eliminados;
+        } while (eliminados == chunkSize);
+
+        revocationFilter.purgar(Instant.now().getEpochSecond(), jwtTokenGenerator.getRefreshDuration());
+
+        long purgados = total;
+        if (purgados > 0) {
+            LOGGER.info(() -> "Refresh tokens purgados: " + purgados);
+        }
+    }
+}
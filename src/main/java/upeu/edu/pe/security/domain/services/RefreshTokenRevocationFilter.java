@@ -0,0 +1,99 @@
+package upeu.edu.pe.security.domain.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import upeu.edu.pe.security.infrastructure.utils.JwtClaims;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtro en memoria de refresh tokens revocados en esta instancia.
+ * <p>
+ * Permite rechazar sin consultar la BD un token ya rotado o cerrado con logout, y los tokens
+ * emitidos antes de un "cerrar sesión en todos los dispositivos". Solo acelera el rechazo:
+ * la BD sigue siendo la fuente de verdad (un token no filtrado se verifica igualmente allí).
+ * Las entradas se registran al confirmarse la transacción y se descartan al expirar el token.
+ */
+@ApplicationScoped
+public class RefreshTokenRevocationFilter {
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    /**
+     * Máximo de tokens revocados retenidos; por encima se deja de registrar y decide la BD
+     */
+    @ConfigProperty(name = "security.refresh-token.revocation-filter.max-entries", defaultValue = "100000")
+    int maxEntries;
+
+    // Huella SHA-256 del token -> expiración del token (epoch seconds)
+    private final Map<String, Long> revocados = new ConcurrentHashMap<>();
+
+    // Id de usuario -> instante (epoch seconds) a partir del cual se aceptan sus tokens
+    private final Map<Long, Long> revocadosAntesDe = new ConcurrentHashMap<>();
+
+    /**
+     * Indica si el token (ya verificado) se sabe revocado
+     */
+    public boolean estaRevocado(String tokenHash, JwtClaims claims) {
+        if (revocados.containsKey(tokenHash)) {
+            return true;
+        }
+        Long desde = claims.userId() != null ? revocadosAntesDe.get(claims.userId()) : null;
+        // Estricto: un token del mismo segundo puede ser posterior a la revocación (lo decide la BD)
+        return desde != null && claims.issuedAt() < desde;
+    }
+
+    /**
+     * Registra la revocación de un token al confirmarse la transacción actual
+     */
+    public void revocar(String tokenHash, long expiresAtEpochSecond) {
+        alConfirmar(() -> {
+            if (revocados.size() < maxEntries) {
+                revocados.put(tokenHash, expiresAtEpochSecond);
+            }
+        });
+    }
+
+    /**
+     * Registra la revocación de todos los tokens emitidos hasta ahora para un usuario
+     */
+    public void revocarUsuario(Long userId) {
+        long ahora = Instant.now().getEpochSecond();
+        alConfirmar(() -> revocadosAntesDe.merge(userId, ahora, Math::max));
+    }
+
+    /**
+     * Descarta las entradas que ya no pueden coincidir con un token vigente
+     */
+    public void purgar(long ahoraEpochSecond, long refreshDurationSeconds) {
+        revocados.values().removeIf(expiresAt -> expiresAt <= ahoraEpochSecond);
+        // Todo token emitido antes de (ahora - duración) ya expiró
+        revocadosAntesDe.values().removeIf(desde -> desde + refreshDurationSeconds <= ahoraEpochSecond);
+    }
+
+    private void alConfirmar(Runnable accion) {
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            accion.run();
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    accion.run();
+                }
+            }
+        });
+    }
+}
@@ -12,10 +12,16 @@ import upeu.edu.pe.security.domain.entities.RolPermiso;
 import upeu.edu.pe.security.domain.repositories.PermisoRepository;
 import upeu.edu.pe.security.domain.repositories.RolPermisoRepository;
 import upeu.edu.pe.security.domain.repositories.RolRepository;
+import upeu.edu.pe.shared.context.AuditContext;
 import upeu.edu.pe.shared.exceptions.BusinessException;
 import upeu.edu.pe.shared.exceptions.NotFoundException;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class RolPermisoService {
@@ -32,6 +38,12 @@ public class RolPermisoService {
     @Inject
     RolPermisoMapper rolPermisoMapper;
 
+    @Inject
+    AutorizacionService autorizacionService;
+
+    @Inject
+    AuditContext auditContext;
+
     public List<RolPermisoResponseDTO> findByRol(Long rolId) {
         List<RolPermiso> rolPermisos = rolPermisoRepository.findByRol(rolId);
         return rolPermisoMapper.toResponseDTOList(rolPermisos);
@@ -72,6 +84,7 @@ public class RolPermisoService {
         rolPermiso.setPermiso(permiso);
 
         rolPermisoRepository.persist(rolPermiso);
+        autorizacionService.invalidar();
         return rolPermisoMapper.toResponseDTO(rolPermiso);
     }
 
@@ -81,6 +94,7 @@ public class RolPermisoService {
                 .orElseThrow(() -> new NotFoundException("No se encontró la asignación del permiso al rol"));
 
         rolPermisoRepository.delete(rolPermiso);
+        autorizacionService.invalidar();
     }
 
     @Transactional
@@ -94,6 +108,7 @@ public class RolPermisoService {
         if (count == 0) {
             throw new NotFoundException("No se encontraron permisos asignados al rol");
         }
+        autorizacionService.invalidar();
     }
 
     @Transactional
@@ -128,20 +143,26 @@ public class RolPermisoService {
         Rol rol = rolRepository.findByIdOptional(rolId)
                 .orElseThrow(() -> new NotFoundException("Rol no encontrado con ID: " + rolId));
 
-        for (Long permisoId : permisoIds) {
-            // Validar que el permiso existe
-            Permiso permiso = permisoRepository.findByIdOptional(permisoId)
-                    .orElseThrow(() -> new NotFoundException("Permiso no encontrado con ID: " + permisoId));
-
-            // Solo asignar si no existe
-            if (!rolPermisoRepository.existsByRolAndPermiso(rolId, permisoId)) {
-                RolPermiso rolPermiso = new RolPermiso();
-                rolPermiso.setRol(rol);
-                rolPermiso.setPermiso(permiso);
-                rolPermiso.setPuedeDeleagar(false);
-                rolPermisoRepository.persist(rolPermiso);
+        Set<Long> ids = new LinkedHashSet<>(permisoIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        // Validar que los permisos existen (una sola consulta)
+        Map<Long, Permiso> permisos = permisoRepository.findActivosByIds(ids).stream()
+                .collect(Collectors.toMap(Permiso::getId, Function.identity()));
+        for (Long permisoId : ids) {
+            if (!permisos.containsKey(permisoId)) {
+                throw new NotFoundException("Permiso no encontrado con ID: " + permisoId);
             }
         }
+
+        // Solo se insertan los que el rol aún no tiene, en lotes JDBC
+        List<RolPermiso> nuevos = rolPermisoRepository.findPermisoIdsNoAsignados(rolId, ids).stream()
+                .map(permisoId -> new RolPermiso(rol, permisos.get(permisoId)))
+                .toList();
+        rolPermisoRepository.persist(nuevos);
+        autorizacionService.invalidar();
     }
 
     @Transactional
@@ -150,10 +171,37 @@ public class RolPermisoService {
         rolRepository.findByIdOptional(rolId)
                 .orElseThrow(() -> new NotFoundException("Rol no encontrado con ID: " + rolId));
 
-        for (Long permisoId : permisoIds) {
-            rolPermisoRepository.findByRolAndPermiso(rolId, permisoId)
-                    .ifPresent(rolPermisoRepository::delete);
+        if (permisoIds.isEmpty()) {
+            return;
         }
+
+        rolPermisoRepository.deleteByRolAndPermisos(rolId, new LinkedHashSet<>(permisoIds));
+        autorizacionService.invalidar();
+    }
+
+    /**
+     * Copia los permisos del rol origen al rol destino (INSERT ... SELECT).
+     * Con reemplazar, el destino queda exactamente con los permisos del origen.
+     *
+     * @return cantidad de permisos agregados al rol destino
+     */
+    @Transactional
+    public int clonarPermisos(Long rolOrigenId, Long rolDestinoId, boolean reemplazar) {
+        if (rolOrigenId.equals(rolDestinoId)) {
+            throw new BusinessException("El rol origen y el rol destino deben ser distintos");
+        }
+        rolRepository.findByIdOptional(rolOrigenId)
+                .orElseThrow(() -> new NotFoundException("Rol no encontrado con ID: " + rolOrigenId));
+        rolRepository.findByIdOptional(rolDestinoId)
+                .orElseThrow(() -> new NotFoundException("Rol no encontrado con ID: " + rolDestinoId));
+
+        if (reemplazar) {
+            rolPermisoRepository.deleteByRol(rolDestinoId);
+        }
+
+        int agregados = rolPermisoRepository.clonarPermisos(rolOrigenId, rolDestinoId, auditContext.getCurrentUser());
+        autorizacionService.invalidar();
+        return agregados;
     }
 
     public boolean existsByRolAndPermiso(Long rolId, Long permisoId) {
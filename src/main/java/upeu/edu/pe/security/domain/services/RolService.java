@@ -22,6 +22,9 @@ public class RolService {
     @Inject
     RolMapper rolMapper;
 
+    @Inject
+    AutorizacionService autorizacionService;
+
     public List<RolResponseDTO> findAll() {
         List<Rol> roles = rolRepository.listAll();
         return rolMapper.toResponseDTOList(roles);
@@ -95,6 +98,7 @@ public class RolService {
 
         rolMapper.updateEntityFromDTO(requestDTO, rol);
         rolRepository.persist(rol);
+        autorizacionService.invalidar();
         
         return rolMapper.toResponseDTO(rol);
     }
@@ -117,6 +121,7 @@ public class RolService {
 
         rol.setActive(false);
         rolRepository.persist(rol);
+        autorizacionService.invalidar();
     }
 
     public List<RolResponseDTO> findByPermisoNombre(String permisoNombre, Long universidadId) {
@@ -0,0 +1,30 @@
+package upeu.edu.pe.security.infrastructure.authorization;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exige que el rol del usuario autenticado tenga el permiso indicado.
+ * <p>
+ * El permiso se indica por su nombre clave ({@code "ACADEMICO_ACTUALIZAR_NOTAS"}) o como
+ * {@code "MODULO:RECURSO:ACCION"} ({@code "ACADEMICO:NOTAS:ACTUALIZAR"}). En un método tiene
+ * prioridad sobre la anotación de la clase. La decisión se toma en memoria, sin consultar la BD.
+ */
+@Inherited
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresPermiso {
+
+    /**
+     * Permiso requerido
+     */
+    @Nonbinding
+    String value();
+}
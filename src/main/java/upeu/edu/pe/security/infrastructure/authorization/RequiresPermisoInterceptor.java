@@ -0,0 +1,61 @@
+package upeu.edu.pe.security.infrastructure.authorization;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import upeu.edu.pe.security.domain.services.AutorizacionService;
+import upeu.edu.pe.shared.context.AuditContext;
+import upeu.edu.pe.shared.exceptions.ForbiddenException;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Aplica {@link RequiresPermiso} con la caché de permisos compilada por rol
+ */
+@RequiresPermiso("")
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 200)
+public class RequiresPermisoInterceptor {
+
+    private static final Logger LOGGER = Logger.getLogger(RequiresPermisoInterceptor.class.getName());
+
+    /**
+     * Permiso requerido por método, resuelto una sola vez (método o, en su defecto, clase)
+     */
+    private static final Map<Method, String> PERMISO_POR_METODO = new ConcurrentHashMap<>();
+
+    @Inject
+    AutorizacionService autorizacionService;
+
+    @Inject
+    AuditContext auditContext;
+
+    @AroundInvoke
+    Object verificar(InvocationContext context) throws Exception {
+        String permiso = PERMISO_POR_METODO.computeIfAbsent(context.getMethod(), RequiresPermisoInterceptor::permisoRequerido);
+        String rol = auditContext.getCurrentRol();
+
+        if (!autorizacionService.tienePermiso(rol, permiso)) {
+            LOGGER.warning(() -> "Acceso denegado: usuario " + auditContext.getCurrentUser()
+                    + " (rol " + rol + ") sin permiso " + permiso);
+            throw new ForbiddenException("No tiene permiso para realizar esta operación: " + permiso);
+        }
+        return context.proceed();
+    }
+
+    private static String permisoRequerido(Method method) {
+        RequiresPermiso anotacion = method.getAnnotation(RequiresPermiso.class);
+        if (anotacion == null) {
+            anotacion = method.getDeclaringClass().getAnnotation(RequiresPermiso.class);
+        }
+        if (anotacion == null || anotacion.value().isBlank()) {
+            throw new IllegalStateException("@RequiresPermiso sin permiso en " + method);
+        }
+        return AutorizacionService.normalizarClave(anotacion.value());
+    }
+}
@@ -1,6 +1,5 @@
 package upeu.edu.pe.security.infrastructure.filters;
 
-import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Priority;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Priorities;
@@ -9,18 +8,31 @@ import jakarta.ws.rs.container.ContainerRequestFilter;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.MDC;
+import upeu.edu.pe.security.infrastructure.utils.JwtClaims;
 import upeu.edu.pe.security.infrastructure.utils.JwtTokenValidator;
 import upeu.edu.pe.shared.context.AuditContext;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @Provider
 @Priority(Priorities.AUTHENTICATION)
 public class JwtAuthenticationFilter implements ContainerRequestFilter {
 
-    static {
-        System.out.println("=== JwtAuthenticationFilter CLASS LOADED ===");
-    }
+    private static final Logger LOGGER = Logger.getLogger(JwtAuthenticationFilter.class.getName());
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // Decisiones registradas en el evento "auth.decision"
+    private static final String DECISION_PUBLIC = "PUBLIC";
+    private static final String DECISION_AUTHENTICATED = "AUTHENTICATED";
+    private static final String DECISION_REJECTED = "REJECTED";
+
+    private static final PublicPathMatcher PUBLIC_PATHS = PublicPathMatcher.defaults();
 
     @Inject
     JwtTokenValidator jwtTokenValidator;
@@ -28,134 +40,121 @@ public class JwtAuthenticationFilter implements ContainerRequestFilter {
     @Inject
     AuditContext auditContext;
 
-    public JwtAuthenticationFilter() {
-        System.out.println("=== JwtAuthenticationFilter CONSTRUCTOR called ===");
-    }
+    /**
+     * Fracción (0..1) de peticiones públicas/autenticadas que generan evento de log.
+     * Los rechazos (401) se registran siempre.
+     */
+    @ConfigProperty(name = "jwt.filter.log.sample-rate", defaultValue = "0.0")
+    double logSampleRate;
 
-    @PostConstruct
-    void init() {
-        System.out.println("=== JwtAuthenticationFilter @PostConstruct called ===");
-        System.out.println("JwtTokenValidator injected: " + (jwtTokenValidator != null));
-        System.out.println("AuditContext injected: " + (auditContext != null));
-    }
+    /**
+     * Registra todas las peticiones, ignorando el muestreo
+     */
+    @ConfigProperty(name = "jwt.filter.log.debug", defaultValue = "false")
+    boolean logDebug;
 
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
         String path = requestContext.getUriInfo().getPath();
-        String method = requestContext.getMethod();
-        String fullUri = requestContext.getUriInfo().getRequestUri().toString();
-
-        System.out.println("\n=== JWT FILTER EXECUTED ===");
-        System.out.println("Full URI: " + fullUri);
-        System.out.println("Path: " + path);
-        System.out.println("Method: " + method);
 
         // Skip authentication for public endpoints
-        if (isPublicEndpoint(path)) {
-            System.out.println("DECISION: Skipping authentication for public endpoint");
-            System.out.println("=== JWT FILTER END (PUBLIC) ===\n");
+        if (PUBLIC_PATHS.isPublic(path)) {
+            logDecision(requestContext, path, DECISION_PUBLIC, null, null);
             return;
         }
 
-        System.out.println("DECISION: Authentication required for this endpoint");
-
-        // Get Authorization header
         String authHeader = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
-        System.out.println("Raw Authorization Header: '" + authHeader + "'");
-
-        if (authHeader != null) {
-            System.out.println("Header length: " + authHeader.length());
-            System.out.println("Header starts with 'Bearer ': " + authHeader.startsWith("Bearer "));
-        }
 
-        if (authHeader == null || authHeader.trim().isEmpty()) {
-            System.out.println("ERROR: Missing authorization header");
-            abortWithUnauthorized(requestContext, "Missing or invalid authorization header");
+        if (authHeader == null || authHeader.isBlank()) {
+            abortWithUnauthorized(requestContext, path, "Missing or invalid authorization header");
             return;
         }
 
-        if (!authHeader.startsWith("Bearer ")) {
-            System.out.println("ERROR: Authorization header must start with 'Bearer '");
-            abortWithUnauthorized(requestContext, "Authorization header must start with 'Bearer '");
+        if (!authHeader.startsWith(BEARER_PREFIX)) {
+            abortWithUnauthorized(requestContext, path, "Authorization header must start with 'Bearer '");
             return;
         }
 
-        String token = authHeader.substring(7).trim();
-        System.out.println("Token extracted with Bearer prefix");
+        String token = authHeader.substring(BEARER_PREFIX.length()).trim();
 
-        if (token.trim().isEmpty()) {
-            System.out.println("ERROR: Empty token after extraction");
-            abortWithUnauthorized(requestContext, "Empty authorization token");
+        if (token.isEmpty()) {
+            abortWithUnauthorized(requestContext, path, "Empty authorization token");
             return;
         }
 
-        System.out.println("Token extracted (length: " + token.length() + ")");
-        System.out.println("Token preview: " + token.substring(0, Math.min(30, token.length())) + "...");
-
-        // Validate token
         try {
-            boolean isValid = jwtTokenValidator.validateToken(token);
-            System.out.println("Token validation result: " + isValid);
+            JwtClaims claims = jwtTokenValidator.verify(token);
 
-            if (!isValid) {
-                System.out.println("ERROR: Token validation failed");
-                abortWithUnauthorized(requestContext, "Invalid or expired token");
+            if (claims == null) {
+                abortWithUnauthorized(requestContext, path, "Invalid or expired token");
                 return;
             }
 
             // Set current user for auditing
-            String username = jwtTokenValidator.getUsernameFromToken(token);
+            String username = claims.subject();
             if (username != null) {
                 auditContext.setCurrentUser(username);
-                System.out.println("SUCCESS: User authenticated: " + username);
-            } else {
-                System.out.println("WARNING: Could not extract username from token");
             }
+            auditContext.setCurrentRol(claims.rolNombre());
 
-            System.out.println("SUCCESS: Authentication completed successfully");
-            System.out.println("=== JWT FILTER END (SUCCESS) ===\n");
+            logDecision(requestContext, path, DECISION_AUTHENTICATED, username, null);
 
         } catch (Exception e) {
-            System.out.println("ERROR: Exception during token validation: " + e.getMessage());
-            e.printStackTrace();
-            abortWithUnauthorized(requestContext, "Authentication failed");
+            LOGGER.log(Level.WARNING, "Exception during token validation", e);
+            abortWithUnauthorized(requestContext, path, "Authentication failed");
         }
     }
 
-    private boolean isPublicEndpoint(String path) {
-        // Normalize path
-        String normalizedPath = path.replaceAll("^/+|/+$", "").toLowerCase();
-
-        System.out.println("Checking if path is public: '" + normalizedPath + "'");
-
-        boolean isPublic = normalizedPath.isEmpty() ||
-                normalizedPath.equals("openapi") ||
-                normalizedPath.equals("swagger-ui") ||
-                normalizedPath.startsWith("swagger-ui/") ||
-                normalizedPath.startsWith("q/") ||
-                normalizedPath.startsWith("health") ||
-                normalizedPath.startsWith("metrics") ||
-                normalizedPath.startsWith("api/v1/auth/") ||
-                normalizedPath.contains("/auth/") ||
-                normalizedPath.endsWith("/auth") ||
-                // Additional patterns for auth endpoints
-                (normalizedPath.contains("auth") &&
-                        (normalizedPath.contains("login") ||
-                                normalizedPath.contains("register") ||
-                                normalizedPath.contains("refresh")));
-
-        System.out.println("Path '" + normalizedPath + "' is public: " + isPublic);
-        return isPublic;
-    }
-
-    private void abortWithUnauthorized(ContainerRequestContext requestContext, String message) {
-        System.out.println("ABORT: Returning 401 Unauthorized - " + message);
+    private void abortWithUnauthorized(ContainerRequestContext requestContext, String path, String message) {
+        logDecision(requestContext, path, DECISION_REJECTED, null, message);
         requestContext.abortWith(
                 Response.status(Response.Status.UNAUTHORIZED)
                         .entity("{\"error\": \"" + message + "\"}")
                         .type("application/json")
                         .build()
         );
-        System.out.println("=== JWT FILTER END (UNAUTHORIZED) ===\n");
     }
-}
\ No newline at end of file
+
+    /**
+     * Emite un único evento estructurado por petición. Los campos viajan en el MDC,
+     * que quarkus-logging-json serializa como propiedades del JSON.
+     * Nunca se registran cabeceras ni tokens.
+     */
+    private void logDecision(ContainerRequestContext requestContext, String path,
+                             String decision, String username, String reason) {
+        Level level;
+        if (reason != null) {
+            level = Level.WARNING;
+        } else if (logDebug || sampled()) {
+            level = Level.INFO;
+        } else {
+            return;
+        }
+        if (!LOGGER.isLoggable(level)) {
+            return;
+        }
+
+        MDC.put("http.method", requestContext.getMethod());
+        MDC.put("http.path", path);
+        MDC.put("auth.decision", decision);
+        if (username != null) {
+            MDC.put("auth.user", username);
+        }
+        if (reason != null) {
+            MDC.put("auth.reason", reason);
+        }
+        try {
+            LOGGER.log(level, "jwt-filter");
+        } finally {
+            MDC.remove("http.method");
+            MDC.remove("http.path");
+            MDC.remove("auth.decision");
+            MDC.remove("auth.user");
+            MDC.remove("auth.reason");
+        }
+    }
+
+    private boolean sampled() {
+        return logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate;
+    }
+}
@@ -0,0 +1,130 @@
+package upeu.edu.pe.security.infrastructure.filters;
+
+/**
+ * Determina si una ruta es pública mediante un trie de prefijos precompilado.
+ * La comparación se hace carácter a carácter sobre la ruta original (sin regex ni
+ * copias): ignora las barras iniciales/finales y no distingue mayúsculas (ASCII).
+ */
+public final class PublicPathMatcher {
+
+    private static final int ALPHABET = 128;
+
+    private enum MatchType {
+        /** La ruta debe terminar exactamente aquí */
+        EXACT,
+        /** La ruta termina aquí o continúa con un nuevo segmento */
+        SEGMENT,
+        /** Cualquier continuación es válida */
+        PREFIX
+    }
+
+    private static final class Node {
+        final Node[] next = new Node[ALPHABET];
+        MatchType match;
+    }
+
+    private static final PublicPathMatcher DEFAULT = new PublicPathMatcher()
+            .exact("openapi")
+            .segment("swagger-ui")
+            .prefix("q/")
+            .prefix("health")
+            .prefix("metrics")
+            .prefix("api/v1/auth/");
+
+    private final Node root = new Node();
+
+    private PublicPathMatcher() {
+    }
+
+    public static PublicPathMatcher defaults() {
+        return DEFAULT;
+    }
+
+    private PublicPathMatcher exact(String path) {
+        return add(path, MatchType.EXACT);
+    }
+
+    private PublicPathMatcher segment(String path) {
+        return add(path, MatchType.SEGMENT);
+    }
+
+    private PublicPathMatcher prefix(String path) {
+        return add(path, MatchType.PREFIX);
+    }
+
+    private PublicPathMatcher add(String path, MatchType type) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            int c = toLowerAscii(path.charAt(i));
+            if (node.next[c] == null) {
+                node.next[c] = new Node();
+            }
+            node = node.next[c];
+        }
+        node.match = type;
+        return this;
+    }
+
+    /**
+     * Indica si la ruta corresponde a un endpoint público (raíz, documentación,
+     * health/metrics o cualquier ruta con un segmento "auth")
+     */
+    public boolean isPublic(String path) {
+        if (path == null) {
+            return true;
+        }
+
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        if (start == end) {
+            return true;
+        }
+
+        return matchesTrie(path, start, end) || hasAuthSegment(path, start, end);
+    }
+
+    private boolean matchesTrie(String path, int start, int end) {
+        Node node = root;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c >= ALPHABET) {
+                return false;
+            }
+            node = node.next[toLowerAscii(c)];
+            if (node == null) {
+                return false;
+            }
+            if (node.match == MatchType.PREFIX) {
+                return true;
+            }
+            if (node.match == MatchType.SEGMENT && i + 1 < end && path.charAt(i + 1) == '/') {
+                return true;
+            }
+        }
+        return node.match == MatchType.EXACT || node.match == MatchType.SEGMENT;
+    }
+
+    private static boolean hasAuthSegment(String path, int start, int end) {
+        int segmentStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || path.charAt(i) == '/') {
+                if (i - segmentStart == 4 && path.regionMatches(true, segmentStart, "auth", 0, 4)) {
+                    return true;
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return false;
+    }
+
+    private static int toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+}
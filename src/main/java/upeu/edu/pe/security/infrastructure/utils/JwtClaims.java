@@ -0,0 +1,45 @@
+package upeu.edu.pe.security.infrastructure.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Claims inmutables de un JWT ya verificado (firma, expiración, issuer y audience)
+ */
+public record JwtClaims(
+        String subject,
+        Long userId,
+        String email,
+        String rolNombre,
+        String type,
+        long issuedAt,
+        long expiresAt
+) {
+
+    static JwtClaims from(JsonNode payload) {
+        return new JwtClaims(
+                text(payload, "sub"),
+                payload.hasNonNull("userId") ? payload.get("userId").asLong() : null,
+                text(payload, "email"),
+                text(payload, "rolNombre"),
+                text(payload, "type"),
+                payload.path("iat").asLong(),
+                payload.path("exp").asLong()
+        );
+    }
+
+    /**
+     * Indica si el token ya expiró en el instante dado (epoch seconds)
+     */
+    public boolean isExpired(long nowEpochSecond) {
+        return nowEpochSecond >= expiresAt;
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -9,6 +9,7 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.UUID;
 
 @ApplicationScoped
 public class JwtTokenGenerator {
@@ -72,10 +73,13 @@ public class JwtTokenGenerator {
                             "\"sub\":\"%s\"," +
                             "\"userId\":%d," +
                             "\"type\":\"refresh\"," +
+                            "\"jti\":\"%s\"," +
                             "\"exp\":%d," +
                             "\"iat\":%d}",
                     authUsuario.getUsername(),
                     authUsuario.getId(),
+                    // Identificador único: dos refresh tokens emitidos en el mismo segundo no coinciden
+                    UUID.randomUUID(),
                     expirationTime,
                     Instant.now().getEpochSecond()
             );
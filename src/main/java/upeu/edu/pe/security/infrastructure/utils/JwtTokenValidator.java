@@ -2,116 +2,166 @@ package upeu.edu.pe.security.infrastructure.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @ApplicationScoped
 public class JwtTokenValidator {
 
+    private static final Logger LOGGER = Logger.getLogger(JwtTokenValidator.class.getName());
+
     private static final String SECRET_KEY = "mySecretKey1234567890abcdefghij"; // Misma clave que en JwtTokenGenerator
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String EXPECTED_ISSUER = "https://upeu.edu.pe";
+    private static final String EXPECTED_AUDIENCE = "upeu-sis";
+    private static final String BEARER_PREFIX = "Bearer ";
 
-    public boolean validateToken(String token) {
-        try {
-            if (token == null || token.trim().isEmpty()) {
-                return false;
-            }
+    private static final SecretKeySpec SECRET_KEY_SPEC =
+            new SecretKeySpec(SECRET_KEY.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
 
-            // Remover "Bearer " si está presente
-            if (token.startsWith("Bearer ")) {
-                token = token.substring(7);
-            }
+    // Mac no es thread-safe: una instancia ya inicializada por hilo
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(JwtTokenValidator::newMac);
 
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
-                return false;
-            }
-
-            String header = parts[0];
-            String payload = parts[1];
-            String signature = parts[2];
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-            // Verificar la firma
-            String data = header + "." + payload;
-            String expectedSignature = hmacSha256(data, SECRET_KEY);
+    @Inject
+    @CacheName("jwt-claims-cache")
+    Cache claimsCache;
+
+    /**
+     * Verifica el token en una sola pasada y devuelve sus claims, o null si no es válido.
+     * Los tokens ya verificados se resuelven desde caché (clave: firma) sin HMAC ni parseo JSON.
+     */
+    public JwtClaims verify(String token) {
+        String jwt = sinPrefijo(token);
+        int[] puntos = separadores(jwt);
+        if (puntos == null) {
+            return null;
+        }
 
-            if (!signature.equals(expectedSignature)) {
-                System.out.println("Invalid signature");
-                return false;
-            }
+        long now = Instant.now().getEpochSecond();
+        String signature = jwt.substring(puntos[1] + 1);
 
-            // Verificar expiración
-            String decodedPayload = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
-            JsonNode payloadNode = objectMapper.readTree(decodedPayload);
+        CachedClaims cached = getCached(signature);
+        if (cached != null && cached.token().equals(jwt)) {
+            return cached.claims().isExpired(now) ? null : cached.claims();
+        }
 
-            long exp = payloadNode.get("exp").asLong();
-            long now = Instant.now().getEpochSecond();
+        JwtClaims claims = verificar(jwt, puntos[0], puntos[1], now);
+        if (claims != null) {
+            cachear(signature, new CachedClaims(jwt, claims));
+        }
+        return claims;
+    }
 
-            if (now >= exp) {
-                System.out.println("Token expired");
-                return false;
-            }
+    public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
 
-            // Verificar issuer y audience
-            String issuer = payloadNode.get("iss").asText();
-            String audience = payloadNode.get("aud").asText();
+    public String getUsernameFromToken(String token) {
+        JwtClaims claims = verify(token);
+        return claims != null ? claims.subject() : null;
+    }
 
-            if (!"https://upeu.edu.pe".equals(issuer) || !"upeu-sis".equals(audience)) {
-                System.out.println("Invalid issuer or audience");
-                return false;
-            }
+    public Long getUserIdFromToken(String token) {
+        JwtClaims claims = verify(token);
+        return claims != null ? claims.userId() : null;
+    }
 
-            return true;
-        } catch (Exception e) {
-            System.out.println("Error validating token: " + e.getMessage());
-            return false;
-        }
+    private CachedClaims getCached(String signature) {
+        CompletableFuture<CachedClaims> future = claimsCache.as(CaffeineCache.class).getIfPresent(signature);
+        return future != null ? future.getNow(null) : null;
     }
 
-    public String getUsernameFromToken(String token) {
-        try {
-            if (token.startsWith("Bearer ")) {
-                token = token.substring(7);
-            }
+    private void cachear(String signature, CachedClaims cached) {
+        claimsCache.as(CaffeineCache.class).put(signature, CompletableFuture.completedFuture(cached));
+    }
 
-            String[] parts = token.split("\\.");
-            String payload = parts[1];
-            String decodedPayload = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
-            JsonNode payloadNode = objectMapper.readTree(decodedPayload);
+    private static String sinPrefijo(String token) {
+        return token != null && token.startsWith(BEARER_PREFIX) ? token.substring(BEARER_PREFIX.length()) : token;
+    }
 
-            return payloadNode.get("sub").asText();
-        } catch (Exception e) {
+    /**
+     * Posiciones de los dos puntos de header.payload.firma, o null si el token no tiene esa forma
+     */
+    private static int[] separadores(String token) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || secondDot == token.length() - 1
+                || token.indexOf('.', secondDot + 1) >= 0) {
             return null;
         }
+        return new int[]{firstDot, secondDot};
     }
 
-    public Long getUserIdFromToken(String token) {
+    private JwtClaims verificar(String token, int firstDot, int secondDot, long now) {
         try {
-            if (token.startsWith("Bearer ")) {
-                token = token.substring(7);
+            Mac mac = MAC.get();
+            mac.update(token.getBytes(StandardCharsets.US_ASCII), 0, secondDot);
+            byte[] expectedSignature = mac.doFinal();
+            byte[] actualSignature = Base64.getUrlDecoder().decode(token.substring(secondDot + 1));
+
+            if (!MessageDigest.isEqual(expectedSignature, actualSignature)) {
+                LOGGER.fine("Invalid signature");
+                return null;
             }
 
-            String[] parts = token.split("\\.");
-            String payload = parts[1];
-            String decodedPayload = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
-            JsonNode payloadNode = objectMapper.readTree(decodedPayload);
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot));
+            JsonNode payloadNode = objectMapper.readTree(payload);
+
+            if (!payloadNode.hasNonNull("exp")) {
+                LOGGER.fine("Token without expiration");
+                return null;
+            }
+
+            JwtClaims claims = JwtClaims.from(payloadNode);
+            if (claims.isExpired(now)) {
+                LOGGER.fine("Token expired");
+                return null;
+            }
 
-            return payloadNode.get("userId").asLong();
+            if (!EXPECTED_ISSUER.equals(payloadNode.path("iss").asText())
+                    || !EXPECTED_AUDIENCE.equals(payloadNode.path("aud").asText())) {
+                LOGGER.fine("Invalid issuer or audience");
+                return null;
+            }
+            return claims;
         } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Error validating token: {0}", e.getMessage());
             return null;
         }
     }
 
-    private String hmacSha256(String data, String secret) throws Exception {
-        Mac mac = Mac.getInstance("HmacSHA256");
-        SecretKeySpec secretKeySpec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        mac.init(secretKeySpec);
-        byte[] hash = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    private static Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(SECRET_KEY_SPEC);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo inicializar " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Entrada de caché: se guarda el token completo para descartar colisiones de firma
+     */
+    private record CachedClaims(String token, JwtClaims claims) {
     }
-}
\ No newline at end of file
+}
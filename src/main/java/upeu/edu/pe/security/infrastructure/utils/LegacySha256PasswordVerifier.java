@@ -0,0 +1,52 @@
+package upeu.edu.pe.security.infrastructure.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Formato anterior: Base64(sal de 16 bytes + SHA-256(sal + contraseña)), una sola pasada.
+ * Solo verifica; todo hash en este formato se regenera en el siguiente inicio de sesión.
+ */
+public class LegacySha256PasswordVerifier implements PasswordVerifier {
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+
+    @Override
+    public boolean supports(String encodedPassword) {
+        return encodedPassword != null && !encodedPassword.startsWith("$");
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        byte[] saltAndHash;
+        try {
+            saltAndHash = Base64.getDecoder().decode(encodedPassword);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (saltAndHash.length != SALT_LENGTH + HASH_LENGTH) {
+            return false;
+        }
+
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(saltAndHash, 0, SALT_LENGTH);
+            // Igual que el codificador original, que usaba el charset por defecto (UTF-8 en Java 18+)
+            byte[] computedHash = md.digest(rawPassword.getBytes(StandardCharsets.UTF_8));
+
+            byte[] storedHash = new byte[HASH_LENGTH];
+            System.arraycopy(saltAndHash, SALT_LENGTH, storedHash, 0, HASH_LENGTH);
+            return MessageDigest.isEqual(storedHash, computedHash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Error matching password", e);
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return true;
+    }
+}
@@ -1,65 +1,100 @@
 // src/main/java/upeu/edu/pe/security/infrastructure/utils/PasswordEncoder.java
 package upeu.edu.pe.security.infrastructure.utils;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 
+/**
+ * Hash de contraseñas con el algoritmo configurado (security.password.algorithm).
+ * <p>
+ * Los hashes nuevos usan el algoritmo y coste actuales; la verificación reconoce además los
+ * formatos anteriores, y {@link #needsRehash} indica cuándo conviene regenerar el hash
+ * (se hace de forma transparente al iniciar sesión).
+ */
 @ApplicationScoped
 public class PasswordEncoder {
 
-    private static final String ALGORITHM = "SHA-256";
-    private static final int SALT_LENGTH = 16;
+    /**
+     * Compartido: SecureRandom es thread-safe y su creación/siembra es costosa
+     */
+    static final SecureRandom RANDOM = new SecureRandom();
 
-    public String encode(String rawPassword) {
-        try {
-            // Generate salt
-            SecureRandom random = new SecureRandom();
-            byte[] salt = new byte[SALT_LENGTH];
-            random.nextBytes(salt);
+    @ConfigProperty(name = "security.password.algorithm", defaultValue = "pbkdf2-sha256")
+    String algorithm;
 
-            // Hash password with salt
-            MessageDigest md = MessageDigest.getInstance(ALGORITHM);
-            md.update(salt);
-            byte[] hashedPassword = md.digest(rawPassword.getBytes());
+    /**
+     * Coste de PBKDF2; calibrar con ./gradlew calibratePasswordHash
+     */
+    @ConfigProperty(name = "security.password.pbkdf2.iterations", defaultValue = "310000")
+    int pbkdf2Iterations;
 
-            // Combine salt and hash
-            byte[] saltAndHash = new byte[SALT_LENGTH + hashedPassword.length];
-            System.arraycopy(salt, 0, saltAndHash, 0, SALT_LENGTH);
-            System.arraycopy(hashedPassword, 0, saltAndHash, SALT_LENGTH, hashedPassword.length);
+    private PasswordHasher current;
+    private List<PasswordVerifier> verifiers;
 
-            // Encode to Base64
-            return Base64.getEncoder().encodeToString(saltAndHash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error encoding password", e);
-        }
-    }
+    /**
+     * Hash de una contraseña aleatoria con el coste actual, para {@link #matchesDummy}
+     */
+    private String dummyHash;
 
-    public boolean matches(String rawPassword, String encodedPassword) {
-        try {
-            // Decode the stored password
-            byte[] saltAndHash = Base64.getDecoder().decode(encodedPassword);
+    @PostConstruct
+    void init() {
+        current = switch (algorithm) {
+            case "pbkdf2-sha256" -> new Pbkdf2PasswordHasher(pbkdf2Iterations, RANDOM);
+            default -> throw new IllegalStateException("Algoritmo de contraseñas no soportado: " + algorithm);
+        };
+        // El algoritmo actual primero; luego los formatos anteriores, solo para verificar
+        verifiers = List.of(current, new LegacySha256PasswordVerifier());
 
-            // Extract salt
-            byte[] salt = new byte[SALT_LENGTH];
-            System.arraycopy(saltAndHash, 0, salt, 0, SALT_LENGTH);
+        byte[] aleatorio = new byte[16];
+        RANDOM.nextBytes(aleatorio);
+        dummyHash = current.hash(HexFormat.of().formatHex(aleatorio));
+    }
 
-            // Extract hash
-            byte[] storedHash = new byte[saltAndHash.length - SALT_LENGTH];
-            System.arraycopy(saltAndHash, SALT_LENGTH, storedHash, 0, storedHash.length);
+    /**
+     * Codificador PBKDF2 con el coste indicado, fuera de CDI (benchmarks y herramientas)
+     */
+    public static PasswordEncoder pbkdf2(int iterations) {
+        PasswordEncoder encoder = new PasswordEncoder();
+        encoder.algorithm = "pbkdf2-sha256";
+        encoder.pbkdf2Iterations = iterations;
+        encoder.init();
+        return encoder;
+    }
 
-            // Hash the raw password with the extracted salt
-            MessageDigest md = MessageDigest.getInstance(ALGORITHM);
-            md.update(salt);
-            byte[] computedHash = md.digest(rawPassword.getBytes());
+    public String encode(String rawPassword) {
+        return current.hash(rawPassword);
+    }
 
-            // Compare hashes
-            return MessageDigest.isEqual(storedHash, computedHash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error matching password", e);
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
         }
+        for (PasswordVerifier verifier : verifiers) {
+            if (verifier.supports(encodedPassword)) {
+                return verifier.matches(rawPassword, encodedPassword);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica contra un hash ficticio con el coste actual y descarta el resultado: para un
+     * usuario inexistente el login tarda lo mismo que con una contraseña incorrecta, y el
+     * tiempo de respuesta no revela qué usuarios existen.
+     */
+    public void matchesDummy(String rawPassword) {
+        matches(rawPassword == null ? "" : rawPassword, dummyHash);
+    }
+
+    /**
+     * Indica si el hash usa un algoritmo o coste anterior al configurado
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return !current.supports(encodedPassword) || current.needsRehash(encodedPassword);
     }
-}
\ No newline at end of file
+}
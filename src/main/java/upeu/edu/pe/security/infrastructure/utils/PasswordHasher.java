@@ -0,0 +1,9 @@
+package upeu.edu.pe.security.infrastructure.utils;
+
+/**
+ * Algoritmo de hash de contraseñas vigente: además de verificar, genera hashes nuevos.
+ */
+public interface PasswordHasher extends PasswordVerifier {
+
+    String hash(String rawPassword);
+}
@@ -0,0 +1,95 @@
+package upeu.edu.pe.security.infrastructure.utils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool acotado para el hash de contraseñas (CPU intensivo).
+ * <p>
+ * Limita los hashes simultáneos al número de núcleos, de modo que una avalancha de inicios de
+ * sesión no acapare los hilos de trabajo ni las conexiones de BD del resto de peticiones.
+ * Con la cola llena la petición se rechaza con 503 en lugar de acumular latencia.
+ */
+@ApplicationScoped
+public class PasswordHashingExecutor {
+
+    private static final Long RETRY_AFTER_SECONDS = 2L;
+    private static final String SATURADO = "Servicio de autenticación saturado, intente nuevamente";
+
+    /**
+     * Hilos del pool; 0 = núcleos disponibles
+     */
+    @ConfigProperty(name = "security.password.pool.size", defaultValue = "0")
+    int poolSize;
+
+    @ConfigProperty(name = "security.password.pool.queue", defaultValue = "256")
+    int queueSize;
+
+    @ConfigProperty(name = "security.password.pool.timeout", defaultValue = "10S")
+    Duration timeout;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Ejecuta la tarea en el pool y espera su resultado
+     *
+     * @throws ServiceUnavailableException si el pool está saturado o la tarea excede el tiempo máximo
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException(SATURADO, RETRY_AFTER_SECONDS, e);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException(SATURADO, RETRY_AFTER_SECONDS, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(SATURADO, RETRY_AFTER_SECONDS, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
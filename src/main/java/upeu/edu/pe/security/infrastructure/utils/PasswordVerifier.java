@@ -0,0 +1,21 @@
+package upeu.edu.pe.security.infrastructure.utils;
+
+/**
+ * Verificación de contraseñas contra un formato de hash. Cada implementación reconoce su propio
+ * formato codificado, de modo que conviven hashes de distintos algoritmos y costes en la misma
+ * tabla; los formatos anteriores solo implementan esta interfaz.
+ */
+public interface PasswordVerifier {
+
+    /**
+     * Indica si el hash codificado fue generado por este algoritmo
+     */
+    boolean supports(String encodedPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * Indica si el hash debe regenerarse con los parámetros actuales (algoritmo o coste obsoleto)
+     */
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,93 @@
+package upeu.edu.pe.security.infrastructure.utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 (solo JDK). Formato: {@code $pbkdf2-sha256$<iteraciones>$<sal>$<hash>},
+ * con sal y hash en Base64; las iteraciones viajan en el hash, así que subir el coste no
+ * invalida los hashes existentes.
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    static final String PREFIX = "$pbkdf2-sha256$";
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_LENGTH = 16;
+    private static final int KEY_LENGTH_BITS = 256;
+
+    private final int iterations;
+    private final SecureRandom random;
+
+    public Pbkdf2PasswordHasher(int iterations, SecureRandom random) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Las iteraciones de PBKDF2 deben ser positivas");
+        }
+        this.iterations = iterations;
+        this.random = random;
+    }
+
+    @Override
+    public boolean supports(String encodedPassword) {
+        return encodedPassword != null && encodedPassword.startsWith(PREFIX);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        byte[] hash = derive(rawPassword, salt, iterations);
+
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        String[] partes = partes(encodedPassword);
+        if (partes == null) {
+            return false;
+        }
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] salt = decoder.decode(partes[1]);
+        byte[] storedHash = decoder.decode(partes[2]);
+        byte[] computedHash = derive(rawPassword, salt, Integer.parseInt(partes[0]));
+        return MessageDigest.isEqual(storedHash, computedHash);
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        String[] partes = partes(encodedPassword);
+        return partes == null || Integer.parseInt(partes[0]) < iterations;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * [iteraciones, sal, hash] o null si el formato no es válido
+     */
+    private static String[] partes(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] partes = encodedPassword.substring(PREFIX.length()).split("\\$");
+        return partes.length == 3 ? partes : null;
+    }
+
+    private static byte[] derive(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, KEY_LENGTH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error derivando el hash de la contraseña", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package upeu.edu.pe.security.infrastructure.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Huella de ancho fijo (SHA-256, 64 caracteres hexadecimales) de un token, usada como clave
+ * de búsqueda en lugar del token completo
+ */
+public final class TokenHasher {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private TokenHasher() {
+    }
+
+    public static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 es obligatorio en toda JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
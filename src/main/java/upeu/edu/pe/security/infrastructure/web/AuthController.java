@@ -4,6 +4,7 @@ package upeu.edu.pe.security.infrastructure.web;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -29,10 +30,17 @@ public class AuthController {
     @APIResponse(responseCode = "200", description = "Login successful")
     @APIResponse(responseCode = "401", description = "Invalid credentials")
     @APIResponse(responseCode = "400", description = "Invalid request data")
+    @APIResponse(responseCode = "503", description = "Authentication service saturated, retry later")
     public Response login(@Valid LoginRequestDto loginRequest) {
         try {
             AuthResponseDto authResponse = authService.login(loginRequest);
             return Response.ok(ApiResponse.success("Login successful", authResponse)).build();
+        } catch (ServiceUnavailableException e) {
+            // Pool de hash de contraseñas saturado: el cliente puede reintentar
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, e.getResponse().getHeaderString(HttpHeaders.RETRY_AFTER))
+                    .entity(ApiResponse.error("Login failed", e.getMessage()))
+                    .build();
         } catch (Exception e) {
             return Response.status(Response.Status.UNAUTHORIZED)
                     .entity(ApiResponse.error("Login failed", e.getMessage()))
@@ -93,6 +93,16 @@ public class RolPermisoController {
         return Response.noContent().build();
     }
 
+    @POST
+    @Path("/rol/{rolId}/permisos/clonar-desde/{rolOrigenId}")
+    public Response clonarPermisos(
+            @PathParam("rolId") Long rolId,
+            @PathParam("rolOrigenId") Long rolOrigenId,
+            @QueryParam("reemplazar") @DefaultValue("false") boolean reemplazar) {
+        int agregados = rolPermisoService.clonarPermisos(rolOrigenId, rolId, reemplazar);
+        return Response.ok().entity("{\"agregados\": " + agregados + "}").build();
+    }
+
     @GET
     @Path("/existe")
     public Response existsByRolAndPermiso(
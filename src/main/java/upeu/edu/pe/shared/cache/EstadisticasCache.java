@@ -0,0 +1,30 @@
+package upeu.edu.pe.shared.cache;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import upeu.edu.pe.shared.persistence.GroupedCounts;
+
+import java.util.function.Supplier;
+
+/**
+ * Caché de vida corta (ver "estadisticas-cache" en application.yml) para los contadores de los
+ * dashboards, por tipo de estadística y universidad: una página que se refresca cada pocos
+ * segundos cuesta una búsqueda en memoria en lugar de una consulta por contador. No se invalida
+ * al escribir; los contadores pueden ir atrasados hasta el TTL.
+ */
+@ApplicationScoped
+public class EstadisticasCache {
+
+    @Inject
+    @CacheName("estadisticas-cache")
+    Cache cache;
+
+    public GroupedCounts obtener(String tipo, Long universidadId, Supplier<GroupedCounts> consulta) {
+        return cache.get(new Clave(tipo, universidadId), clave -> consulta.get()).await().indefinitely();
+    }
+
+    private record Clave(String tipo, Long universidadId) {
+    }
+}
@@ -8,6 +8,8 @@ public class AuditContext {
 
     private String currentUser;
 
+    private String currentRol;
+
     public String getCurrentUser() {
         return currentUser != null ? currentUser : "system";
     }
@@ -16,7 +18,19 @@ public class AuditContext {
         this.currentUser = currentUser;
     }
 
+    /**
+     * Rol del usuario autenticado (claim rolNombre del JWT), o null en peticiones públicas
+     */
+    public String getCurrentRol() {
+        return currentRol;
+    }
+
+    public void setCurrentRol(String currentRol) {
+        this.currentRol = currentRol;
+    }
+
     public void clear() {
         this.currentUser = null;
+        this.currentRol = null;
     }
 }
\ No newline at end of file
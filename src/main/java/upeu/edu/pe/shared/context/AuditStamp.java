@@ -0,0 +1,9 @@
+package upeu.edu.pe.shared.context;
+
+import java.time.LocalDateTime;
+
+/**
+ * Usuario e instante con los que se sellan los campos de auditoría de una transacción
+ */
+public record AuditStamp(String usuario, LocalDateTime instante) {
+}
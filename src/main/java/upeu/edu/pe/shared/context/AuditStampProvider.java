@@ -0,0 +1,68 @@
+package upeu.edu.pe.shared.context;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.security.identity.SecurityIdentity;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Resuelve el usuario y el instante de auditoría una sola vez por transacción: todas las
+ * entidades escritas en ella comparten el mismo sello, en lugar de consultar la identidad
+ * y el reloj por cada entidad.
+ */
+@ApplicationScoped
+public class AuditStampProvider {
+
+    static final String SYSTEM_USER = "system";
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    SecurityIdentity securityIdentity;
+
+    @Inject
+    AuditContext auditContext;
+
+    @Inject
+    Clock clock;
+
+    /**
+     * Sello de la transacción actual (o uno nuevo si no hay transacción activa)
+     */
+    public AuditStamp actual() {
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            return resolver();
+        }
+        AuditStamp stamp = (AuditStamp) transactionRegistry.getResource(AuditStamp.class);
+        if (stamp == null) {
+            stamp = resolver();
+            transactionRegistry.putResource(AuditStamp.class, stamp);
+        }
+        return stamp;
+    }
+
+    private AuditStamp resolver() {
+        return new AuditStamp(resolverUsuario(), LocalDateTime.now(clock));
+    }
+
+    private String resolverUsuario() {
+        // Sin petición activa (arranque, jobs sin contexto): lo escribe el sistema
+        if (!Arc.container().requestContext().isActive()) {
+            return SYSTEM_USER;
+        }
+
+        // 1. Usuario autenticado por Quarkus Security
+        if (!securityIdentity.isAnonymous()) {
+            return securityIdentity.getPrincipal().getName();
+        }
+
+        // 2. Usuario fijado por el filtro JWT o manualmente (jobs/background)
+        return auditContext.getCurrentUser();
+    }
+}
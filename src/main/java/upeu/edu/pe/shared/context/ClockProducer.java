@@ -0,0 +1,18 @@
+package upeu.edu.pe.shared.context;
+
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+import java.time.Clock;
+
+/**
+ * Reloj compartido de la aplicación (sustituible en pruebas)
+ */
+public class ClockProducer {
+
+    @Produces
+    @Singleton
+    Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,43 @@
+package upeu.edu.pe.shared.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro append-only de los cambios (antes/después) de las entidades auditables
+ */
+@Entity
+@Table(name = "audit_trail", indexes = {
+    @Index(name = "idx_audit_trail_entidad", columnList = "entidad, entidad_id, fecha"),
+    @Index(name = "idx_audit_trail_usuario_fecha", columnList = "usuario, fecha")
+})
+@Data
+@NoArgsConstructor
+public class AuditTrail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_trail_seq")
+    @SequenceGenerator(name = "audit_trail_seq", sequenceName = "audit_trail_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "entidad", nullable = false, length = 100)
+    private String entidad;
+
+    @Column(name = "entidad_id", length = 100)
+    private String entidadId;
+
+    @Column(name = "operacion", nullable = false, length = 10)
+    private String operacion; // INSERT, UPDATE, DELETE
+
+    @Column(name = "cambios", columnDefinition = "TEXT")
+    private String cambios; // JSON {"campo": {"antes": ..., "despues": ...}}
+
+    @Column(name = "usuario", length = 100)
+    private String usuario;
+
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+}
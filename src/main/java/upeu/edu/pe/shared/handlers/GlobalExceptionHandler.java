@@ -1,12 +1,15 @@
 // src/main/java/upeu/edu/pe/shared/handlers/GlobalExceptionHandler.java
 package upeu.edu.pe.shared.handlers;
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
+import org.hibernate.StaleStateException;
 import upeu.edu.pe.shared.exceptions.BusinessException;
+import upeu.edu.pe.shared.exceptions.ForbiddenException;
 import upeu.edu.pe.shared.exceptions.NotFoundException;
 import upeu.edu.pe.shared.exceptions.ValidationException;
 import upeu.edu.pe.shared.response.ApiResponse;
@@ -21,12 +24,16 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
     public Response toResponse(Exception exception) {
         if (exception instanceof NotFoundException) {
             return handleNotFoundException((NotFoundException) exception);
+        } else if (exception instanceof ForbiddenException) {
+            return handleForbiddenException((ForbiddenException) exception);
         } else if (exception instanceof BusinessException) {
             return handleBusinessException((BusinessException) exception);
         } else if (exception instanceof ValidationException) {
             return handleValidationException((ValidationException) exception);
         } else if (exception instanceof ConstraintViolationException) {
             return handleConstraintViolationException((ConstraintViolationException) exception);
+        } else if (isOptimisticLock(exception)) {
+            return handleOptimisticLockException();
         } else {
             return handleGenericException(exception);
         }
@@ -37,6 +44,11 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
         return Response.status(Response.Status.NOT_FOUND).entity(response).build();
     }
 
+    private Response handleForbiddenException(ForbiddenException ex) {
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), "ACCESS_DENIED");
+        return Response.status(Response.Status.FORBIDDEN).entity(response).build();
+    }
+
     private Response handleBusinessException(BusinessException ex) {
         ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), "BUSINESS_RULE_VIOLATION");
         return Response.status(Response.Status.CONFLICT).entity(response).build();
@@ -62,6 +74,23 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
         return Response.status(Response.Status.BAD_REQUEST).entity(response).build();
     }
 
+    private Response handleOptimisticLockException() {
+        ApiResponse<Object> response = ApiResponse.error(
+                "El recurso fue modificado por otra operación, vuelva a intentarlo", "CONCURRENT_MODIFICATION");
+        return Response.status(Response.Status.CONFLICT).entity(response).build();
+    }
+
+    private boolean isOptimisticLock(Throwable ex) {
+        // Hibernate la envuelve (RollbackException, ArcUndeclaredThrowableException...) al confirmar
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof OptimisticLockException
+                    || t instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Response handleGenericException(Exception ex) {
         ApiResponse<Object> response = ApiResponse.error("An unexpected error occurred", "INTERNAL_SERVER_ERROR");
         return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(response).build();
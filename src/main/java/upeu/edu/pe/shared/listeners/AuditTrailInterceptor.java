@@ -0,0 +1,55 @@
+package upeu.edu.pe.shared.listeners;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+import upeu.edu.pe.shared.entities.AuditableEntity;
+import upeu.edu.pe.shared.metrics.SqlCost;
+
+/**
+ * Captura el estado anterior y posterior de las entidades auditables en cada flush y lo
+ * entrega a {@link AuditTrailWriter}; no hace nada si el audit trail está deshabilitado.
+ * <p>
+ * Es el único interceptor de la unidad de persistencia, por lo que también cuenta las
+ * entidades cargadas para {@link SqlCost}.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class AuditTrailInterceptor implements Interceptor {
+
+    @Inject
+    AuditTrailWriter writer;
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlCost.registrarCarga();
+        return false;
+    }
+
+    @Override
+    public boolean onPersist(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        if (entity instanceof AuditableEntity && writer.isEnabled()) {
+            writer.registrar(entity, id, AuditTrailWriter.Operacion.INSERT, null, state, propertyNames, types);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onFlushDirty(Object entity, Object id, Object[] currentState, Object[] previousState,
+                                String[] propertyNames, Type[] types) {
+        if (entity instanceof AuditableEntity && writer.isEnabled()) {
+            writer.registrar(entity, id, AuditTrailWriter.Operacion.UPDATE, previousState, currentState,
+                    propertyNames, types);
+        }
+        return false;
+    }
+
+    @Override
+    public void onRemove(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        if (entity instanceof AuditableEntity && writer.isEnabled()) {
+            writer.registrar(entity, id, AuditTrailWriter.Operacion.DELETE, state, null, propertyNames, types);
+        }
+    }
+}
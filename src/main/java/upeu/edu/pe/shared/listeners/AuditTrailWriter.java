@@ -0,0 +1,235 @@
+package upeu.edu.pe.shared.listeners;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Hibernate;
+import org.hibernate.type.Type;
+import upeu.edu.pe.shared.context.AuditStamp;
+import upeu.edu.pe.shared.context.AuditStampProvider;
+import upeu.edu.pe.shared.entities.AuditTrail;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Escritura asíncrona y por lotes del audit trail.
+ * <p>
+ * Los cambios de cada transacción se acumulan en ella y, solo si se confirma, pasan a una cola
+ * acotada; un job los inserta en lotes en una transacción aparte, fuera del camino de la
+ * petición. Si la cola se llena, las entradas se descartan (y se registra cuántas) antes que
+ * frenar las escrituras de negocio.
+ */
+@ApplicationScoped
+public class AuditTrailWriter {
+
+    private static final Logger LOGGER = Logger.getLogger(AuditTrailWriter.class.getName());
+
+    // Los campos de auditoría ya se reflejan en usuario/fecha de cada entrada
+    private static final Set<String> CAMPOS_EXCLUIDOS = Set.of("createdAt", "updatedAt", "createdBy", "updatedBy");
+
+    private static final String RECURSO_PENDIENTES = AuditTrailWriter.class.getName() + ".pendientes";
+
+    public enum Operacion { INSERT, UPDATE, DELETE }
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    AuditStampProvider stampProvider;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "audit.trail.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "audit.trail.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "audit.trail.queue-capacity", defaultValue = "10000")
+    int queueCapacity;
+
+    private BlockingQueue<Cambio> cola;
+
+    private final AtomicLong descartados = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        cola = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra el cambio de una entidad en la transacción actual. {@code antes} es null en
+     * inserciones y {@code despues} en eliminaciones.
+     */
+    void registrar(Object entity, Object id, Operacion operacion, Object[] antes, Object[] despues,
+                   String[] propertyNames, Type[] types) {
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            return;
+        }
+        Map<String, Object[]> cambios = diferencias(antes, despues, propertyNames, types);
+        if (operacion == Operacion.UPDATE && cambios.isEmpty()) {
+            return;
+        }
+        pendientesDeTransaccion().add(new CambioPendiente(entity, id, operacion, cambios, stampProvider.actual()));
+    }
+
+    @Scheduled(every = "${audit.trail.flush-every:2s}",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void flushPeriodico() {
+        flush();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        flush();
+    }
+
+    /**
+     * Inserta lo encolado en lotes de {@code audit.trail.batch-size}, una transacción por lote
+     */
+    public synchronized void flush() {
+        long perdidos = descartados.getAndSet(0);
+        if (perdidos > 0) {
+            LOGGER.warning(() -> "Audit trail: " + perdidos + " entradas descartadas por cola llena");
+        }
+
+        List<Cambio> lote = new ArrayList<>(batchSize);
+        while (cola.drainTo(lote, batchSize) > 0) {
+            try {
+                QuarkusTransaction.requiringNew().run(() -> lote.forEach(cambio -> entityManager.persist(toEntity(cambio))));
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "No se pudo escribir un lote de " + lote.size() + " entradas del audit trail", e);
+            }
+            lote.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CambioPendiente> pendientesDeTransaccion() {
+        List<CambioPendiente> pendientes = (List<CambioPendiente>) transactionRegistry.getResource(RECURSO_PENDIENTES);
+        if (pendientes != null) {
+            return pendientes;
+        }
+        List<CambioPendiente> nuevos = new ArrayList<>();
+        transactionRegistry.putResource(RECURSO_PENDIENTES, nuevos);
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    // Tras el flush final todas las entidades insertadas ya tienen id asignado
+                    nuevos.forEach(pendiente -> encolar(resolver(pendiente)));
+                }
+            }
+        });
+        return nuevos;
+    }
+
+    private void encolar(Cambio cambio) {
+        if (!cola.offer(cambio)) {
+            descartados.incrementAndGet();
+        }
+    }
+
+    private Cambio resolver(CambioPendiente pendiente) {
+        Object id = pendiente.id() != null
+                ? pendiente.id()
+                : entityManagerFactory.getPersistenceUnitUtil().getIdentifier(pendiente.entity());
+        return new Cambio(Hibernate.getClassLazy(pendiente.entity()).getSimpleName(),
+                id != null ? id.toString() : null, pendiente.operacion(), pendiente.cambios(), pendiente.stamp());
+    }
+
+    private Map<String, Object[]> diferencias(Object[] antes, Object[] despues, String[] propertyNames, Type[] types) {
+        PersistenceUnitUtil util = entityManagerFactory.getPersistenceUnitUtil();
+        Map<String, Object[]> cambios = new LinkedHashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            if (CAMPOS_EXCLUIDOS.contains(propertyNames[i]) || types[i].isCollectionType()) {
+                continue;
+            }
+            Object valorAntes = antes != null ? valor(antes[i], types[i], util) : null;
+            Object valorDespues = despues != null ? valor(despues[i], types[i], util) : null;
+            if (!Objects.equals(valorAntes, valorDespues)) {
+                cambios.put(propertyNames[i], new Object[]{valorAntes, valorDespues});
+            }
+        }
+        return cambios;
+    }
+
+    // Las asociaciones se registran por id, sin inicializar proxies
+    private static Object valor(Object valor, Type type, PersistenceUnitUtil util) {
+        if (valor == null || !type.isEntityType()) {
+            return valor;
+        }
+        return util.getIdentifier(valor);
+    }
+
+    private AuditTrail toEntity(Cambio cambio) {
+        AuditTrail entrada = new AuditTrail();
+        entrada.setEntidad(cambio.entidad());
+        entrada.setEntidadId(cambio.entidadId());
+        entrada.setOperacion(cambio.operacion().name());
+        entrada.setCambios(toJson(cambio.cambios()));
+        entrada.setUsuario(cambio.stamp().usuario());
+        entrada.setFecha(cambio.stamp().instante());
+        return entrada;
+    }
+
+    private String toJson(Map<String, Object[]> cambios) {
+        Map<String, Map<String, Object>> json = new LinkedHashMap<>();
+        cambios.forEach((campo, valores) -> {
+            Map<String, Object> par = new LinkedHashMap<>();
+            par.put("antes", valores[0]);
+            par.put("despues", valores[1]);
+            json.put(campo, par);
+        });
+        try {
+            return objectMapper.writeValueAsString(json);
+        } catch (JsonProcessingException e) {
+            return json.toString();
+        }
+    }
+
+    private record CambioPendiente(Object entity, Object id, Operacion operacion,
+                                   Map<String, Object[]> cambios, AuditStamp stamp) {
+    }
+
+    private record Cambio(String entidad, String entidadId, Operacion operacion,
+                          Map<String, Object[]> cambios, AuditStamp stamp) {
+    }
+}
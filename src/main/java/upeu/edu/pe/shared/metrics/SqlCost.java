@@ -0,0 +1,75 @@
+package upeu.edu.pe.shared.metrics;
+
+/**
+ * Costo SQL acumulado por el hilo que atiende una petición: lo alimentan
+ * {@link SqlCostSessionListener} (sentencias, tiempos) y el interceptor de Hibernate
+ * (entidades cargadas), y lo publica {@link SqlCostFilter} al responder.
+ */
+public final class SqlCost {
+
+    private static final ThreadLocal<SqlCost> ACTUAL = new ThreadLocal<>();
+
+    int sentencias;
+    int lotes;
+    long entidadesCargadas;
+    long ejecucionNanos;
+    long flushNanos;
+    long esperaConexionNanos;
+
+    private SqlCost() {
+    }
+
+    /**
+     * Empieza a medir en el hilo actual (descarta cualquier medición previa sin cerrar)
+     */
+    static SqlCost iniciar() {
+        SqlCost costo = new SqlCost();
+        ACTUAL.set(costo);
+        return costo;
+    }
+
+    static void terminar() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * Medición del hilo actual, o null si el hilo no atiende una petición medida
+     */
+    static SqlCost actual() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Registra la carga de una entidad desde la BD en la medición del hilo actual
+     */
+    public static void registrarCarga() {
+        SqlCost costo = ACTUAL.get();
+        if (costo != null) {
+            costo.entidadesCargadas++;
+        }
+    }
+
+    public int getSentencias() {
+        return sentencias;
+    }
+
+    public int getLotes() {
+        return lotes;
+    }
+
+    public long getEntidadesCargadas() {
+        return entidadesCargadas;
+    }
+
+    public long getEjecucionNanos() {
+        return ejecucionNanos;
+    }
+
+    public long getFlushNanos() {
+        return flushNanos;
+    }
+
+    public long getEsperaConexionNanos() {
+        return esperaConexionNanos;
+    }
+}
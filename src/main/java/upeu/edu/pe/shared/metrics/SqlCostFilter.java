@@ -0,0 +1,121 @@
+package upeu.edu.pe.shared.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Mide el costo SQL de cada petición y lo publica en Micrometer (/metrics) por método de
+ * recurso JAX-RS ({@code route}, p. ej. MatriculaController.findBySeccion) y universidad
+ * (parámetro {@code universidadId} de la ruta o de la query, si lo hay).
+ * <p>
+ * Métricas (histogramas): sql.request.statements, sql.request.batches, sql.request.entities.loaded,
+ * sql.request.execution, sql.request.flush y sql.request.connection.wait. Si la petición supera
+ * {@code sql.metrics.budget} sentencias se registra un warning.
+ * <p>
+ * Las sentencias ejecutadas al escribir una respuesta en streaming (después de los filtros)
+ * no se cuentan.
+ */
+@Provider
+@Priority(Priorities.USER)
+public class SqlCostFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final Logger LOGGER = Logger.getLogger(SqlCostFilter.class.getName());
+
+    private static final String PROPIEDAD_COSTO = SqlCostFilter.class.getName() + ".costo";
+
+    private static final String SIN_UNIVERSIDAD = "none";
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "sql.metrics.enabled", defaultValue = "true")
+    boolean enabled;
+
+    /**
+     * Máximo de sentencias por petición antes de registrar un warning (0 = sin presupuesto)
+     */
+    @ConfigProperty(name = "sql.metrics.budget", defaultValue = "0")
+    int budget;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (enabled) {
+            requestContext.setProperty(PROPIEDAD_COSTO, SqlCost.iniciar());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        SqlCost costo = (SqlCost) requestContext.getProperty(PROPIEDAD_COSTO);
+        if (costo == null) {
+            return;
+        }
+        SqlCost.terminar();
+        if (resourceInfo.getResourceClass() == null || resourceInfo.getResourceMethod() == null) {
+            return; // Sin método de recurso (404, OPTIONS de CORS...)
+        }
+
+        String route = resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName();
+        Tags tags = Tags.of("route", route, "universidad", universidad(requestContext.getUriInfo()));
+
+        resumen("sql.request.statements", "Sentencias SQL ejecutadas por petición", tags).record(costo.getSentencias());
+        resumen("sql.request.batches", "Lotes JDBC ejecutados por petición", tags).record(costo.getLotes());
+        resumen("sql.request.entities.loaded", "Entidades cargadas desde la BD por petición", tags).record(costo.getEntidadesCargadas());
+        tiempo("sql.request.execution", "Tiempo de ejecución de sentencias SQL por petición", tags).record(costo.getEjecucionNanos(), TimeUnit.NANOSECONDS);
+        tiempo("sql.request.flush", "Tiempo de flush de Hibernate por petición", tags).record(costo.getFlushNanos(), TimeUnit.NANOSECONDS);
+        tiempo("sql.request.connection.wait", "Espera para obtener conexión JDBC por petición", tags).record(costo.getEsperaConexionNanos(), TimeUnit.NANOSECONDS);
+
+        if (budget > 0 && costo.getSentencias() + costo.getLotes() > budget) {
+            LOGGER.warning(() -> requestContext.getMethod() + " " + route + " ejecutó " + costo.getSentencias()
+                    + " sentencias y " + costo.getLotes() + " lotes SQL (presupuesto: " + budget
+                    + "; entidades cargadas: " + costo.getEntidadesCargadas() + ")");
+        }
+    }
+
+    private DistributionSummary resumen(String nombre, String descripcion, Tags tags) {
+        return DistributionSummary.builder(nombre)
+                .description(descripcion)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer tiempo(String nombre, String descripcion, Tags tags) {
+        return Timer.builder(nombre)
+                .description(descripcion)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String universidad(UriInfo uriInfo) {
+        String universidadId = uriInfo.getPathParameters().getFirst("universidadId");
+        if (universidadId == null) {
+            universidadId = uriInfo.getQueryParameters().getFirst("universidadId");
+        }
+        // Solo ids numéricos, para no abrir la cardinalidad de la métrica a valores arbitrarios
+        return universidadId != null && !universidadId.isEmpty() && universidadId.chars().allMatch(Character::isDigit)
+                ? universidadId
+                : SIN_UNIVERSIDAD;
+    }
+}
@@ -0,0 +1,85 @@
+package upeu.edu.pe.shared.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Listener de eventos de sesión de Hibernate (una instancia por sesión, registrado con
+ * {@code hibernate.session.events.auto}) que suma sentencias y tiempos de JDBC, flush y espera
+ * de conexión a la medición {@link SqlCost} del hilo actual.
+ */
+public class SqlCostSessionListener implements SessionEventListener {
+
+    private long inicioConexion;
+    private long inicioSentencia;
+    private long inicioLote;
+    private long inicioFlush;
+    private long inicioFlushParcial;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        inicioConexion = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        SqlCost costo = SqlCost.actual();
+        if (costo != null) {
+            costo.esperaConexionNanos += System.nanoTime() - inicioConexion;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicioSentencia = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlCost costo = SqlCost.actual();
+        if (costo != null) {
+            costo.sentencias++;
+            costo.ejecucionNanos += System.nanoTime() - inicioSentencia;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicioLote = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlCost costo = SqlCost.actual();
+        if (costo != null) {
+            costo.lotes++;
+            costo.ejecucionNanos += System.nanoTime() - inicioLote;
+        }
+    }
+
+    @Override
+    public void flushStart() {
+        inicioFlush = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        SqlCost costo = SqlCost.actual();
+        if (costo != null) {
+            costo.flushNanos += System.nanoTime() - inicioFlush;
+        }
+    }
+
+    // Flush automático antes de una consulta (auto-flush)
+    @Override
+    public void partialFlushStart() {
+        inicioFlushParcial = System.nanoTime();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        SqlCost costo = SqlCost.actual();
+        if (costo != null) {
+            costo.flushNanos += System.nanoTime() - inicioFlushParcial;
+        }
+    }
+}
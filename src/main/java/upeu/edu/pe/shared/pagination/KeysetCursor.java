@@ -0,0 +1,55 @@
+package upeu.edu.pe.shared.pagination;
+
+import upeu.edu.pe.shared.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Cursor opaco (Base64 URL) con el valor de ordenamiento y el id de la última fila entregada
+ */
+public record KeysetCursor(Object value, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = value == null ? String.valueOf(id) : value + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor, KeysetSort sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (sort.onlyId()) {
+                return new KeysetCursor(null, Long.valueOf(raw));
+            }
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor sin separador");
+            }
+            return new KeysetCursor(
+                    parse(raw.substring(0, separator), sort.type()),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new ValidationException("Cursor de paginación inválido", Map.of("cursor", "Cursor inválido o de otro listado"));
+        }
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        if (type == String.class) {
+            return value;
+        } else if (type == Long.class) {
+            return Long.valueOf(value);
+        } else if (type == Integer.class) {
+            return Integer.valueOf(value);
+        } else if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        throw new IllegalStateException("Tipo de ordenamiento keyset no soportado: " + type.getName());
+    }
+}
@@ -0,0 +1,27 @@
+package upeu.edu.pe.shared.pagination;
+
+import upeu.edu.pe.shared.response.PageInfo;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados keyset: {@code nextCursor} es null en la última página
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor, int size) {
+
+    /** Cabecera con el cursor siguiente, para listados que devuelven el arreglo plano */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new KeysetPage<>(items.stream().<R>map(mapper).toList(), nextCursor, size);
+    }
+
+    public PageInfo info() {
+        return new PageInfo(nextCursor, hasMore(), size);
+    }
+}
@@ -0,0 +1,131 @@
+package upeu.edu.pe.shared.pagination;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Consulta paginada por keyset (seek) sobre el alias {@code e}: en lugar de OFFSET filtra por
+ * "después de la última fila entregada", de modo que cada página cuesta lo mismo aunque la
+ * tabla tenga decenas de miles de filas. Los JOIN FETCH deben ser solo a relaciones *-a-uno.
+ * <pre>
+ * KeysetQuery.from(em, Profesor.class, "Profesor e JOIN FETCH e.persona")
+ *         .where("e.active = true")
+ *         .page(pageRequest);
+ * </pre>
+ */
+public final class KeysetQuery<E> {
+
+    /** Filas que el driver trae por viaje al recorrer un stream (cursor del lado del servidor) */
+    static final int STREAM_FETCH_SIZE = 500;
+
+    private final EntityManager em;
+    private final Class<E> type;
+    private final String from;
+    private final StringBuilder where = new StringBuilder();
+    private final Map<String, Object> params = new LinkedHashMap<>();
+    private KeysetSort sort = KeysetSort.byId();
+    private Function<E, Object> sortValue = e -> null;
+    private Function<E, Long> id;
+
+    private KeysetQuery(EntityManager em, Class<E> type, String from) {
+        this.em = em;
+        this.type = type;
+        this.from = from;
+    }
+
+    public static <E> KeysetQuery<E> from(EntityManager em, Class<E> type, String from) {
+        return new KeysetQuery<>(em, type, from);
+    }
+
+    public KeysetQuery<E> where(String predicate) {
+        if (!where.isEmpty()) {
+            where.append(" and ");
+        }
+        where.append(predicate);
+        return this;
+    }
+
+    public KeysetQuery<E> param(String name, Object value) {
+        params.put(name, value);
+        return this;
+    }
+
+    /**
+     * Id de la entidad, necesario para construir el cursor de la página siguiente
+     */
+    public KeysetQuery<E> id(Function<E, Long> id) {
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * Ordena por una columna no nula además del id (el extractor debe devolver el valor de esa columna)
+     */
+    public KeysetQuery<E> orderBy(KeysetSort sort, Function<E, Object> sortValue) {
+        this.sort = sort;
+        this.sortValue = sortValue;
+        return this;
+    }
+
+    public KeysetPage<E> page(PageRequest request) {
+        StringBuilder jpql = new StringBuilder("SELECT e FROM ").append(from);
+        StringBuilder predicates = new StringBuilder(where);
+
+        KeysetCursor cursor = request.isFirst() ? null : KeysetCursor.decode(request.cursor(), sort);
+        if (cursor != null) {
+            if (!predicates.isEmpty()) {
+                predicates.append(" and ");
+            }
+            predicates.append(sort.seekPredicate());
+        }
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(predicates);
+        }
+        jpql.append(" ORDER BY ").append(sort.orderBy());
+
+        // Se pide una fila de más para saber si hay página siguiente sin hacer COUNT
+        TypedQuery<E> query = em.createQuery(jpql.toString(), type).setMaxResults(request.size() + 1);
+        params.forEach(query::setParameter);
+        if (cursor != null) {
+            query.setParameter("lastId", cursor.id());
+            if (!sort.onlyId()) {
+                query.setParameter("lastValue", cursor.value());
+            }
+        }
+
+        List<E> rows = query.getResultList();
+        if (rows.size() <= request.size()) {
+            return new KeysetPage<>(rows, null, rows.size());
+        }
+
+        List<E> items = rows.subList(0, request.size());
+        E last = items.get(items.size() - 1);
+        String next = new KeysetCursor(sort.onlyId() ? null : sortValue.apply(last), id.apply(last)).encode();
+        return new KeysetPage<>(items, next, items.size());
+    }
+
+    /**
+     * Recorre todas las filas en el mismo orden sin materializarlas en memoria. Debe consumirse
+     * (y cerrarse) dentro de una transacción; ver {@link NdjsonStreamer}.
+     */
+    public Stream<E> stream() {
+        StringBuilder jpql = new StringBuilder("SELECT e FROM ").append(from);
+        if (!where.isEmpty()) {
+            jpql.append(" WHERE ").append(where);
+        }
+        jpql.append(" ORDER BY ").append(sort.orderBy());
+
+        TypedQuery<E> query = em.createQuery(jpql.toString(), type)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        params.forEach(query::setParameter);
+        return query.getResultStream();
+    }
+}
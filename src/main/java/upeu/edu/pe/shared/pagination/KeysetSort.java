@@ -0,0 +1,37 @@
+package upeu.edu.pe.shared.pagination;
+
+/**
+ * Orden de una consulta keyset: una columna no nula (opcional) y siempre el id como desempate.
+ * La ruta se expresa sobre el alias {@code e} de la consulta (p.ej. {@code e.fechaPago}).
+ */
+public record KeysetSort(String path, Class<?> type, boolean descending) {
+
+    public static KeysetSort byId() {
+        return new KeysetSort(null, Long.class, false);
+    }
+
+    public static KeysetSort asc(String path, Class<?> type) {
+        return new KeysetSort(path, type, false);
+    }
+
+    public static KeysetSort desc(String path, Class<?> type) {
+        return new KeysetSort(path, type, true);
+    }
+
+    public boolean onlyId() {
+        return path == null;
+    }
+
+    String orderBy() {
+        String direction = descending ? " DESC" : " ASC";
+        return onlyId() ? "e.id" + direction : path + direction + ", e.id" + direction;
+    }
+
+    String seekPredicate() {
+        String op = descending ? " < " : " > ";
+        if (onlyId()) {
+            return "e.id" + op + ":lastId";
+        }
+        return "(" + path + op + ":lastValue or (" + path + " = :lastValue and e.id" + op + ":lastId))";
+    }
+}
@@ -0,0 +1,78 @@
+package upeu.edu.pe.shared.pagination;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Respuesta NDJSON (un DTO JSON por línea) que se escribe a medida que la base de datos
+ * entrega las filas: la memoria usada no depende del tamaño del listado.
+ */
+@ApplicationScoped
+public class NdjsonStreamer {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    /** Cada cuántas filas se vacía el contexto de persistencia y el buffer de salida */
+    private static final int CHUNK = 500;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    EntityManager em;
+
+    @ConfigProperty(name = "pagination.stream.timeout", defaultValue = "10M")
+    Duration timeout;
+
+    /**
+     * @param source consulta a recorrer (se abre dentro de la transacción de lectura del stream)
+     * @param mapper conversión de entidad a DTO, aplicada fila por fila
+     */
+    public <E, D> StreamingOutput stream(Supplier<Stream<E>> source, Function<? super E, D> mapper) {
+        return output -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+            // Una línea por objeto: sin separador de Jackson entre valores raíz ni flush por fila
+            generator.setRootValueSeparator(null);
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try {
+                QuarkusTransaction.requiringNew()
+                        .timeout((int) timeout.toSeconds())
+                        .run(() -> {
+                            try (Stream<E> rows = source.get()) {
+                                int count = 0;
+                                for (Iterator<E> it = rows.iterator(); it.hasNext(); ) {
+                                    writer.writeValue(generator, mapper.apply(it.next()));
+                                    generator.writeRaw('\n');
+                                    if (++count % CHUNK == 0) {
+                                        em.clear();
+                                        generator.flush();
+                                    }
+                                }
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                generator.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package upeu.edu.pe.shared.pagination;
+
+/**
+ * Solicitud de página por cursor (keyset). Sin cursor se obtiene la primera página.
+ */
+public record PageRequest(String cursor, int size) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    public static PageRequest of(String cursor, Integer size) {
+        int tamanio = size == null || size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+        return new PageRequest(cursor == null || cursor.isBlank() ? null : cursor, tamanio);
+    }
+
+    public boolean isFirst() {
+        return cursor == null;
+    }
+}
@@ -0,0 +1,33 @@
+package upeu.edu.pe.shared.persistence;
+
+import upeu.edu.pe.shared.annotations.Normalize;
+import upeu.edu.pe.shared.utils.NormalizeProcessor;
+
+/**
+ * Canonización de parámetros de búsqueda.
+ * <p>
+ * Los campos {@code @Normalize} ya se guardan canonizados, así que el repositorio normaliza el
+ * parámetro de la misma forma y compara la columna tal cual ({@code estado = ?1}), lo que usa
+ * su índice B-tree; {@code UPPER(estado) = UPPER(?1)} obliga a recorrer la tabla. Las columnas
+ * que no se guardan en mayúsculas comparan {@code UPPER(columna) = ?1} contra un índice de
+ * expresión (ver db/migration).
+ */
+public final class CanonicalParams {
+
+    private CanonicalParams() {
+    }
+
+    /**
+     * Igual que {@code @Normalize(UPPERCASE)}: sin espacios sobrantes y en mayúsculas
+     */
+    public static String upper(String valor) {
+        return NormalizeProcessor.normalizeString(valor, Normalize.NormalizeType.UPPERCASE);
+    }
+
+    /**
+     * Igual que {@code @Normalize(LOWERCASE)}: sin espacios sobrantes y en minúsculas
+     */
+    public static String lower(String valor) {
+        return NormalizeProcessor.normalizeString(valor, Normalize.NormalizeType.LOWERCASE);
+    }
+}
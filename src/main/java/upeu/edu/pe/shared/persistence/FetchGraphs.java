@@ -0,0 +1,25 @@
+package upeu.edu.pe.shared.persistence;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+
+/**
+ * Plan de carga de las consultas de listado.
+ * <p>
+ * Cada entidad que se lista declara un {@code @NamedEntityGraph} con las relaciones *-a-uno que
+ * lee su mapper (por convención {@code Entidad.listado}); el repositorio lo aplica como fetch
+ * graph y Hibernate las trae en la misma consulta con LEFT JOIN, en lugar de un SELECT por fila.
+ * <pre>
+ * FetchGraphs.aplicar(find("active = true"), getEntityManager(), Matricula.GRAFO_LISTADO).list();
+ * </pre>
+ */
+public final class FetchGraphs {
+
+    private FetchGraphs() {
+    }
+
+    public static <T> PanacheQuery<T> aplicar(PanacheQuery<T> query, EntityManager em, String grafo) {
+        return query.withHint(SpecHints.HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(grafo));
+    }
+}
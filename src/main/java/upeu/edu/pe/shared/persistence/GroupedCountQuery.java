@@ -0,0 +1,58 @@
+package upeu.edu.pe.shared.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conteo agrupado en una sola consulta sobre el alias {@code e}, en lugar de un COUNT por
+ * cada valor de la clave:
+ * <pre>
+ * GroupedCountQuery.from(em, "Pago e", "e.estado")
+ *         .where("e.universidad.id = :universidadId and e.active = true")
+ *         .param("universidadId", universidadId)
+ *         .fetch();
+ * </pre>
+ */
+public final class GroupedCountQuery {
+
+    private final EntityManager em;
+    private final String from;
+    private final String clave;
+    private final StringBuilder where = new StringBuilder();
+    private final Map<String, Object> params = new LinkedHashMap<>();
+
+    private GroupedCountQuery(EntityManager em, String from, String clave) {
+        this.em = em;
+        this.from = from;
+        this.clave = clave;
+    }
+
+    public static GroupedCountQuery from(EntityManager em, String from, String clave) {
+        return new GroupedCountQuery(em, from, clave);
+    }
+
+    public GroupedCountQuery where(String predicate) {
+        if (!where.isEmpty()) {
+            where.append(" and ");
+        }
+        where.append(predicate);
+        return this;
+    }
+
+    public GroupedCountQuery param(String name, Object value) {
+        params.put(name, value);
+        return this;
+    }
+
+    public GroupedCounts fetch() {
+        String jpql = "SELECT " + clave + ", COUNT(e) FROM " + from
+                + (where.isEmpty() ? "" : " WHERE " + where)
+                + " GROUP BY " + clave;
+        TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+        params.forEach(query::setParameter);
+        return GroupedCounts.of(query.getResultList());
+    }
+}
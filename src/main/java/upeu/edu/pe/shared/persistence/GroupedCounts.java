@@ -0,0 +1,80 @@
+package upeu.edu.pe.shared.persistence;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Resultado inmutable de un conteo agrupado ({@code SELECT clave, COUNT(*) ... GROUP BY clave}):
+ * claves y conteos en arreglos paralelos, sin boxing por grupo.
+ */
+public final class GroupedCounts {
+
+    private static final GroupedCounts VACIO = new GroupedCounts(new String[0], new long[0]);
+
+    private final String[] claves;
+    private final long[] conteos;
+
+    private GroupedCounts(String[] claves, long[] conteos) {
+        this.claves = claves;
+        this.conteos = conteos;
+    }
+
+    /**
+     * Construye el resultado desde filas [clave, conteo]
+     */
+    static GroupedCounts of(List<Object[]> filas) {
+        if (filas.isEmpty()) {
+            return VACIO;
+        }
+        String[] claves = new String[filas.size()];
+        long[] conteos = new long[filas.size()];
+        for (int i = 0; i < filas.size(); i++) {
+            Object[] fila = filas.get(i);
+            claves[i] = fila[0] != null ? fila[0].toString() : null;
+            conteos[i] = ((Number) fila[1]).longValue();
+        }
+        return new GroupedCounts(claves, conteos);
+    }
+
+    /**
+     * Conteo del grupo indicado (0 si no hay filas con esa clave)
+     */
+    public long get(String clave) {
+        for (int i = 0; i < claves.length; i++) {
+            if (Objects.equals(claves[i], clave)) {
+                return conteos[i];
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Suma de todos los grupos (incluido el de clave nula)
+     */
+    public long total() {
+        long total = 0L;
+        for (long conteo : conteos) {
+            total += conteo;
+        }
+        return total;
+    }
+
+    /**
+     * Mapa clave -> conteo para serializar: primero las claves esperadas (con 0 si no hay
+     * filas) y luego cualquier otra clave presente; se omite el grupo de clave nula
+     */
+    public Map<String, Long> asMap(String... clavesEsperadas) {
+        Map<String, Long> mapa = new LinkedHashMap<>();
+        for (String clave : clavesEsperadas) {
+            mapa.put(clave, get(clave));
+        }
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null) {
+                mapa.putIfAbsent(claves[i], conteos[i]);
+            }
+        }
+        return mapa;
+    }
+}
@@ -0,0 +1,22 @@
+package upeu.edu.pe.shared.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Escrituras nativas (INSERT/UPDATE/DELETE en SQL) sincronizadas solo con la entidad afectada.
+ * <p>
+ * Hibernate no sabe qué tablas toca un SQL nativo, así que por defecto invalida todas las
+ * regiones de segundo nivel y la caché de consultas; declarando la entidad se invalida solo
+ * su región.
+ */
+public final class NativeUpdates {
+
+    private NativeUpdates() {
+    }
+
+    public static NativeQuery<?> sobre(EntityManager em, String sql, Class<?> entidad) {
+        NativeQuery<?> query = em.createNativeQuery(sql).unwrap(NativeQuery.class);
+        return query.addSynchronizedEntityClass(entidad);
+    }
+}
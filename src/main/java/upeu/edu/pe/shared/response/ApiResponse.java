@@ -18,11 +18,20 @@ public class ApiResponse<T> {
     private T data;
     private String error;
     private LocalDateTime timestamp;
+    private PageInfo page; // Solo en listados paginados
+
+    public ApiResponse(boolean success, String message, T data, String error, LocalDateTime timestamp) {
+        this(success, message, data, error, timestamp, null);
+    }
 
     public static <T> ApiResponse<T> success(String message, T data) {
         return new ApiResponse<>(true, message, data, null, LocalDateTime.now());
     }
 
+    public static <T> ApiResponse<T> success(String message, T data, PageInfo page) {
+        return new ApiResponse<>(true, message, data, null, LocalDateTime.now(), page);
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> ApiResponse<T> success(String message) {
         return (ApiResponse<T>) new ApiResponse<>(true, message, null, null, LocalDateTime.now());
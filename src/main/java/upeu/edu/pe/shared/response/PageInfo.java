@@ -0,0 +1,18 @@
+package upeu.edu.pe.shared.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Metadatos de una página keyset: el cliente envía {@code nextCursor} como {@code ?cursor=} para continuar
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageInfo {
+
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+}
@@ -0,0 +1,90 @@
+package upeu.edu.pe.shared.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector mínimo de CSV (RFC 4180): separador coma o punto y coma, campos entre comillas con
+ * comillas escapadas ("") y saltos de línea LF o CRLF. Omite las líneas vacías.
+ * <p>
+ * Si no se indica, el separador es ';' cuando la primera línea lo contiene fuera de comillas
+ * (Excel en configuración regional con coma decimal exporta así, y una cabecera o nota puede
+ * llevar comas) y ',' en otro caso.
+ */
+public final class CsvParser {
+
+    private CsvParser() {
+    }
+
+    /**
+     * Devuelve las filas del texto; el separador se detecta en la primera línea
+     */
+    public static List<String[]> parse(String texto) {
+        return texto == null || texto.isBlank() ? new ArrayList<>() : parse(texto, detectarSeparador(texto));
+    }
+
+    /**
+     * Devuelve las filas del texto con el separador indicado
+     */
+    public static List<String[]> parse(String texto, char separador) {
+        List<String[]> filas = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return filas;
+        }
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < texto.length() && texto.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                agregarFila(filas, campos, campo);
+            } else {
+                campo.append(c);
+            }
+        }
+        agregarFila(filas, campos, campo);
+        return filas;
+    }
+
+    private static void agregarFila(List<String[]> filas, List<String> campos, StringBuilder campo) {
+        campos.add(campo.toString().trim());
+        campo.setLength(0);
+        if (campos.size() > 1 || !campos.get(0).isEmpty()) {
+            filas.add(campos.toArray(String[]::new));
+        }
+        campos.clear();
+    }
+
+    static char detectarSeparador(String texto) {
+        boolean entreComillas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"') {
+                entreComillas = !entreComillas;
+            } else if (!entreComillas && (c == '\n' || c == '\r')) {
+                break;
+            } else if (!entreComillas && c == ';') {
+                return ';';
+            }
+        }
+        return ',';
+    }
+}
@@ -2,86 +2,154 @@
 package upeu.edu.pe.shared.utils;
 
 import upeu.edu.pe.shared.annotations.Normalize;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class NormalizeProcessor {
 
+    /**
+     * Plan de normalización por tipo de entidad: se construye una sola vez por clase
+     * (incluyendo los campos heredados) y se reutiliza en cada persist/update.
+     */
+    private static final ClassValue<NormalizationPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected NormalizationPlan computeValue(Class<?> type) {
+            return NormalizationPlan.build(type);
+        }
+    };
+
     public static void processNormalizeAnnotations(Object entity) {
         if (entity == null) {
             return;
         }
 
-        Class<?> clazz = entity.getClass();
-        
-        // Iterate through the class hierarchy to process parent class fields too
-        while (clazz != null && clazz != Object.class) {
-            Field[] fields = clazz.getDeclaredFields();
-
-            for (Field field : fields) {
-                if (field.isAnnotationPresent(Normalize.class)) {
-                    try {
-                        field.setAccessible(true);
-                        Object value = field.get(entity);
-
-                        if (value instanceof String) {
-                            String stringValue = (String) value;
-                            Normalize annotation = field.getAnnotation(Normalize.class);
-                            String normalizedValue = normalizeString(stringValue, annotation.value());
-                            field.set(entity, normalizedValue);
-                        }
-                    } catch (IllegalAccessException e) {
-                        System.err.println("Error processing @Normalize annotation on field: " + field.getName());
-                        e.printStackTrace();
-                    }
-                }
-            }
-            
-            // Move up to parent class
-            clazz = clazz.getSuperclass();
-        }
+        PLANS.get(entity.getClass()).apply(entity);
     }
 
-    private static String normalizeString(String text, Normalize.NormalizeType type) {
+    /**
+     * Normaliza el texto en una sola pasada, sin regex: elimina espacios al inicio y al
+     * final, colapsa secuencias de espacios en uno solo y aplica la conversión de
+     * mayúsculas/minúsculas. Si el texto ya está normalizado devuelve la misma instancia.
+     */
+    public static String normalizeString(String text, Normalize.NormalizeType type) {
         if (text == null) {
             return null;
         }
 
-        String normalized = text.trim().replaceAll("\\s+", " ");
-
-        switch (type) {
-            case SPACES_ONLY:
-                return normalized;
-            case UPPERCASE:
-                return normalized.toUpperCase();
-            case LOWERCASE:
-                return normalized.toLowerCase();
-            case TITLE_CASE:
-                return toTitleCase(normalized);
-            default:
-                return normalized;
+        int length = text.length();
+        char[] out = new char[length];
+        int pos = 0;
+        boolean changed = false;
+        boolean pendingSpace = false;
+        boolean capitalizeNext = true;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (isWhitespace(c)) {
+                changed |= c != ' ';
+                pendingSpace = pos > 0;
+                continue;
+            }
+
+            if (pendingSpace) {
+                out[pos++] = ' ';
+                capitalizeNext = true;
+                pendingSpace = false;
+            }
+
+            char converted = switch (type) {
+                case UPPERCASE -> Character.toUpperCase(c);
+                case LOWERCASE -> Character.toLowerCase(c);
+                case TITLE_CASE -> capitalizeNext ? Character.toUpperCase(c) : Character.toLowerCase(c);
+                case SPACES_ONLY -> c;
+            };
+            capitalizeNext = false;
+            changed |= converted != c;
+            out[pos++] = converted;
         }
-    }
 
-    private static String toTitleCase(String text) {
-        if (text == null || text.isEmpty()) {
+        // Sin caracteres descartados ni convertidos: el texto ya estaba normalizado
+        if (!changed && pos == length) {
             return text;
         }
+        return new String(out, 0, pos);
+    }
 
-        StringBuilder result = new StringBuilder();
-        boolean capitalizeNext = true;
+    private static boolean isWhitespace(char c) {
+        return c <= ' ' || Character.isWhitespace(c);
+    }
 
-        for (char c : text.toCharArray()) {
-            if (Character.isWhitespace(c)) {
-                capitalizeNext = true;
-                result.append(c);
-            } else if (capitalizeNext) {
-                result.append(Character.toUpperCase(c));
-                capitalizeNext = false;
-            } else {
-                result.append(Character.toLowerCase(c));
+    /**
+     * Campos @Normalize de tipo String de una clase, con accesores VarHandle precalculados
+     */
+    private static final class NormalizationPlan {
+
+        private static final NormalizationPlan EMPTY = new NormalizationPlan(new VarHandle[0], new Normalize.NormalizeType[0]);
+
+        private final VarHandle[] handles;
+        private final Normalize.NormalizeType[] types;
+
+        private NormalizationPlan(VarHandle[] handles, Normalize.NormalizeType[] types) {
+            this.handles = handles;
+            this.types = types;
+        }
+
+        static NormalizationPlan build(Class<?> type) {
+            if (type == Object.class || type.isInterface() || type.isPrimitive() || type.isArray()) {
+                return EMPTY;
             }
+
+            // Los campos heredados se toman del plan (ya cacheado) de la superclase
+            NormalizationPlan parent = type.getSuperclass() != null ? PLANS.get(type.getSuperclass()) : EMPTY;
+            List<VarHandle> handles = new ArrayList<>(Arrays.asList(parent.handles));
+            List<Normalize.NormalizeType> types = new ArrayList<>(Arrays.asList(parent.types));
+
+            MethodHandles.Lookup lookup = null;
+            for (Field field : type.getDeclaredFields()) {
+                Normalize annotation = field.getAnnotation(Normalize.class);
+                if (annotation == null || field.getType() != String.class || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                try {
+                    if (lookup == null) {
+                        lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                    }
+                    handles.add(lookup.unreflectVarHandle(field));
+                    types.add(annotation.value());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(
+                            "No se puede acceder al campo @Normalize " + type.getName() + "." + field.getName(), e);
+                }
+            }
+
+            if (handles.isEmpty()) {
+                return EMPTY;
+            }
+            if (handles.size() == parent.handles.length) {
+                return parent;
+            }
+            return new NormalizationPlan(
+                    handles.toArray(new VarHandle[0]),
+                    types.toArray(new Normalize.NormalizeType[0]));
         }
 
-        return result.toString();
+        void apply(Object entity) {
+            for (int i = 0; i < handles.length; i++) {
+                String value = (String) handles[i].get(entity);
+                if (value != null) {
+                    String normalized = normalizeString(value, types[i]);
+                    if (normalized != value) {
+                        handles[i].set(entity, normalized);
+                    }
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
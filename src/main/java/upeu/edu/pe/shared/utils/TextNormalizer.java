@@ -2,6 +2,7 @@
 package upeu.edu.pe.shared.utils;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import upeu.edu.pe.shared.annotations.Normalize;
 
 @ApplicationScoped
 public class TextNormalizer {
@@ -11,10 +12,7 @@ public class TextNormalizer {
             return null;
         }
 
-        return text
-                .trim()
-                .replaceAll("\\s+", " ")
-                .toUpperCase();
+        return NormalizeProcessor.normalizeString(text, Normalize.NormalizeType.UPPERCASE);
     }
 
     public String normalizeSpaces(String text) {
@@ -22,9 +20,7 @@ public class TextNormalizer {
             return null;
         }
 
-        return text
-                .trim()
-                .replaceAll("\\s+", " ");
+        return NormalizeProcessor.normalizeString(text, Normalize.NormalizeType.SPACES_ONLY);
     }
 
     public String toUpperCase(String text) {
@@ -0,0 +1,1230 @@
+-- ============================================================================
+-- SISTEMA DE GESTIÓN UNIVERSITARIA - ESQUEMA BASE (V1)
+-- ============================================================================
+-- Línea base de las migraciones: el esquema de docs/schema_completo.sql puesto al día con
+-- el mapeo actual de las entidades (secuencias con el allocationSize de cada id, tablas de
+-- sílabos, modalidad, audit_trail, asistencia_resumen, estado_cuenta_alumno). Hibernate lo
+-- valida al arrancar (database.generation: validate), así que cualquier cambio de entidad
+-- necesita su propia migración Vn__*.sql.
+-- ============================================================================
+
+create sequence asistencia_alumno_id_seq start with 1 increment by 50;
+
+create sequence audit_trail_id_seq start with 1 increment by 50;
+
+create sequence evaluacion_nota_id_seq start with 1 increment by 50;
+
+create sequence matricula_id_seq start with 1 increment by 20;
+
+create sequence rol_permiso_id_seq start with 1 increment by 50;
+
+create table asistencia_alumno (
+    id bigint not null,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    estado varchar(20) not null,
+    fecha_clase date not null,
+    minutos_tardanza integer,
+    observaciones TEXT,
+    estudiante_id bigint not null,
+    horario_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (estudiante_id, horario_id, fecha_clase)
+);
+
+create table asistencia_resumen (
+    id bigint generated by default as identity,
+    ausentes integer not null,
+    curso_ofertado_id bigint not null,
+    estudiante_id bigint not null,
+    fecha_actualizacion timestamp(6) not null,
+    justificados integer not null,
+    presentes integer not null,
+    tardanzas integer not null,
+    total_clases integer not null,
+    universidad_id bigint not null,
+    primary key (id),
+    constraint uk_asistencia_resumen unique (curso_ofertado_id, estudiante_id)
+);
+
+create table audit_trail (
+    id bigint not null,
+    cambios TEXT,
+    entidad varchar(100) not null,
+    entidad_id varchar(100),
+    fecha timestamp(6) not null,
+    operacion varchar(10) not null,
+    usuario varchar(100),
+    primary key (id)
+);
+
+create table auth_usuario (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    fecha_bloqueo timestamp(6),
+    fecha_expiracion_token timestamp(6),
+    fecha_ultimo_cambio_password timestamp(6),
+    intentos_fallidos integer,
+    password_hash varchar(255) not null,
+    requiere_cambio_password boolean,
+    token_recuperacion varchar(255),
+    ultimo_acceso timestamp(6),
+    persona_id bigint not null unique,
+    rol_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id)
+);
+
+create table autoridad (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    es_vigente boolean,
+    fecha_fin date,
+    fecha_inicio date not null,
+    persona_id bigint not null,
+    tipo_autoridad_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id)
+);
+
+create table cuenta_corriente_alumno (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    concepto varchar(255) not null,
+    estado varchar(20),
+    fecha_emision date not null,
+    fecha_vencimiento date,
+    monto numeric(10,2) not null,
+    monto_pagado numeric(10,2),
+    monto_pendiente numeric(10,2),
+    numero_cuota integer,
+    observaciones varchar(500),
+    periodo_academico varchar(20),
+    tipo_cargo varchar(50),
+    estudiante_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id)
+);
+
+create table curso (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    area_curricular varchar(100),
+    codigo_curso varchar(20) not null,
+    descripcion TEXT,
+    horas_practicas integer,
+    horas_semanales integer,
+    horas_teoricas integer,
+    nombre varchar(200) not null,
+    tipo_curso varchar(50),
+    universidad_id bigint not null,
+    primary key (id),
+    unique (codigo_curso)
+);
+
+create table curso_ofertado (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    capacidad_maxima integer not null,
+    codigo_seccion varchar(20) not null,
+    estado varchar(20),
+    observaciones varchar(500),
+    url_plataforma varchar(500),
+    vacantes_disponibles integer not null,
+    version bigint not null,
+    localizacion_id bigint,
+    modalidad_id bigint not null,
+    periodo_academico_id bigint not null,
+    plan_curso_id bigint not null,
+    profesor_id bigint,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (codigo_seccion, periodo_academico_id)
+);
+
+create table empleado (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    cargo varchar(100),
+    codigo_empleado varchar(20) not null,
+    estado_laboral varchar(20),
+    fecha_cese date,
+    fecha_ingreso date,
+    regimen_laboral varchar(50),
+    salario numeric(10,2),
+    tipo_contrato varchar(50),
+    persona_id bigint not null,
+    unidad_organizativa_id bigint,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (codigo_empleado),
+    unique (persona_id)
+);
+
+create table estado_cuenta_alumno (
+    estudiante_id bigint not null,
+    deudas_pendientes integer not null,
+    fecha_actualizacion timestamp(6) not null,
+    fecha_ultimo_pago timestamp(6),
+    monto_ultimo_pago numeric(10,2),
+    saldo_pendiente numeric(12,2) not null,
+    saldo_vencido numeric(12,2) not null,
+    total_cargado numeric(12,2) not null,
+    total_pagado numeric(12,2) not null,
+    universidad_id bigint not null,
+    primary key (estudiante_id)
+);
+
+create table estudiante (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    ciclo_actual integer,
+    codigo_estudiante varchar(20) not null unique,
+    creditos_aprobados integer,
+    creditos_cursando integer,
+    creditos_electivos_aprobados integer,
+    creditos_obligatorios_aprobados integer,
+    estado_academico varchar(20),
+    fecha_ingreso date,
+    modalidad_ingreso varchar(50),
+    promedio_ponderado numeric(5,2),
+    tipo_estudiante varchar(20),
+    persona_id bigint not null,
+    programa_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (persona_id)
+);
+
+create table evaluacion_criterio (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    descripcion varchar(500),
+    es_recuperable boolean,
+    estado varchar(20),
+    nombre varchar(100) not null,
+    nota_maxima integer not null,
+    nota_minima_aprobatoria integer,
+    orden integer,
+    peso integer not null,
+    tipo_evaluacion varchar(50),
+    curso_ofertado_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (curso_ofertado_id, nombre)
+);
+
+create table evaluacion_nota (
+    id bigint not null,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    estado varchar(20),
+    fecha_calificacion timestamp(6),
+    fecha_evaluacion timestamp(6),
+    nota numeric(5,2),
+    nota_final numeric(5,2),
+    nota_recuperacion numeric(5,2),
+    observacion varchar(500),
+    criterio_id bigint not null,
+    matricula_id bigint not null,
+    primary key (id),
+    unique (matricula_id, criterio_id)
+);
+
+create table horario (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    dia_semana integer not null,
+    hora_fin time(0) not null,
+    hora_inicio time(0) not null,
+    observaciones varchar(500),
+    tipo_sesion varchar(20),
+    curso_ofertado_id bigint not null,
+    localizacion_id bigint,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (curso_ofertado_id, dia_semana, hora_inicio)
+);
+
+create table localizacion (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    codigo varchar(20),
+    direccion varchar(500),
+    email varchar(100),
+    es_principal boolean not null,
+    nombre varchar(200) not null,
+    telefono varchar(20),
+    localizacion_padre_id bigint,
+    tipo_localizacion_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (codigo)
+);
+
+create table matricula (
+    id bigint not null,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    creditos_matriculados integer,
+    estado_aprobacion varchar(20),
+    estado_matricula varchar(20),
+    fecha_matricula date not null,
+    fecha_retiro date,
+    inasistencias integer,
+    nota_final numeric(5,2),
+    tipo_matricula varchar(50),
+    curso_ofertado_id bigint not null,
+    estudiante_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (estudiante_id, curso_ofertado_id)
+);
+
+create table modalidad (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    codigo varchar(20) not null,
+    color_hex varchar(7),
+    descripcion varchar(500),
+    nombre varchar(100) not null,
+    porcentaje_presencialidad integer,
+    requiere_aula boolean not null,
+    requiere_plataforma boolean not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (codigo)
+);
+
+create table pago (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    banco varchar(100),
+    cajero varchar(100),
+    estado varchar(20),
+    fecha_anulacion timestamp(6),
+    fecha_pago timestamp(6) not null,
+    metodo_pago varchar(50),
+    monto_aplicado numeric(10,2),
+    monto_pagado numeric(10,2) not null,
+    monto_pendiente_aplicar numeric(10,2),
+    motivo_anulacion varchar(500),
+    numero_recibo varchar(50) not null,
+    observaciones varchar(500),
+    referencia_pago varchar(100),
+    estudiante_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id)
+);
+
+create table pago_detalle_deuda (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    aplicado_por varchar(100),
+    estado varchar(20),
+    fecha_aplicacion timestamp(6) not null,
+    fecha_reversion timestamp(6),
+    monto_aplicado numeric(10,2) not null,
+    motivo_reversion varchar(500),
+    observaciones varchar(500),
+    deuda_id bigint not null,
+    pago_id bigint not null,
+    primary key (id)
+);
+
+create table periodo_academico (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    anio integer not null,
+    codigo_periodo varchar(20) not null,
+    descripcion varchar(500),
+    es_actual boolean,
+    estado varchar(20),
+    fecha_fin date not null,
+    fecha_fin_clases date,
+    fecha_fin_matricula date,
+    fecha_inicio date not null,
+    fecha_inicio_clases date,
+    fecha_inicio_matricula date,
+    nombre varchar(100) not null,
+    numero_periodo integer,
+    tipo_periodo varchar(50),
+    universidad_id bigint not null,
+    primary key (id),
+    unique (codigo_periodo)
+);
+
+create table permiso (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    accion varchar(50),
+    descripcion varchar(255),
+    modulo varchar(50),
+    nombre_clave varchar(100) not null unique,
+    recurso varchar(100),
+    primary key (id)
+);
+
+create table persona (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    apellido_materno varchar(50),
+    apellido_paterno varchar(50) not null,
+    celular varchar(15),
+    direccion varchar(255),
+    email varchar(100) unique,
+    estado_civil varchar(20),
+    fecha_nacimiento date,
+    foto_url varchar(255),
+    genero varchar(20),
+    nombres varchar(100) not null,
+    numero_documento varchar(20),
+    telefono varchar(15),
+    tipo_documento varchar(20),
+    universidad_id bigint not null,
+    primary key (id),
+    unique (numero_documento)
+);
+
+create table plan_academico (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    codigo varchar(20) not null,
+    creditos_electivos integer,
+    creditos_maximos_por_ciclo integer,
+    creditos_minimos_tiempo_completo integer,
+    creditos_obligatorios integer,
+    creditos_totales integer,
+    duracion_ciclo_meses integer,
+    duracion_semestres integer,
+    estado varchar(20),
+    fecha_aprobacion date,
+    fecha_vigencia_fin date,
+    fecha_vigencia_inicio date,
+    nombre varchar(200) not null,
+    version varchar(10),
+    programa_academico_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (codigo)
+);
+
+create table plan_curso (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    ciclo integer not null,
+    creditos integer not null,
+    es_obligatorio boolean,
+    tipo_curso varchar(20),
+    curso_id bigint not null,
+    plan_academico_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (plan_academico_id, curso_id)
+);
+
+create table profesor (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    categoria_docente varchar(50),
+    codigo_orcid varchar(50),
+    codigo_renacyt varchar(50),
+    condicion_docente varchar(50),
+    dedicacion varchar(50),
+    especialidad varchar(100),
+    grado_academico varchar(50),
+    persona_id bigint not null,
+    unidad_id bigint,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (persona_id)
+);
+
+create table programa_academico (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    codigo varchar(20) not null,
+    creditos_totales integer,
+    cupo_maximo_anual integer,
+    duracion_anios integer,
+    duracion_semestres integer,
+    estado varchar(20),
+    fecha_creacion_programa date,
+    fecha_ultima_modificacion_plan date,
+    grado_academico varchar(200),
+    modalidad varchar(50),
+    nivel_academico varchar(50),
+    nombre varchar(200) not null,
+    nota_minima_ingreso numeric(4,2),
+    programa_padre_id bigint,
+    titulo_otorgado varchar(200),
+    unidad_organizativa_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (codigo)
+);
+
+create table refresh_tokens (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    expires_at timestamp(6) not null,
+    is_revoked boolean not null,
+    token_hash varchar(64) not null,
+    auth_usuario_id bigint not null,
+    primary key (id),
+    constraint idx_refresh_token_hash unique (token_hash)
+);
+
+create table requisito_curso (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    es_obligatorio boolean,
+    nota_minima_requerida integer,
+    observacion varchar(500),
+    tipo_requisito varchar(50) not null,
+    curso_id bigint not null,
+    curso_requisito_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (curso_id, curso_requisito_id, tipo_requisito)
+);
+
+create table rol (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    descripcion varchar(255),
+    es_sistema boolean not null,
+    nombre varchar(100) not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (nombre)
+);
+
+create table rol_permiso (
+    id bigint not null,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    puede_delegar boolean,
+    restriccion varchar(500),
+    permiso_id bigint not null,
+    rol_id bigint not null,
+    primary key (id),
+    unique (rol_id, permiso_id)
+);
+
+create table silabo (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    anio_academico varchar(10) not null,
+    aprobado_por varchar(200),
+    bibliografia TEXT,
+    competencias TEXT,
+    estado varchar(20) not null,
+    fecha_aprobacion date,
+    metodologia TEXT,
+    observaciones varchar(1000),
+    porcentaje_calidad numeric(5,2),
+    recursos_didacticos TEXT,
+    sumilla TEXT,
+    version integer not null,
+    curso_id bigint not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (curso_id, anio_academico, version)
+);
+
+create table silabo_actividad (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    criterios_evaluacion TEXT,
+    descripcion TEXT,
+    indicadores TEXT,
+    instrumento_evaluacion varchar(100),
+    nombre varchar(200) not null,
+    ponderacion numeric(5,2),
+    semana_programada integer,
+    tipo varchar(50) not null,
+    silabo_unidad_id bigint not null,
+    primary key (id)
+);
+
+create table silabo_historial (
+    id bigint generated by default as identity,
+    accion varchar(50) not null,
+    comentarios varchar(1000),
+    fecha timestamp(6) not null,
+    usuario varchar(200) not null,
+    version_anterior integer,
+    version_nueva integer,
+    silabo_id bigint not null,
+    primary key (id)
+);
+
+create table silabo_unidad (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    contenidos TEXT,
+    estrategias_ensenanza TEXT,
+    logro_aprendizaje TEXT,
+    numero_unidad integer not null,
+    semana_fin integer not null,
+    semana_inicio integer not null,
+    titulo varchar(200) not null,
+    silabo_id bigint not null,
+    primary key (id)
+);
+
+create table tipo_autoridad (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    codigo varchar(20),
+    descripcion varchar(255),
+    nivel_jerarquia integer,
+    nombre varchar(100) not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (nombre)
+);
+
+create table tipo_localizacion (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    nombre varchar(100) not null,
+    primary key (id)
+);
+
+create table tipo_unidad (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    descripcion varchar(255),
+    nivel integer,
+    nombre varchar(100) not null,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (nombre)
+);
+
+create table unidad_organizativa (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    codigo varchar(20),
+    descripcion TEXT,
+    nombre varchar(200) not null,
+    sigla varchar(20),
+    localizacion_id bigint,
+    tipo_unidad_id bigint not null,
+    unidad_padre_id bigint,
+    universidad_id bigint not null,
+    primary key (id),
+    unique (codigo),
+    unique (nombre)
+);
+
+create table universidad (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    codigo varchar(20) not null unique,
+    configuracion jsonb,
+    dominio varchar(50) unique,
+    estado varchar(20),
+    fecha_vencimiento date,
+    locale varchar(20),
+    logo_url varchar(500),
+    max_docentes integer,
+    max_estudiantes integer,
+    nombre varchar(255) not null,
+    plan varchar(20),
+    ruc varchar(11) not null unique,
+    tipo varchar(50) not null,
+    total_docentes integer,
+    total_estudiantes integer,
+    website varchar(255),
+    zona_horaria varchar(50),
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    created_by varchar(100),
+    updated_at timestamp(6),
+    updated_by varchar(100),
+    email varchar(100) not null unique,
+    fecha_bloqueo timestamp(6),
+    fecha_expiracion_token timestamp(6),
+    first_name varchar(50) not null,
+    intentos_fallidos integer,
+    last_login timestamp(6),
+    last_name varchar(50) not null,
+    password_hash varchar(255) not null,
+    phone varchar(15),
+    role varchar(255) not null check (role in ('ADMIN','MANAGER','USER')),
+    status varchar(255) not null check (status in ('ACTIVE','INACTIVE','SUSPENDED','PENDING_VERIFICATION')),
+    token_recuperacion varchar(255),
+    username varchar(50) not null unique,
+    persona_id bigint unique,
+    primary key (id)
+);
+
+create index idx_asistencia_resumen_estudiante
+   on asistencia_resumen (estudiante_id);
+
+create index idx_audit_trail_entidad
+   on audit_trail (entidad, entidad_id, fecha);
+
+create index idx_audit_trail_usuario_fecha
+   on audit_trail (usuario, fecha);
+
+create index idx_cta_cte_universidad_estudiante
+   on cuenta_corriente_alumno (universidad_id, estudiante_id);
+
+create index idx_cta_cte_estudiante_vencimiento
+   on cuenta_corriente_alumno (estudiante_id, fecha_vencimiento);
+
+create index idx_cta_cte_estado_vencimiento
+   on cuenta_corriente_alumno (estado, fecha_vencimiento);
+
+create index idx_cta_cte_universidad_estado
+   on cuenta_corriente_alumno (universidad_id, estado, fecha_emision);
+
+create index idx_cta_cte_periodo_tipo
+   on cuenta_corriente_alumno (periodo_academico, tipo_cargo);
+
+create index idx_estado_cuenta_universidad
+   on estado_cuenta_alumno (universidad_id);
+
+create index idx_pago_universidad_estudiante
+   on pago (universidad_id, estudiante_id);
+
+create index idx_pago_estudiante_fecha
+   on pago (estudiante_id, fecha_pago);
+
+create index idx_pago_fecha_estado
+   on pago (fecha_pago, estado);
+
+create index idx_pago_universidad_estado
+   on pago (universidad_id, estado, fecha_pago);
+
+create index idx_pago_numero_recibo
+   on pago (numero_recibo);
+
+create index idx_pago_detalle_pago
+   on pago_detalle_deuda (pago_id);
+
+create index idx_pago_detalle_deuda
+   on pago_detalle_deuda (deuda_id);
+
+create index idx_pago_detalle_estado
+   on pago_detalle_deuda (estado, fecha_aplicacion);
+
+create index idx_refresh_token_expires
+   on refresh_tokens (expires_at);
+
+create index idx_refresh_token_revocado
+   on refresh_tokens (is_revoked, updated_at);
+
+create index idx_refresh_token_usuario
+   on refresh_tokens (auth_usuario_id);
+
+alter table if exists asistencia_alumno
+   add constraint FK92b3afndrnh7cwlww1aoqtb49
+   foreign key (estudiante_id)
+   references estudiante;
+
+alter table if exists asistencia_alumno
+   add constraint FK5i348mmoivup4w09b828bsy3f
+   foreign key (horario_id)
+   references horario;
+
+alter table if exists asistencia_alumno
+   add constraint FKn9y6nyefrwctxkfu82a5vijyv
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists auth_usuario
+   add constraint FKpu2vmxaj689by9xphhfm6bbra
+   foreign key (persona_id)
+   references persona;
+
+alter table if exists auth_usuario
+   add constraint FKitp9wq7v2mvucyiu86ymhju7b
+   foreign key (rol_id)
+   references rol;
+
+alter table if exists auth_usuario
+   add constraint FKrmooo8pd0380v5sfwaldkypt9
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists autoridad
+   add constraint FKkbsbvm5cn4nt7hmf638kwbd1b
+   foreign key (persona_id)
+   references persona;
+
+alter table if exists autoridad
+   add constraint FK65wkdwx7t1j957rt97mrngwls
+   foreign key (tipo_autoridad_id)
+   references tipo_autoridad;
+
+alter table if exists autoridad
+   add constraint FK3nuelux5mg94xcogjledemo3s
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists cuenta_corriente_alumno
+   add constraint FK96a9a7qj3yfa1e6vcqs8ye8mc
+   foreign key (estudiante_id)
+   references estudiante;
+
+alter table if exists cuenta_corriente_alumno
+   add constraint FK14bpww9x8hyl16uwawt38a88l
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists curso
+   add constraint FK4chfofiv3gv79huq7kj1fhwov
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists curso_ofertado
+   add constraint FK3cw72l2o4shrit3hxxg89fq2q
+   foreign key (localizacion_id)
+   references localizacion;
+
+alter table if exists curso_ofertado
+   add constraint FKqi9pl827snsnnb10iv4gaq2me
+   foreign key (modalidad_id)
+   references modalidad;
+
+alter table if exists curso_ofertado
+   add constraint FKnfwuc85x8d8ltwgqexoigti8p
+   foreign key (periodo_academico_id)
+   references periodo_academico;
+
+alter table if exists curso_ofertado
+   add constraint FK987thp2rureup5rpexqbx7935
+   foreign key (plan_curso_id)
+   references plan_curso;
+
+alter table if exists curso_ofertado
+   add constraint FKloe22ysy2jmedpx4ps5ae80s5
+   foreign key (profesor_id)
+   references profesor;
+
+alter table if exists curso_ofertado
+   add constraint FK2waje00ghgj686apjtssdfocw
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists empleado
+   add constraint FKdhbbr9aelopf2vxil3qh9d0d
+   foreign key (persona_id)
+   references persona;
+
+alter table if exists empleado
+   add constraint FK96g6urhpqxvdixmnutg3xq9df
+   foreign key (unidad_organizativa_id)
+   references unidad_organizativa;
+
+alter table if exists empleado
+   add constraint FKfxmicqm37n8xfbj2rexsmeowq
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists estudiante
+   add constraint FK59xqvn3b2r5qultu1otxnlt9c
+   foreign key (persona_id)
+   references persona;
+
+alter table if exists estudiante
+   add constraint FK2kmgjwvu5gdepvk8u7h302dw5
+   foreign key (programa_id)
+   references programa_academico;
+
+alter table if exists estudiante
+   add constraint FKe3hmx0m09q6n1lu81vb00p1pv
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists evaluacion_criterio
+   add constraint FKtvs8579xuqd0m0lvs6vijijf
+   foreign key (curso_ofertado_id)
+   references curso_ofertado;
+
+alter table if exists evaluacion_criterio
+   add constraint FK76c3pewcqqdvrhfdrjk9yxbr4
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists evaluacion_nota
+   add constraint FKieb8fdm68jii2hh50k8jfw30u
+   foreign key (criterio_id)
+   references evaluacion_criterio;
+
+alter table if exists evaluacion_nota
+   add constraint FKokk642eeicsnnx3mlu6qisal5
+   foreign key (matricula_id)
+   references matricula;
+
+alter table if exists horario
+   add constraint FK255hp20cbyjiy7j6d0ya4dy4i
+   foreign key (curso_ofertado_id)
+   references curso_ofertado;
+
+alter table if exists horario
+   add constraint FKl4pc45s98t8k4kehpceps2y68
+   foreign key (localizacion_id)
+   references localizacion;
+
+alter table if exists horario
+   add constraint FKrl6jrqb6ucjpmx1e3yjd4ab78
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists localizacion
+   add constraint FKkwtisisoqr24h2cc2rr9cqq2m
+   foreign key (localizacion_padre_id)
+   references localizacion;
+
+alter table if exists localizacion
+   add constraint FKl3a7f9xn8puwp4xajwnxh7ldf
+   foreign key (tipo_localizacion_id)
+   references tipo_localizacion;
+
+alter table if exists localizacion
+   add constraint FK4dktx95cjvpgww3um4vum2jeu
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists matricula
+   add constraint FKm2abkwdr9alomwk707uiw2xtr
+   foreign key (curso_ofertado_id)
+   references curso_ofertado;
+
+alter table if exists matricula
+   add constraint FK16g9x09tpqfc6g9wlngr7anld
+   foreign key (estudiante_id)
+   references estudiante;
+
+alter table if exists matricula
+   add constraint FKt7f54gtjocu9apj6axpxhs9f1
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists modalidad
+   add constraint FKcqr2p2i2o5e1tcu4wyte4l5av
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists pago
+   add constraint FKnrhu2mfkljhiuh23dfpq0k1i9
+   foreign key (estudiante_id)
+   references estudiante;
+
+alter table if exists pago
+   add constraint FK1u1bxbqe60wkp2jdjgpfsr9gu
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists pago_detalle_deuda
+   add constraint FKhd639okg0k79g8kj85ds6yy12
+   foreign key (deuda_id)
+   references cuenta_corriente_alumno;
+
+alter table if exists pago_detalle_deuda
+   add constraint FKpk2cnsxx9dkewugk7m8gmcebn
+   foreign key (pago_id)
+   references pago;
+
+alter table if exists periodo_academico
+   add constraint FK2nycittwa0e81yvqnb4oyfv47
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists persona
+   add constraint FKdrexwm0s89e3ji7ohom11fxhc
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists plan_academico
+   add constraint FKibfkcele4wrupe3yw9x7beioj
+   foreign key (programa_academico_id)
+   references programa_academico;
+
+alter table if exists plan_academico
+   add constraint FK2rrhxm6ufl6skmjgogom4odyb
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists plan_curso
+   add constraint FK4vsemipnyro5kyob8k40dqakp
+   foreign key (curso_id)
+   references curso;
+
+alter table if exists plan_curso
+   add constraint FKs9h7la15dsbjm57vki6nl90bv
+   foreign key (plan_academico_id)
+   references plan_academico;
+
+alter table if exists plan_curso
+   add constraint FKmk4gewxkfosfno7jw7i1f6h4y
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists profesor
+   add constraint FK3x7cwqus9ximr2itvtcy28wnq
+   foreign key (persona_id)
+   references persona;
+
+alter table if exists profesor
+   add constraint FKl7ak7s12w1urmke2u0ruv1r9v
+   foreign key (unidad_id)
+   references unidad_organizativa;
+
+alter table if exists profesor
+   add constraint FKa0xfxqeb6xvxecvl6upkjia9s
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists programa_academico
+   add constraint FKlrcqj5vgvcm2lbdkj8tj7en3m
+   foreign key (unidad_organizativa_id)
+   references unidad_organizativa;
+
+alter table if exists programa_academico
+   add constraint FK8v6rgdhfpj9l4s5q7udmm9btu
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists refresh_tokens
+   add constraint FKlm3c1bhpfvpxp1v7tipo6h4eq
+   foreign key (auth_usuario_id)
+   references auth_usuario;
+
+alter table if exists requisito_curso
+   add constraint FKae1rs7rqt3ajilpi8eu01hadm
+   foreign key (curso_id)
+   references curso;
+
+alter table if exists requisito_curso
+   add constraint FKs12dwbjxkmdji81feoanxf9wf
+   foreign key (curso_requisito_id)
+   references curso;
+
+alter table if exists requisito_curso
+   add constraint FK145hcxwyobpfj4l2wj5f9a7qk
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists rol
+   add constraint FK828gsfgxmrsj81krcijpd2yb6
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists rol_permiso
+   add constraint FKfyao8wd0o5tsyem1w55s3141k
+   foreign key (permiso_id)
+   references permiso;
+
+alter table if exists rol_permiso
+   add constraint FK6o522368i97la9m9cqn0gul2e
+   foreign key (rol_id)
+   references rol;
+
+alter table if exists silabo
+   add constraint FKhw056tw0ytt90lo6suirykh3r
+   foreign key (curso_id)
+   references curso;
+
+alter table if exists silabo
+   add constraint FK6oa5cpj97ns2ppph1bjdxgoyy
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists silabo_actividad
+   add constraint FKp8x1sx4xnhthsb6b7wk2lvvgj
+   foreign key (silabo_unidad_id)
+   references silabo_unidad;
+
+alter table if exists silabo_historial
+   add constraint FKrtm15apoajnde8ghexuei0a6h
+   foreign key (silabo_id)
+   references silabo;
+
+alter table if exists silabo_unidad
+   add constraint FK3f1f39y4ikipjkgels4e4kmfw
+   foreign key (silabo_id)
+   references silabo;
+
+alter table if exists tipo_autoridad
+   add constraint FKrknah1ogxi220aq8wmnt9ofvh
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists tipo_unidad
+   add constraint FKs7o0n0po3asmw4or2lu0kls9f
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists unidad_organizativa
+   add constraint FK9qvahqgofxfu7dsf74sl0nuhg
+   foreign key (localizacion_id)
+   references localizacion;
+
+alter table if exists unidad_organizativa
+   add constraint FKdkuehomxmsd2l4agybykbmyd8
+   foreign key (tipo_unidad_id)
+   references tipo_unidad;
+
+alter table if exists unidad_organizativa
+   add constraint FKpq8t66jk74g17cy89f1oalpqd
+   foreign key (unidad_padre_id)
+   references unidad_organizativa;
+
+alter table if exists unidad_organizativa
+   add constraint FKqjgi2dhe1aiccqvkicaptylpo
+   foreign key (universidad_id)
+   references universidad;
+
+alter table if exists users
+   add constraint FKgfvad9wt4d7xjxa0hkb52fpjk
+   foreign key (persona_id)
+   references persona;
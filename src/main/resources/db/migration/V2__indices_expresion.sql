@@ -0,0 +1,17 @@
+-- ============================================================================
+-- Índices de expresión para búsquedas sin distinción de mayúsculas
+-- ============================================================================
+-- Las columnas @Normalize(UPPERCASE/LOWERCASE) se comparan tal cual contra sus índices
+-- normales (el repositorio canoniza el parámetro con CanonicalParams). Estas columnas se
+-- guardan sin cambiar mayúsculas, así que se buscan como UPPER(columna) = ?1 y necesitan un
+-- índice sobre la misma expresión.
+
+CREATE INDEX IF NOT EXISTS idx_pago_cajero_fecha ON pago (UPPER(cajero), fecha_pago);
+
+CREATE INDEX IF NOT EXISTS idx_cta_cte_estudiante_concepto ON cuenta_corriente_alumno (estudiante_id, UPPER(concepto));
+
+CREATE INDEX IF NOT EXISTS idx_pago_detalle_aplicado_por ON pago_detalle_deuda (UPPER(aplicado_por), fecha_aplicacion);
+
+CREATE INDEX IF NOT EXISTS idx_tipo_autoridad_universidad_nombre ON tipo_autoridad (universidad_id, UPPER(nombre));
+
+CREATE INDEX IF NOT EXISTS idx_evaluacion_criterio_curso_nombre ON evaluacion_criterio (curso_ofertado_id, UPPER(nombre));
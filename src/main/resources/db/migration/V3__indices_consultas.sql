@@ -0,0 +1,37 @@
+-- ============================================================================
+-- Índices para los predicados frecuentes de los repositorios
+-- ============================================================================
+-- Solo se indexa lo que no cubre ya una restricción única con el mismo prefijo:
+-- matricula(estudiante_id, curso_ofertado_id), horario(curso_ofertado_id, dia_semana, ...),
+-- asistencia_alumno(estudiante_id, horario_id, fecha_clase), evaluacion_nota(matricula_id,
+-- criterio_id) y evaluacion_criterio(curso_ofertado_id, nombre) ya tienen índice propio.
+-- Cada índice está declarado también con @Index en su entidad.
+
+-- Lista y conteo de matriculados de una sección, acta de notas
+CREATE INDEX IF NOT EXISTS idx_matricula_curso_ofertado_estado ON matricula (curso_ofertado_id, estado_matricula);
+
+-- Toma de asistencia de una sesión (horario + fecha) y resumen por sección
+CREATE INDEX IF NOT EXISTS idx_asistencia_horario_fecha ON asistencia_alumno (horario_id, fecha_clase);
+
+-- Notas y promedio por criterio de evaluación
+CREATE INDEX IF NOT EXISTS idx_evaluacion_nota_criterio ON evaluacion_nota (criterio_id);
+
+-- Horarios de la universidad por día y cruces de horario por aula
+CREATE INDEX IF NOT EXISTS idx_horario_universidad_dia ON horario (universidad_id, dia_semana, hora_inicio);
+CREATE INDEX IF NOT EXISTS idx_horario_localizacion_dia ON horario (localizacion_id, dia_semana, hora_inicio);
+
+-- Secciones abiertas del periodo, carga docente y secciones por plan
+CREATE INDEX IF NOT EXISTS idx_curso_ofertado_periodo_universidad ON curso_ofertado (periodo_academico_id, universidad_id, estado);
+CREATE INDEX IF NOT EXISTS idx_curso_ofertado_profesor ON curso_ofertado (profesor_id);
+CREATE INDEX IF NOT EXISTS idx_curso_ofertado_plan_curso ON curso_ofertado (plan_curso_id);
+
+-- Sílabos de la universidad por estado (dashboard) y por año académico
+CREATE INDEX IF NOT EXISTS idx_silabo_universidad_estado ON silabo (universidad_id, estado);
+CREATE INDEX IF NOT EXISTS idx_silabo_universidad_anio ON silabo (universidad_id, anio_academico);
+
+-- Estudiantes de la universidad y por programa/estado académico
+CREATE INDEX IF NOT EXISTS idx_estudiante_universidad ON estudiante (universidad_id);
+CREATE INDEX IF NOT EXISTS idx_estudiante_programa_estado ON estudiante (programa_id, estado_academico);
+
+-- Roles que tienen un permiso
+CREATE INDEX IF NOT EXISTS idx_rol_permiso_permiso ON rol_permiso (permiso_id);
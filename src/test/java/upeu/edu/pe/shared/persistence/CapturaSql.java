@@ -0,0 +1,43 @@
+package upeu.edu.pe.shared.persistence;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Guarda el SQL que Hibernate prepara en el hilo actual mientras dura {@link #capturar}, para
+ * analizar con EXPLAIN exactamente la consulta que emite un repositorio. Fuera de una captura
+ * deja pasar las sentencias sin tocarlas.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class CapturaSql implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURADAS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> capturadas = CAPTURADAS.get();
+        if (capturadas != null) {
+            capturadas.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Ejecuta la acción y devuelve, en orden, las sentencias SQL que preparó
+     */
+    public static List<String> capturar(Runnable accion) {
+        List<String> capturadas = new ArrayList<>();
+        CAPTURADAS.set(capturadas);
+        try {
+            accion.run();
+        } finally {
+            CAPTURADAS.remove();
+        }
+        return capturadas;
+    }
+}
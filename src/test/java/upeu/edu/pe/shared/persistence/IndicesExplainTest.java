@@ -0,0 +1,198 @@
+package upeu.edu.pe.shared.persistence;
+
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import upeu.edu.pe.academic.domain.repositories.EvaluacionCriterioRepository;
+import upeu.edu.pe.academic.domain.repositories.HorarioRepository;
+import upeu.edu.pe.academic.domain.repositories.RequisitoCursoRepository;
+import upeu.edu.pe.academic.domain.repositories.TipoAutoridadRepository;
+import upeu.edu.pe.finance.domain.repositories.CuentaCorrienteAlumnoRepository;
+import upeu.edu.pe.finance.domain.repositories.PagoDetalleDeudaRepository;
+import upeu.edu.pe.finance.domain.repositories.PagoRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Las búsquedas sin distinción de mayúsculas usan sus índices (db/migration y @Index) en lugar
+ * de recorrer la tabla.
+ * <p>
+ * Cada caso llama al método real del repositorio con un parámetro sin canonizar (debe encontrar
+ * la fila de prueba) y captura con {@link CapturaSql} el SQL que emitió. Ese SQL se analiza con
+ * EXPLAIN ligado a los valores que el repositorio pasa (ya canonizados). Con pocas filas el
+ * planificador prefiere el recorrido secuencial aunque el índice sirva, así que se desactiva
+ * ({@code enable_seqscan = off}): si aun así el índice no aparece, o no filtra por la columna
+ * buscada, es que el predicado no puede usarlo (p. ej. {@code UPPER(col) = UPPER(?)} sin índice
+ * de expresión).
+ */
+@QuarkusTest
+@WithTestResource(PostgresTestResource.class)
+class IndicesExplainTest {
+
+    private static final long UNIVERSIDAD = 1L;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    PagoRepository pagoRepository;
+
+    @Inject
+    CuentaCorrienteAlumnoRepository cuentaCorrienteRepository;
+
+    @Inject
+    PagoDetalleDeudaRepository pagoDetalleDeudaRepository;
+
+    @Inject
+    TipoAutoridadRepository tipoAutoridadRepository;
+
+    @Inject
+    EvaluacionCriterioRepository evaluacionCriterioRepository;
+
+    @Inject
+    HorarioRepository horarioRepository;
+
+    @Inject
+    RequisitoCursoRepository requisitoCursoRepository;
+
+    @Test
+    @TestTransaction
+    void cajeroUsaIndiceDeExpresion() {
+        LocalDate fecha = LocalDate.of(2024, 3, 1);
+        String sql = sqlDe(() -> assertFalse(pagoRepository.findByCajeroAndFecha(" cajero 1 ", fecha).isEmpty()));
+        assertUsaIndice(sql, "idx_pago_cajero_fecha", "upper((cajero)::text)",
+                "CAJERO 1", fecha.atStartOfDay(), fecha.plusDays(1).atStartOfDay());
+    }
+
+    @Test
+    @TestTransaction
+    void numeroReciboUsaIndice() {
+        String sql = sqlDe(() -> assertTrue(pagoRepository.findByNumeroRecibo("r-000001", UNIVERSIDAD).isPresent()));
+        assertUsaIndice(sql, "idx_pago_numero_recibo", "numero_recibo", "R-000001", UNIVERSIDAD, 1);
+    }
+
+    @Test
+    @TestTransaction
+    void estadoDePagoUsaIndice() {
+        String sql = sqlDe(() -> assertFalse(pagoRepository.findByEstadoAndUniversidad("anulado", UNIVERSIDAD).isEmpty()));
+        assertUsaIndice(sql, "idx_pago_universidad_estado", "estado", "ANULADO", UNIVERSIDAD);
+    }
+
+    @Test
+    @TestTransaction
+    void conceptoUsaIndiceDeExpresion() {
+        String sql = sqlDe(() -> assertTrue(cuentaCorrienteRepository.existsByEstudianteAndConcepto(1L, "pension marzo 2024")));
+        assertUsaIndice(sql, "idx_cta_cte_estudiante_concepto", "upper((concepto)::text)", 1L, "PENSION MARZO 2024");
+    }
+
+    @Test
+    @TestTransaction
+    void aplicadoPorUsaIndiceDeExpresion() {
+        String sql = sqlDe(() -> assertFalse(pagoDetalleDeudaRepository.findByAplicadoPor("cajero 1").isEmpty()));
+        assertUsaIndice(sql, "idx_pago_detalle_aplicado_por", "upper((aplicado_por)::text)", "CAJERO 1");
+    }
+
+    @Test
+    @TestTransaction
+    void nombreDeTipoAutoridadUsaIndiceDeExpresion() {
+        String sql = sqlDe(() -> assertTrue(tipoAutoridadRepository.findByNombreAndUniversidadId("rector", UNIVERSIDAD).isPresent()));
+        assertUsaIndice(sql, "idx_tipo_autoridad_universidad_nombre", "upper((nombre)::text)", "RECTOR", UNIVERSIDAD, 1);
+    }
+
+    @Test
+    @TestTransaction
+    void nombreDeCriterioUsaIndiceDeExpresion() {
+        String sql = sqlDe(() -> assertTrue(evaluacionCriterioRepository.findByNombreAndSeccion("examen final", 1L).isPresent()));
+        assertUsaIndice(sql, "idx_evaluacion_criterio_curso_nombre", "upper((nombre)::text)", "EXAMEN FINAL", 1L, 1);
+    }
+
+    @Test
+    @TestTransaction
+    void tipoSesionUsaIndiceDeHorarios() {
+        String sql = sqlDe(() -> assertFalse(horarioRepository.findByTipoSesionAndUniversidad("teoria", UNIVERSIDAD).isEmpty()));
+        assertUsaIndice(sql, "idx_horario_universidad_dia", "universidad_id", "TEORIA", UNIVERSIDAD);
+    }
+
+    @Test
+    @TestTransaction
+    void tipoRequisitoUsaClaveUnica() {
+        String sql = sqlDe(() -> assertTrue(requisitoCursoRepository.findByCursoAndRequisito(2L, 1L, "prerrequisito").isPresent()));
+        assertUsaIndice(sql, "requisito_curso_curso_id_curso_requisito_id_tipo_requisito_key", "tipo_requisito",
+                2L, 1L, "PRERREQUISITO", 1);
+    }
+
+    /**
+     * Primera sentencia que emite la acción (la consulta del repositorio)
+     */
+    private static String sqlDe(Runnable accion) {
+        List<String> sentencias = CapturaSql.capturar(accion);
+        assertFalse(sentencias.isEmpty(), "El repositorio no emitió ninguna sentencia");
+        return sentencias.get(0);
+    }
+
+    private void assertUsaIndice(String sql, String indice, String columna, Object... parametros) {
+        assertEquals(sql.chars().filter(c -> c == '?').count(), parametros.length,
+                () -> "Parámetros distintos de los de la consulta:\n" + sql);
+        String plan = explain(sql, parametros);
+        String condicion = condicionDeIndice(plan, indice);
+        assertNotNull(condicion, () -> "Se esperaba " + indice + " en el plan:\n" + plan);
+        assertTrue(condicion.contains(columna),
+                () -> "Se esperaba " + columna + " en la condición de " + indice + ":\n" + plan);
+    }
+
+    /**
+     * "Index Cond" del nodo que recorre el índice, "" si no tiene, o null si el índice no está en el plan
+     */
+    private static String condicionDeIndice(String plan, String indice) {
+        String[] lineas = plan.split("\n");
+        for (int i = 0; i < lineas.length; i++) {
+            if (lineas[i].matches(".*\\b(using|on) " + indice + "\\b.*")) {
+                for (int j = i + 1; j < lineas.length && !lineas[j].contains("->"); j++) {
+                    if (lineas[j].contains("Index Cond:")) {
+                        return lineas[j];
+                    }
+                }
+                return "";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * EXPLAIN en la conexión de la transacción del test, que se revierte al terminar
+     */
+    private String explain(String sql, Object... parametros) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // Estadísticas al día para que el planificador elija entre índices por selectividad
+                statement.execute("ANALYZE");
+                statement.execute("SET LOCAL enable_seqscan = off");
+            }
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parametros.length; i++) {
+                    explain.setObject(i + 1, parametros[i]);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = explain.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
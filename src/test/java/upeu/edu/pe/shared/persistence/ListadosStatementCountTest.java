@@ -0,0 +1,78 @@
+package upeu.edu.pe.shared.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import upeu.edu.pe.academic.domain.entities.Persona;
+import upeu.edu.pe.security.domain.entities.AuthUsuario;
+import upeu.edu.pe.security.infrastructure.utils.JwtTokenGenerator;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static upeu.edu.pe.shared.persistence.StatementCountAssertions.assertMaxStatements;
+
+/**
+ * Los listados que usan un grafo {@code Entidad.listado} ejecutan un número fijo de sentencias,
+ * sin importar cuántas filas devuelven (los datos de prueba traen 20 por listado).
+ */
+@QuarkusTest
+@WithTestResource(PostgresTestResource.class)
+class ListadosStatementCountTest {
+
+    /**
+     * Consulta del listado más, como mucho, la carga de relaciones comunes a todas las filas
+     */
+    private static final long MAX_SENTENCIAS = 3;
+
+    private static final int FILAS = 20;
+
+    @Inject
+    JwtTokenGenerator jwtTokenGenerator;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Test
+    void listadoDeProfesores() {
+        assertMaxStatements(registry, "ProfesorController.listarTodos", MAX_SENTENCIAS, () -> autenticado()
+                .get("/api/v1/profesores")
+                .then().statusCode(200)
+                .body("data", hasSize(FILAS)));
+    }
+
+    @Test
+    void listadoDeCursosOfertados() {
+        assertMaxStatements(registry, "CursoOfertadoController.findByUniversidad", MAX_SENTENCIAS, () -> autenticado()
+                .get("/api/v1/cursos-ofertados/universidad/1")
+                .then().statusCode(200)
+                .body("$", hasSize(FILAS)));
+    }
+
+    @Test
+    void listadoDeMatriculasDeUnaSeccion() {
+        assertMaxStatements(registry, "MatriculaController.findBySeccion", MAX_SENTENCIAS, () -> autenticado()
+                .get("/api/matriculas/seccion/1")
+                .then().statusCode(200)
+                .body("data", hasSize(FILAS)));
+    }
+
+    @Test
+    void listadoDePagosDeUnaUniversidad() {
+        assertMaxStatements(registry, "PagoController.findByUniversidad", MAX_SENTENCIAS, () -> autenticado()
+                .get("/api/v1/pagos/universidad/1")
+                .then().statusCode(200)
+                .body("$", hasSize(FILAS)));
+    }
+
+    private RequestSpecification autenticado() {
+        Persona persona = new Persona();
+        persona.setEmail("test@upeu.edu.pe");
+        AuthUsuario usuario = new AuthUsuario();
+        usuario.setId(1L);
+        usuario.setPersona(persona);
+        return given().auth().oauth2(jwtTokenGenerator.generateAccessToken(usuario));
+    }
+}
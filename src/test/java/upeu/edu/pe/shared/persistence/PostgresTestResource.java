@@ -0,0 +1,37 @@
+package upeu.edu.pe.shared.persistence;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Map;
+
+/**
+ * PostgreSQL real (Testcontainers) para los tests que dependen del SQL nativo, de los índices
+ * o del número de sentencias. El esquema lo crean las migraciones de db/migration; los datos
+ * de prueba se cargan desde db/datos-prueba (src/test/resources) como migración repetible
+ * (perfil %test de application.yml).
+ * <p>
+ * Los jobs programados se desactivan para que no escriban en la BD mientras corren los tests.
+ */
+public class PostgresTestResource implements QuarkusTestResourceLifecycleManager {
+
+    private PostgreSQLContainer<?> postgres;
+
+    @Override
+    public Map<String, String> start() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        return Map.of(
+                "quarkus.datasource.jdbc.url", postgres.getJdbcUrl(),
+                "quarkus.datasource.username", postgres.getUsername(),
+                "quarkus.datasource.password", postgres.getPassword(),
+                "quarkus.scheduler.enabled", "false");
+    }
+
+    @Override
+    public void stop() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
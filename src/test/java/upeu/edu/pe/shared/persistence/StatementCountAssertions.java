@@ -0,0 +1,55 @@
+package upeu.edu.pe.shared.persistence;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import upeu.edu.pe.shared.metrics.SqlCostFilter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Aserciones sobre el número de sentencias SQL de una petición HTTP, para que un N+1 en un
+ * listado haga fallar el build:
+ * <pre>
+ * assertMaxStatements(registry, "MatriculaController.findBySeccion", 2,
+ *         () -> given().get("/api/matriculas/seccion/1").then().statusCode(200));
+ * </pre>
+ * Lee la medición por petición de {@link SqlCostFilter} (sql.request.statements y
+ * sql.request.batches de la ruta), que solo cuenta las sentencias del hilo que atiende la
+ * petición: no la alteran el AuditTrailWriter, los jobs programados ni otros tests.
+ */
+public final class StatementCountAssertions {
+
+    private static final String SENTENCIAS = "sql.request.statements";
+    private static final String LOTES = "sql.request.batches";
+
+    private StatementCountAssertions() {
+    }
+
+    /**
+     * Ejecuta la acción, que debe hacer exactamente una petición a {@code route}
+     * (Controlador.metodo), y comprueba que esa petición no superó {@code maximo} sentencias
+     */
+    public static void assertMaxStatements(MeterRegistry registry, String route, long maximo, Runnable accion) {
+        long peticionesAntes = peticiones(registry, route);
+        double antes = total(registry, SENTENCIAS, route) + total(registry, LOTES, route);
+
+        accion.run();
+
+        assertEquals(peticionesAntes + 1, peticiones(registry, route),
+                () -> "La acción debía hacer una petición medida a " + route);
+        long ejecutadas = Math.round(total(registry, SENTENCIAS, route) + total(registry, LOTES, route) - antes);
+        assertTrue(ejecutadas <= maximo,
+                () -> route + ": se esperaban como máximo " + maximo + " sentencias SQL y se ejecutaron " + ejecutadas);
+    }
+
+    private static long peticiones(MeterRegistry registry, String route) {
+        DistributionSummary resumen = registry.find(SENTENCIAS).tag("route", route).summary();
+        return resumen != null ? resumen.count() : 0;
+    }
+
+    private static double total(MeterRegistry registry, String nombre, String route) {
+        DistributionSummary resumen = registry.find(nombre).tag("route", route).summary();
+        return resumen != null ? resumen.totalAmount() : 0;
+    }
+}
@@ -0,0 +1,61 @@
+package upeu.edu.pe.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvParserTest {
+
+    @Test
+    void separadorComa() {
+        List<String[]> filas = CsvParser.parse("codigo,nota\r\n2024001,15.5\r\n\"2024002\",\"12\"\r\n");
+
+        assertEquals(3, filas.size());
+        assertArrayEquals(new String[]{"codigo", "nota"}, filas.get(0));
+        assertArrayEquals(new String[]{"2024001", "15.5"}, filas.get(1));
+        assertArrayEquals(new String[]{"2024002", "12"}, filas.get(2));
+    }
+
+    @Test
+    void separadorComaConPuntoYComaEntreComillas() {
+        List<String[]> filas = CsvParser.parse("codigo,\"observacion; nota\"\n2024001,\"tarde; justificado\"");
+
+        assertArrayEquals(new String[]{"codigo", "observacion; nota"}, filas.get(0));
+        assertArrayEquals(new String[]{"2024001", "tarde; justificado"}, filas.get(1));
+    }
+
+    @Test
+    void separadorPuntoYComaConComaDecimal() {
+        List<String[]> filas = CsvParser.parse("codigo;nota\n2024001;15,5\n2024002;\"12,75\"\n");
+
+        assertEquals(3, filas.size());
+        assertArrayEquals(new String[]{"codigo", "nota"}, filas.get(0));
+        assertArrayEquals(new String[]{"2024001", "15,5"}, filas.get(1));
+        assertArrayEquals(new String[]{"2024002", "12,75"}, filas.get(2));
+    }
+
+    @Test
+    void separadorPuntoYComaConComaEnLaCabecera() {
+        List<String[]> filas = CsvParser.parse("codigo;apellidos, nombres;nota\n2024001;PEREZ, ANA;15,5\n");
+
+        assertArrayEquals(new String[]{"codigo", "apellidos, nombres", "nota"}, filas.get(0));
+        assertArrayEquals(new String[]{"2024001", "PEREZ, ANA", "15,5"}, filas.get(1));
+    }
+
+    @Test
+    void separadorExplicito() {
+        List<String[]> filas = CsvParser.parse("codigo,nota\n2024001,15\n", ';');
+
+        assertArrayEquals(new String[]{"codigo,nota"}, filas.get(0));
+        assertArrayEquals(new String[]{"2024001,15"}, filas.get(1));
+    }
+
+    @Test
+    void omiteLineasVacias() {
+        assertEquals(2, CsvParser.parse("a;b\n\n1;2\n\n").size());
+        assertEquals(0, CsvParser.parse("  ").size());
+    }
+}
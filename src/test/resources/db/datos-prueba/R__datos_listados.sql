@@ -0,0 +1,102 @@
+-- ============================================================================
+-- Datos de prueba para los tests de listados e índices (solo tests, ver PostgresTestResource)
+-- ============================================================================
+-- Una universidad con 20 filas por listado. Cada fila apunta a un padre distinto en las
+-- relaciones del grafo Entidad.listado (persona, profesor, plan_curso, estudiante), de modo
+-- que un N+1 en cualquiera de ellas supera la cota de sentencias del test.
+
+INSERT INTO universidad (id, active, created_at, codigo, nombre, ruc, tipo)
+VALUES (1, true, LOCALTIMESTAMP, 'UPRUEBA', 'UNIVERSIDAD DE PRUEBA', '20000000001', 'PRIVADA');
+
+INSERT INTO tipo_unidad (id, active, created_at, nombre, universidad_id)
+VALUES (1, true, LOCALTIMESTAMP, 'FACULTAD', 1);
+
+INSERT INTO unidad_organizativa (id, active, created_at, nombre, tipo_unidad_id, universidad_id)
+VALUES (1, true, LOCALTIMESTAMP, 'FACULTAD DE INGENIERIA', 1, 1);
+
+INSERT INTO programa_academico (id, active, created_at, codigo, nombre, unidad_organizativa_id, universidad_id)
+VALUES (1, true, LOCALTIMESTAMP, 'IS', 'INGENIERIA DE SISTEMAS', 1, 1);
+
+INSERT INTO plan_academico (id, active, created_at, codigo, nombre, programa_academico_id, universidad_id)
+VALUES (1, true, LOCALTIMESTAMP, 'IS-2024', 'PLAN 2024', 1, 1);
+
+INSERT INTO modalidad (id, active, created_at, codigo, nombre, requiere_aula, requiere_plataforma, universidad_id)
+VALUES (1, true, LOCALTIMESTAMP, 'PRES', 'PRESENCIAL', true, false, 1);
+
+INSERT INTO periodo_academico (id, active, created_at, anio, codigo_periodo, fecha_inicio, fecha_fin, nombre, universidad_id)
+VALUES (1, true, LOCALTIMESTAMP, 2024, '2024-1', DATE '2024-03-01', DATE '2024-07-31', 'PERIODO 2024-1', 1);
+
+-- Personas 1-20 son profesores, 21-40 estudiantes; las pares sin apellido materno
+INSERT INTO persona (id, active, created_at, nombres, apellido_paterno, apellido_materno, universidad_id)
+SELECT i, true, LOCALTIMESTAMP, 'NOMBRE ' || i, 'PATERNO ' || lpad(i::text, 2, '0'),
+       CASE WHEN i % 2 = 0 THEN NULL ELSE 'MATERNO ' || i END, 1
+FROM generate_series(1, 40) AS i;
+
+INSERT INTO profesor (id, active, created_at, persona_id, universidad_id)
+SELECT i, true, LOCALTIMESTAMP, i, 1
+FROM generate_series(1, 20) AS i;
+
+INSERT INTO estudiante (id, active, created_at, codigo_estudiante, persona_id, programa_id, universidad_id)
+SELECT i, true, LOCALTIMESTAMP, 'E' || lpad(i::text, 6, '0'), 20 + i, 1, 1
+FROM generate_series(1, 20) AS i;
+
+INSERT INTO curso (id, active, created_at, codigo_curso, nombre, universidad_id)
+SELECT i, true, LOCALTIMESTAMP, 'C' || lpad(i::text, 3, '0'), 'CURSO ' || i, 1
+FROM generate_series(1, 20) AS i;
+
+INSERT INTO plan_curso (id, active, created_at, ciclo, creditos, curso_id, plan_academico_id, universidad_id)
+SELECT i, true, LOCALTIMESTAMP, 1 + i % 10, 3, i, 1, 1
+FROM generate_series(1, 20) AS i;
+
+INSERT INTO curso_ofertado (id, active, created_at, capacidad_maxima, codigo_seccion, vacantes_disponibles, version,
+                            modalidad_id, periodo_academico_id, plan_curso_id, profesor_id, universidad_id)
+SELECT i, true, LOCALTIMESTAMP, 40, 'S' || lpad(i::text, 3, '0'), 20, 0, 1, 1, i, i, 1
+FROM generate_series(1, 20) AS i;
+
+-- Los 20 estudiantes matriculados en la sección 1
+INSERT INTO matricula (id, active, created_at, fecha_matricula, curso_ofertado_id, estudiante_id, universidad_id)
+SELECT i, true, LOCALTIMESTAMP, DATE '2024-03-01', 1, i, 1
+FROM generate_series(1, 20) AS i;
+
+INSERT INTO pago (id, active, created_at, fecha_pago, monto_pagado, numero_recibo, estado, cajero, estudiante_id,
+                  universidad_id)
+SELECT i, true, LOCALTIMESTAMP, TIMESTAMP '2024-03-01 09:00' + i * INTERVAL '1 hour', 100.00,
+       'R-' || lpad(i::text, 6, '0'), CASE WHEN i % 10 = 0 THEN 'ANULADO' ELSE 'REGISTRADO' END,
+       'Cajero ' || (1 + i % 2), i, 1
+FROM generate_series(1, 20) AS i;
+
+-- Búsquedas de IndicesExplainTest: columnas guardadas sin normalizar (concepto, aplicado_por,
+-- nombre) en mayúsculas y minúsculas, y tipos @Normalize(UPPERCASE) ya canonizados
+INSERT INTO cuenta_corriente_alumno (id, active, created_at, concepto, estado, fecha_emision, monto, estudiante_id,
+                                     universidad_id)
+SELECT i, true, LOCALTIMESTAMP, 'Pension Marzo 2024', 'PENDIENTE', DATE '2024-03-01', 100.00, i, 1
+FROM generate_series(1, 20) AS i;
+
+INSERT INTO pago_detalle_deuda (id, active, created_at, aplicado_por, estado, fecha_aplicacion, monto_aplicado,
+                                deuda_id, pago_id)
+SELECT i, true, LOCALTIMESTAMP, 'Cajero ' || (1 + i % 2), 'APLICADO',
+       TIMESTAMP '2024-03-01 09:00' + i * INTERVAL '1 hour', 100.00, i, i
+FROM generate_series(1, 20) AS i;
+
+INSERT INTO tipo_autoridad (id, active, created_at, codigo, nivel_jerarquia, nombre, universidad_id)
+VALUES (1, true, LOCALTIMESTAMP, 'RECTOR', 1, 'Rector', 1),
+       (2, true, LOCALTIMESTAMP, 'VICERRECTOR', 2, 'Vicerrector Academico', 1),
+       (3, true, LOCALTIMESTAMP, 'DECANO', 3, 'Decano', 1);
+
+INSERT INTO evaluacion_criterio (id, active, created_at, estado, nombre, nota_maxima, orden, peso, tipo_evaluacion,
+                                 curso_ofertado_id, universidad_id)
+SELECT (s - 1) * 3 + c, true, LOCALTIMESTAMP, 'ACTIVO', (ARRAY['Examen Parcial', 'Examen Final', 'Practicas'])[c],
+       20, c, (ARRAY[30, 40, 30])[c], 'EXAMEN', s, 1
+FROM generate_series(1, 20) AS s, generate_series(1, 3) AS c;
+
+INSERT INTO horario (id, active, created_at, dia_semana, hora_inicio, hora_fin, tipo_sesion, curso_ofertado_id,
+                     universidad_id)
+SELECT i, true, LOCALTIMESTAMP, 1 + i % 5, TIME '08:00', TIME '10:00',
+       CASE WHEN i % 2 = 0 THEN 'PRACTICA' ELSE 'TEORIA' END, i, 1
+FROM generate_series(1, 20) AS i;
+
+-- Cada curso tiene como prerrequisito al anterior
+INSERT INTO requisito_curso (id, active, created_at, es_obligatorio, tipo_requisito, curso_id, curso_requisito_id,
+                             universidad_id)
+SELECT i, true, LOCALTIMESTAMP, true, 'PRERREQUISITO', i, i - 1, 1
+FROM generate_series(2, 20) AS i;